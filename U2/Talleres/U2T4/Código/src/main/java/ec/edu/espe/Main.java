@@ -1,6 +1,14 @@
 package ec.edu.espe;
 
+import ec.edu.espe.datos.repository.EstudianteRepository;
+import ec.edu.espe.datos.repository.IEstudianteRepository;
+import ec.edu.espe.datos.repository.RepositoryFactory;
+import ec.edu.espe.logica_negocio.EstudianteService;
+import ec.edu.espe.logica_negocio.cache.EstudianteCache;
+import ec.edu.espe.logica_negocio.validation.RecargadorReglas;
 import ec.edu.espe.presentacion.EstudianteUI;
+import java.io.IOException;
+import java.nio.file.Paths;
 import javax.swing.SwingUtilities;
 
 /**
@@ -11,12 +19,51 @@ public class Main {
     
     /**
      * Método principal que inicia la aplicación
+     * El repositorio se elige con -Destudiantes.repositorio=memoria|jdbc|lsm (ver RepositoryFactory)
+     * y la caché de lectura se activa con -Destudiantes.cache.bytes=&lt;presupuesto&gt;.
+     * Con -Destudiantes.reglas=&lt;archivo&gt; las reglas de validación se leen de ese archivo
+     * y se recargan cada vez que cambia (ver ReglasValidacion).
+     * Con -Destudiantes.tabla.paginada=true la tabla lee el listado por páginas (listados muy grandes)
      * @param args Argumentos de línea de comandos
      */
     public static void main(String[] args) {
+        long presupuestoCache = Long.getLong("estudiantes.cache.bytes", 0L);
+        IEstudianteRepository repository = RepositoryFactory.crear();
+        EstudianteService service = new EstudianteService(repository,
+                presupuestoCache > 0 ? new EstudianteCache(presupuestoCache) : null);
+
+        String archivoReglas = System.getProperty("estudiantes.reglas");
+        RecargadorReglas recargador = archivoReglas == null ? null
+                : new RecargadorReglas(Paths.get(archivoReglas), service.getValidationContext());
+        // La ventana termina la JVM al cerrarse: al apagarse se cierra el vigilante del archivo de
+        // reglas y después el repositorio, para que el pool JDBC o el WAL del motor LSM se liberen
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            if (recargador != null) {
+                try {
+                    recargador.close();
+                } catch (IOException e) {
+                    // La JVM se está apagando: no queda nada más que hacer
+                }
+            }
+            if (repository instanceof AutoCloseable) {
+                try {
+                    ((AutoCloseable) repository).close();
+                } catch (Exception e) {
+                    System.err.println("No se pudo cerrar el repositorio: " + e);
+                }
+            }
+        }, "cerrar-recursos"));
+
+        // Latencias y resultados por operación, visibles en JConsole bajo ec.edu.espe
+        service.getMetricas().publicar();
+        if (service.getRepository() instanceof EstudianteRepository) {
+            ((EstudianteRepository) service.getRepository()).getMetricas().publicar();
+        }
+        
         // Ejecutar la interfaz gráfica en el hilo de eventos de Swing
+        boolean tablaPaginada = Boolean.getBoolean("estudiantes.tabla.paginada");
         SwingUtilities.invokeLater(() -> {
-            EstudianteUI ventana = new EstudianteUI();
+            EstudianteUI ventana = new EstudianteUI(service, tablaPaginada);
             ventana.setVisible(true);
         });
     }
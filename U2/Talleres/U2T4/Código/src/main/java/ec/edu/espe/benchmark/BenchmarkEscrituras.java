@@ -0,0 +1,108 @@
+package ec.edu.espe.benchmark;
+
+import ec.edu.espe.datos.model.EstudianteInmutable;
+import ec.edu.espe.datos.repository.lsm.LsmEstudianteRepository;
+import ec.edu.espe.datos.repository.lsm.MotorLsm;
+import ec.edu.espe.logica_negocio.EstudianteService;
+import ec.edu.espe.logica_negocio.ProgramadorEscrituras;
+import ec.edu.espe.logica_negocio.resultado.ResultadoOperacion;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Stream;
+
+/**
+ * BenchmarkEscrituras - Compara altas concurrentes directas contra micro-lotes
+ * Usa el repositorio LSM con fsync del WAL en cada escritura, que es donde una
+ * escritura durable por lote marca la diferencia.
+ * Uso: java ec.edu.espe.benchmark.BenchmarkEscrituras [hilos] [altasPorHilo]
+ */
+public final class BenchmarkEscrituras {
+
+    private BenchmarkEscrituras() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int hilos = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+        int altasPorHilo = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+
+        System.out.printf("%d hilos x %d altas, WAL con fsync%n", hilos, altasPorHilo);
+        medir("directo", hilos, altasPorHilo, 0, null);
+        medir("lotes 64 / 0 ms", hilos, altasPorHilo, 64, Duration.ZERO);
+        medir("lotes 256 / 1 ms", hilos, altasPorHilo, 256, Duration.ofMillis(1));
+        medir("lotes 1024 / 5 ms", hilos, altasPorHilo, 1_024, Duration.ofMillis(5));
+    }
+
+    /**
+     * Ejecuta una ronda sobre un directorio nuevo
+     * @param tamanioLote 0 para llamar al servicio directamente
+     */
+    private static void medir(String nombre, int hilos, int altasPorHilo, int tamanioLote, Duration latencia)
+            throws Exception {
+        Path directorio = Files.createTempDirectory("benchmark-lsm");
+        try (LsmEstudianteRepository repository = new LsmEstudianteRepository(new MotorLsm(directorio,
+                MotorLsm.LIMITE_MEMTABLE_POR_DEFECTO, MotorLsm.UMBRAL_COMPACTACION_POR_DEFECTO, true))) {
+            EstudianteService service = new EstudianteService(repository);
+            ProgramadorEscrituras programador = tamanioLote > 0
+                    ? new ProgramadorEscrituras(service, tamanioLote, latencia)
+                    : null;
+            CountDownLatch inicio = new CountDownLatch(1);
+            List<Thread> trabajadores = new ArrayList<>(hilos);
+            for (int h = 0; h < hilos; h++) {
+                int hilo = h;
+                Thread trabajador = new Thread(() -> {
+                    try {
+                        inicio.await();
+                        for (int i = 0; i < altasPorHilo; i++) {
+                            EstudianteInmutable estudiante = new EstudianteInmutable(
+                                    String.format("E%03d-%06d", hilo, i), "Estudiante de prueba", 18 + i % 40);
+                            ResultadoOperacion resultado = programador == null
+                                    ? service.agregar(estudiante)
+                                    : programador.agregar(estudiante).join();
+                            if (!resultado.esExitoso()) {
+                                throw new IllegalStateException(resultado.getMensaje());
+                            }
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+                trabajador.start();
+                trabajadores.add(trabajador);
+            }
+            long comienzo = System.nanoTime();
+            inicio.countDown();
+            for (Thread trabajador : trabajadores) {
+                trabajador.join();
+            }
+            long nanos = System.nanoTime() - comienzo;
+            int total = hilos * altasPorHilo;
+            String lotes = "";
+            if (programador != null) {
+                programador.close();
+                lotes = String.format("  (%d lotes, %.1f altas/lote)",
+                        programador.getLotes(), programador.getTamanioPromedioLote());
+            }
+            System.out.printf("%-20s %10.0f altas/s  %8.3f ms/alta%s%n", nombre,
+                    total / (nanos / 1e9), nanos / 1e6 * hilos / total, lotes);
+            if (repository.contar() != total) {
+                throw new IllegalStateException("Se esperaban " + total + " estudiantes y hay " + repository.contar());
+            }
+        } finally {
+            borrar(directorio);
+        }
+    }
+
+    private static void borrar(Path directorio) throws IOException {
+        try (Stream<Path> archivos = Files.walk(directorio)) {
+            for (Path archivo : (Iterable<Path>) archivos.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(archivo);
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package ec.edu.espe.benchmark;
+
+import ec.edu.espe.metricas.MetricasOperacion;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * BenchmarkMetricas - Costo de instrumentar una operación
+ * Mide, por operación, las dos lecturas de System.nanoTime() más el registro en el
+ * histograma y el contador, con uno y con varios hilos registrando a la vez.
+ * Uso: java ec.edu.espe.benchmark.BenchmarkMetricas [hilos] [iteraciones]
+ */
+public final class BenchmarkMetricas {
+    private static volatile long sumidero;
+
+    private BenchmarkMetricas() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int hilos = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        int iteraciones = args.length > 1 ? Integer.parseInt(args[1]) : 20_000_000;
+
+        // Calentamiento para que el JIT compile los métodos medidos
+        medir(1, iteraciones / 4, false);
+        medir(1, iteraciones / 4, true);
+
+        double base = medir(1, iteraciones, false);
+        double instrumentado = medir(1, iteraciones, true);
+        System.out.printf("1 hilo:   nanoTime x2 %.1f ns, instrumentado %.1f ns, costo del registro %.1f ns%n",
+                base, instrumentado, instrumentado - base);
+        double baseConcurrente = medir(hilos, iteraciones / hilos, false);
+        double concurrente = medir(hilos, iteraciones / hilos, true);
+        System.out.printf("%d hilos: nanoTime x2 %.1f ns, instrumentado %.1f ns, costo del registro %.1f ns%n",
+                hilos, baseConcurrente, concurrente, concurrente - baseConcurrente);
+    }
+
+    /**
+     * @return Nanosegundos promedio por iteración en cada hilo
+     */
+    private static double medir(int hilos, int iteraciones, boolean registrar) throws InterruptedException {
+        MetricasOperacion metricas = new MetricasOperacion("prueba", "OK", "ERROR");
+        CountDownLatch inicio = new CountDownLatch(1);
+        long[] duraciones = new long[hilos];
+        List<Thread> trabajadores = new ArrayList<>();
+        for (int h = 0; h < hilos; h++) {
+            int hilo = h;
+            Thread trabajador = new Thread(() -> {
+                try {
+                    inicio.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                long acumulado = 0;
+                long comienzo = System.nanoTime();
+                for (int i = 0; i < iteraciones; i++) {
+                    long t0 = System.nanoTime();
+                    long nanos = System.nanoTime() - t0;
+                    if (registrar) {
+                        metricas.registrar(nanos, i & 1);
+                    } else {
+                        acumulado += nanos;
+                    }
+                }
+                duraciones[hilo] = System.nanoTime() - comienzo;
+                sumidero += acumulado;
+            });
+            trabajador.start();
+            trabajadores.add(trabajador);
+        }
+        inicio.countDown();
+        for (Thread trabajador : trabajadores) {
+            trabajador.join();
+        }
+        long total = 0;
+        for (long duracion : duraciones) {
+            total += duracion;
+        }
+        return (double) total / hilos / iteraciones;
+    }
+}
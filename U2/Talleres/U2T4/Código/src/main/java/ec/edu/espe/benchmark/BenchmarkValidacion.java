@@ -0,0 +1,119 @@
+package ec.edu.espe.benchmark;
+
+import ec.edu.espe.datos.model.EstudianteInmutable;
+import ec.edu.espe.logica_negocio.resultado.CodigoResultado;
+import ec.edu.espe.logica_negocio.resultado.ResultadoOperacion;
+import ec.edu.espe.logica_negocio.validation.EdadValidationStrategy;
+import ec.edu.espe.logica_negocio.validation.IdValidationStrategy;
+import ec.edu.espe.logica_negocio.validation.NombresValidationStrategy;
+import ec.edu.espe.logica_negocio.validation.ValidacionColumnar;
+import ec.edu.espe.logica_negocio.validation.ValidadorCompilado;
+import ec.edu.espe.logica_negocio.validation.ValidationContext;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * BenchmarkValidacion - Validación de una importación masiva
+ * Compara la validación anterior (estrategias con {@code trim()} y {@code String.matches})
+ * con el validador compilado, sobre filas mayormente válidas como en una importación real,
+ * y el modo por lotes que reúne todos los errores repartiendo las filas entre los núcleos.
+ * También compara la validación columnar con el recorrido fila por fila que da el mismo
+ * resultado (primer error de cada fila inválida).
+ * Uso: java ec.edu.espe.benchmark.BenchmarkValidacion [filas] [repeticiones]
+ */
+public final class BenchmarkValidacion {
+    private static final String[] NOMBRES = {
+        "Ana María", "José Núñez", "Luis", "Íñigo Pérez", "Sofía Ortiz", "Ma"
+    };
+
+    private static volatile long sumidero;
+
+    private BenchmarkValidacion() {
+    }
+
+    public static void main(String[] args) {
+        int filas = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int repeticiones = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        EstudianteInmutable[] estudiantes = new EstudianteInmutable[filas];
+        for (int i = 0; i < filas; i++) {
+            // Una de cada cien filas tiene un error
+            String nombres = i % 100 == 0 ? "R2-D2" : NOMBRES[i % NOMBRES.length];
+            estudiantes[i] = new EstudianteInmutable("L" + (100_000 + i), nombres, 17 + i % 40);
+        }
+        ValidationContext contexto = new ValidationContext();
+        contexto.addStrategy(new IdValidationStrategy());
+        contexto.addStrategy(new NombresValidationStrategy());
+        contexto.addStrategy(new EdadValidationStrategy());
+        ValidadorCompilado validador = contexto.compilar();
+        ValidacionColumnar columnar = ValidacionColumnar.de(contexto);
+        List<EstudianteInmutable> lista = Arrays.asList(estudiantes);
+
+        for (int r = 0; r < repeticiones; r++) {
+            long t0 = System.nanoTime();
+            long errores = 0;
+            for (EstudianteInmutable estudiante : estudiantes) {
+                if (validarComoAntes(estudiante) != null) {
+                    errores++;
+                }
+            }
+            long t1 = System.nanoTime();
+            for (EstudianteInmutable estudiante : estudiantes) {
+                if (validador.validarCodigo(estudiante) != CodigoResultado.VALIDO) {
+                    errores--;
+                }
+            }
+            long t2 = System.nanoTime();
+            errores += validador.validarLote(lista).getFilasInvalidas();
+            long t3 = System.nanoTime();
+            errores += validarFilaPorFila(validador, estudiantes).size();
+            long t4 = System.nanoTime();
+            errores -= columnar.validar(lista).size();
+            long t5 = System.nanoTime();
+            sumidero += errores;
+            double antes = (double) (t1 - t0) / filas;
+            double compilado = (double) (t2 - t1) / filas;
+            double lote = (double) (t3 - t2) / filas;
+            double porFila = (double) (t4 - t3) / filas;
+            double enColumnas = (double) (t5 - t4) / filas;
+            System.out.printf("ronda %d: anterior %.1f ns/fila, compilado %.1f ns/fila (x%.1f), lote %.1f ns/fila%n",
+                    r + 1, antes, compilado, antes / compilado, lote);
+            System.out.printf("         fila por fila %.1f ns/fila, columnar %.1f ns/fila (x%.1f)%n",
+                    porFila, enColumnas, porFila / enColumnas);
+        }
+    }
+
+    /**
+     * Mismo resultado que {@link ValidacionColumnar#validar}, validando fila por fila
+     */
+    private static Map<Integer, ResultadoOperacion> validarFilaPorFila(ValidadorCompilado validador,
+                                                                       EstudianteInmutable[] estudiantes) {
+        Map<Integer, ResultadoOperacion> errores = new TreeMap<>();
+        for (int i = 0; i < estudiantes.length; i++) {
+            if (validador.validarCodigo(estudiantes[i]) != CodigoResultado.VALIDO) {
+                errores.put(i, validador.validar(estudiantes[i]));
+            }
+        }
+        return errores;
+    }
+
+    /**
+     * Reglas y orden de la implementación anterior, solo como referencia de rendimiento
+     */
+    private static String validarComoAntes(EstudianteInmutable estudiante) {
+        if (estudiante.id() == null || estudiante.id().trim().isEmpty() || estudiante.id().length() < 3) {
+            return "id";
+        }
+        if (estudiante.nombres() == null || estudiante.nombres().trim().isEmpty()
+                || estudiante.nombres().trim().length() < 2
+                || !estudiante.nombres().matches("^[a-zA-ZáéíóúÁÉÍÓÚñÑ\\s]+$")) {
+            return "nombres";
+        }
+        if (estudiante.edad() <= 0 || estudiante.edad() > 120) {
+            return "edad";
+        }
+        return null;
+    }
+}
@@ -3,16 +3,17 @@ package ec.edu.espe.datos.model;
 /**
  * Clase Estudiante - Modelo de dominio
  * Representa un estudiante con sus atributos básicos
+ * Es un adaptador mutable (JavaBean) sobre {@link EstudianteInmutable}: cada setter
+ * reemplaza el valor interno, y {@link #toInmutable()} lo entrega sin copiarlo
  */
 public class Estudiante {
-    private String id;
-    private String nombres;
-    private int edad;
+    private EstudianteInmutable valor;
 
     /**
      * Constructor vacío
      */
     public Estudiante() {
+        this.valor = new EstudianteInmutable(null, null, 0);
     }
 
     /**
@@ -22,42 +23,56 @@ public class Estudiante {
      * @param edad Edad del estudiante
      */
     public Estudiante(String id, String nombres, int edad) {
-        this.id = id;
-        this.nombres = nombres;
-        this.edad = edad;
+        this.valor = new EstudianteInmutable(id, nombres, edad);
+    }
+
+    /**
+     * Constructor que adapta un valor inmutable
+     * @param valor Estudiante inmutable
+     */
+    public Estudiante(EstudianteInmutable valor) {
+        this.valor = valor;
+    }
+
+    /**
+     * Obtiene el valor inmutable actual, sin copiarlo
+     * @return Estudiante inmutable con los datos actuales del bean
+     */
+    public EstudianteInmutable toInmutable() {
+        return valor;
     }
 
     // Getters y Setters
     public String getId() {
-        return id;
+        return valor.id();
     }
 
     public void setId(String id) {
-        this.id = id;
+        this.valor = valor.conId(id);
     }
 
     public String getNombres() {
-        return nombres;
+        return valor.nombres();
     }
 
     public void setNombres(String nombres) {
-        this.nombres = nombres;
+        this.valor = valor.conNombres(nombres);
     }
 
     public int getEdad() {
-        return edad;
+        return valor.edad();
     }
 
     public void setEdad(int edad) {
-        this.edad = edad;
+        this.valor = valor.conEdad(edad);
     }
 
     @Override
     public String toString() {
         return "Estudiante{" +
-                "id='" + id + '\'' +
-                ", nombres='" + nombres + '\'' +
-                ", edad=" + edad +
+                "id='" + getId() + '\'' +
+                ", nombres='" + getNombres() + '\'' +
+                ", edad=" + getEdad() +
                 '}';
     }
 }
@@ -0,0 +1,87 @@
+package ec.edu.espe.datos.model;
+
+import java.util.Objects;
+
+/**
+ * EstudianteInmutable - Modelo de dominio inmutable
+ * Valor que comparten el repositorio, el servicio, las cachés y la interfaz sin
+ * necesidad de copias defensivas: ningún consumidor puede modificar un estudiante
+ * ya almacenado. Las ediciones se expresan creando un valor nuevo con los métodos
+ * {@code con...} o con un {@link Builder}
+ * @param id Identificador único del estudiante
+ * @param nombres Nombres completos del estudiante
+ * @param edad Edad del estudiante
+ */
+public record EstudianteInmutable(String id, String nombres, int edad) {
+
+    /**
+     * Crea un builder vacío
+     * @return Builder para construir un estudiante
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Crea un builder con los valores de este estudiante
+     * @return Builder inicializado
+     */
+    public Builder toBuilder() {
+        return new Builder().id(id).nombres(nombres).edad(edad);
+    }
+
+    /**
+     * @param id Nuevo identificador
+     * @return Estudiante con el ID cambiado (o este mismo si no cambia)
+     */
+    public EstudianteInmutable conId(String id) {
+        return Objects.equals(this.id, id) ? this : new EstudianteInmutable(id, nombres, edad);
+    }
+
+    /**
+     * @param nombres Nuevos nombres
+     * @return Estudiante con los nombres cambiados (o este mismo si no cambian)
+     */
+    public EstudianteInmutable conNombres(String nombres) {
+        return Objects.equals(this.nombres, nombres) ? this : new EstudianteInmutable(id, nombres, edad);
+    }
+
+    /**
+     * @param edad Nueva edad
+     * @return Estudiante con la edad cambiada (o este mismo si no cambia)
+     */
+    public EstudianteInmutable conEdad(int edad) {
+        return this.edad == edad ? this : new EstudianteInmutable(id, nombres, edad);
+    }
+
+    /**
+     * Builder - Construcción paso a paso de un estudiante inmutable
+     */
+    public static final class Builder {
+        private String id;
+        private String nombres;
+        private int edad;
+
+        private Builder() {
+        }
+
+        public Builder id(String id) {
+            this.id = id;
+            return this;
+        }
+
+        public Builder nombres(String nombres) {
+            this.nombres = nombres;
+            return this;
+        }
+
+        public Builder edad(int edad) {
+            this.edad = edad;
+            return this;
+        }
+
+        public EstudianteInmutable build() {
+            return new EstudianteInmutable(id, nombres, edad);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package ec.edu.espe.datos.repository;
+
+import ec.edu.espe.datos.repository.observer.CambioRepositorio;
+import ec.edu.espe.datos.repository.observer.RepositoryObserver;
+import ec.edu.espe.datos.model.EstudianteInmutable;
+import ec.edu.espe.metricas.EventoNotificacion;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * AbstractEstudianteRepository - Base común de los repositorios
+ * Centraliza la gestión de observadores (patrón Observer) para que cada
+ * implementación solo se ocupe de su mecanismo de almacenamiento.
+ * Las implementaciones aplican cada modificación y notifican a los observadores
+ * dentro del bloqueo de escritura, de modo que los eventos llegan en el mismo
+ * orden en que se aplicaron los cambios
+ */
+public abstract class AbstractEstudianteRepository implements IEstudianteRepository {
+    private final CopyOnWriteArrayList<RepositoryObserver> observers = new CopyOnWriteArrayList<>();
+    protected final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Agrega un observador al repositorio
+     * @param observer Observador a agregar
+     */
+    @Override
+    public void addObserver(RepositoryObserver observer) {
+        if (observer != null) {
+            observers.addIfAbsent(observer);
+        }
+    }
+
+    /**
+     * Registra el observador y devuelve los datos actuales sin que ningún cambio
+     * quede entre la lectura y la suscripción; si la lectura falla el observador se retira
+     * @param observer Observador a agregar
+     * @return Estudiantes existentes en el momento de la suscripción
+     */
+    @Override
+    public List<EstudianteInmutable> listarYObservar(RepositoryObserver observer) {
+        lock.writeLock().lock();
+        try {
+            addObserver(observer);
+            try {
+                return listar();
+            } catch (RuntimeException | Error e) {
+                removeObserver(observer);
+                throw e;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Elimina un observador del repositorio
+     * @param observer Observador a eliminar
+     */
+    @Override
+    public void removeObserver(RepositoryObserver observer) {
+        observers.remove(observer);
+    }
+
+    /**
+     * Notifica a todos los observadores sobre un cambio en los datos
+     * El reparto completo se registra como {@link EventoNotificacion} si JFR lo tiene activado
+     * @param cambio Detalle del cambio ocurrido
+     */
+    protected void notifyObservers(CambioRepositorio cambio) {
+        EventoNotificacion evento = new EventoNotificacion();
+        evento.begin();
+        int notificados = 0;
+        try {
+            for (RepositoryObserver observer : observers) {
+                observer.onDataChanged(cambio);
+                notificados++;
+            }
+        } finally {
+            if (evento.shouldCommit()) {
+                evento.tipoCambio = cambio.getTipo().name();
+                evento.cambios = cambio.getCambios().size();
+                evento.observadores = notificados;
+                evento.commit();
+            }
+        }
+    }
+}
@@ -1,35 +1,89 @@
 package ec.edu.espe.datos.repository;
 
-import ec.edu.espe.datos.model.Estudiante;
-import ec.edu.espe.datos.repository.observer.RepositoryObserver;
+import ec.edu.espe.datos.model.EstudianteInmutable;
+import ec.edu.espe.datos.repository.consulta.NormalizadorTexto;
+import ec.edu.espe.datos.repository.observer.CambioRepositorio;
+import ec.edu.espe.metricas.EventoRepositorio;
+import ec.edu.espe.metricas.MetricasOperacion;
+import ec.edu.espe.metricas.RegistroMetricas;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * EstudianteRepository - Capa de Acceso a Datos
  * Gestiona las operaciones CRUD utilizando una colección interna (ArrayList)
  * Implementado como Singleton para garantizar una única instancia
  * Implementa el patrón Observer para notificar cambios a los suscriptores
+ * Es seguro para uso concurrente: las lecturas comparten un bloqueo de lectura y
+ * las modificaciones se aplican y notifican bajo el bloqueo de escritura
+ * Mantiene índices por ID (clave primaria), por edad y por palabra del nombre
+ * Almacena valores inmutables, por lo que puede entregarlos sin copias defensivas
+ * Las bajas dejan una lápida (ranura nula) en O(1) en lugar de desplazar la colección;
+ * cuando las lápidas superan {@link #UMBRAL_FRAGMENTACION} se compacta en segundo plano
  */
-public class EstudianteRepository {
+public class EstudianteRepository extends AbstractEstudianteRepository implements RepositorioIndexado {
+    /** Fracción de ranuras muertas que dispara la compactación */
+    public static final double UMBRAL_FRAGMENTACION = 0.25;
+    /** Con menos lápidas no vale la pena compactar */
+    private static final int MINIMO_LAPIDAS = 64;
+    /** Ranuras que la compactación copia por cada toma del bloqueo de lectura */
+    private static final int TRAMO_COMPACTACION = 4_096;
+
     private static EstudianteRepository instance;
-    private List<Estudiante> estudiantes;
-    private List<RepositoryObserver> observers;
+    /** Ranuras en orden de inserción; null marca una ranura eliminada */
+    private List<EstudianteInmutable> estudiantes;
+    private Map<String, Integer> posicionPorId = new HashMap<>();
+    private int lapidas;
+    /** Ranuras modificadas desde que empezó la compactación en curso, o null si no hay una */
+    private BitSet ranurasModificadas;
+    private final Object compactacion = new Object();
+
+    private final AtomicBoolean compactacionPendiente = new AtomicBoolean();
+    private final ExecutorService compactador = Executors.newSingleThreadExecutor(tarea -> {
+        Thread hilo = new Thread(tarea, "repositorio-compactacion");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+    private long compactaciones;
+    private long ranurasRecuperadas;
+
+    // Métricas por operación; en las lecturas APLICADO significa encontrado
+    private static final int APLICADO = 0;
+    private static final int RECHAZADO = 1;
+    private final RegistroMetricas metricas = new RegistroMetricas("EstudianteRepository");
+    private final MetricasOperacion metricasAgregar = metricas.crear("agregar", "APLICADO", "RECHAZADO");
+    private final MetricasOperacion metricasEditar = metricas.crear("editar", "APLICADO", "RECHAZADO");
+    private final MetricasOperacion metricasEliminar = metricas.crear("eliminar", "APLICADO", "RECHAZADO");
+    private final MetricasOperacion metricasAplicarLote = metricas.crear("aplicarLote", "APLICADO", "RECHAZADO");
+    private final MetricasOperacion metricasBuscar = metricas.crear("buscarPorId", "ENCONTRADO", "NO_ENCONTRADO");
+    private final MetricasOperacion metricasListar = metricas.crear("listar", "OK");
+
+    // Índices secundarios, actualizados en cada modificación
+    private final Map<String, EstudianteInmutable> indicePorId = new HashMap<>();
+    private final TreeMap<Integer, Map<String, EstudianteInmutable>> indicePorEdad = new TreeMap<>();
+    private final Map<String, Map<String, EstudianteInmutable>> indicePorPalabra = new HashMap<>();
 
     /**
      * Constructor privado para patrón Singleton
      */
     private EstudianteRepository() {
         this.estudiantes = new ArrayList<>();
-        this.observers = new ArrayList<>();
     }
 
     /**
      * Obtiene la instancia única del repositorio
      * @return Instancia de EstudianteRepository
      */
-    public static EstudianteRepository getInstance() {
+    public static synchronized EstudianteRepository getInstance() {
         if (instance == null) {
             instance = new EstudianteRepository();
         }
@@ -41,15 +95,26 @@ public class EstudianteRepository {
      * @param estudiante Estudiante a agregar
      * @return true si se agregó correctamente, false en caso contrario
      */
-    public boolean agregar(Estudiante estudiante) {
-        if (estudiante == null || buscarPorId(estudiante.getId()).isPresent()) {
+    @Override
+    public boolean agregar(EstudianteInmutable estudiante) {
+        if (estudiante == null) {
             return false;
         }
-        boolean resultado = estudiantes.add(estudiante);
-        if (resultado) {
-            notifyObservers(); // Notificar a los observadores
+        long inicio = System.nanoTime();
+        EventoRepositorio evento = EventoRepositorio.iniciar(getClass(), "agregar", estudiante.id());
+        CambioRepositorio cambio = null;
+        lock.writeLock().lock();
+        try {
+            cambio = aplicarAgregar(estudiante);
+            if (cambio != null) {
+                notifyObservers(cambio); // Notificar a los observadores
+            }
+            return cambio != null;
+        } finally {
+            lock.writeLock().unlock();
+            metricasAgregar.registrar(System.nanoTime() - inicio, cambio != null ? APLICADO : RECHAZADO);
+            evento.terminar(cambio != null, 1);
         }
-        return resultado;
     }
 
     /**
@@ -57,40 +122,363 @@ public class EstudianteRepository {
      * @param estudiante Estudiante con los datos actualizados
      * @return true si se editó correctamente, false si no existe
      */
-    public boolean editar(Estudiante estudiante) {
+    @Override
+    public boolean editar(EstudianteInmutable estudiante) {
         if (estudiante == null) {
             return false;
         }
         
-        for (int i = 0; i < estudiantes.size(); i++) {
-            if (estudiantes.get(i).getId().equals(estudiante.getId())) {
-                estudiantes.set(i, estudiante);
-                notifyObservers(); // Notificar a los observadores
-                return true;
+        long inicio = System.nanoTime();
+        EventoRepositorio evento = EventoRepositorio.iniciar(getClass(), "editar", estudiante.id());
+        CambioRepositorio cambio = null;
+        lock.writeLock().lock();
+        try {
+            cambio = aplicarEditar(estudiante);
+            if (cambio != null) {
+                notifyObservers(cambio); // Notificar a los observadores
             }
+            return cambio != null;
+        } finally {
+            lock.writeLock().unlock();
+            metricasEditar.registrar(System.nanoTime() - inicio, cambio != null ? APLICADO : RECHAZADO);
+            evento.terminar(cambio != null, 1);
         }
-        return false;
     }
 
     /**
      * Elimina un estudiante por su ID
+     * La ranura queda como lápida en O(1); el espacio se recupera al compactar
      * @param id Identificador del estudiante a eliminar
      * @return true si se eliminó correctamente, false si no existe
      */
+    @Override
     public boolean eliminar(String id) {
-        boolean resultado = estudiantes.removeIf(e -> e.getId().equals(id));
-        if (resultado) {
-            notifyObservers(); // Notificar a los observadores
+        long inicio = System.nanoTime();
+        EventoRepositorio evento = EventoRepositorio.iniciar(getClass(), "eliminar", id);
+        CambioRepositorio cambio = null;
+        lock.writeLock().lock();
+        try {
+            cambio = aplicarEliminar(id);
+            if (cambio != null) {
+                notifyObservers(cambio); // Notificar a los observadores
+                programarCompactacion();
+            }
+            return cambio != null;
+        } finally {
+            lock.writeLock().unlock();
+            metricasEliminar.registrar(System.nanoTime() - inicio, cambio != null ? APLICADO : RECHAZADO);
+            evento.terminar(cambio != null, 1);
+        }
+    }
+
+    /**
+     * Aplica el lote completo con un solo bloqueo de escritura y una sola notificación
+     */
+    @Override
+    public boolean[] aplicarLote(List<MutacionRepositorio> mutaciones) {
+        long inicio = System.nanoTime();
+        EventoRepositorio evento = EventoRepositorio.iniciar(getClass(), "aplicarLote", null);
+        boolean[] aplicadas = new boolean[mutaciones.size()];
+        boolean alguna = false;
+        lock.writeLock().lock();
+        try {
+            List<CambioRepositorio> cambios = new ArrayList<>(mutaciones.size());
+            for (int i = 0; i < aplicadas.length; i++) {
+                MutacionRepositorio mutacion = mutaciones.get(i);
+                CambioRepositorio cambio;
+                switch (mutacion.getTipo()) {
+                    case AGREGAR:
+                        cambio = aplicarAgregar(mutacion.getEstudiante());
+                        break;
+                    case EDITAR:
+                        cambio = aplicarEditar(mutacion.getEstudiante());
+                        break;
+                    default:
+                        cambio = aplicarEliminar(mutacion.getId());
+                        break;
+                }
+                if (cambio != null) {
+                    cambios.add(cambio);
+                    aplicadas[i] = true;
+                }
+            }
+            if (!cambios.isEmpty()) {
+                alguna = true;
+                notifyObservers(CambioRepositorio.lote(cambios));
+                programarCompactacion();
+            }
+            return aplicadas;
+        } finally {
+            lock.writeLock().unlock();
+            metricasAplicarLote.registrar(System.nanoTime() - inicio, alguna ? APLICADO : RECHAZADO);
+            evento.terminar(alguna, aplicadas.length);
+        }
+    }
+
+    /**
+     * Agrega el lote con un solo bloqueo de escritura y una sola notificación
+     */
+    @Override
+    public int agregarLote(List<EstudianteInmutable> estudiantes) {
+        List<MutacionRepositorio> mutaciones = new ArrayList<>(estudiantes.size());
+        for (EstudianteInmutable estudiante : estudiantes) {
+            if (estudiante != null) {
+                mutaciones.add(MutacionRepositorio.agregar(estudiante));
+            }
+        }
+        int agregados = 0;
+        for (boolean aplicada : aplicarLote(mutaciones)) {
+            if (aplicada) {
+                agregados++;
+            }
+        }
+        return agregados;
+    }
+
+    // Las operaciones aplicar* requieren el bloqueo de escritura y no notifican
+
+    private CambioRepositorio aplicarAgregar(EstudianteInmutable estudiante) {
+        if (estudiante == null || indicePorId.containsKey(estudiante.id())) {
+            return null;
+        }
+        estudiantes.add(estudiante);
+        posicionPorId.put(estudiante.id(), estudiantes.size() - 1);
+        indexar(estudiante);
+        return CambioRepositorio.agregado(estudiante);
+    }
+
+    private CambioRepositorio aplicarEditar(EstudianteInmutable estudiante) {
+        Integer indice = estudiante == null ? null : posicionPorId.get(estudiante.id());
+        if (indice == null) {
+            return null;
+        }
+        EstudianteInmutable anterior = estudiantes.set(indice, estudiante);
+        marcarModificada(indice);
+        desindexar(anterior);
+        indexar(estudiante);
+        return CambioRepositorio.editado(anterior, estudiante);
+    }
+
+    private CambioRepositorio aplicarEliminar(String id) {
+        Integer indice = posicionPorId.remove(id);
+        if (indice == null) {
+            return null;
+        }
+        EstudianteInmutable eliminado = estudiantes.set(indice, null);
+        lapidas++;
+        marcarModificada(indice);
+        desindexar(eliminado);
+        return CambioRepositorio.eliminado(eliminado);
+    }
+
+    private void programarCompactacion() {
+        if (lapidas >= MINIMO_LAPIDAS && fragmentacion() >= UMBRAL_FRAGMENTACION
+                && compactacionPendiente.compareAndSet(false, true)) {
+            compactador.execute(() -> {
+                try {
+                    compactar();
+                } finally {
+                    compactacionPendiente.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Anota una ranura editada o eliminada para que la compactación en curso la vuelva a copiar
+     */
+    private void marcarModificada(int indice) {
+        if (ranurasModificadas != null) {
+            ranurasModificadas.set(indice);
+        }
+    }
+
+    /**
+     * Quita las lápidas conservando el orden de inserción
+     * La copia compacta se arma por tramos de {@link #TRAMO_COMPACTACION} ranuras, cada uno con
+     * el bloqueo de lectura, así que ni lectores ni escritores esperan la copia completa.
+     * Las escrituras de entretanto marcan las ranuras que tocan y las altas se agregan al final;
+     * el reemplazo toma el bloqueo de escritura y solo vuelve a copiar esas ranuras y las altas,
+     * por lo que la pausa depende de las escrituras durante la copia y no del tamaño, y la
+     * compactación termina aunque las escrituras no se detengan
+     * @return true si se reemplazó la colección
+     */
+    public boolean compactar() {
+        synchronized (compactacion) {
+            int copiadas;
+            lock.writeLock().lock();
+            try {
+                if (lapidas == 0) {
+                    return false;
+                }
+                copiadas = estudiantes.size();
+                ranurasModificadas = new BitSet();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            boolean reemplazada = false;
+            try {
+                List<EstudianteInmutable> compacta = new ArrayList<>(copiadas);
+                Map<String, Integer> posiciones = new HashMap<>(copiadas * 2);
+                // Posición en la copia de cada ranura copiada, o -1 si era una lápida
+                int[] destinos = new int[copiadas];
+                for (int desde = 0; desde < copiadas; desde += TRAMO_COMPACTACION) {
+                    int hasta = Math.min(copiadas, desde + TRAMO_COMPACTACION);
+                    lock.readLock().lock();
+                    try {
+                        for (int i = desde; i < hasta; i++) {
+                            EstudianteInmutable estudiante = estudiantes.get(i);
+                            destinos[i] = estudiante == null ? -1 : compacta.size();
+                            if (estudiante != null) {
+                                posiciones.put(estudiante.id(), compacta.size());
+                                compacta.add(estudiante);
+                            }
+                        }
+                    } finally {
+                        lock.readLock().unlock();
+                    }
+                }
+                lock.writeLock().lock();
+                try {
+                    int lapidasRestantes = 0;
+                    for (int i = ranurasModificadas.nextSetBit(0); i >= 0 && i < copiadas;
+                            i = ranurasModificadas.nextSetBit(i + 1)) {
+                        // Una lápida no vuelve a ocuparse: las altas siempre van al final
+                        if (destinos[i] >= 0) {
+                            EstudianteInmutable actual = estudiantes.get(i);
+                            EstudianteInmutable copiado = compacta.set(destinos[i], actual);
+                            if (actual == null) {
+                                posiciones.remove(copiado.id());
+                                lapidasRestantes++;
+                            }
+                        }
+                    }
+                    for (int i = copiadas; i < estudiantes.size(); i++) {
+                        EstudianteInmutable estudiante = estudiantes.get(i);
+                        if (estudiante != null) {
+                            posiciones.put(estudiante.id(), compacta.size());
+                            compacta.add(estudiante);
+                        }
+                    }
+                    ranurasRecuperadas += estudiantes.size() - compacta.size();
+                    estudiantes = compacta;
+                    posicionPorId = posiciones;
+                    lapidas = lapidasRestantes;
+                    ranurasModificadas = null;
+                    compactaciones++;
+                    reemplazada = true;
+                    return true;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            } finally {
+                if (!reemplazada) {
+                    lock.writeLock().lock();
+                    try {
+                        ranurasModificadas = null;
+                    } finally {
+                        lock.writeLock().unlock();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Fracción de ranuras ocupadas por lápidas (0 sin bajas pendientes de compactar)
+     */
+    public double getFragmentacion() {
+        lock.readLock().lock();
+        try {
+            return fragmentacion();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return Lápidas aún no recuperadas
+     */
+    public int getLapidas() {
+        lock.readLock().lock();
+        try {
+            return lapidas;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return Ranuras totales (vivas y lápidas)
+     */
+    public int getRanuras() {
+        lock.readLock().lock();
+        try {
+            return estudiantes.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return Compactaciones completadas desde el arranque
+     */
+    public long getCompactaciones() {
+        lock.readLock().lock();
+        try {
+            return compactaciones;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return Lápidas eliminadas por todas las compactaciones
+     */
+    public long getRanurasRecuperadas() {
+        lock.readLock().lock();
+        try {
+            return ranurasRecuperadas;
+        } finally {
+            lock.readLock().unlock();
         }
-        return resultado;
+    }
+
+    /**
+     * Métricas de latencia y resultados de cada operación del repositorio
+     * @return Registro de métricas, publicable como MBeans
+     */
+    public RegistroMetricas getMetricas() {
+        return metricas;
+    }
+
+    private double fragmentacion() {
+        return estudiantes.isEmpty() ? 0.0 : (double) lapidas / estudiantes.size();
     }
 
     /**
      * Lista todos los estudiantes
      * @return Lista de todos los estudiantes
      */
-    public List<Estudiante> listar() {
-        return new ArrayList<>(estudiantes);
+    @Override
+    public List<EstudianteInmutable> listar() {
+        long inicio = System.nanoTime();
+        EventoRepositorio evento = EventoRepositorio.iniciar(getClass(), "listar", null);
+        List<EstudianteInmutable> vivos = null;
+        lock.readLock().lock();
+        try {
+            vivos = new ArrayList<>(estudiantes.size() - lapidas);
+            for (EstudianteInmutable estudiante : estudiantes) {
+                if (estudiante != null) {
+                    vivos.add(estudiante);
+                }
+            }
+            return vivos;
+        } finally {
+            lock.readLock().unlock();
+            metricasListar.registrar(System.nanoTime() - inicio, APLICADO);
+            evento.terminar(vivos != null, vivos != null ? vivos.size() : 0);
+        }
     }
 
     /**
@@ -98,10 +486,20 @@ public class EstudianteRepository {
      * @param id Identificador del estudiante
      * @return Optional con el estudiante si existe, vacío en caso contrario
      */
-    public Optional<Estudiante> buscarPorId(String id) {
-        return estudiantes.stream()
-                .filter(e -> e.getId().equals(id))
-                .findFirst();
+    @Override
+    public Optional<EstudianteInmutable> buscarPorId(String id) {
+        long inicio = System.nanoTime();
+        EventoRepositorio evento = EventoRepositorio.iniciar(getClass(), "buscarPorId", id);
+        EstudianteInmutable estudiante = null;
+        lock.readLock().lock();
+        try {
+            estudiante = indicePorId.get(id);
+            return Optional.ofNullable(estudiante);
+        } finally {
+            lock.readLock().unlock();
+            metricasBuscar.registrar(System.nanoTime() - inicio, estudiante != null ? APLICADO : RECHAZADO);
+            evento.terminar(estudiante != null, estudiante != null ? 1 : 0);
+        }
     }
 
     /**
@@ -109,34 +507,107 @@ public class EstudianteRepository {
      * @param id Identificador a verificar
      * @return true si existe, false en caso contrario
      */
+    @Override
     public boolean existePorId(String id) {
-        return buscarPorId(id).isPresent();
+        lock.readLock().lock();
+        try {
+            return indicePorId.containsKey(id);
+        } finally {
+            lock.readLock().unlock();
+        }
     }
-    
-    /**
-     * Agrega un observador al repositorio
-     * @param observer Observador a agregar
-     */
-    public void addObserver(RepositoryObserver observer) {
-        if (observer != null && !observers.contains(observer)) {
-            observers.add(observer);
+
+    @Override
+    public int contar() {
+        lock.readLock().lock();
+        try {
+            return estudiantes.size() - lapidas;
+        } finally {
+            lock.readLock().unlock();
         }
     }
-    
-    /**
-     * Elimina un observador del repositorio
-     * @param observer Observador a eliminar
-     */
-    public void removeObserver(RepositoryObserver observer) {
-        observers.remove(observer);
+
+    @Override
+    public List<EstudianteInmutable> buscarPorRangoEdad(int edadMinima, int edadMaxima) {
+        lock.readLock().lock();
+        try {
+            List<EstudianteInmutable> resultado = new ArrayList<>();
+            if (edadMinima <= edadMaxima) {
+                for (Map<String, EstudianteInmutable> grupo
+                        : indicePorEdad.subMap(edadMinima, true, edadMaxima, true).values()) {
+                    resultado.addAll(grupo.values());
+                }
+            }
+            return resultado;
+        } finally {
+            lock.readLock().unlock();
+        }
     }
-    
-    /**
-     * Notifica a todos los observadores sobre cambios en los datos
-     */
-    private void notifyObservers() {
-        for (RepositoryObserver observer : observers) {
-            observer.onDataChanged();
+
+    @Override
+    public long contarPorRangoEdad(int edadMinima, int edadMaxima) {
+        lock.readLock().lock();
+        try {
+            long total = 0;
+            if (edadMinima <= edadMaxima) {
+                for (Map<String, EstudianteInmutable> grupo
+                        : indicePorEdad.subMap(edadMinima, true, edadMaxima, true).values()) {
+                    total += grupo.size();
+                }
+            }
+            return total;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<EstudianteInmutable> buscarPorPalabra(String palabra) {
+        lock.readLock().lock();
+        try {
+            Map<String, EstudianteInmutable> grupo = indicePorPalabra.get(NormalizadorTexto.normalizar(palabra));
+            return grupo == null ? new ArrayList<>() : new ArrayList<>(grupo.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long contarPorPalabra(String palabra) {
+        lock.readLock().lock();
+        try {
+            Map<String, EstudianteInmutable> grupo = indicePorPalabra.get(NormalizadorTexto.normalizar(palabra));
+            return grupo == null ? 0 : grupo.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void indexar(EstudianteInmutable estudiante) {
+        indicePorId.put(estudiante.id(), estudiante);
+        indicePorEdad.computeIfAbsent(estudiante.edad(), k -> new LinkedHashMap<>())
+                .put(estudiante.id(), estudiante);
+        for (String palabra : NormalizadorTexto.palabras(estudiante.nombres())) {
+            indicePorPalabra.computeIfAbsent(palabra, k -> new LinkedHashMap<>())
+                    .put(estudiante.id(), estudiante);
+        }
+    }
+
+    private void desindexar(EstudianteInmutable estudiante) {
+        indicePorId.remove(estudiante.id());
+        quitar(indicePorEdad, estudiante.edad(), estudiante.id());
+        for (String palabra : NormalizadorTexto.palabras(estudiante.nombres())) {
+            quitar(indicePorPalabra, palabra, estudiante.id());
+        }
+    }
+
+    private static <K> void quitar(Map<K, Map<String, EstudianteInmutable>> indice, K clave, String id) {
+        Map<String, EstudianteInmutable> grupo = indice.get(clave);
+        if (grupo != null) {
+            grupo.remove(id);
+            if (grupo.isEmpty()) {
+                indice.remove(clave);
+            }
         }
     }
 }
@@ -0,0 +1,138 @@
+package ec.edu.espe.datos.repository;
+
+import ec.edu.espe.datos.model.EstudianteInmutable;
+import ec.edu.espe.datos.repository.observer.RepositoryObserver;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * IEstudianteRepository - Contrato de la Capa de Acceso a Datos
+ * Define las operaciones CRUD que debe ofrecer cualquier implementación de almacenamiento
+ * (en memoria, JDBC, etc.) para que el servicio pueda trabajar con ellas sin cambios
+ */
+public interface IEstudianteRepository {
+
+    /**
+     * Agrega un nuevo estudiante al repositorio
+     * @param estudiante Estudiante a agregar
+     * @return true si se agregó correctamente, false en caso contrario
+     */
+    boolean agregar(EstudianteInmutable estudiante);
+
+    /**
+     * Agrega varios estudiantes en una sola operación
+     * La implementación por defecto agrega uno por uno; los repositorios persistentes
+     * pueden sobrescribirla para enviar el lote completo al almacenamiento
+     * @param estudiantes Estudiantes a agregar
+     * @return Número de estudiantes agregados
+     */
+    default int agregarLote(List<EstudianteInmutable> estudiantes) {
+        int agregados = 0;
+        for (EstudianteInmutable estudiante : estudiantes) {
+            if (agregar(estudiante)) {
+                agregados++;
+            }
+        }
+        return agregados;
+    }
+
+    /**
+     * Aplica altas, ediciones y bajas en el orden recibido
+     * La implementación por defecto las aplica una por una; los repositorios pueden
+     * sobrescribirla para usar una sola sección crítica, una sola escritura durable
+     * y una sola notificación de tipo LOTE
+     * @param mutaciones Modificaciones a aplicar
+     * @return Por cada mutación, true si se aplicó (false si el ID ya existía al agregar
+     *         o no existía al editar o eliminar)
+     */
+    default boolean[] aplicarLote(List<MutacionRepositorio> mutaciones) {
+        boolean[] aplicadas = new boolean[mutaciones.size()];
+        for (int i = 0; i < aplicadas.length; i++) {
+            MutacionRepositorio mutacion = mutaciones.get(i);
+            switch (mutacion.getTipo()) {
+                case AGREGAR:
+                    aplicadas[i] = agregar(mutacion.getEstudiante());
+                    break;
+                case EDITAR:
+                    aplicadas[i] = editar(mutacion.getEstudiante());
+                    break;
+                default:
+                    aplicadas[i] = eliminar(mutacion.getId());
+                    break;
+            }
+        }
+        return aplicadas;
+    }
+
+    /**
+     * Edita un estudiante existente
+     * @param estudiante Estudiante con los datos actualizados
+     * @return true si se editó correctamente, false si no existe
+     */
+    boolean editar(EstudianteInmutable estudiante);
+
+    /**
+     * Elimina un estudiante por su ID
+     * @param id Identificador del estudiante a eliminar
+     * @return true si se eliminó correctamente, false si no existe
+     */
+    boolean eliminar(String id);
+
+    /**
+     * Lista todos los estudiantes
+     * @return Lista de todos los estudiantes
+     */
+    List<EstudianteInmutable> listar();
+
+    /**
+     * Cuenta los estudiantes almacenados
+     * @return Número de estudiantes
+     */
+    default int contar() {
+        return listar().size();
+    }
+
+    /**
+     * Busca un estudiante por su ID
+     * @param id Identificador del estudiante
+     * @return Optional con el estudiante si existe, vacío en caso contrario
+     */
+    Optional<EstudianteInmutable> buscarPorId(String id);
+
+    /**
+     * Verifica si existe un estudiante con el ID especificado
+     * @param id Identificador a verificar
+     * @return true si existe, false en caso contrario
+     */
+    boolean existePorId(String id);
+
+    /**
+     * Agrega un observador al repositorio
+     * @param observer Observador a agregar
+     */
+    void addObserver(RepositoryObserver observer);
+
+    /**
+     * Agrega un observador y devuelve los datos actuales de forma atómica, para que
+     * los observadores que mantienen datos derivados partan de un estado coherente
+     * Si la lectura falla el observador se retira antes de propagar el error, para que no
+     * quede suscrito a medio cargar
+     * @param observer Observador a agregar
+     * @return Estudiantes existentes en el momento de la suscripción
+     */
+    default List<EstudianteInmutable> listarYObservar(RepositoryObserver observer) {
+        addObserver(observer);
+        try {
+            return listar();
+        } catch (RuntimeException | Error e) {
+            removeObserver(observer);
+            throw e;
+        }
+    }
+
+    /**
+     * Elimina un observador del repositorio
+     * @param observer Observador a eliminar
+     */
+    void removeObserver(RepositoryObserver observer);
+}
@@ -0,0 +1,57 @@
+package ec.edu.espe.datos.repository;
+
+import ec.edu.espe.datos.model.EstudianteInmutable;
+
+/**
+ * MutacionRepositorio - Alta, edición o baja pendiente de aplicar en un lote
+ * Permite enviar al repositorio modificaciones de distinto tipo en una sola operación
+ * con {@link IEstudianteRepository#aplicarLote(java.util.List)}
+ */
+public final class MutacionRepositorio {
+
+    /**
+     * Tipos de modificación
+     */
+    public enum Tipo {
+        AGREGAR,
+        EDITAR,
+        ELIMINAR
+    }
+
+    private final Tipo tipo;
+    private final String id;
+    private final EstudianteInmutable estudiante;
+
+    private MutacionRepositorio(Tipo tipo, String id, EstudianteInmutable estudiante) {
+        this.tipo = tipo;
+        this.id = id;
+        this.estudiante = estudiante;
+    }
+
+    public static MutacionRepositorio agregar(EstudianteInmutable estudiante) {
+        return new MutacionRepositorio(Tipo.AGREGAR, estudiante.id(), estudiante);
+    }
+
+    public static MutacionRepositorio editar(EstudianteInmutable estudiante) {
+        return new MutacionRepositorio(Tipo.EDITAR, estudiante.id(), estudiante);
+    }
+
+    public static MutacionRepositorio eliminar(String id) {
+        return new MutacionRepositorio(Tipo.ELIMINAR, id, null);
+    }
+
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * @return Valor a guardar, o null en las bajas
+     */
+    public EstudianteInmutable getEstudiante() {
+        return estudiante;
+    }
+}
@@ -0,0 +1,38 @@
+package ec.edu.espe.datos.repository;
+
+import ec.edu.espe.datos.model.EstudianteInmutable;
+import java.util.List;
+
+/**
+ * RepositorioIndexado - Repositorio con índices secundarios
+ * Además de la clave primaria ofrece acceso por rango de edad y por palabra
+ * del nombre, junto con el número de filas de cada acceso para que el
+ * planificador de consultas pueda estimar su costo sin leer los datos
+ */
+public interface RepositorioIndexado extends IEstudianteRepository {
+
+    /**
+     * Estudiantes con edad dentro del rango (inclusive)
+     * @param edadMinima Límite inferior
+     * @param edadMaxima Límite superior
+     * @return Estudiantes del rango, ordenados por edad
+     */
+    List<EstudianteInmutable> buscarPorRangoEdad(int edadMinima, int edadMaxima);
+
+    /**
+     * Número de estudiantes con edad dentro del rango (inclusive)
+     */
+    long contarPorRangoEdad(int edadMinima, int edadMaxima);
+
+    /**
+     * Estudiantes cuyo nombre contiene la palabra (sin distinguir mayúsculas ni tildes)
+     * @param palabra Palabra completa a buscar
+     * @return Estudiantes que la contienen
+     */
+    List<EstudianteInmutable> buscarPorPalabra(String palabra);
+
+    /**
+     * Número de estudiantes cuyo nombre contiene la palabra
+     */
+    long contarPorPalabra(String palabra);
+}
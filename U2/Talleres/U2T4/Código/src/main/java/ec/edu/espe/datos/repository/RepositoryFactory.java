@@ -0,0 +1,68 @@
+package ec.edu.espe.datos.repository;
+
+import ec.edu.espe.datos.repository.bloom.BloomEstudianteRepository;
+import ec.edu.espe.datos.repository.jdbc.JdbcEstudianteRepository;
+import ec.edu.espe.datos.repository.lsm.LsmEstudianteRepository;
+import java.nio.file.Paths;
+import java.util.Locale;
+
+/**
+ * RepositoryFactory - Selección del repositorio según el despliegue
+ * Permite elegir entre el repositorio en memoria, el repositorio JDBC y el
+ * motor LSM en archivos locales mediante propiedades del sistema, sin modificar
+ * el código del servicio:
+ * <pre>
+ *   -Destudiantes.repositorio=jdbc
+ *   -Destudiantes.jdbc.url=jdbc:h2:file:./data/estudiantes
+ *   -Destudiantes.jdbc.usuario=sa -Destudiantes.jdbc.clave=
+ *   -Destudiantes.jdbc.pool=4
+ *   -Destudiantes.repositorio=lsm -Destudiantes.lsm.dir=./data/lsm
+ *   -Destudiantes.bloom=true
+ * </pre>
+ * Los repositorios persistentes se envuelven por defecto con un filtro de Bloom
+ * sobre los IDs para evitar consultas al disco por IDs inexistentes
+ */
+public final class RepositoryFactory {
+    public static final String PROPIEDAD_REPOSITORIO = "estudiantes.repositorio";
+    public static final String PROPIEDAD_JDBC_URL = "estudiantes.jdbc.url";
+    public static final String PROPIEDAD_JDBC_USUARIO = "estudiantes.jdbc.usuario";
+    public static final String PROPIEDAD_JDBC_CLAVE = "estudiantes.jdbc.clave";
+    public static final String PROPIEDAD_JDBC_POOL = "estudiantes.jdbc.pool";
+    public static final String PROPIEDAD_LSM_DIRECTORIO = "estudiantes.lsm.dir";
+    public static final String PROPIEDAD_BLOOM = "estudiantes.bloom";
+
+    private static final String URL_POR_DEFECTO = "jdbc:h2:file:./data/estudiantes";
+    private static final int POOL_POR_DEFECTO = 4;
+    private static final String DIRECTORIO_LSM_POR_DEFECTO = "./data/lsm";
+
+    private RepositoryFactory() {
+    }
+
+    /**
+     * Crea el repositorio configurado en las propiedades del sistema
+     * @return Repositorio en memoria por defecto, o JDBC o LSM si así se configuró
+     */
+    public static IEstudianteRepository crear() {
+        String tipo = System.getProperty(PROPIEDAD_REPOSITORIO, "memoria");
+        switch (tipo.trim().toLowerCase(Locale.ROOT)) {
+            case "memoria":
+                return EstudianteRepository.getInstance();
+            case "jdbc":
+                return conFiltroBloom(new JdbcEstudianteRepository(
+                        System.getProperty(PROPIEDAD_JDBC_URL, URL_POR_DEFECTO),
+                        System.getProperty(PROPIEDAD_JDBC_USUARIO, ""),
+                        System.getProperty(PROPIEDAD_JDBC_CLAVE, ""),
+                        Integer.getInteger(PROPIEDAD_JDBC_POOL, POOL_POR_DEFECTO)));
+            case "lsm":
+                return conFiltroBloom(new LsmEstudianteRepository(
+                        Paths.get(System.getProperty(PROPIEDAD_LSM_DIRECTORIO, DIRECTORIO_LSM_POR_DEFECTO))));
+            default:
+                throw new IllegalArgumentException("Tipo de repositorio desconocido: " + tipo);
+        }
+    }
+
+    private static IEstudianteRepository conFiltroBloom(IEstudianteRepository repository) {
+        boolean activo = Boolean.parseBoolean(System.getProperty(PROPIEDAD_BLOOM, "true"));
+        return activo ? new BloomEstudianteRepository(repository) : repository;
+    }
+}
@@ -0,0 +1,334 @@
+package ec.edu.espe.datos.repository.bloom;
+
+import ec.edu.espe.datos.model.EstudianteInmutable;
+import ec.edu.espe.datos.repository.IEstudianteRepository;
+import ec.edu.espe.datos.repository.MutacionRepositorio;
+import ec.edu.espe.datos.repository.observer.RepositoryObserver;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * BloomEstudianteRepository - Decorador con filtro de Bloom sobre los IDs
+ * Envuelve un repositorio persistente y responde {@code existePorId} y {@code buscarPorId}
+ * para IDs que definitivamente no existen sin consultar el almacenamiento, que es el caso
+ * más común al registrar estudiantes nuevos. Las bajas se reflejan en el filtro gracias a
+ * sus contadores; cuando el filtro se satura se reconstruye con el doble de capacidad.
+ * Todas las escrituras deben pasar por este decorador para que el filtro no quede desactualizado.
+ * Cerrar el decorador cierra el repositorio envuelto si este también se puede cerrar
+ */
+public class BloomEstudianteRepository implements IEstudianteRepository, AutoCloseable {
+    private static final long CAPACIDAD_MINIMA = 1_024;
+    private static final double TASA_OBJETIVO = 0.01;
+
+    private final IEstudianteRepository delegate;
+    private final double tasaObjetivo;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private CountingBloomFilter filtro;
+
+    private final AtomicLong descartesRapidos = new AtomicLong();
+    private final AtomicLong falsosPositivos = new AtomicLong();
+    private final AtomicLong reconstrucciones = new AtomicLong();
+
+    /**
+     * @param delegate Repositorio real
+     */
+    public BloomEstudianteRepository(IEstudianteRepository delegate) {
+        this(delegate, TASA_OBJETIVO);
+    }
+
+    /**
+     * @param delegate Repositorio real
+     * @param tasaObjetivo Tasa de falsos positivos deseada (por ejemplo 0.01)
+     */
+    public BloomEstudianteRepository(IEstudianteRepository delegate, double tasaObjetivo) {
+        this.delegate = delegate;
+        this.tasaObjetivo = tasaObjetivo;
+        lock.writeLock().lock();
+        try {
+            reconstruir(CAPACIDAD_MINIMA);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Registra el ID en el filtro antes de escribir, de modo que una lectura concurrente
+     * nunca lo descarte por error; si el alta no se aplica el ID se quita de nuevo, y si la
+     * escritura lanza una excepción el filtro se reconstruye desde el almacenamiento, porque
+     * no se sabe qué llegó a guardarse
+     */
+    @Override
+    public boolean agregar(EstudianteInmutable estudiante) {
+        if (estudiante == null) {
+            return false;
+        }
+        lock.writeLock().lock();
+        try {
+            filtro.agregar(estudiante.id());
+            boolean resultado;
+            try {
+                resultado = delegate.agregar(estudiante);
+            } catch (RuntimeException e) {
+                reconstruirTrasError(e);
+                throw e;
+            }
+            if (!resultado) {
+                filtro.eliminar(estudiante.id());
+            }
+            reconstruirSiEstaSaturado();
+            return resultado;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Antes de escribir registra en el filtro solo los IDs que el almacenamiento va a aceptar:
+     * se omiten los repetidos dentro del lote y los que ya existen (consultados solo cuando el
+     * filtro dice que pueden estar). Así un lote con algunos duplicados no obliga a recorrer el
+     * almacenamiento; si aun así se rechazara alguno, su cuenta de más solo da un falso positivo.
+     * El filtro se reconstruye únicamente si la escritura lanza una excepción
+     */
+    @Override
+    public int agregarLote(List<EstudianteInmutable> estudiantes) {
+        lock.writeLock().lock();
+        try {
+            Set<String> nuevos = new HashSet<>();
+            for (EstudianteInmutable estudiante : estudiantes) {
+                if (estudiante != null && !nuevos.contains(estudiante.id())
+                        && !(filtro.puedeContener(estudiante.id()) && delegate.existePorId(estudiante.id()))) {
+                    nuevos.add(estudiante.id());
+                    filtro.agregar(estudiante.id());
+                }
+            }
+            int agregados;
+            try {
+                agregados = delegate.agregarLote(estudiantes);
+            } catch (RuntimeException e) {
+                reconstruirTrasError(e);
+                throw e;
+            }
+            reconstruirSiEstaSaturado();
+            return agregados;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Las altas se registran en el filtro antes de escribir y se retiran si no se aplicaron;
+     * las bajas aplicadas se retiran después. Si el lote lanza una excepción el filtro se
+     * reconstruye desde el almacenamiento
+     */
+    @Override
+    public boolean[] aplicarLote(List<MutacionRepositorio> mutaciones) {
+        lock.writeLock().lock();
+        try {
+            for (MutacionRepositorio mutacion : mutaciones) {
+                if (mutacion.getTipo() == MutacionRepositorio.Tipo.AGREGAR) {
+                    filtro.agregar(mutacion.getId());
+                }
+            }
+            boolean[] aplicadas;
+            try {
+                aplicadas = delegate.aplicarLote(mutaciones);
+            } catch (RuntimeException e) {
+                // Quitar las altas sin saber si se guardaron dejaría IDs existentes fuera del filtro
+                reconstruirTrasError(e);
+                throw e;
+            }
+            for (int i = 0; i < mutaciones.size(); i++) {
+                MutacionRepositorio mutacion = mutaciones.get(i);
+                if ((mutacion.getTipo() == MutacionRepositorio.Tipo.AGREGAR && !aplicadas[i])
+                        || (mutacion.getTipo() == MutacionRepositorio.Tipo.ELIMINAR && aplicadas[i])) {
+                    filtro.eliminar(mutacion.getId());
+                }
+            }
+            reconstruirSiEstaSaturado();
+            return aplicadas;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean editar(EstudianteInmutable estudiante) {
+        // El ID no cambia al editar: el filtro sigue siendo válido
+        return delegate.editar(estudiante);
+    }
+
+    @Override
+    public boolean eliminar(String id) {
+        lock.writeLock().lock();
+        try {
+            boolean resultado = delegate.eliminar(id);
+            if (resultado) {
+                filtro.eliminar(id);
+            }
+            return resultado;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<EstudianteInmutable> listar() {
+        return delegate.listar();
+    }
+
+    @Override
+    public int contar() {
+        return delegate.contar();
+    }
+
+    @Override
+    public Optional<EstudianteInmutable> buscarPorId(String id) {
+        if (id == null || descartar(id)) {
+            return Optional.empty();
+        }
+        Optional<EstudianteInmutable> estudiante = delegate.buscarPorId(id);
+        if (!estudiante.isPresent()) {
+            falsosPositivos.incrementAndGet();
+        }
+        return estudiante;
+    }
+
+    @Override
+    public boolean existePorId(String id) {
+        if (id == null || descartar(id)) {
+            return false;
+        }
+        boolean existe = delegate.existePorId(id);
+        if (!existe) {
+            falsosPositivos.incrementAndGet();
+        }
+        return existe;
+    }
+
+    @Override
+    public void addObserver(RepositoryObserver observer) {
+        delegate.addObserver(observer);
+    }
+
+    @Override
+    public List<EstudianteInmutable> listarYObservar(RepositoryObserver observer) {
+        return delegate.listarYObservar(observer);
+    }
+
+    @Override
+    public void removeObserver(RepositoryObserver observer) {
+        delegate.removeObserver(observer);
+    }
+
+    /**
+     * Tasa de falsos positivos teórica con la ocupación actual del filtro
+     */
+    public double getTasaFalsosPositivosEstimada() {
+        lock.readLock().lock();
+        try {
+            return filtro.getTasaFalsosPositivosEstimada();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Tasa de falsos positivos medida: consultas que el filtro dejó pasar y el
+     * almacenamiento respondió como inexistentes, sobre todas las consultas de IDs inexistentes
+     */
+    public double getTasaFalsosPositivosObservada() {
+        long falsos = falsosPositivos.get();
+        long negativos = falsos + descartesRapidos.get();
+        return negativos == 0 ? 0.0 : (double) falsos / negativos;
+    }
+
+    /**
+     * @return Consultas resueltas por el filtro sin tocar el almacenamiento
+     */
+    public long getDescartesRapidos() {
+        return descartesRapidos.get();
+    }
+
+    public long getFalsosPositivos() {
+        return falsosPositivos.get();
+    }
+
+    public long getReconstrucciones() {
+        return reconstrucciones.get();
+    }
+
+    public IEstudianteRepository getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Cierra el repositorio envuelto (pool JDBC o motor LSM); si no se puede cerrar no hace nada.
+     * Los repositorios actuales se cierran sin excepciones comprobadas; si otro las lanzara se
+     * envuelven en una IllegalStateException
+     */
+    @Override
+    public void close() {
+        if (delegate instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) delegate).close();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new IllegalStateException("No se pudo cerrar el repositorio", e);
+            }
+        }
+    }
+
+    private boolean descartar(String id) {
+        lock.readLock().lock();
+        try {
+            if (!filtro.puedeContener(id)) {
+                descartesRapidos.incrementAndGet();
+                return true;
+            }
+            return false;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void reconstruirSiEstaSaturado() {
+        if (filtro.estaSaturado()) {
+            reconstruir(Math.max(filtro.getCapacidad() * 2, filtro.getElementos() * 2));
+        }
+    }
+
+    /**
+     * Reconstruye el filtro después de una escritura fallida; si tampoco se puede leer el
+     * almacenamiento se conserva el filtro actual, que a lo sumo tiene IDs de más
+     * @param error Error de la escritura, al que se agrega el de la reconstrucción
+     */
+    private void reconstruirTrasError(RuntimeException error) {
+        try {
+            reconstruir(filtro.getCapacidad());
+        } catch (RuntimeException e) {
+            error.addSuppressed(e);
+        }
+    }
+
+    /**
+     * Vuelve a crear el filtro a partir de los IDs almacenados; requiere el bloqueo de escritura
+     */
+    private void reconstruir(long capacidadDeseada) {
+        List<EstudianteInmutable> estudiantes = delegate.listar();
+        long capacidad = Math.max(CAPACIDAD_MINIMA, Math.max(capacidadDeseada, estudiantes.size() * 2L));
+        CountingBloomFilter nuevo = new CountingBloomFilter(capacidad, tasaObjetivo);
+        for (EstudianteInmutable estudiante : estudiantes) {
+            nuevo.agregar(estudiante.id());
+        }
+        filtro = nuevo;
+        reconstrucciones.incrementAndGet();
+    }
+}
@@ -0,0 +1,158 @@
+package ec.edu.espe.datos.repository.bloom;
+
+/**
+ * CountingBloomFilter - Filtro de Bloom con contadores de 4 bits
+ * Responde "definitivamente ausente" sin consultar el almacenamiento y, a diferencia
+ * de un filtro de Bloom clásico, permite quitar elementos. Un contador que llega a 15
+ * queda fijo (no se decrementa) para no producir falsos negativos; en ese caso el
+ * filtro se considera saturado y conviene reconstruirlo.
+ * No es seguro para uso concurrente: quien lo use debe sincronizar el acceso
+ */
+public class CountingBloomFilter {
+    private static final int MAXIMO_CONTADOR = 15;
+
+    private final long[] contadores;
+    private final int numeroContadores;
+    private final int numeroHashes;
+    private final long capacidad;
+    private final double tasaObjetivo;
+    private long elementos;
+    private boolean desbordado;
+
+    /**
+     * Dimensiona el filtro para la capacidad y la tasa de falsos positivos indicadas
+     * @param capacidad Número de elementos esperados
+     * @param tasaObjetivo Tasa de falsos positivos deseada con esa capacidad (por ejemplo 0.01)
+     */
+    public CountingBloomFilter(long capacidad, double tasaObjetivo) {
+        if (capacidad <= 0 || tasaObjetivo <= 0 || tasaObjetivo >= 1) {
+            throw new IllegalArgumentException("Capacidad o tasa de falsos positivos inválida");
+        }
+        long m = (long) Math.ceil(-capacidad * Math.log(tasaObjetivo) / (Math.log(2) * Math.log(2)));
+        this.numeroContadores = (int) Math.min(Integer.MAX_VALUE - 16, Math.max(64, m));
+        this.numeroHashes = Math.max(1, (int) Math.round((double) numeroContadores / capacidad * Math.log(2)));
+        this.contadores = new long[(numeroContadores + 15) / 16];
+        this.capacidad = capacidad;
+        this.tasaObjetivo = tasaObjetivo;
+    }
+
+    /**
+     * Registra un elemento
+     * @param clave Elemento a agregar
+     */
+    public void agregar(String clave) {
+        long h1 = hash(clave, 0L);
+        long h2 = hash(clave, 0x9E3779B97F4A7C15L) | 1L;
+        for (int i = 0; i < numeroHashes; i++) {
+            int posicion = posicion(h1, h2, i);
+            int valor = leer(posicion);
+            if (valor < MAXIMO_CONTADOR) {
+                escribir(posicion, valor + 1);
+            } else {
+                desbordado = true;
+            }
+        }
+        elementos++;
+    }
+
+    /**
+     * Quita un elemento que fue agregado previamente
+     * @param clave Elemento a quitar
+     */
+    public void eliminar(String clave) {
+        long h1 = hash(clave, 0L);
+        long h2 = hash(clave, 0x9E3779B97F4A7C15L) | 1L;
+        for (int i = 0; i < numeroHashes; i++) {
+            int posicion = posicion(h1, h2, i);
+            int valor = leer(posicion);
+            if (valor > 0 && valor < MAXIMO_CONTADOR) {
+                escribir(posicion, valor - 1);
+            }
+        }
+        if (elementos > 0) {
+            elementos--;
+        }
+    }
+
+    /**
+     * @param clave Elemento a consultar
+     * @return false si el elemento definitivamente no está; true si podría estar
+     */
+    public boolean puedeContener(String clave) {
+        long h1 = hash(clave, 0L);
+        long h2 = hash(clave, 0x9E3779B97F4A7C15L) | 1L;
+        for (int i = 0; i < numeroHashes; i++) {
+            if (leer(posicion(h1, h2, i)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Tasa teórica de falsos positivos con la ocupación actual: (1 - e^(-kn/m))^k
+     */
+    public double getTasaFalsosPositivosEstimada() {
+        double exponente = -(double) numeroHashes * elementos / numeroContadores;
+        return Math.pow(1 - Math.exp(exponente), numeroHashes);
+    }
+
+    /**
+     * El filtro está saturado si superó su capacidad (la tasa de falsos positivos
+     * ya excede la objetivo) o si algún contador se desbordó
+     */
+    public boolean estaSaturado() {
+        return desbordado || elementos > capacidad;
+    }
+
+    public long getElementos() {
+        return elementos;
+    }
+
+    public long getCapacidad() {
+        return capacidad;
+    }
+
+    public double getTasaObjetivo() {
+        return tasaObjetivo;
+    }
+
+    /**
+     * @return Memoria ocupada por los contadores, en bytes
+     */
+    public long getTamanioBytes() {
+        return contadores.length * 8L;
+    }
+
+    private int posicion(long h1, long h2, int i) {
+        return (int) Math.floorMod(h1 + i * h2, (long) numeroContadores);
+    }
+
+    private int leer(int posicion) {
+        return (int) ((contadores[posicion >>> 4] >>> ((posicion & 15) << 2)) & 0xFL);
+    }
+
+    private void escribir(int posicion, int valor) {
+        int desplazamiento = (posicion & 15) << 2;
+        int indice = posicion >>> 4;
+        contadores[indice] = (contadores[indice] & ~(0xFL << desplazamiento))
+                | ((long) valor << desplazamiento);
+    }
+
+    /**
+     * Hash de 64 bits: FNV-1a sobre los caracteres seguido de la mezcla final de MurmurHash3
+     */
+    static long hash(String clave, long semilla) {
+        long h = 0xcbf29ce484222325L ^ semilla;
+        for (int i = 0; i < clave.length(); i++) {
+            h ^= clave.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
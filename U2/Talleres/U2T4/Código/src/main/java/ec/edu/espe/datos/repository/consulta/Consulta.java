@@ -0,0 +1,138 @@
+package ec.edu.espe.datos.repository.consulta;
+
+import ec.edu.espe.datos.model.EstudianteInmutable;
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * Consulta - Filtro, orden y límite de una búsqueda de estudiantes
+ * Ejemplo: {@code Consulta.donde(Predicado.edadEntre(18, 25)).ordenarPor(Orden.NOMBRES, true).limite(10)}
+ */
+public final class Consulta {
+
+    /**
+     * Campos por los que se puede ordenar el resultado
+     */
+    public enum Orden {
+        ID(Comparator.comparing(EstudianteInmutable::id)),
+        NOMBRES(Comparator.comparing(EstudianteInmutable::nombres)),
+        EDAD(Comparator.comparingInt(EstudianteInmutable::edad));
+
+        private final Comparator<EstudianteInmutable> comparador;
+
+        Orden(Comparator<EstudianteInmutable> comparador) {
+            this.comparador = comparador;
+        }
+
+        Comparator<EstudianteInmutable> comparador(boolean ascendente) {
+            return ascendente ? comparador : comparador.reversed();
+        }
+    }
+
+    private final Predicado predicado;
+    private Orden orden;
+    private boolean ascendente = true;
+    private int limite = -1;
+
+    private Consulta(Predicado predicado) {
+        this.predicado = predicado;
+    }
+
+    /**
+     * Consulta con filtro
+     * @param predicado Filtro a aplicar
+     * @return Nueva consulta
+     */
+    public static Consulta donde(Predicado predicado) {
+        return new Consulta(predicado);
+    }
+
+    /**
+     * Consulta sin filtro (todos los estudiantes)
+     * @return Nueva consulta
+     */
+    public static Consulta todos() {
+        return new Consulta(null);
+    }
+
+    /**
+     * Ordena el resultado
+     * @param orden Campo de orden
+     * @param ascendente true para ascendente, false para descendente
+     * @return Esta consulta
+     */
+    public Consulta ordenarPor(Orden orden, boolean ascendente) {
+        this.orden = orden;
+        this.ascendente = ascendente;
+        return this;
+    }
+
+    /**
+     * Limita el número de filas del resultado
+     * @param limite Número máximo de filas
+     * @return Esta consulta
+     */
+    public Consulta limite(int limite) {
+        if (limite < 0) {
+            throw new IllegalArgumentException("El límite no puede ser negativo");
+        }
+        this.limite = limite;
+        return this;
+    }
+
+    public Predicado getPredicado() {
+        return predicado;
+    }
+
+    public Orden getOrden() {
+        return orden;
+    }
+
+    public boolean isAscendente() {
+        return ascendente;
+    }
+
+    /**
+     * @return Límite de filas, o -1 si no hay límite
+     */
+    public int getLimite() {
+        return limite;
+    }
+
+    /**
+     * Copia independiente, útil como clave porque la consulta original puede seguir modificándose
+     * @return Consulta con el mismo filtro, orden y límite
+     */
+    public Consulta copiar() {
+        Consulta copia = new Consulta(predicado);
+        copia.orden = orden;
+        copia.ascendente = ascendente;
+        copia.limite = limite;
+        return copia;
+    }
+
+    @Override
+    public boolean equals(Object otro) {
+        if (this == otro) {
+            return true;
+        }
+        if (!(otro instanceof Consulta)) {
+            return false;
+        }
+        Consulta consulta = (Consulta) otro;
+        return ascendente == consulta.ascendente && limite == consulta.limite
+                && orden == consulta.orden && Objects.equals(predicado, consulta.predicado);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(predicado, orden, ascendente, limite);
+    }
+
+    @Override
+    public String toString() {
+        return "Consulta{donde=" + (predicado == null ? "todos" : predicado)
+                + (orden != null ? ", orden=" + orden + (ascendente ? " ASC" : " DESC") : "")
+                + (limite >= 0 ? ", limite=" + limite : "") + '}';
+    }
+}
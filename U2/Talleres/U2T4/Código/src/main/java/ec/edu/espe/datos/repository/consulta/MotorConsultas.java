@@ -0,0 +1,142 @@
+package ec.edu.espe.datos.repository.consulta;
+
+import ec.edu.espe.datos.model.EstudianteInmutable;
+import ec.edu.espe.datos.repository.IEstudianteRepository;
+import ec.edu.espe.datos.repository.RepositorioIndexado;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * MotorConsultas - Planificador y ejecutor de consultas sobre el repositorio
+ * Para cada consulta elige la ruta de acceso más barata entre los índices
+ * disponibles (clave primaria, rango de edad, palabra del nombre) usando el
+ * número de filas de cada índice como costo. Si ningún índice es selectivo
+ * recorre todo el repositorio, en paralelo cuando es grande.
+ * Con repositorios sin índices secundarios solo se aprovecha la clave primaria
+ */
+public class MotorConsultas {
+    /** A partir de este número de filas el recorrido completo se hace en paralelo */
+    static final int UMBRAL_PARALELO = 10_000;
+
+    private final IEstudianteRepository repository;
+
+    /**
+     * @param repository Repositorio sobre el que se ejecutan las consultas
+     */
+    public MotorConsultas(IEstudianteRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Elige el plan de ejecución de una consulta sin ejecutarla
+     * @param consulta Consulta a planificar
+     * @return Plan con la ruta de acceso y las filas estimadas
+     */
+    public PlanConsulta planificar(Consulta consulta) {
+        long total = repository.contar();
+        RutaAcceso ruta = null;
+        if (consulta.getPredicado() != null) {
+            ruta = rutaIndexada(consulta.getPredicado());
+        }
+        if (ruta == null || ruta.getFilasEstimadas() >= total) {
+            ruta = RutaAcceso.recorrido(total, total >= UMBRAL_PARALELO);
+        }
+        long filas = ruta.getFilasEstimadas();
+        if (consulta.getLimite() >= 0) {
+            filas = Math.min(filas, consulta.getLimite());
+        }
+        return new PlanConsulta(consulta, ruta, filas);
+    }
+
+    /**
+     * Describe el plan elegido para la consulta
+     * @param consulta Consulta a explicar
+     * @return Texto del plan (ver {@link PlanConsulta#explain()})
+     */
+    public String explain(Consulta consulta) {
+        return planificar(consulta).explain();
+    }
+
+    /**
+     * Ejecuta una consulta
+     * @param consulta Consulta a ejecutar
+     * @return Estudiantes que cumplen el filtro, ordenados y limitados según la consulta
+     */
+    public List<EstudianteInmutable> ejecutar(Consulta consulta) {
+        return ejecutar(planificar(consulta));
+    }
+
+    /**
+     * Ejecuta un plan ya elegido
+     * @param plan Plan obtenido con {@link #planificar(Consulta)}
+     * @return Estudiantes del resultado
+     */
+    public List<EstudianteInmutable> ejecutar(PlanConsulta plan) {
+        Consulta consulta = plan.getConsulta();
+        Collection<EstudianteInmutable> candidatos = plan.getRuta().obtener(repository);
+        Stream<EstudianteInmutable> flujo = plan.getRuta().getTipo() == RutaAcceso.Tipo.RECORRIDO_PARALELO
+                ? candidatos.parallelStream()
+                : candidatos.stream();
+        Predicado predicado = consulta.getPredicado();
+        if (predicado != null) {
+            flujo = flujo.filter(predicado::evaluar);
+        }
+        if (consulta.getOrden() != null) {
+            flujo = flujo.sorted(consulta.getOrden().comparador(consulta.isAscendente()));
+        }
+        if (consulta.getLimite() >= 0) {
+            flujo = flujo.limit(consulta.getLimite());
+        }
+        return flujo.collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    /**
+     * Busca la ruta indexada más barata para el predicado
+     * @return Ruta indexada, o null si el predicado necesita un recorrido completo
+     */
+    private RutaAcceso rutaIndexada(Predicado predicado) {
+        if (predicado instanceof Predicado.IdIgual) {
+            return RutaAcceso.clavePrimaria(((Predicado.IdIgual) predicado).getId());
+        }
+        if (predicado instanceof Predicado.Y) {
+            // Basta con recorrer el hijo más selectivo; el resto se filtra después
+            RutaAcceso mejor = null;
+            for (Predicado hijo : ((Predicado.Y) predicado).getPredicados()) {
+                RutaAcceso ruta = rutaIndexada(hijo);
+                if (ruta != null && (mejor == null || ruta.getFilasEstimadas() < mejor.getFilasEstimadas())) {
+                    mejor = ruta;
+                }
+            }
+            return mejor;
+        }
+        if (predicado instanceof Predicado.O) {
+            // Una disyunción solo usa índices si todos sus hijos pueden hacerlo
+            List<RutaAcceso> rutas = new ArrayList<>();
+            for (Predicado hijo : ((Predicado.O) predicado).getPredicados()) {
+                RutaAcceso ruta = rutaIndexada(hijo);
+                if (ruta == null) {
+                    return null;
+                }
+                rutas.add(ruta);
+            }
+            return RutaAcceso.union(rutas);
+        }
+        if (!(repository instanceof RepositorioIndexado)) {
+            return null;
+        }
+        RepositorioIndexado indexado = (RepositorioIndexado) repository;
+        if (predicado instanceof Predicado.EdadEntre) {
+            Predicado.EdadEntre edad = (Predicado.EdadEntre) predicado;
+            return RutaAcceso.rangoEdad(edad.getEdadMinima(), edad.getEdadMaxima(),
+                    indexado.contarPorRangoEdad(edad.getEdadMinima(), edad.getEdadMaxima()));
+        }
+        if (predicado instanceof Predicado.NombresContiene) {
+            String palabra = ((Predicado.NombresContiene) predicado).getPalabra();
+            return RutaAcceso.textoNombre(palabra, indexado.contarPorPalabra(palabra));
+        }
+        return null;
+    }
+}
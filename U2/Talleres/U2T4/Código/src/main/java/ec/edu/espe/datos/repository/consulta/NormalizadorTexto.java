@@ -0,0 +1,49 @@
+package ec.edu.espe.datos.repository.consulta;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * NormalizadorTexto - Normalización de nombres para el índice de texto
+ * Convierte a minúsculas y quita tildes para que "José" y "jose" coincidan
+ */
+public final class NormalizadorTexto {
+    private static final Pattern DIACRITICOS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("\\s+");
+
+    private NormalizadorTexto() {
+    }
+
+    /**
+     * @param texto Texto original
+     * @return Texto en minúsculas, sin tildes y sin espacios al inicio o al final
+     */
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String sinTildes = DIACRITICOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return sinTildes.toLowerCase(Locale.ROOT).trim();
+    }
+
+    /**
+     * Divide un nombre en palabras normalizadas
+     * @param texto Nombre original
+     * @return Palabras normalizadas (sin vacías)
+     */
+    public static List<String> palabras(String texto) {
+        List<String> palabras = new ArrayList<>();
+        String normalizado = normalizar(texto);
+        if (!normalizado.isEmpty()) {
+            for (String palabra : SEPARADORES.split(normalizado)) {
+                if (!palabra.isEmpty()) {
+                    palabras.add(palabra);
+                }
+            }
+        }
+        return palabras;
+    }
+}
@@ -0,0 +1,64 @@
+package ec.edu.espe.datos.repository.consulta;
+
+/**
+ * PlanConsulta - Plan elegido por el planificador para una consulta
+ * Combina la ruta de acceso con el filtro residual, el orden y el límite,
+ * y puede describirse con {@link #explain()} para entender por qué una consulta es lenta
+ */
+public final class PlanConsulta {
+    private final Consulta consulta;
+    private final RutaAcceso ruta;
+    private final long filasEstimadas;
+
+    PlanConsulta(Consulta consulta, RutaAcceso ruta, long filasEstimadas) {
+        this.consulta = consulta;
+        this.ruta = ruta;
+        this.filasEstimadas = filasEstimadas;
+    }
+
+    public Consulta getConsulta() {
+        return consulta;
+    }
+
+    public RutaAcceso getRuta() {
+        return ruta;
+    }
+
+    /**
+     * @return Filas estimadas del resultado final (tras el límite)
+     */
+    public long getFilasEstimadas() {
+        return filasEstimadas;
+    }
+
+    /**
+     * Describe el plan como un árbol de operadores, de la salida hacia la ruta de acceso
+     * @return Texto del plan con las filas estimadas de cada paso
+     */
+    public String explain() {
+        StringBuilder texto = new StringBuilder();
+        String sangria = "";
+        if (consulta.getLimite() >= 0) {
+            texto.append("Limite(").append(consulta.getLimite()).append(") filas estimadas=")
+                    .append(filasEstimadas).append('\n');
+            sangria += "  ";
+        }
+        if (consulta.getOrden() != null) {
+            texto.append(sangria).append("Ordenar(").append(consulta.getOrden())
+                    .append(consulta.isAscendente() ? " ASC" : " DESC").append(")\n");
+            sangria += "  ";
+        }
+        if (consulta.getPredicado() != null) {
+            texto.append(sangria).append("Filtrar").append(ruta.esRecorrido() ? "" : "Residual")
+                    .append('(').append(consulta.getPredicado()).append(")\n");
+            sangria += "  ";
+        }
+        ruta.describir(texto, sangria);
+        return texto.toString();
+    }
+
+    @Override
+    public String toString() {
+        return explain();
+    }
+}
@@ -0,0 +1,261 @@
+package ec.edu.espe.datos.repository.consulta;
+
+import ec.edu.espe.datos.model.EstudianteInmutable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Predicado - Filtro de una consulta sobre estudiantes
+ * Se construye con los métodos de fábrica ({@link #idIgual}, {@link #edadEntre},
+ * {@link #nombresContiene}) y se combina con {@link #y} y {@link #o}.
+ * Las clases concretas son visibles para que el planificador reconozca qué
+ * filtros pueden resolverse con un índice; implementan equals y hashCode para
+ * que dos consultas iguales se reconozcan como tales
+ */
+public interface Predicado {
+
+    /**
+     * Evalúa el filtro sobre un estudiante
+     * @param estudiante Estudiante a evaluar
+     * @return true si cumple el filtro
+     */
+    boolean evaluar(EstudianteInmutable estudiante);
+
+    static Predicado idIgual(String id) {
+        return new IdIgual(id);
+    }
+
+    static Predicado edadEntre(int edadMinima, int edadMaxima) {
+        return new EdadEntre(edadMinima, edadMaxima);
+    }
+
+    static Predicado edadIgual(int edad) {
+        return new EdadEntre(edad, edad);
+    }
+
+    /**
+     * Nombres que contienen la palabra completa, sin distinguir mayúsculas ni tildes
+     */
+    static Predicado nombresContiene(String palabra) {
+        return new NombresContiene(palabra);
+    }
+
+    static Predicado y(Predicado... predicados) {
+        return new Y(Arrays.asList(predicados));
+    }
+
+    static Predicado o(Predicado... predicados) {
+        return new O(Arrays.asList(predicados));
+    }
+
+    /**
+     * Filtro de igualdad sobre la clave primaria
+     */
+    final class IdIgual implements Predicado {
+        private final String id;
+
+        IdIgual(String id) {
+            this.id = id;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public boolean evaluar(EstudianteInmutable estudiante) {
+            return estudiante.id().equals(id);
+        }
+
+        @Override
+        public boolean equals(Object otro) {
+            return otro instanceof IdIgual && Objects.equals(id, ((IdIgual) otro).id);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(id);
+        }
+
+        @Override
+        public String toString() {
+            return "id = '" + id + "'";
+        }
+    }
+
+    /**
+     * Filtro de rango (inclusive) sobre la edad
+     */
+    final class EdadEntre implements Predicado {
+        private final int edadMinima;
+        private final int edadMaxima;
+
+        EdadEntre(int edadMinima, int edadMaxima) {
+            this.edadMinima = edadMinima;
+            this.edadMaxima = edadMaxima;
+        }
+
+        public int getEdadMinima() {
+            return edadMinima;
+        }
+
+        public int getEdadMaxima() {
+            return edadMaxima;
+        }
+
+        @Override
+        public boolean evaluar(EstudianteInmutable estudiante) {
+            return estudiante.edad() >= edadMinima && estudiante.edad() <= edadMaxima;
+        }
+
+        @Override
+        public boolean equals(Object otro) {
+            if (!(otro instanceof EdadEntre)) {
+                return false;
+            }
+            EdadEntre rango = (EdadEntre) otro;
+            return edadMinima == rango.edadMinima && edadMaxima == rango.edadMaxima;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * edadMinima + edadMaxima;
+        }
+
+        @Override
+        public String toString() {
+            return edadMinima == edadMaxima
+                    ? "edad = " + edadMinima
+                    : "edad entre " + edadMinima + " y " + edadMaxima;
+        }
+    }
+
+    /**
+     * Filtro por palabra del nombre
+     */
+    final class NombresContiene implements Predicado {
+        private final String palabra;
+
+        NombresContiene(String palabra) {
+            this.palabra = NormalizadorTexto.normalizar(palabra);
+        }
+
+        public String getPalabra() {
+            return palabra;
+        }
+
+        @Override
+        public boolean evaluar(EstudianteInmutable estudiante) {
+            return NormalizadorTexto.palabras(estudiante.nombres()).contains(palabra);
+        }
+
+        @Override
+        public boolean equals(Object otro) {
+            return otro instanceof NombresContiene && palabra.equals(((NombresContiene) otro).palabra);
+        }
+
+        @Override
+        public int hashCode() {
+            return palabra.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return "nombres contiene '" + palabra + "'";
+        }
+    }
+
+    /**
+     * Conjunción: se cumplen todos los filtros
+     */
+    final class Y implements Predicado {
+        private final List<Predicado> predicados;
+
+        Y(List<Predicado> predicados) {
+            this.predicados = Collections.unmodifiableList(new ArrayList<>(predicados));
+        }
+
+        public List<Predicado> getPredicados() {
+            return predicados;
+        }
+
+        @Override
+        public boolean evaluar(EstudianteInmutable estudiante) {
+            for (Predicado predicado : predicados) {
+                if (!predicado.evaluar(estudiante)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public boolean equals(Object otro) {
+            return otro instanceof Y && predicados.equals(((Y) otro).predicados);
+        }
+
+        @Override
+        public int hashCode() {
+            return predicados.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return unir(predicados, " Y ");
+        }
+    }
+
+    /**
+     * Disyunción: se cumple al menos uno de los filtros
+     */
+    final class O implements Predicado {
+        private final List<Predicado> predicados;
+
+        O(List<Predicado> predicados) {
+            this.predicados = Collections.unmodifiableList(new ArrayList<>(predicados));
+        }
+
+        public List<Predicado> getPredicados() {
+            return predicados;
+        }
+
+        @Override
+        public boolean evaluar(EstudianteInmutable estudiante) {
+            for (Predicado predicado : predicados) {
+                if (predicado.evaluar(estudiante)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public boolean equals(Object otro) {
+            return otro instanceof O && predicados.equals(((O) otro).predicados);
+        }
+
+        @Override
+        public int hashCode() {
+            return -predicados.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return unir(predicados, " O ");
+        }
+    }
+
+    private static String unir(List<Predicado> predicados, String separador) {
+        StringBuilder texto = new StringBuilder("(");
+        for (int i = 0; i < predicados.size(); i++) {
+            if (i > 0) {
+                texto.append(separador);
+            }
+            texto.append(predicados.get(i));
+        }
+        return texto.append(')').toString();
+    }
+}
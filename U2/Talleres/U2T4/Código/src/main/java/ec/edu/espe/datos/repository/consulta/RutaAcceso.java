@@ -0,0 +1,149 @@
+package ec.edu.espe.datos.repository.consulta;
+
+import ec.edu.espe.datos.model.EstudianteInmutable;
+import ec.edu.espe.datos.repository.IEstudianteRepository;
+import ec.edu.espe.datos.repository.RepositorioIndexado;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RutaAcceso - Forma en que el plan obtiene las filas candidatas
+ * Cada ruta conoce su número estimado de filas, que el planificador usa como costo
+ */
+public abstract class RutaAcceso {
+
+    /**
+     * Tipos de acceso disponibles
+     */
+    public enum Tipo {
+        CLAVE_PRIMARIA,
+        RANGO_EDAD,
+        TEXTO_NOMBRE,
+        UNION,
+        RECORRIDO_SECUENCIAL,
+        RECORRIDO_PARALELO
+    }
+
+    private final Tipo tipo;
+    private final long filasEstimadas;
+
+    protected RutaAcceso(Tipo tipo, long filasEstimadas) {
+        this.tipo = tipo;
+        this.filasEstimadas = filasEstimadas;
+    }
+
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    public long getFilasEstimadas() {
+        return filasEstimadas;
+    }
+
+    /**
+     * Indica si la ruta recorre todo el repositorio (y por tanto debe filtrar en paralelo si es grande)
+     */
+    public boolean esRecorrido() {
+        return tipo == Tipo.RECORRIDO_SECUENCIAL || tipo == Tipo.RECORRIDO_PARALELO;
+    }
+
+    /**
+     * Obtiene las filas candidatas; el filtro completo se aplica después
+     */
+    abstract Collection<EstudianteInmutable> obtener(IEstudianteRepository repository);
+
+    abstract void describir(StringBuilder texto, String sangria);
+
+    static RutaAcceso clavePrimaria(String id) {
+        return new RutaAcceso(Tipo.CLAVE_PRIMARIA, 1) {
+            @Override
+            Collection<EstudianteInmutable> obtener(IEstudianteRepository repository) {
+                return repository.buscarPorId(id).map(Collections::singletonList)
+                        .orElse(Collections.emptyList());
+            }
+
+            @Override
+            void describir(StringBuilder texto, String sangria) {
+                texto.append(sangria).append("ClavePrimaria[id = '").append(id)
+                        .append("'] filas estimadas=").append(getFilasEstimadas()).append('\n');
+            }
+        };
+    }
+
+    static RutaAcceso rangoEdad(int edadMinima, int edadMaxima, long filasEstimadas) {
+        return new RutaAcceso(Tipo.RANGO_EDAD, filasEstimadas) {
+            @Override
+            Collection<EstudianteInmutable> obtener(IEstudianteRepository repository) {
+                return ((RepositorioIndexado) repository).buscarPorRangoEdad(edadMinima, edadMaxima);
+            }
+
+            @Override
+            void describir(StringBuilder texto, String sangria) {
+                texto.append(sangria).append("IndiceEdad[").append(edadMinima).append("..").append(edadMaxima)
+                        .append("] filas estimadas=").append(getFilasEstimadas()).append('\n');
+            }
+        };
+    }
+
+    static RutaAcceso textoNombre(String palabra, long filasEstimadas) {
+        return new RutaAcceso(Tipo.TEXTO_NOMBRE, filasEstimadas) {
+            @Override
+            Collection<EstudianteInmutable> obtener(IEstudianteRepository repository) {
+                return ((RepositorioIndexado) repository).buscarPorPalabra(palabra);
+            }
+
+            @Override
+            void describir(StringBuilder texto, String sangria) {
+                texto.append(sangria).append("IndiceNombre['").append(palabra)
+                        .append("'] filas estimadas=").append(getFilasEstimadas()).append('\n');
+            }
+        };
+    }
+
+    static RutaAcceso union(List<RutaAcceso> rutas) {
+        long total = 0;
+        for (RutaAcceso ruta : rutas) {
+            total += ruta.getFilasEstimadas();
+        }
+        return new RutaAcceso(Tipo.UNION, total) {
+            @Override
+            Collection<EstudianteInmutable> obtener(IEstudianteRepository repository) {
+                // Se eliminan duplicados por ID conservando el orden de llegada
+                Map<String, EstudianteInmutable> unidos = new LinkedHashMap<>();
+                for (RutaAcceso ruta : rutas) {
+                    for (EstudianteInmutable estudiante : ruta.obtener(repository)) {
+                        unidos.putIfAbsent(estudiante.id(), estudiante);
+                    }
+                }
+                return new ArrayList<>(unidos.values());
+            }
+
+            @Override
+            void describir(StringBuilder texto, String sangria) {
+                texto.append(sangria).append("Union filas estimadas=").append(getFilasEstimadas()).append('\n');
+                for (RutaAcceso ruta : rutas) {
+                    ruta.describir(texto, sangria + "  ");
+                }
+            }
+        };
+    }
+
+    static RutaAcceso recorrido(long filasEstimadas, boolean paralelo) {
+        return new RutaAcceso(paralelo ? Tipo.RECORRIDO_PARALELO : Tipo.RECORRIDO_SECUENCIAL, filasEstimadas) {
+            @Override
+            Collection<EstudianteInmutable> obtener(IEstudianteRepository repository) {
+                return repository.listar();
+            }
+
+            @Override
+            void describir(StringBuilder texto, String sangria) {
+                texto.append(sangria).append(paralelo ? "RecorridoParalelo" : "RecorridoSecuencial")
+                        .append(" filas estimadas=").append(getFilasEstimadas()).append('\n');
+            }
+        };
+    }
+}
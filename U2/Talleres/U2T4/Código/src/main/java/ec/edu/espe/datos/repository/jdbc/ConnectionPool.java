@@ -0,0 +1,172 @@
+package ec.edu.espe.datos.repository.jdbc;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ConnectionPool - Pool de conexiones JDBC
+ * Mantiene un número acotado de conexiones abiertas y, por cada una, una caché
+ * de sentencias preparadas para no volver a compilar el mismo SQL en cada operación
+ */
+public class ConnectionPool implements AutoCloseable {
+    private static final long TIEMPO_ESPERA_MS = 5_000;
+
+    private final String url;
+    private final String usuario;
+    private final String clave;
+    private final int maximoConexiones;
+    private final BlockingQueue<PooledConnection> disponibles;
+    private final AtomicInteger creadas = new AtomicInteger();
+    private volatile boolean cerrado;
+
+    /**
+     * Constructor del pool
+     * @param url URL JDBC de la base de datos (por ejemplo jdbc:h2:file:./data/estudiantes)
+     * @param usuario Usuario de la base de datos
+     * @param clave Contraseña de la base de datos
+     * @param maximoConexiones Número máximo de conexiones simultáneas
+     */
+    public ConnectionPool(String url, String usuario, String clave, int maximoConexiones) {
+        if (maximoConexiones <= 0) {
+            throw new IllegalArgumentException("El pool debe tener al menos una conexión");
+        }
+        this.url = url;
+        this.usuario = usuario;
+        this.clave = clave;
+        this.maximoConexiones = maximoConexiones;
+        this.disponibles = new ArrayBlockingQueue<>(maximoConexiones);
+    }
+
+    /**
+     * Obtiene una conexión del pool, creándola si aún no se alcanzó el máximo
+     * @return Conexión lista para usar; debe devolverse con {@link #liberar(PooledConnection)}
+     * @throws SQLException si no se pudo abrir la conexión o se agotó el tiempo de espera
+     */
+    public PooledConnection obtener() throws SQLException {
+        if (cerrado) {
+            throw new SQLException("El pool de conexiones está cerrado");
+        }
+        PooledConnection conexion = disponibles.poll();
+        if (conexion == null) {
+            conexion = crearSiHayCupo();
+        }
+        if (conexion == null) {
+            try {
+                conexion = disponibles.poll(TIEMPO_ESPERA_MS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrumpido esperando una conexión", e);
+            }
+            if (conexion == null) {
+                throw new SQLException("Tiempo de espera agotado para obtener una conexión");
+            }
+        }
+        if (conexion.getConnection().isClosed()) {
+            // La conexión se perdió: se descarta y se abre otra en su lugar
+            creadas.decrementAndGet();
+            return obtener();
+        }
+        return conexion;
+    }
+
+    /**
+     * Devuelve una conexión al pool
+     * @param conexion Conexión obtenida previamente con {@link #obtener()}
+     */
+    public void liberar(PooledConnection conexion) {
+        if (conexion == null) {
+            return;
+        }
+        if (cerrado || !disponibles.offer(conexion)) {
+            conexion.cerrar();
+            creadas.decrementAndGet();
+        }
+    }
+
+    private PooledConnection crearSiHayCupo() throws SQLException {
+        while (true) {
+            int actuales = creadas.get();
+            if (actuales >= maximoConexiones) {
+                return null;
+            }
+            if (creadas.compareAndSet(actuales, actuales + 1)) {
+                try {
+                    return new PooledConnection(DriverManager.getConnection(url, usuario, clave));
+                } catch (SQLException e) {
+                    creadas.decrementAndGet();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Cierra todas las conexiones del pool
+     */
+    @Override
+    public void close() {
+        cerrado = true;
+        PooledConnection conexion;
+        while ((conexion = disponibles.poll()) != null) {
+            conexion.cerrar();
+            creadas.decrementAndGet();
+        }
+    }
+
+    /**
+     * PooledConnection - Conexión del pool con su caché de sentencias preparadas
+     */
+    public static class PooledConnection {
+        private final Connection connection;
+        private final Map<String, PreparedStatement> sentencias = new HashMap<>();
+
+        private PooledConnection(Connection connection) {
+            this.connection = connection;
+        }
+
+        public Connection getConnection() {
+            return connection;
+        }
+
+        /**
+         * Obtiene una sentencia preparada, reutilizando la ya compilada para el mismo SQL
+         * @param sql Sentencia SQL con parámetros
+         * @return Sentencia preparada asociada a esta conexión
+         * @throws SQLException si no se pudo preparar la sentencia
+         */
+        public PreparedStatement preparar(String sql) throws SQLException {
+            PreparedStatement sentencia = sentencias.get(sql);
+            if (sentencia == null || sentencia.isClosed()) {
+                sentencia = connection.prepareStatement(sql);
+                sentencias.put(sql, sentencia);
+            } else {
+                sentencia.clearParameters();
+            }
+            return sentencia;
+        }
+
+        private void cerrar() {
+            for (PreparedStatement sentencia : sentencias.values()) {
+                try {
+                    sentencia.close();
+                } catch (SQLException ignored) {
+                    // Se cierra la conexión de todas formas
+                }
+            }
+            sentencias.clear();
+            try {
+                connection.close();
+            } catch (SQLException ignored) {
+                // Nada más que hacer con una conexión que no se puede cerrar
+            }
+        }
+    }
+}
@@ -0,0 +1,441 @@
+package ec.edu.espe.datos.repository.jdbc;
+
+import ec.edu.espe.datos.model.EstudianteInmutable;
+import ec.edu.espe.datos.repository.AbstractEstudianteRepository;
+import ec.edu.espe.datos.repository.MutacionRepositorio;
+import ec.edu.espe.datos.repository.jdbc.ConnectionPool.PooledConnection;
+import ec.edu.espe.datos.repository.observer.CambioRepositorio;
+import ec.edu.espe.metricas.EventoRepositorio;
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * JdbcEstudianteRepository - Capa de Acceso a Datos persistente
+ * Implementa las operaciones CRUD sobre una base de datos embebida (H2, SQLite o Derby
+ * en modo archivo) a través de JDBC. El driver debe estar en el classpath.
+ * Usa un pool de conexiones, sentencias preparadas en caché, inserciones por lotes
+ * y búsquedas por la clave primaria (indexada) de la tabla.
+ * Las lecturas se ejecutan en paralelo; las modificaciones se serializan con el
+ * bloqueo de escritura para que los observadores reciban los cambios en orden
+ */
+public class JdbcEstudianteRepository extends AbstractEstudianteRepository implements AutoCloseable {
+    private static final String TABLA = "estudiantes";
+
+    private static final String SQL_CREAR_TABLA =
+            "CREATE TABLE " + TABLA + " ("
+            + "id VARCHAR(64) NOT NULL PRIMARY KEY, "
+            + "nombres VARCHAR(255) NOT NULL, "
+            + "edad INT NOT NULL)";
+    private static final String SQL_INSERTAR =
+            "INSERT INTO " + TABLA + " (id, nombres, edad) VALUES (?, ?, ?)";
+    private static final String SQL_ACTUALIZAR =
+            "UPDATE " + TABLA + " SET nombres = ?, edad = ? WHERE id = ?";
+    private static final String SQL_ELIMINAR =
+            "DELETE FROM " + TABLA + " WHERE id = ?";
+    private static final String SQL_LISTAR =
+            "SELECT id, nombres, edad FROM " + TABLA;
+    private static final String SQL_BUSCAR_POR_ID =
+            "SELECT id, nombres, edad FROM " + TABLA + " WHERE id = ?";
+    private static final String SQL_CONTAR =
+            "SELECT COUNT(*) FROM " + TABLA;
+    private static final String SQL_EXISTE_POR_ID =
+            "SELECT 1 FROM " + TABLA + " WHERE id = ?";
+
+    private final ConnectionPool pool;
+
+    /**
+     * Constructor que usa un pool ya configurado y crea la tabla si no existe
+     * @param pool Pool de conexiones hacia la base de datos
+     */
+    public JdbcEstudianteRepository(ConnectionPool pool) {
+        this.pool = pool;
+        crearTablaSiNoExiste();
+    }
+
+    /**
+     * Constructor de conveniencia que crea su propio pool
+     * @param url URL JDBC de la base de datos
+     * @param usuario Usuario de la base de datos
+     * @param clave Contraseña de la base de datos
+     * @param maximoConexiones Número máximo de conexiones del pool
+     */
+    public JdbcEstudianteRepository(String url, String usuario, String clave, int maximoConexiones) {
+        this(new ConnectionPool(url, usuario, clave, maximoConexiones));
+    }
+
+    /**
+     * Crea la tabla de estudiantes en el primer arranque
+     * Se consulta el catálogo en lugar de usar IF NOT EXISTS porque Derby no lo soporta
+     */
+    private void crearTablaSiNoExiste() {
+        ejecutar(conexion -> {
+            Connection connection = conexion.getConnection();
+            DatabaseMetaData metaData = connection.getMetaData();
+            if (!existeTabla(metaData, TABLA) && !existeTabla(metaData, TABLA.toUpperCase(Locale.ROOT))) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.executeUpdate(SQL_CREAR_TABLA);
+                }
+            }
+            return null;
+        });
+    }
+
+    private static boolean existeTabla(DatabaseMetaData metaData, String nombre) throws SQLException {
+        try (ResultSet tablas = metaData.getTables(null, null, nombre, new String[]{"TABLE"})) {
+            return tablas.next();
+        }
+    }
+
+    @Override
+    public boolean agregar(EstudianteInmutable estudiante) {
+        if (estudiante == null) {
+            return false;
+        }
+        EventoRepositorio evento = EventoRepositorio.iniciar(getClass(), "agregar", estudiante.id());
+        int filas = 0;
+        lock.writeLock().lock();
+        try {
+            filas = ejecutar(conexion -> {
+                if (existe(conexion, estudiante.id())) {
+                    return 0;
+                }
+                PreparedStatement sentencia = conexion.preparar(SQL_INSERTAR);
+                asignarParametrosInsercion(sentencia, estudiante);
+                return sentencia.executeUpdate();
+            });
+            if (filas > 0) {
+                notifyObservers(CambioRepositorio.agregado(estudiante)); // Notificar a los observadores
+            }
+            return filas > 0;
+        } finally {
+            lock.writeLock().unlock();
+            evento.terminar(filas > 0, 1);
+        }
+    }
+
+    /**
+     * Inserta el lote completo en una sola transacción con executeBatch
+     * Si el lote falla (por ejemplo por un ID repetido) se revierte y se
+     * reintenta fila por fila para agregar los estudiantes válidos; cualquier
+     * otro error (también durante el reintento) revierte todo el lote
+     */
+    @Override
+    public int agregarLote(List<EstudianteInmutable> estudiantes) {
+        if (estudiantes == null || estudiantes.isEmpty()) {
+            return 0;
+        }
+        EventoRepositorio evento = EventoRepositorio.iniciar(getClass(), "agregarLote", null);
+        List<EstudianteInmutable> agregados = null;
+        lock.writeLock().lock();
+        try {
+            agregados = ejecutar(conexion -> {
+                Connection connection = conexion.getConnection();
+                boolean autoCommit = connection.getAutoCommit();
+                connection.setAutoCommit(false);
+                try {
+                    PreparedStatement sentencia = conexion.preparar(SQL_INSERTAR);
+                    List<EstudianteInmutable> enLote = new ArrayList<>(estudiantes.size());
+                    for (EstudianteInmutable estudiante : estudiantes) {
+                        if (estudiante != null) {
+                            asignarParametrosInsercion(sentencia, estudiante);
+                            sentencia.addBatch();
+                            enLote.add(estudiante);
+                        }
+                    }
+                    try {
+                        sentencia.executeBatch();
+                        connection.commit();
+                        return enLote;
+                    } catch (BatchUpdateException e) {
+                        sentencia.clearBatch();
+                        connection.rollback();
+                        return agregarUnoPorUno(conexion, enLote);
+                    }
+                } catch (SQLException e) {
+                    // Sin esto, restaurar el auto-commit confirmaría lo ya insertado
+                    connection.rollback();
+                    throw e;
+                } finally {
+                    connection.setAutoCommit(autoCommit);
+                }
+            });
+            if (!agregados.isEmpty()) {
+                // Una sola notificación por lote
+                List<CambioRepositorio> cambios = new ArrayList<>(agregados.size());
+                for (EstudianteInmutable estudiante : agregados) {
+                    cambios.add(CambioRepositorio.agregado(estudiante));
+                }
+                notifyObservers(CambioRepositorio.lote(cambios));
+            }
+            return agregados.size();
+        } finally {
+            lock.writeLock().unlock();
+            evento.terminar(agregados != null && !agregados.isEmpty(), estudiantes.size());
+        }
+    }
+
+    private List<EstudianteInmutable> agregarUnoPorUno(PooledConnection conexion, List<EstudianteInmutable> estudiantes)
+            throws SQLException {
+        List<EstudianteInmutable> agregados = new ArrayList<>();
+        for (EstudianteInmutable estudiante : estudiantes) {
+            if (existe(conexion, estudiante.id())) {
+                continue;
+            }
+            PreparedStatement sentencia = conexion.preparar(SQL_INSERTAR);
+            asignarParametrosInsercion(sentencia, estudiante);
+            if (sentencia.executeUpdate() > 0) {
+                agregados.add(estudiante);
+            }
+        }
+        conexion.getConnection().commit();
+        return agregados;
+    }
+
+    /**
+     * Aplica el lote en una sola transacción (un solo commit) y con una sola notificación
+     * Si alguna sentencia falla se revierte el lote completo
+     */
+    @Override
+    public boolean[] aplicarLote(List<MutacionRepositorio> mutaciones) {
+        boolean[] aplicadas = new boolean[mutaciones.size()];
+        if (mutaciones.isEmpty()) {
+            return aplicadas;
+        }
+        EventoRepositorio evento = EventoRepositorio.iniciar(getClass(), "aplicarLote", null);
+        List<CambioRepositorio> cambios = null;
+        lock.writeLock().lock();
+        try {
+            cambios = ejecutar(conexion -> {
+                Connection connection = conexion.getConnection();
+                boolean autoCommit = connection.getAutoCommit();
+                connection.setAutoCommit(false);
+                try {
+                    List<CambioRepositorio> aplicados = new ArrayList<>(mutaciones.size());
+                    for (int i = 0; i < aplicadas.length; i++) {
+                        CambioRepositorio cambio = aplicar(conexion, mutaciones.get(i));
+                        if (cambio != null) {
+                            aplicados.add(cambio);
+                            aplicadas[i] = true;
+                        }
+                    }
+                    connection.commit();
+                    return aplicados;
+                } catch (SQLException e) {
+                    connection.rollback();
+                    throw e;
+                } finally {
+                    connection.setAutoCommit(autoCommit);
+                }
+            });
+            if (!cambios.isEmpty()) {
+                notifyObservers(CambioRepositorio.lote(cambios));
+            }
+            return aplicadas;
+        } finally {
+            lock.writeLock().unlock();
+            evento.terminar(cambios != null && !cambios.isEmpty(), aplicadas.length);
+        }
+    }
+
+    private static CambioRepositorio aplicar(PooledConnection conexion, MutacionRepositorio mutacion)
+            throws SQLException {
+        EstudianteInmutable actual = mutacion.getId() == null ? null : buscar(conexion, mutacion.getId());
+        EstudianteInmutable estudiante = mutacion.getEstudiante();
+        switch (mutacion.getTipo()) {
+            case AGREGAR: {
+                if (actual != null) {
+                    return null;
+                }
+                PreparedStatement sentencia = conexion.preparar(SQL_INSERTAR);
+                asignarParametrosInsercion(sentencia, estudiante);
+                return sentencia.executeUpdate() > 0 ? CambioRepositorio.agregado(estudiante) : null;
+            }
+            case EDITAR: {
+                if (actual == null) {
+                    return null;
+                }
+                PreparedStatement sentencia = conexion.preparar(SQL_ACTUALIZAR);
+                sentencia.setString(1, estudiante.nombres());
+                sentencia.setInt(2, estudiante.edad());
+                sentencia.setString(3, estudiante.id());
+                return sentencia.executeUpdate() > 0 ? CambioRepositorio.editado(actual, estudiante) : null;
+            }
+            default: {
+                if (actual == null) {
+                    return null;
+                }
+                PreparedStatement sentencia = conexion.preparar(SQL_ELIMINAR);
+                sentencia.setString(1, mutacion.getId());
+                return sentencia.executeUpdate() > 0 ? CambioRepositorio.eliminado(actual) : null;
+            }
+        }
+    }
+
+    @Override
+    public boolean editar(EstudianteInmutable estudiante) {
+        if (estudiante == null) {
+            return false;
+        }
+        EventoRepositorio evento = EventoRepositorio.iniciar(getClass(), "editar", estudiante.id());
+        EstudianteInmutable anterior = null;
+        lock.writeLock().lock();
+        try {
+            anterior = ejecutar(conexion -> {
+                EstudianteInmutable actual = buscar(conexion, estudiante.id());
+                if (actual == null) {
+                    return null;
+                }
+                PreparedStatement sentencia = conexion.preparar(SQL_ACTUALIZAR);
+                sentencia.setString(1, estudiante.nombres());
+                sentencia.setInt(2, estudiante.edad());
+                sentencia.setString(3, estudiante.id());
+                return sentencia.executeUpdate() > 0 ? actual : null;
+            });
+            if (anterior != null) {
+                notifyObservers(CambioRepositorio.editado(anterior, estudiante)); // Notificar a los observadores
+            }
+            return anterior != null;
+        } finally {
+            lock.writeLock().unlock();
+            evento.terminar(anterior != null, 1);
+        }
+    }
+
+    @Override
+    public boolean eliminar(String id) {
+        if (id == null) {
+            return false;
+        }
+        EventoRepositorio evento = EventoRepositorio.iniciar(getClass(), "eliminar", id);
+        EstudianteInmutable eliminado = null;
+        lock.writeLock().lock();
+        try {
+            eliminado = ejecutar(conexion -> {
+                EstudianteInmutable actual = buscar(conexion, id);
+                if (actual == null) {
+                    return null;
+                }
+                PreparedStatement sentencia = conexion.preparar(SQL_ELIMINAR);
+                sentencia.setString(1, id);
+                return sentencia.executeUpdate() > 0 ? actual : null;
+            });
+            if (eliminado != null) {
+                notifyObservers(CambioRepositorio.eliminado(eliminado)); // Notificar a los observadores
+            }
+            return eliminado != null;
+        } finally {
+            lock.writeLock().unlock();
+            evento.terminar(eliminado != null, 1);
+        }
+    }
+
+    @Override
+    public List<EstudianteInmutable> listar() {
+        EventoRepositorio evento = EventoRepositorio.iniciar(getClass(), "listar", null);
+        List<EstudianteInmutable> resultado = ejecutar(conexion -> {
+            List<EstudianteInmutable> estudiantes = new ArrayList<>();
+            try (ResultSet rs = conexion.preparar(SQL_LISTAR).executeQuery()) {
+                while (rs.next()) {
+                    estudiantes.add(mapear(rs));
+                }
+            }
+            return estudiantes;
+        });
+        evento.terminar(true, resultado.size());
+        return resultado;
+    }
+
+    @Override
+    public int contar() {
+        return ejecutar(conexion -> {
+            try (ResultSet rs = conexion.preparar(SQL_CONTAR).executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        });
+    }
+
+    @Override
+    public Optional<EstudianteInmutable> buscarPorId(String id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        EventoRepositorio evento = EventoRepositorio.iniciar(getClass(), "buscarPorId", id);
+        EstudianteInmutable estudiante = ejecutar(conexion -> buscar(conexion, id));
+        evento.terminar(estudiante != null, estudiante != null ? 1 : 0);
+        return Optional.ofNullable(estudiante);
+    }
+
+    private static EstudianteInmutable buscar(PooledConnection conexion, String id) throws SQLException {
+        PreparedStatement sentencia = conexion.preparar(SQL_BUSCAR_POR_ID);
+        sentencia.setString(1, id);
+        try (ResultSet rs = sentencia.executeQuery()) {
+            return rs.next() ? mapear(rs) : null;
+        }
+    }
+
+    @Override
+    public boolean existePorId(String id) {
+        if (id == null) {
+            return false;
+        }
+        return ejecutar(conexion -> existe(conexion, id));
+    }
+
+    private static boolean existe(PooledConnection conexion, String id) throws SQLException {
+        PreparedStatement sentencia = conexion.preparar(SQL_EXISTE_POR_ID);
+        sentencia.setString(1, id);
+        try (ResultSet rs = sentencia.executeQuery()) {
+            return rs.next();
+        }
+    }
+
+    private static void asignarParametrosInsercion(PreparedStatement sentencia, EstudianteInmutable estudiante)
+            throws SQLException {
+        sentencia.setString(1, estudiante.id());
+        sentencia.setString(2, estudiante.nombres());
+        sentencia.setInt(3, estudiante.edad());
+    }
+
+    private static EstudianteInmutable mapear(ResultSet rs) throws SQLException {
+        return new EstudianteInmutable(rs.getString(1), rs.getString(2), rs.getInt(3));
+    }
+
+    /**
+     * Ejecuta una operación con una conexión del pool y la devuelve al terminar
+     * Los errores de SQL se propagan como IllegalStateException porque la capa
+     * de negocio no puede recuperarse de ellos
+     */
+    private <T> T ejecutar(OperacionJdbc<T> operacion) {
+        PooledConnection conexion = null;
+        try {
+            conexion = pool.obtener();
+            return operacion.ejecutar(conexion);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Error de acceso a la base de datos: " + e.getMessage(), e);
+        } finally {
+            pool.liberar(conexion);
+        }
+    }
+
+    /**
+     * Cierra el pool de conexiones
+     */
+    @Override
+    public void close() {
+        pool.close();
+    }
+
+    @FunctionalInterface
+    private interface OperacionJdbc<T> {
+        T ejecutar(PooledConnection conexion) throws SQLException;
+    }
+}
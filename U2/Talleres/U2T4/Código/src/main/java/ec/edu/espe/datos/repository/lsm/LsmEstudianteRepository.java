@@ -0,0 +1,298 @@
+package ec.edu.espe.datos.repository.lsm;
+
+import ec.edu.espe.datos.model.EstudianteInmutable;
+import ec.edu.espe.datos.repository.AbstractEstudianteRepository;
+import ec.edu.espe.datos.repository.MutacionRepositorio;
+import ec.edu.espe.datos.repository.observer.CambioRepositorio;
+import ec.edu.espe.metricas.EventoRepositorio;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * LsmEstudianteRepository - Capa de Acceso a Datos sobre el motor LSM
+ * Persiste los estudiantes en archivos locales con escrituras secuenciales (WAL y
+ * segmentos ordenados), por lo que las altas masivas no pagan actualizaciones en sitio.
+ * Las búsquedas por ID usan los índices dispersos y los filtros de Bloom de cada segmento.
+ * Las modificaciones se serializan con el bloqueo de escritura para que los observadores
+ * reciban los cambios en orden
+ */
+public class LsmEstudianteRepository extends AbstractEstudianteRepository implements AutoCloseable {
+    private final MotorLsm motor;
+    private int cantidad;
+
+    /**
+     * @param directorio Carpeta de los datos
+     */
+    public LsmEstudianteRepository(Path directorio) {
+        this(abrir(directorio));
+    }
+
+    /**
+     * @param motor Motor ya configurado
+     */
+    public LsmEstudianteRepository(MotorLsm motor) {
+        this.motor = motor;
+        this.cantidad = ejecutar(() -> motor.escanear().size());
+    }
+
+    private static MotorLsm abrir(Path directorio) {
+        try {
+            return new MotorLsm(directorio);
+        } catch (IOException e) {
+            throw new IllegalStateException("No se pudo abrir el almacenamiento: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public boolean agregar(EstudianteInmutable estudiante) {
+        if (estudiante == null) {
+            return false;
+        }
+        EventoRepositorio evento = EventoRepositorio.iniciar(getClass(), "agregar", estudiante.id());
+        boolean agregado = false;
+        lock.writeLock().lock();
+        try {
+            agregado = ejecutar(() -> {
+                if (motor.buscar(estudiante.id()) != null) {
+                    return false;
+                }
+                motor.poner(estudiante);
+                return true;
+            });
+            if (agregado) {
+                cantidad++;
+                notifyObservers(CambioRepositorio.agregado(estudiante)); // Notificar a los observadores
+            }
+            return agregado;
+        } finally {
+            lock.writeLock().unlock();
+            evento.terminar(agregado, 1);
+        }
+    }
+
+    /**
+     * Escribe el lote con una sola sincronización del WAL y una sola notificación
+     */
+    @Override
+    public int agregarLote(List<EstudianteInmutable> estudiantes) {
+        if (estudiantes == null || estudiantes.isEmpty()) {
+            return 0;
+        }
+        EventoRepositorio evento = EventoRepositorio.iniciar(getClass(), "agregarLote", null);
+        List<EstudianteInmutable> agregados = null;
+        lock.writeLock().lock();
+        try {
+            agregados = ejecutar(() -> {
+                Set<String> enLote = new HashSet<>();
+                List<EstudianteInmutable> nuevos = new ArrayList<>(estudiantes.size());
+                for (EstudianteInmutable estudiante : estudiantes) {
+                    if (estudiante != null && enLote.add(estudiante.id()) && motor.buscar(estudiante.id()) == null) {
+                        nuevos.add(estudiante);
+                    }
+                }
+                motor.ponerLote(nuevos);
+                return nuevos;
+            });
+            if (!agregados.isEmpty()) {
+                cantidad += agregados.size();
+                List<CambioRepositorio> cambios = new ArrayList<>(agregados.size());
+                for (EstudianteInmutable estudiante : agregados) {
+                    cambios.add(CambioRepositorio.agregado(estudiante));
+                }
+                notifyObservers(CambioRepositorio.lote(cambios));
+            }
+            return agregados.size();
+        } finally {
+            lock.writeLock().unlock();
+            evento.terminar(agregados != null && !agregados.isEmpty(), estudiantes.size());
+        }
+    }
+
+    /**
+     * Aplica el lote con una sola sincronización del WAL y una sola notificación
+     * Cada mutación ve el efecto de las anteriores del mismo lote
+     */
+    @Override
+    public boolean[] aplicarLote(List<MutacionRepositorio> mutaciones) {
+        EventoRepositorio evento = EventoRepositorio.iniciar(getClass(), "aplicarLote", null);
+        boolean[] aplicadas = new boolean[mutaciones.size()];
+        boolean alguna = false;
+        lock.writeLock().lock();
+        try {
+            Map<String, EstudianteInmutable> pendientes = new HashMap<>();
+            List<Map.Entry<String, EstudianteInmutable>> escrituras = new ArrayList<>(mutaciones.size());
+            List<CambioRepositorio> cambios = new ArrayList<>(mutaciones.size());
+            int variacion = 0;
+            for (int i = 0; i < aplicadas.length; i++) {
+                MutacionRepositorio mutacion = mutaciones.get(i);
+                String id = mutacion.getId();
+                if (id == null) {
+                    continue;
+                }
+                EstudianteInmutable actual = pendientes.containsKey(id)
+                        ? pendientes.get(id)
+                        : ejecutar(() -> motor.buscar(id));
+                EstudianteInmutable nuevo;
+                CambioRepositorio cambio;
+                if (mutacion.getTipo() == MutacionRepositorio.Tipo.AGREGAR && actual == null) {
+                    nuevo = mutacion.getEstudiante();
+                    cambio = CambioRepositorio.agregado(nuevo);
+                    variacion++;
+                } else if (mutacion.getTipo() == MutacionRepositorio.Tipo.EDITAR && actual != null) {
+                    nuevo = mutacion.getEstudiante();
+                    cambio = CambioRepositorio.editado(actual, nuevo);
+                } else if (mutacion.getTipo() == MutacionRepositorio.Tipo.ELIMINAR && actual != null) {
+                    nuevo = null;
+                    cambio = CambioRepositorio.eliminado(actual);
+                    variacion--;
+                } else {
+                    continue;
+                }
+                pendientes.put(id, nuevo);
+                escrituras.add(new AbstractMap.SimpleImmutableEntry<>(id, nuevo == null ? MotorLsm.LAPIDA : nuevo));
+                cambios.add(cambio);
+                aplicadas[i] = true;
+            }
+            if (!cambios.isEmpty()) {
+                ejecutar(() -> {
+                    motor.escribirLote(escrituras);
+                    return null;
+                });
+                alguna = true;
+                cantidad += variacion;
+                notifyObservers(CambioRepositorio.lote(cambios));
+            }
+            return aplicadas;
+        } finally {
+            lock.writeLock().unlock();
+            evento.terminar(alguna, aplicadas.length);
+        }
+    }
+
+    @Override
+    public boolean editar(EstudianteInmutable estudiante) {
+        if (estudiante == null) {
+            return false;
+        }
+        EventoRepositorio evento = EventoRepositorio.iniciar(getClass(), "editar", estudiante.id());
+        EstudianteInmutable anterior = null;
+        lock.writeLock().lock();
+        try {
+            anterior = ejecutar(() -> {
+                EstudianteInmutable actual = motor.buscar(estudiante.id());
+                if (actual != null) {
+                    motor.poner(estudiante);
+                }
+                return actual;
+            });
+            if (anterior != null) {
+                notifyObservers(CambioRepositorio.editado(anterior, estudiante)); // Notificar a los observadores
+            }
+            return anterior != null;
+        } finally {
+            lock.writeLock().unlock();
+            evento.terminar(anterior != null, 1);
+        }
+    }
+
+    @Override
+    public boolean eliminar(String id) {
+        if (id == null) {
+            return false;
+        }
+        EventoRepositorio evento = EventoRepositorio.iniciar(getClass(), "eliminar", id);
+        EstudianteInmutable eliminado = null;
+        lock.writeLock().lock();
+        try {
+            eliminado = ejecutar(() -> {
+                EstudianteInmutable actual = motor.buscar(id);
+                if (actual != null) {
+                    motor.borrar(id);
+                }
+                return actual;
+            });
+            if (eliminado != null) {
+                cantidad--;
+                notifyObservers(CambioRepositorio.eliminado(eliminado)); // Notificar a los observadores
+            }
+            return eliminado != null;
+        } finally {
+            lock.writeLock().unlock();
+            evento.terminar(eliminado != null, 1);
+        }
+    }
+
+    @Override
+    public List<EstudianteInmutable> listar() {
+        EventoRepositorio evento = EventoRepositorio.iniciar(getClass(), "listar", null);
+        List<EstudianteInmutable> estudiantes = ejecutar(motor::escanear);
+        evento.terminar(true, estudiantes.size());
+        return estudiantes;
+    }
+
+    @Override
+    public int contar() {
+        lock.readLock().lock();
+        try {
+            return cantidad;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<EstudianteInmutable> buscarPorId(String id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        EventoRepositorio evento = EventoRepositorio.iniciar(getClass(), "buscarPorId", id);
+        EstudianteInmutable estudiante = ejecutar(() -> motor.buscar(id));
+        evento.terminar(estudiante != null, estudiante != null ? 1 : 0);
+        return Optional.ofNullable(estudiante);
+    }
+
+    @Override
+    public boolean existePorId(String id) {
+        return buscarPorId(id).isPresent();
+    }
+
+    public MotorLsm getMotor() {
+        return motor;
+    }
+
+    /**
+     * Ejecuta una operación del motor; los errores de E/S se propagan como
+     * IllegalStateException porque la capa de negocio no puede recuperarse de ellos
+     */
+    private static <T> T ejecutar(OperacionLsm<T> operacion) {
+        try {
+            return operacion.ejecutar();
+        } catch (IOException e) {
+            throw new IllegalStateException("Error de acceso al almacenamiento: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Cierra el motor dejando el WAL sincronizado en disco
+     */
+    @Override
+    public void close() {
+        ejecutar(() -> {
+            motor.close();
+            return null;
+        });
+    }
+
+    @FunctionalInterface
+    private interface OperacionLsm<T> {
+        T ejecutar() throws IOException;
+    }
+}
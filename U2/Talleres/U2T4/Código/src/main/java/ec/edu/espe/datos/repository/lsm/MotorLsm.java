@@ -0,0 +1,537 @@
+package ec.edu.espe.datos.repository.lsm;
+
+import ec.edu.espe.datos.model.EstudianteInmutable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * MotorLsm - Almacenamiento log-structured (LSM) de estudiantes por ID
+ * Las escrituras se registran en el WAL y se aplican a una memtable ordenada; al llenarse,
+ * la memtable se vuelca a un segmento inmutable y ordenado. Las lecturas consultan la memtable
+ * y luego los segmentos del más nuevo al más antiguo, descartando cada uno con su filtro de Bloom.
+ * Un hilo en segundo plano fusiona segmentos contiguos cuando se acumulan demasiados de
+ * tamaño parecido (compactación por niveles de tamaño), sin bloquear a los lectores mientras
+ * escribe el segmento resultante; así cada registro se reescribe pocas veces.
+ * El archivo MANIFIESTO lista los segmentos vigentes; se reemplaza de forma atómica y queda en
+ * disco (archivo y carpeta) antes de borrar el WAL o los segmentos que deja de nombrar
+ */
+public final class MotorLsm implements AutoCloseable {
+    /** Marca de baja; se compara por identidad */
+    static final EstudianteInmutable LAPIDA = new EstudianteInmutable("", "", Integer.MIN_VALUE);
+
+    public static final int LIMITE_MEMTABLE_POR_DEFECTO = 4_096;
+    public static final int UMBRAL_COMPACTACION_POR_DEFECTO = 4;
+    /** Un segmento entra en la fusión si no supera este múltiplo del promedio de los más nuevos */
+    private static final int FACTOR_NIVEL = 2;
+
+    private static final String MANIFIESTO = "MANIFIESTO";
+    private static final String REGISTRO = "registro.wal";
+    private static final String PREFIJO_SEGMENTO = "segmento-";
+    private static final String EXTENSION_SEGMENTO = ".sst";
+
+    private final Path directorio;
+    private final int limiteMemtable;
+    private final int umbralCompactacion;
+    private final boolean forzarDisco;
+
+    /** Protege la memtable vigente y la lista de segmentos (del más nuevo al más antiguo) */
+    private final ReentrantReadWriteLock estructura = new ReentrantReadWriteLock();
+    private final Object escritura = new Object();
+    private volatile ConcurrentSkipListMap<String, EstudianteInmutable> memtable = new ConcurrentSkipListMap<>();
+    private List<Segmento> segmentos = new ArrayList<>();
+    private final RegistroEscritura registro;
+
+    private final AtomicLong secuencia = new AtomicLong();
+    private final AtomicLong compactaciones = new AtomicLong();
+    private final AtomicBoolean compactacionPendiente = new AtomicBoolean();
+    /** Se marca antes de detener el compactador: desde entonces no se programan compactaciones */
+    private volatile boolean cerrado;
+    private final ExecutorService compactador = Executors.newSingleThreadExecutor(tarea -> {
+        Thread hilo = new Thread(tarea, "lsm-compactacion");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+
+    /**
+     * Abre el motor con la configuración por defecto
+     * @param directorio Carpeta de los datos (se crea si no existe)
+     */
+    public MotorLsm(Path directorio) throws IOException {
+        this(directorio, LIMITE_MEMTABLE_POR_DEFECTO, UMBRAL_COMPACTACION_POR_DEFECTO, false);
+    }
+
+    /**
+     * Abre el motor, carga los segmentos del manifiesto y reaplica el WAL pendiente
+     * @param directorio Carpeta de los datos (se crea si no existe)
+     * @param limiteMemtable Entradas de la memtable que provocan un volcado a segmento
+     * @param umbralCompactacion Segmentos de tamaño parecido que disparan una compactación
+     * @param forzarDisco true para hacer fsync del WAL en cada escritura
+     */
+    public MotorLsm(Path directorio, int limiteMemtable, int umbralCompactacion, boolean forzarDisco)
+            throws IOException {
+        if (limiteMemtable <= 0 || umbralCompactacion < 2) {
+            throw new IllegalArgumentException("Configuración LSM inválida");
+        }
+        this.directorio = directorio;
+        this.limiteMemtable = limiteMemtable;
+        this.umbralCompactacion = umbralCompactacion;
+        this.forzarDisco = forzarDisco;
+        Files.createDirectories(directorio);
+        cargarSegmentos();
+        RegistroEscritura.recuperar(directorio.resolve(REGISTRO), memtable);
+        registro = new RegistroEscritura(directorio.resolve(REGISTRO));
+        programarCompactacion();
+    }
+
+    private void cargarSegmentos() throws IOException {
+        Path manifiesto = directorio.resolve(MANIFIESTO);
+        List<String> vigentes = Files.exists(manifiesto)
+                ? Files.readAllLines(manifiesto, StandardCharsets.UTF_8)
+                : Collections.emptyList();
+        Set<String> nombres = new HashSet<>();
+        for (String nombre : vigentes) {
+            if (!nombre.isEmpty()) {
+                nombres.add(nombre);
+                segmentos.add(Segmento.abrir(directorio.resolve(nombre)));
+                secuencia.set(Math.max(secuencia.get(), numeroDeSegmento(nombre)));
+            }
+        }
+        // Segmentos huérfanos de un volcado o compactación interrumpidos
+        try (DirectoryStream<Path> archivos = Files.newDirectoryStream(directorio)) {
+            for (Path archivo : archivos) {
+                String nombre = archivo.getFileName().toString();
+                if (nombre.endsWith(".tmp")
+                        || (nombre.startsWith(PREFIJO_SEGMENTO) && !nombres.contains(nombre))) {
+                    Files.deleteIfExists(archivo);
+                }
+            }
+        }
+    }
+
+    private static long numeroDeSegmento(String nombre) {
+        return Long.parseLong(nombre.substring(PREFIJO_SEGMENTO.length(),
+                nombre.length() - EXTENSION_SEGMENTO.length()));
+    }
+
+    /**
+     * Busca el valor vigente de un ID
+     * @param id ID buscado
+     * @return El estudiante, o null si no existe o fue eliminado
+     */
+    public EstudianteInmutable buscar(String id) throws IOException {
+        estructura.readLock().lock();
+        try {
+            EstudianteInmutable valor = memtable.get(id);
+            for (int i = 0; valor == null && i < segmentos.size(); i++) {
+                valor = segmentos.get(i).buscar(id);
+            }
+            return valor == LAPIDA ? null : valor;
+        } finally {
+            estructura.readLock().unlock();
+        }
+    }
+
+    /**
+     * Todos los estudiantes vigentes en orden de ID
+     * @return Lista con la fusión de la memtable y los segmentos
+     */
+    public List<EstudianteInmutable> escanear() throws IOException {
+        estructura.readLock().lock();
+        try {
+            List<Iterator<Map.Entry<String, EstudianteInmutable>>> fuentes = new ArrayList<>();
+            fuentes.add(memtable.entrySet().iterator());
+            for (Segmento segmento : segmentos) {
+                fuentes.add(segmento.iterador());
+            }
+            List<EstudianteInmutable> resultado = new ArrayList<>();
+            Iterator<Map.Entry<String, EstudianteInmutable>> fusion = new IteradorFusion(fuentes, true);
+            while (fusion.hasNext()) {
+                resultado.add(fusion.next().getValue());
+            }
+            return resultado;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            estructura.readLock().unlock();
+        }
+    }
+
+    /**
+     * Guarda (o reemplaza) un estudiante
+     * @param estudiante Valor a guardar; su ID es la clave
+     */
+    public void poner(EstudianteInmutable estudiante) throws IOException {
+        synchronized (escritura) {
+            registro.agregar(estudiante.id(), estudiante);
+            registro.sincronizar(forzarDisco);
+            memtable.put(estudiante.id(), estudiante);
+            volcarSiEstaLlena();
+        }
+    }
+
+    /**
+     * Guarda varios estudiantes con una sola sincronización del WAL
+     * @param estudiantes Valores a guardar
+     */
+    public void ponerLote(List<EstudianteInmutable> estudiantes) throws IOException {
+        List<Map.Entry<String, EstudianteInmutable>> cambios = new ArrayList<>(estudiantes.size());
+        for (EstudianteInmutable estudiante : estudiantes) {
+            cambios.add(new AbstractMap.SimpleImmutableEntry<>(estudiante.id(), estudiante));
+        }
+        escribirLote(cambios);
+    }
+
+    /**
+     * Aplica valores y lápidas en orden con una sola sincronización del WAL
+     * @param cambios Pares ID → valor, o ID → {@link #LAPIDA} para las bajas
+     */
+    void escribirLote(List<Map.Entry<String, EstudianteInmutable>> cambios) throws IOException {
+        synchronized (escritura) {
+            for (Map.Entry<String, EstudianteInmutable> cambio : cambios) {
+                registro.agregar(cambio.getKey(), cambio.getValue());
+            }
+            registro.sincronizar(forzarDisco);
+            for (Map.Entry<String, EstudianteInmutable> cambio : cambios) {
+                memtable.put(cambio.getKey(), cambio.getValue());
+            }
+            volcarSiEstaLlena();
+        }
+    }
+
+    /**
+     * Registra la baja de un ID con una lápida
+     * @param id ID a eliminar
+     */
+    public void borrar(String id) throws IOException {
+        synchronized (escritura) {
+            registro.agregar(id, LAPIDA);
+            registro.sincronizar(forzarDisco);
+            memtable.put(id, LAPIDA);
+            volcarSiEstaLlena();
+        }
+    }
+
+    /**
+     * Fuerza a disco las escrituras pendientes del WAL
+     */
+    public void sincronizar() throws IOException {
+        synchronized (escritura) {
+            registro.sincronizar(true);
+        }
+    }
+
+    /**
+     * Vuelca la memtable a un segmento nuevo; requiere el monitor de escritura
+     * Los lectores siguen viendo la memtable mientras se escribe el archivo
+     */
+    private void volcarSiEstaLlena() throws IOException {
+        if (memtable.size() < limiteMemtable) {
+            return;
+        }
+        String nombre = String.format("%s%08d%s", PREFIJO_SEGMENTO, secuencia.incrementAndGet(), EXTENSION_SEGMENTO);
+        Path ruta = directorio.resolve(nombre);
+        Segmento.escribir(ruta, memtable.entrySet().iterator());
+        Segmento nuevo = Segmento.abrir(ruta);
+        estructura.writeLock().lock();
+        try {
+            List<Segmento> actualizados = new ArrayList<>(segmentos.size() + 1);
+            actualizados.add(nuevo);
+            actualizados.addAll(segmentos);
+            escribirManifiesto(actualizados);
+            segmentos = actualizados;
+            memtable = new ConcurrentSkipListMap<>();
+        } finally {
+            estructura.writeLock().unlock();
+        }
+        // El manifiesto ya nombra el segmento nuevo, así que el WAL sobra
+        registro.reiniciar();
+        sincronizarDirectorio();
+        programarCompactacion();
+    }
+
+    private void programarCompactacion() {
+        if (cerrado || elegirFusion(segmentosActuales()).isEmpty()
+                || !compactacionPendiente.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            compactador.execute(() -> {
+                boolean compactado = false;
+                try {
+                    compactado = compactar();
+                } catch (IOException | UncheckedIOException e) {
+                    // Se reintenta con el próximo volcado; los segmentos originales siguen vigentes
+                } finally {
+                    compactacionPendiente.set(false);
+                }
+                if (compactado) {
+                    // El segmento fusionado puede completar el nivel siguiente
+                    programarCompactacion();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // close() detuvo el compactador entre la comprobación y el envío: la escritura ya quedó hecha
+            compactacionPendiente.set(false);
+        }
+    }
+
+    /**
+     * Elige los segmentos a fusionar: recorre del más nuevo al más antiguo formando niveles de
+     * segmentos contiguos, donde cada uno no supera {@link #FACTOR_NIVEL} veces el promedio del
+     * nivel, y devuelve el primer nivel que llega al umbral
+     * @param vigentes Segmentos del más nuevo al más antiguo
+     * @return Segmentos contiguos a fusionar, o una lista vacía si no hace falta
+     */
+    private List<Segmento> elegirFusion(List<Segmento> vigentes) {
+        int inicio = 0;
+        long registros = 0;
+        for (int i = 0; i < vigentes.size(); i++) {
+            long tamanio = vigentes.get(i).getRegistros();
+            if (i > inicio && tamanio * (i - inicio) > FACTOR_NIVEL * registros) {
+                if (i - inicio >= umbralCompactacion) {
+                    return vigentes.subList(inicio, i);
+                }
+                inicio = i;
+                registros = 0;
+            }
+            registros += tamanio;
+        }
+        return vigentes.size() - inicio >= umbralCompactacion
+                ? vigentes.subList(inicio, vigentes.size())
+                : Collections.emptyList();
+    }
+
+    /**
+     * Fusiona un nivel de segmentos de tamaño parecido en uno solo; el más nuevo gana en cada ID
+     * y las lápidas se descartan sólo si la fusión llega al segmento más antiguo, porque si no
+     * todavía ocultan valores de segmentos que quedan fuera.
+     * El segmento resultante se escribe sin bloqueos; sólo el reemplazo toma el bloqueo de escritura
+     * @return true si se fusionaron segmentos
+     */
+    boolean compactar() throws IOException {
+        List<Segmento> vigentes = segmentosActuales();
+        List<Segmento> fusionados = new ArrayList<>(elegirFusion(vigentes));
+        if (fusionados.size() < 2) {
+            return false;
+        }
+        boolean incluyeAntiguo = fusionados.get(fusionados.size() - 1) == vigentes.get(vigentes.size() - 1);
+        List<Iterator<Map.Entry<String, EstudianteInmutable>>> fuentes = new ArrayList<>();
+        for (Segmento segmento : fusionados) {
+            fuentes.add(segmento.iterador());
+        }
+        String nombre = String.format("%s%08d%s", PREFIJO_SEGMENTO, secuencia.incrementAndGet(), EXTENSION_SEGMENTO);
+        Path ruta = directorio.resolve(nombre);
+        Segmento.escribir(ruta, new IteradorFusion(fuentes, incluyeAntiguo));
+        Segmento compactado = Segmento.abrir(ruta);
+        estructura.writeLock().lock();
+        try {
+            // Los segmentos volcados durante la fusión son más nuevos y quedan delante
+            List<Segmento> actualizados = new ArrayList<>(segmentos);
+            int posicion = actualizados.indexOf(fusionados.get(0));
+            actualizados.removeAll(fusionados);
+            actualizados.add(posicion, compactado);
+            escribirManifiesto(actualizados);
+            segmentos = actualizados;
+        } finally {
+            estructura.writeLock().unlock();
+        }
+        for (Segmento segmento : fusionados) {
+            segmento.close();
+            Files.deleteIfExists(segmento.getRuta());
+        }
+        compactaciones.incrementAndGet();
+        return true;
+    }
+
+    private List<Segmento> segmentosActuales() {
+        estructura.readLock().lock();
+        try {
+            return new ArrayList<>(segmentos);
+        } finally {
+            estructura.readLock().unlock();
+        }
+    }
+
+    private void escribirManifiesto(List<Segmento> vigentes) throws IOException {
+        List<String> nombres = new ArrayList<>(vigentes.size());
+        for (Segmento segmento : vigentes) {
+            nombres.add(segmento.getRuta().getFileName().toString());
+        }
+        StringBuilder contenido = new StringBuilder();
+        for (String nombre : nombres) {
+            contenido.append(nombre).append('\n');
+        }
+        Path temporal = directorio.resolve(MANIFIESTO + ".tmp");
+        try (FileChannel canal = FileChannel.open(temporal, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer datos = StandardCharsets.UTF_8.encode(contenido.toString());
+            while (datos.hasRemaining()) {
+                canal.write(datos);
+            }
+            canal.force(true);
+        }
+        Files.move(temporal, directorio.resolve(MANIFIESTO), StandardCopyOption.ATOMIC_MOVE);
+        // Deja en disco el renombrado del manifiesto y el de los segmentos que nombra
+        sincronizarDirectorio();
+    }
+
+    /**
+     * Fuerza a disco las entradas de la carpeta (archivos creados, renombrados o borrados)
+     */
+    private void sincronizarDirectorio() throws IOException {
+        FileChannel canal;
+        try {
+            canal = FileChannel.open(directorio, StandardOpenOption.READ);
+        } catch (IOException e) {
+            return; // Algunos sistemas (Windows) no permiten abrir una carpeta; ahí el renombrado ya es durable
+        }
+        try (canal) {
+            canal.force(true);
+        }
+    }
+
+    /**
+     * @return Número de segmentos en disco
+     */
+    public int getCantidadSegmentos() {
+        return segmentosActuales().size();
+    }
+
+    /**
+     * @return Entradas (incluidas lápidas) aún no volcadas
+     */
+    public int getTamanioMemtable() {
+        return memtable.size();
+    }
+
+    public long getCompactaciones() {
+        return compactaciones.get();
+    }
+
+    /**
+     * Espera la compactación en curso, sincroniza el WAL y cierra los archivos
+     */
+    @Override
+    public void close() throws IOException {
+        cerrado = true;
+        compactador.shutdown();
+        try {
+            compactador.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (escritura) {
+            registro.sincronizar(true);
+            registro.close();
+        }
+        for (Segmento segmento : segmentosActuales()) {
+            segmento.close();
+        }
+    }
+
+    /**
+     * IteradorFusion - Fusión ordenada de varias fuentes ordenadas por ID
+     * Las fuentes se reciben de la más nueva a la más antigua; ante IDs repetidos gana la más nueva
+     */
+    private static final class IteradorFusion implements Iterator<Map.Entry<String, EstudianteInmutable>> {
+        private final PriorityQueue<Cursor> cola = new PriorityQueue<>();
+        private final boolean omitirLapidas;
+        private Map.Entry<String, EstudianteInmutable> siguiente;
+
+        IteradorFusion(List<Iterator<Map.Entry<String, EstudianteInmutable>>> fuentes, boolean omitirLapidas) {
+            this.omitirLapidas = omitirLapidas;
+            for (int i = 0; i < fuentes.size(); i++) {
+                Cursor cursor = new Cursor(fuentes.get(i), i);
+                if (cursor.avanzar()) {
+                    cola.add(cursor);
+                }
+            }
+            siguiente = buscarSiguiente();
+        }
+
+        private Map.Entry<String, EstudianteInmutable> buscarSiguiente() {
+            while (!cola.isEmpty()) {
+                Cursor ganador = cola.poll();
+                Map.Entry<String, EstudianteInmutable> entrada = ganador.actual;
+                reencolar(ganador);
+                // Descarta las versiones antiguas del mismo ID
+                while (!cola.isEmpty() && cola.peek().actual.getKey().equals(entrada.getKey())) {
+                    reencolar(cola.poll());
+                }
+                if (!omitirLapidas || entrada.getValue() != LAPIDA) {
+                    return entrada;
+                }
+            }
+            return null;
+        }
+
+        private void reencolar(Cursor cursor) {
+            if (cursor.avanzar()) {
+                cola.add(cursor);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return siguiente != null;
+        }
+
+        @Override
+        public Map.Entry<String, EstudianteInmutable> next() {
+            if (siguiente == null) {
+                throw new NoSuchElementException();
+            }
+            Map.Entry<String, EstudianteInmutable> actual = siguiente;
+            siguiente = buscarSiguiente();
+            return actual;
+        }
+    }
+
+    private static final class Cursor implements Comparable<Cursor> {
+        private final Iterator<Map.Entry<String, EstudianteInmutable>> fuente;
+        private final int antiguedad;
+        private Map.Entry<String, EstudianteInmutable> actual;
+
+        Cursor(Iterator<Map.Entry<String, EstudianteInmutable>> fuente, int antiguedad) {
+            this.fuente = fuente;
+            this.antiguedad = antiguedad;
+        }
+
+        boolean avanzar() {
+            actual = fuente.hasNext() ? fuente.next() : null;
+            return actual != null;
+        }
+
+        @Override
+        public int compareTo(Cursor otro) {
+            int comparacion = actual.getKey().compareTo(otro.actual.getKey());
+            return comparacion != 0 ? comparacion : Integer.compare(antiguedad, otro.antiguedad);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package ec.edu.espe.datos.repository.lsm;
+
+import ec.edu.espe.datos.model.EstudianteInmutable;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * RegistroEscritura - Registro de escritura anticipada (WAL) de la memtable
+ * Cada alta, edición o baja se agrega al final del archivo antes de aplicarse en
+ * memoria, para poder reconstruir la memtable si el proceso termina sin volcarla
+ */
+class RegistroEscritura implements AutoCloseable {
+    private final Path ruta;
+    private FileOutputStream archivo;
+    private DataOutputStream salida;
+
+    RegistroEscritura(Path ruta) throws IOException {
+        this.ruta = ruta;
+        abrir();
+    }
+
+    private void abrir() throws IOException {
+        archivo = new FileOutputStream(ruta.toFile(), true);
+        salida = new DataOutputStream(new BufferedOutputStream(archivo));
+    }
+
+    /**
+     * Agrega una operación al registro (queda en el búfer hasta {@link #sincronizar})
+     * @param id ID afectado
+     * @param valor Nuevo valor, o {@link MotorLsm#LAPIDA} para una baja
+     */
+    void agregar(String id, EstudianteInmutable valor) throws IOException {
+        Segmento.escribirRegistro(salida, id, valor);
+    }
+
+    /**
+     * Envía el búfer al sistema operativo y, si se pide, fuerza la escritura a disco
+     * @param forzarDisco true para hacer fsync (durabilidad ante cortes de energía)
+     */
+    void sincronizar(boolean forzarDisco) throws IOException {
+        salida.flush();
+        if (forzarDisco) {
+            archivo.getChannel().force(false);
+        }
+    }
+
+    /**
+     * Vacía el registro después de que la memtable se volcó a un segmento
+     */
+    void reiniciar() throws IOException {
+        salida.close();
+        Files.deleteIfExists(ruta);
+        abrir();
+    }
+
+    /**
+     * Reaplica las operaciones registradas; una última operación incompleta o corrupta se ignora
+     * @param ruta Archivo del registro
+     * @param destino Memtable donde se reaplican las operaciones
+     */
+    static void recuperar(Path ruta, Map<String, EstudianteInmutable> destino) throws IOException {
+        if (!Files.exists(ruta)) {
+            return;
+        }
+        try (InputStream archivo = Files.newInputStream(ruta);
+             DataInputStream entrada = new DataInputStream(new BufferedInputStream(archivo))) {
+            Map.Entry<String, EstudianteInmutable> registro;
+            while ((registro = Segmento.leerRegistro(entrada)) != null) {
+                destino.put(registro.getKey(), registro.getValue());
+            }
+        } catch (EOFException e) {
+            // Escritura interrumpida a la mitad: se descarta la última operación
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        salida.close();
+    }
+}
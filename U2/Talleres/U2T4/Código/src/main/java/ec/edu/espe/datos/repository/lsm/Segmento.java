@@ -0,0 +1,284 @@
+package ec.edu.espe.datos.repository.lsm;
+
+import ec.edu.espe.datos.model.EstudianteInmutable;
+import ec.edu.espe.datos.repository.bloom.CountingBloomFilter;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Segmento - Archivo inmutable de registros ordenados por ID
+ * Guarda, en memoria, un índice disperso (uno de cada {@link #INTERVALO_INDICE} registros con
+ * su posición en el archivo) y un filtro de Bloom con todos los IDs. Una búsqueda descarta el
+ * segmento con el filtro o lee un único bloque de a lo sumo {@link #INTERVALO_INDICE} registros.
+ * El formato de cada registro es el mismo que el del registro de escritura:
+ * tipo (1 = valor, 2 = lápida), ID y, si es un valor, nombres y edad
+ */
+class Segmento implements AutoCloseable {
+    static final int INTERVALO_INDICE = 16;
+    private static final byte TIPO_VALOR = 1;
+    private static final byte TIPO_LAPIDA = 2;
+    private static final double TASA_BLOOM = 0.01;
+
+    private final Path ruta;
+    private final FileChannel canal;
+    private final String[] clavesIndice;
+    private final long[] posicionesIndice;
+    private final long tamanio;
+    private final int registros;
+    private final CountingBloomFilter bloom;
+
+    private Segmento(Path ruta, FileChannel canal, String[] clavesIndice, long[] posicionesIndice,
+                     long tamanio, int registros, CountingBloomFilter bloom) {
+        this.ruta = ruta;
+        this.canal = canal;
+        this.clavesIndice = clavesIndice;
+        this.posicionesIndice = posicionesIndice;
+        this.tamanio = tamanio;
+        this.registros = registros;
+        this.bloom = bloom;
+    }
+
+    /**
+     * Escribe un segmento nuevo con los registros en orden ascendente de ID
+     * Se escribe primero en un archivo temporal que luego se renombra, para que nunca
+     * quede a la vista un segmento a medio escribir
+     * @param ruta Archivo destino
+     * @param entradas Registros ordenados por ID (las lápidas se escriben como tales)
+     */
+    static void escribir(Path ruta, Iterator<Map.Entry<String, EstudianteInmutable>> entradas) throws IOException {
+        Path temporal = ruta.resolveSibling(ruta.getFileName() + ".tmp");
+        try (OutputStream archivo = Files.newOutputStream(temporal);
+             DataOutputStream salida = new DataOutputStream(new BufferedOutputStream(archivo, 64 * 1024))) {
+            while (entradas.hasNext()) {
+                Map.Entry<String, EstudianteInmutable> entrada = entradas.next();
+                escribirRegistro(salida, entrada.getKey(), entrada.getValue());
+            }
+        }
+        try (FileChannel canal = FileChannel.open(temporal, StandardOpenOption.WRITE)) {
+            canal.force(true);
+        }
+        Files.move(temporal, ruta, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Abre un segmento existente reconstruyendo su índice disperso y su filtro de Bloom
+     * con una lectura secuencial del archivo
+     * @param ruta Archivo del segmento
+     * @return Segmento listo para consultas
+     */
+    static Segmento abrir(Path ruta) throws IOException {
+        List<String> claves = new ArrayList<>();
+        List<Long> posiciones = new ArrayList<>();
+        List<String> todas = new ArrayList<>();
+        try (InputStream archivo = Files.newInputStream(ruta);
+             ContadorEntrada contador = new ContadorEntrada(new BufferedInputStream(archivo, 64 * 1024));
+             DataInputStream entrada = new DataInputStream(contador)) {
+            long posicion = contador.posicion;
+            Map.Entry<String, EstudianteInmutable> registro;
+            while ((registro = leerRegistro(entrada)) != null) {
+                if (todas.size() % INTERVALO_INDICE == 0) {
+                    claves.add(registro.getKey());
+                    posiciones.add(posicion);
+                }
+                todas.add(registro.getKey());
+                posicion = contador.posicion;
+            }
+        }
+        CountingBloomFilter bloom = new CountingBloomFilter(Math.max(1, todas.size()), TASA_BLOOM);
+        for (String clave : todas) {
+            bloom.agregar(clave);
+        }
+        long[] posicionesIndice = new long[posiciones.size()];
+        for (int i = 0; i < posicionesIndice.length; i++) {
+            posicionesIndice[i] = posiciones.get(i);
+        }
+        FileChannel canal = FileChannel.open(ruta, StandardOpenOption.READ);
+        return new Segmento(ruta, canal, claves.toArray(new String[0]), posicionesIndice,
+                canal.size(), todas.size(), bloom);
+    }
+
+    /**
+     * Busca un ID en el segmento
+     * @param id ID buscado
+     * @return El valor, {@link MotorLsm#LAPIDA} si fue eliminado, o null si el segmento no lo contiene
+     */
+    EstudianteInmutable buscar(String id) throws IOException {
+        if (registros == 0 || !bloom.puedeContener(id)) {
+            return null;
+        }
+        int bloque = Arrays.binarySearch(clavesIndice, id);
+        if (bloque < 0) {
+            bloque = -bloque - 2; // Bloque cuya primera clave es la mayor menor que el ID
+            if (bloque < 0) {
+                return null;
+            }
+        }
+        long inicio = posicionesIndice[bloque];
+        long fin = bloque + 1 < posicionesIndice.length ? posicionesIndice[bloque + 1] : tamanio;
+        ByteBuffer buffer = ByteBuffer.allocate((int) (fin - inicio));
+        while (buffer.hasRemaining()) {
+            if (canal.read(buffer, inicio + buffer.position()) < 0) {
+                break;
+            }
+        }
+        DataInputStream entrada = new DataInputStream(
+                new ByteArrayInputStream(buffer.array(), 0, buffer.position()));
+        Map.Entry<String, EstudianteInmutable> registro;
+        while ((registro = leerRegistro(entrada)) != null) {
+            int comparacion = registro.getKey().compareTo(id);
+            if (comparacion == 0) {
+                return registro.getValue();
+            }
+            if (comparacion > 0) {
+                break;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Recorre todos los registros en orden de ID (incluye lápidas)
+     * @return Iterador secuencial; debe agotarse para liberar el archivo
+     */
+    Iterator<Map.Entry<String, EstudianteInmutable>> iterador() throws IOException {
+        DataInputStream entrada = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(ruta), 64 * 1024));
+        return new Iterator<Map.Entry<String, EstudianteInmutable>>() {
+            private Map.Entry<String, EstudianteInmutable> siguiente = avanzar();
+
+            private Map.Entry<String, EstudianteInmutable> avanzar() {
+                try {
+                    Map.Entry<String, EstudianteInmutable> registro = leerRegistro(entrada);
+                    if (registro == null) {
+                        entrada.close();
+                    }
+                    return registro;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return siguiente != null;
+            }
+
+            @Override
+            public Map.Entry<String, EstudianteInmutable> next() {
+                if (siguiente == null) {
+                    throw new NoSuchElementException();
+                }
+                Map.Entry<String, EstudianteInmutable> actual = siguiente;
+                siguiente = avanzar();
+                return actual;
+            }
+        };
+    }
+
+    Path getRuta() {
+        return ruta;
+    }
+
+    int getRegistros() {
+        return registros;
+    }
+
+    long getTamanio() {
+        return tamanio;
+    }
+
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+
+    static void escribirRegistro(DataOutputStream salida, String id, EstudianteInmutable valor) throws IOException {
+        if (valor == MotorLsm.LAPIDA) {
+            salida.writeByte(TIPO_LAPIDA);
+            salida.writeUTF(id);
+        } else {
+            salida.writeByte(TIPO_VALOR);
+            salida.writeUTF(id);
+            salida.writeBoolean(valor.nombres() != null);
+            if (valor.nombres() != null) {
+                salida.writeUTF(valor.nombres());
+            }
+            salida.writeInt(valor.edad());
+        }
+    }
+
+    /**
+     * Lee el siguiente registro
+     * @return Par ID → valor (o lápida), o null al final del flujo o ante un tipo desconocido
+     */
+    static Map.Entry<String, EstudianteInmutable> leerRegistro(DataInputStream entrada) throws IOException {
+        int tipo = entrada.read();
+        if (tipo == TIPO_LAPIDA) {
+            return new AbstractMap.SimpleImmutableEntry<>(entrada.readUTF(), MotorLsm.LAPIDA);
+        }
+        if (tipo == TIPO_VALOR) {
+            String id = entrada.readUTF();
+            String nombres = entrada.readBoolean() ? entrada.readUTF() : null;
+            int edad = entrada.readInt();
+            return new AbstractMap.SimpleImmutableEntry<>(id, new EstudianteInmutable(id, nombres, edad));
+        }
+        return null;
+    }
+
+    /**
+     * Flujo que cuenta los bytes leídos para conocer la posición de cada registro
+     */
+    private static final class ContadorEntrada extends FilterInputStream {
+        private long posicion;
+
+        ContadorEntrada(InputStream entrada) {
+            super(entrada);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int valor = super.read();
+            if (valor >= 0) {
+                posicion++;
+            }
+            return valor;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int leidos = super.read(b, off, len);
+            if (leidos > 0) {
+                posicion += leidos;
+            }
+            return leidos;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long saltados = super.skip(n);
+            posicion += saltados;
+            return saltados;
+        }
+    }
+}
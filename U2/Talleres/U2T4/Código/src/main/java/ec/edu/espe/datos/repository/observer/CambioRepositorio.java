@@ -0,0 +1,96 @@
+package ec.edu.espe.datos.repository.observer;
+
+import ec.edu.espe.datos.model.EstudianteInmutable;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * CambioRepositorio - Evento de cambio del repositorio
+ * Describe qué ocurrió (alta, edición o baja), sobre qué ID y con qué valores
+ * anterior y actual, para que los observadores puedan reaccionar de forma
+ * incremental en lugar de recargar todos los datos
+ */
+public final class CambioRepositorio {
+
+    /**
+     * Tipos de cambio que puede notificar el repositorio
+     */
+    public enum Tipo {
+        AGREGADO,
+        EDITADO,
+        ELIMINADO,
+        /** Varios cambios aplicados juntos; el detalle está en {@link #getCambios()} */
+        LOTE
+    }
+
+    private final Tipo tipo;
+    private final String id;
+    private final EstudianteInmutable anterior;
+    private final EstudianteInmutable actual;
+    private final List<CambioRepositorio> cambios;
+
+    private CambioRepositorio(Tipo tipo, String id, EstudianteInmutable anterior, EstudianteInmutable actual,
+                              List<CambioRepositorio> cambios) {
+        this.tipo = tipo;
+        this.id = id;
+        this.anterior = anterior;
+        this.actual = actual;
+        this.cambios = cambios;
+    }
+
+    public static CambioRepositorio agregado(EstudianteInmutable actual) {
+        return new CambioRepositorio(Tipo.AGREGADO, actual.id(), null, actual, null);
+    }
+
+    public static CambioRepositorio editado(EstudianteInmutable anterior, EstudianteInmutable actual) {
+        return new CambioRepositorio(Tipo.EDITADO, actual.id(), anterior, actual, null);
+    }
+
+    public static CambioRepositorio eliminado(EstudianteInmutable anterior) {
+        return new CambioRepositorio(Tipo.ELIMINADO, anterior.id(), anterior, null, null);
+    }
+
+    public static CambioRepositorio lote(List<CambioRepositorio> cambios) {
+        return new CambioRepositorio(Tipo.LOTE, null, null, null, Collections.unmodifiableList(cambios));
+    }
+
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    /**
+     * @return ID afectado, o null si el cambio es un lote
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * @return Valor antes del cambio, o null en altas y lotes
+     */
+    public EstudianteInmutable getAnterior() {
+        return anterior;
+    }
+
+    /**
+     * @return Valor después del cambio, o null en bajas y lotes
+     */
+    public EstudianteInmutable getActual() {
+        return actual;
+    }
+
+    /**
+     * Obtiene los cambios individuales contenidos en este evento
+     * @return Los cambios del lote, o una lista con este mismo cambio si es individual
+     */
+    public List<CambioRepositorio> getCambios() {
+        return cambios != null ? cambios : Collections.singletonList(this);
+    }
+
+    @Override
+    public String toString() {
+        return tipo == Tipo.LOTE
+                ? "CambioRepositorio{LOTE, cambios=" + cambios.size() + '}'
+                : "CambioRepositorio{" + tipo + ", id='" + id + "'}";
+    }
+}
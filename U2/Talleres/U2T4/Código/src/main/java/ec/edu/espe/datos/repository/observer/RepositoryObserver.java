@@ -10,4 +10,14 @@ public interface RepositoryObserver {
      * Método llamado cuando los datos del repositorio cambian
      */
     void onDataChanged();
+
+    /**
+     * Método llamado con el detalle del cambio ocurrido en el repositorio
+     * Por defecto delega en {@link #onDataChanged()}; los observadores que puedan
+     * actualizarse de forma incremental lo sobrescriben
+     * @param cambio Detalle del cambio
+     */
+    default void onDataChanged(CambioRepositorio cambio) {
+        onDataChanged();
+    }
 }
@@ -1,28 +1,142 @@
 package ec.edu.espe.logica_negocio;
 
 import ec.edu.espe.datos.model.Estudiante;
+import ec.edu.espe.datos.model.EstudianteInmutable;
 import ec.edu.espe.datos.repository.EstudianteRepository;
+import ec.edu.espe.datos.repository.IEstudianteRepository;
+import ec.edu.espe.datos.repository.consulta.Consulta;
+import ec.edu.espe.datos.repository.consulta.MotorConsultas;
+import ec.edu.espe.datos.repository.observer.RepositoryObserver;
+import ec.edu.espe.logica_negocio.busqueda.IndiceBusqueda;
+import ec.edu.espe.logica_negocio.busqueda.IndiceOrden;
+import ec.edu.espe.logica_negocio.busqueda.ListaOrdenada;
+import ec.edu.espe.logica_negocio.busqueda.PaginaEstudiantes;
+import ec.edu.espe.logica_negocio.cache.EstadisticasCache;
+import ec.edu.espe.logica_negocio.cache.EstudianteCache;
+import ec.edu.espe.logica_negocio.estadisticas.Agrupacion;
+import ec.edu.espe.logica_negocio.estadisticas.EstadisticasEstudiantes;
+import ec.edu.espe.logica_negocio.resultado.CodigoResultado;
+import ec.edu.espe.logica_negocio.resultado.ResultadoOperacion;
 import ec.edu.espe.logica_negocio.validation.*;
+import ec.edu.espe.metricas.MetricasOperacion;
+import ec.edu.espe.metricas.RegistroMetricas;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * EstudianteService - Capa de Lógica de Negocio
  * Aplica reglas de negocio y validaciones antes de delegar al repositorio
  * Implementa el patrón Strategy para validaciones
+ * Las operaciones devuelven un {@link ResultadoOperacion}; los métodos que devuelven
+ * el mensaje como texto se conservan por compatibilidad
  */
 public class EstudianteService {
-    private EstudianteRepository repository;
+    private IEstudianteRepository repository;
     private ValidationContext validationContext;
+    // Reglas que dependen de los demás registros; solo aplican a las altas
+    private final List<ReglaUnicidad> reglasAlta = new CopyOnWriteArrayList<>();
+    private EstudianteCache cache;
+    private EstadisticasEstudiantes estadisticas;
+    private IndiceBusqueda indiceBusqueda;
+    private volatile IndiceOrden indiceOrden;
+    private final MotorConsultas motorConsultas;
+
+    // Métricas por operación: las escrituras cuentan cada CodigoResultado (incluida cada regla de validación)
+    private static final String[] RESULTADOS_ESCRITURA = nombresResultadosEscritura();
+    private static final int RESULTADO_EXCEPCION = CodigoResultado.values().length;
+    private static final String[] RESULTADOS_LECTURA = {"OK", "ENCONTRADO", "NO_ENCONTRADO", "EXCEPCION"};
+    private static final int RESULTADO_LECTURA_OK = 0;
+    private static final int RESULTADO_ENCONTRADO = 1;
+    private static final int RESULTADO_NO_ENCONTRADO = 2;
+    private static final int RESULTADO_LECTURA_EXCEPCION = 3;
+
+    private final RegistroMetricas metricas = new RegistroMetricas("EstudianteService");
+    private final MetricasOperacion metricasAgregar = metricas.crear("agregar", RESULTADOS_ESCRITURA);
+    private final MetricasOperacion metricasEditar = metricas.crear("editar", RESULTADOS_ESCRITURA);
+    private final MetricasOperacion metricasEliminar = metricas.crear("eliminar", RESULTADOS_ESCRITURA);
+    private final MetricasOperacion metricasBuscar = metricas.crear("buscarPorId", RESULTADOS_LECTURA);
+    private final MetricasOperacion metricasListar = metricas.crear("listar", RESULTADOS_LECTURA);
+    private final MetricasOperacion metricasConsultar = metricas.crear("consultar", RESULTADOS_LECTURA);
+    private final MetricasOperacion metricasBuscarTexto = metricas.crear("buscarTexto", RESULTADOS_LECTURA);
+    private final MetricasOperacion metricasListarOrdenado = metricas.crear("listarOrdenado", RESULTADOS_LECTURA);
+    private final MetricasOperacion metricasListarPagina = metricas.crear("listarPagina", RESULTADOS_LECTURA);
+
+    // Lecturas idénticas concurrentes comparten una sola ejecución
+    private final VueloUnico<String, Optional<EstudianteInmutable>> busquedas = new VueloUnico<>();
+    private final VueloUnico<Boolean, List<EstudianteInmutable>> listados = new VueloUnico<>();
+    private final VueloUnico<Consulta, List<EstudianteInmutable>> consultas = new VueloUnico<>();
+    // Se guarda para poder retirarlo: el repositorio suele ser un singleton que vive más que el servicio
+    private final RepositoryObserver observadorLecturas = this::olvidarLecturasEnCurso;
 
     /**
-     * Constructor que inicializa el servicio con el repositorio
+     * Constructor que inicializa el servicio con el repositorio en memoria
      */
     public EstudianteService() {
-        this.repository = EstudianteRepository.getInstance();
+        this(EstudianteRepository.getInstance());
+    }
+
+    /**
+     * Constructor que inicializa el servicio con el repositorio indicado
+     * @param repository Implementación de almacenamiento a utilizar
+     */
+    public EstudianteService(IEstudianteRepository repository) {
+        this(repository, null);
+    }
+
+    /**
+     * Constructor que inicializa el servicio con una caché de lectura por ID
+     * La caché se suscribe al repositorio para invalidar las entradas modificadas; el servicio
+     * queda suscrito hasta {@link #desconectar()}
+     * @param repository Implementación de almacenamiento a utilizar
+     * @param cache Caché de estudiantes, o null para consultar siempre el repositorio
+     */
+    public EstudianteService(IEstudianteRepository repository, EstudianteCache cache) {
+        this.repository = repository;
         this.validationContext = new ValidationContext();
+        this.reglasAlta.add(new IdUnicoValidationStrategy(repository));
+        this.cache = cache;
+        this.motorConsultas = new MotorConsultas(repository);
+        // Tras una escritura, las lecturas nuevas no se unen a las que empezaron antes. Se suscribe
+        // primero para que el olvido ocurra antes que cualquier otra notificación de este servicio,
+        // junto al cambio y dentro del mismo bloqueo de escritura del repositorio
+        repository.addObserver(observadorLecturas);
+        if (cache != null) {
+            repository.addObserver(cache);
+        }
         configurarValidaciones();
     }
+
+    /**
+     * Deja de observar el repositorio y desconecta las estadísticas y los índices creados por el
+     * servicio, para que el repositorio no lo retenga; el servicio no debe usarse después
+     */
+    public synchronized void desconectar() {
+        repository.removeObserver(observadorLecturas);
+        if (cache != null) {
+            repository.removeObserver(cache);
+        }
+        if (estadisticas != null) {
+            estadisticas.desconectar();
+        }
+        if (indiceBusqueda != null) {
+            indiceBusqueda.desconectar();
+        }
+        if (indiceOrden != null) {
+            indiceOrden.desconectar();
+        }
+    }
+
+    /**
+     * Obtiene el repositorio utilizado por el servicio
+     * @return Repositorio de estudiantes
+     */
+    public IEstudianteRepository getRepository() {
+        return repository;
+    }
     
     /**
      * Configura las estrategias de validación
@@ -33,100 +147,444 @@ public class EstudianteService {
         validationContext.addStrategy(new EdadValidationStrategy());
     }
 
+    /**
+     * Obtiene el contexto de validación, por ejemplo para instalar reglas cargadas de un archivo
+     * @return Contexto con las estrategias vigentes
+     */
+    public ValidationContext getValidationContext() {
+        return validationContext;
+    }
+
+    /**
+     * Aplica las reglas de validación sin tocar el repositorio
+     * @param estudiante Estudiante a validar
+     * @return {@link ResultadoOperacion#VALIDO} o el resultado del primer fallo
+     */
+    public ResultadoOperacion validar(EstudianteInmutable estudiante) {
+        return validationContext.validar(estudiante);
+    }
+
+    /**
+     * Aplica las reglas de validación a un lote (por ejemplo, una importación) sin tocar el repositorio
+     * @param estudiantes Filas a validar
+     * @return Todos los errores de cada fila, no solo el primero
+     */
+    public ResultadoValidacionLote validarLote(List<EstudianteInmutable> estudiantes) {
+        return validationContext.validarLote(estudiantes);
+    }
+
+    /**
+     * Aplica las reglas de un alta: primero las de campos y luego las de unicidad, que
+     * consultan índices del repositorio
+     * @param estudiante Estudiante que se quiere agregar
+     * @return {@link ResultadoOperacion#VALIDO} o el resultado del primer fallo
+     */
+    public ResultadoOperacion validarAlta(EstudianteInmutable estudiante) {
+        ResultadoOperacion validacion = validationContext.validar(estudiante);
+        if (!validacion.esExitoso()) {
+            return validacion;
+        }
+        for (ReglaUnicidad regla : reglasAlta) {
+            ResultadoOperacion unicidad = regla.validar(estudiante);
+            if (!unicidad.esExitoso()) {
+                return unicidad;
+            }
+        }
+        return ResultadoOperacion.VALIDO;
+    }
+
+    /**
+     * Valida un lote de altas: reglas de campos, unicidad contra el repositorio (por índice)
+     * y unicidad dentro del propio lote
+     * @param estudiantes Filas a importar
+     * @return Todos los errores de cada fila
+     */
+    public ResultadoValidacionLote validarLoteAltas(List<EstudianteInmutable> estudiantes) {
+        List<ValidationStrategy> estrategias = new ArrayList<>(validationContext.getEstrategias());
+        estrategias.addAll(reglasAlta);
+        return ValidadorCompilado.compilar(estrategias).validarLote(estudiantes);
+    }
+
+    /**
+     * Registra una regla de unicidad adicional para las altas, por ejemplo
+     * {@code new PersonaUnicaValidationStrategy(IndicePersonas.conectar(repository))}
+     * @param regla Regla que se comprueba después de las reglas de campos
+     */
+    public void agregarReglaAlta(ReglaUnicidad regla) {
+        reglasAlta.add(regla);
+    }
+
     /**
      * Agrega un nuevo estudiante aplicando validaciones de negocio
      * @param estudiante Estudiante a agregar
-     * @return Mensaje con el resultado de la operación
+     * @return Resultado estructurado; en caso de éxito es {@link ResultadoOperacion#AGREGADO}
      */
-    public String agregarEstudiante(Estudiante estudiante) {
-        // Aplicar todas las estrategias de validación
-        String errorValidacion = validationContext.validate(estudiante);
-        if (errorValidacion != null) {
-            return errorValidacion;
+    public ResultadoOperacion agregar(EstudianteInmutable estudiante) {
+        long inicio = System.nanoTime();
+        ResultadoOperacion resultado = null;
+        try {
+            resultado = procesarAgregar(estudiante);
+            return resultado;
+        } finally {
+            metricasAgregar.registrar(System.nanoTime() - inicio,
+                    resultado == null ? RESULTADO_EXCEPCION : resultado.getCodigo().ordinal());
         }
+    }
 
-        // Validar que el ID no esté repetido
-        if (repository.existePorId(estudiante.getId())) {
-            return "Error: Ya existe un estudiante con el ID: " + estudiante.getId();
+    private ResultadoOperacion procesarAgregar(EstudianteInmutable estudiante) {
+        // Aplicar las estrategias de validación y las reglas de unicidad (ID no repetido)
+        ResultadoOperacion validacion = validarAlta(estudiante);
+        if (!validacion.esExitoso()) {
+            return validacion;
         }
 
         // Si todas las validaciones pasan, agregar al repositorio
-        boolean resultado = repository.agregar(estudiante);
-        if (resultado) {
-            return "Estudiante agregado exitosamente";
-        } else {
-            return "Error al agregar el estudiante";
-        }
+        return repository.agregar(estudiante)
+                ? ResultadoOperacion.AGREGADO
+                : ResultadoOperacion.de(CodigoResultado.AGREGAR_FALLIDO);
     }
 
     /**
      * Edita un estudiante existente aplicando validaciones
      * @param estudiante Estudiante con los datos actualizados
-     * @return Mensaje con el resultado de la operación
+     * @return Resultado estructurado; en caso de éxito es {@link ResultadoOperacion#EDITADO}
      */
-    public String editarEstudiante(Estudiante estudiante) {
+    public ResultadoOperacion editar(EstudianteInmutable estudiante) {
+        long inicio = System.nanoTime();
+        ResultadoOperacion resultado = null;
+        try {
+            resultado = procesarEditar(estudiante);
+            return resultado;
+        } finally {
+            metricasEditar.registrar(System.nanoTime() - inicio,
+                    resultado == null ? RESULTADO_EXCEPCION : resultado.getCodigo().ordinal());
+        }
+    }
+
+    private ResultadoOperacion procesarEditar(EstudianteInmutable estudiante) {
         // Aplicar todas las estrategias de validación
-        String errorValidacion = validationContext.validate(estudiante);
-        if (errorValidacion != null) {
-            return errorValidacion;
+        ResultadoOperacion validacion = validationContext.validar(estudiante);
+        if (!validacion.esExitoso()) {
+            return validacion;
         }
 
         // Validar que el estudiante exista
-        if (!repository.existePorId(estudiante.getId())) {
-            return "Error: No existe un estudiante con el ID: " + estudiante.getId();
+        if (!repository.existePorId(estudiante.id())) {
+            return ResultadoOperacion.de(CodigoResultado.ID_INEXISTENTE, estudiante.id());
         }
 
         // Si todas las validaciones pasan, editar en el repositorio
-        boolean resultado = repository.editar(estudiante);
-        if (resultado) {
-            return "Estudiante editado exitosamente";
-        } else {
-            return "Error al editar el estudiante";
-        }
+        return repository.editar(estudiante)
+                ? ResultadoOperacion.EDITADO
+                : ResultadoOperacion.de(CodigoResultado.EDITAR_FALLIDO);
     }
 
     /**
      * Elimina un estudiante por su ID
      * @param id Identificador del estudiante a eliminar
-     * @return Mensaje con el resultado de la operación
+     * @return Resultado estructurado; en caso de éxito es {@link ResultadoOperacion#ELIMINADO}
      */
-    public String eliminarEstudiante(String id) {
+    public ResultadoOperacion eliminar(String id) {
+        long inicio = System.nanoTime();
+        ResultadoOperacion resultado = null;
+        try {
+            resultado = procesarEliminar(id);
+            return resultado;
+        } finally {
+            metricasEliminar.registrar(System.nanoTime() - inicio,
+                    resultado == null ? RESULTADO_EXCEPCION : resultado.getCodigo().ordinal());
+        }
+    }
+
+    private ResultadoOperacion procesarEliminar(String id) {
         // Validar ID
         if (id == null || id.trim().isEmpty()) {
-            return "Error: El ID no puede estar vacío";
+            return ResultadoOperacion.de(CodigoResultado.ID_VACIO);
         }
 
         // Validar que el estudiante exista
         if (!repository.existePorId(id)) {
-            return "Error: No existe un estudiante con el ID: " + id;
+            return ResultadoOperacion.de(CodigoResultado.ID_INEXISTENTE, id);
         }
 
         // Eliminar del repositorio
-        boolean resultado = repository.eliminar(id);
-        if (resultado) {
-            return "Estudiante eliminado exitosamente";
-        } else {
-            return "Error al eliminar el estudiante";
-        }
+        return repository.eliminar(id)
+                ? ResultadoOperacion.ELIMINADO
+                : ResultadoOperacion.de(CodigoResultado.ELIMINAR_FALLIDO);
+    }
+
+    /**
+     * Agrega un nuevo estudiante aplicando validaciones de negocio
+     * @param estudiante Estudiante a agregar
+     * @return Mensaje con el resultado de la operación
+     */
+    public String agregarEstudiante(EstudianteInmutable estudiante) {
+        return agregar(estudiante).getMensaje(Locale.ROOT);
+    }
+
+    /**
+     * Agrega un estudiante recibido como bean mutable
+     * @param estudiante Estudiante a agregar
+     * @return Mensaje con el resultado de la operación
+     */
+    public String agregarEstudiante(Estudiante estudiante) {
+        return agregarEstudiante(estudiante == null ? null : estudiante.toInmutable());
+    }
+
+    /**
+     * Edita un estudiante existente aplicando validaciones
+     * @param estudiante Estudiante con los datos actualizados
+     * @return Mensaje con el resultado de la operación
+     */
+    public String editarEstudiante(EstudianteInmutable estudiante) {
+        return editar(estudiante).getMensaje(Locale.ROOT);
+    }
+
+    /**
+     * Edita un estudiante recibido como bean mutable
+     * @param estudiante Estudiante con los datos actualizados
+     * @return Mensaje con el resultado de la operación
+     */
+    public String editarEstudiante(Estudiante estudiante) {
+        return editarEstudiante(estudiante == null ? null : estudiante.toInmutable());
+    }
+
+    /**
+     * Elimina un estudiante por su ID
+     * @param id Identificador del estudiante a eliminar
+     * @return Mensaje con el resultado de la operación
+     */
+    public String eliminarEstudiante(String id) {
+        return eliminar(id).getMensaje(Locale.ROOT);
     }
 
     /**
      * Lista todos los estudiantes
-     * @return Lista de estudiantes
+     * Las llamadas concurrentes comparten una sola lectura del repositorio
+     * @return Lista de estudiantes (no modificable)
      */
-    public List<Estudiante> listarEstudiantes() {
-        return repository.listar();
+    public List<EstudianteInmutable> listarEstudiantes() {
+        long inicio = System.nanoTime();
+        int resultado = RESULTADO_LECTURA_EXCEPCION;
+        try {
+            List<EstudianteInmutable> estudiantes = listados.ejecutar(Boolean.TRUE,
+                    () -> Collections.unmodifiableList(repository.listar()));
+            resultado = RESULTADO_LECTURA_OK;
+            return estudiantes;
+        } finally {
+            metricasListar.registrar(System.nanoTime() - inicio, resultado);
+        }
+    }
+
+    /**
+     * Ejecuta una consulta con filtro, orden y límite usando los índices del repositorio
+     * Las consultas iguales concurrentes comparten una sola ejecución
+     * @param consulta Consulta a ejecutar
+     * @return Estudiantes que cumplen la consulta (lista no modificable)
+     */
+    public List<EstudianteInmutable> consultar(Consulta consulta) {
+        long inicio = System.nanoTime();
+        int resultado = RESULTADO_LECTURA_EXCEPCION;
+        try {
+            Consulta clave = consulta.copiar();
+            List<EstudianteInmutable> estudiantes = consultas.ejecutar(clave,
+                    () -> Collections.unmodifiableList(motorConsultas.ejecutar(clave)));
+            resultado = RESULTADO_LECTURA_OK;
+            return estudiantes;
+        } finally {
+            metricasConsultar.registrar(System.nanoTime() - inicio, resultado);
+        }
     }
 
     /**
      * Busca un estudiante por su ID
+     * Las búsquedas concurrentes del mismo ID comparten una sola lectura
      * @param id Identificador del estudiante
      * @return Optional con el estudiante si existe
      */
-    public Optional<Estudiante> buscarEstudiantePorId(String id) {
-        if (id == null || id.trim().isEmpty()) {
-            return Optional.empty();
+    public Optional<EstudianteInmutable> buscarEstudiantePorId(String id) {
+        long inicio = System.nanoTime();
+        int resultado = RESULTADO_LECTURA_EXCEPCION;
+        try {
+            Optional<EstudianteInmutable> estudiante = id == null || id.trim().isEmpty()
+                    ? Optional.empty()
+                    : busquedas.ejecutar(id, () -> cache != null
+                            ? cache.obtener(id, repository::buscarPorId)
+                            : repository.buscarPorId(id));
+            resultado = estudiante.isPresent() ? RESULTADO_ENCONTRADO : RESULTADO_NO_ENCONTRADO;
+            return estudiante;
+        } finally {
+            metricasBuscar.registrar(System.nanoTime() - inicio, resultado);
+        }
+    }
+
+    /**
+     * Plan de ejecución de una consulta, para diagnóstico
+     * @param consulta Consulta a planificar
+     * @return Plan en texto
+     */
+    public String explicarConsulta(Consulta consulta) {
+        return motorConsultas.explain(consulta);
+    }
+
+    /**
+     * Métricas de latencia y resultados de cada operación del servicio
+     * Se publican como MBeans con {@link RegistroMetricas#publicar()}
+     * @return Registro de métricas del servicio
+     */
+    public RegistroMetricas getMetricas() {
+        return metricas;
+    }
+
+    private static String[] nombresResultadosEscritura() {
+        CodigoResultado[] codigos = CodigoResultado.values();
+        String[] nombres = new String[codigos.length + 1];
+        for (CodigoResultado codigo : codigos) {
+            nombres[codigo.ordinal()] = codigo.name();
+        }
+        nombres[codigos.length] = "EXCEPCION";
+        return nombres;
+    }
+
+    private void olvidarLecturasEnCurso() {
+        busquedas.olvidarEnCurso();
+        listados.olvidarEnCurso();
+        consultas.olvidarEnCurso();
+    }
+
+    /**
+     * @return Búsquedas, listados y consultas que llegaron al repositorio
+     */
+    public long getLecturasEjecutadas() {
+        return busquedas.getEjecuciones() + listados.getEjecuciones() + consultas.getEjecuciones();
+    }
+
+    /**
+     * @return Lecturas que recibieron el resultado de una ejecución concurrente idéntica
+     */
+    public long getLecturasCompartidas() {
+        return busquedas.getCompartidas() + listados.getCompartidas() + consultas.getCompartidas();
+    }
+
+    /**
+     * Obtiene las estadísticas del listado (cantidad, edades, histograma y rangos de
+     * edad de 10 años), mantenidas de forma incremental desde la primera llamada
+     * @return Componente de estadísticas conectado al repositorio
+     */
+    public synchronized EstadisticasEstudiantes getEstadisticas() {
+        if (estadisticas == null) {
+            estadisticas = EstadisticasEstudiantes.conectar(repository, Agrupacion.porRangoEdad(10));
+        }
+        return estadisticas;
+    }
+
+    /**
+     * Obtiene el índice de prefijos para buscar mientras se escribe, conectado al repositorio
+     * desde la primera llamada y mantenido de forma incremental
+     * @return Índice de búsqueda
+     */
+    public synchronized IndiceBusqueda getIndiceBusqueda() {
+        if (indiceBusqueda == null) {
+            indiceBusqueda = IndiceBusqueda.conectar(repository);
         }
-        return repository.buscarPorId(id);
+        return indiceBusqueda;
+    }
+
+    /**
+     * Busca estudiantes cuyos nombres o ID empiezan con cada término escrito
+     * (sin distinguir mayúsculas ni tildes), usando el índice de prefijos
+     * Si el hilo se interrumpe la búsqueda se abandona con {@link java.util.concurrent.CancellationException}
+     * @param texto Texto buscado
+     * @param limite Número máximo de resultados
+     * @return Estudiantes encontrados (lista no modificable)
+     */
+    public List<EstudianteInmutable> buscarTexto(String texto, int limite) {
+        long inicio = System.nanoTime();
+        int resultado = RESULTADO_LECTURA_EXCEPCION;
+        try {
+            List<EstudianteInmutable> estudiantes =
+                    Collections.unmodifiableList(getIndiceBusqueda().buscar(texto, limite));
+            resultado = RESULTADO_LECTURA_OK;
+            return estudiantes;
+        } finally {
+            metricasBuscarTexto.registrar(System.nanoTime() - inicio, resultado);
+        }
+    }
+
+    /**
+     * Obtiene el listado ordenado por ID, nombres (reglas del español) y edad, conectado al
+     * repositorio desde la primera llamada y mantenido de forma incremental
+     * La primera llamada recorre todo el listado y la primera lectura de cada orden lo ordena;
+     * conviene hacer ambas fuera del hilo de la interfaz
+     * @return Índice de orden
+     */
+    public synchronized IndiceOrden getIndiceOrden() {
+        if (indiceOrden == null) {
+            indiceOrden = IndiceOrden.conectar(repository);
+        }
+        return indiceOrden;
+    }
+
+    /**
+     * Lee un tramo del listado ordenado sin ordenar en cada llamada
+     * @param orden Campo de orden
+     * @param ascendente Sentido del orden
+     * @param desde Primera posición
+     * @param cantidad Número máximo de estudiantes
+     * @return Estudiantes del tramo, en orden (lista no modificable)
+     */
+    public List<EstudianteInmutable> listarOrdenado(Consulta.Orden orden, boolean ascendente,
+                                                   int desde, int cantidad) {
+        long inicio = System.nanoTime();
+        int resultado = RESULTADO_LECTURA_EXCEPCION;
+        try {
+            List<EstudianteInmutable> estudiantes = Collections.unmodifiableList(
+                    getIndiceOrden().pagina(orden, ascendente, desde, cantidad));
+            resultado = RESULTADO_LECTURA_OK;
+            return estudiantes;
+        } finally {
+            metricasListarOrdenado.registrar(System.nanoTime() - inicio, resultado);
+        }
+    }
+
+    /**
+     * Lee una página del listado ordenado junto con el total de estudiantes, para mostrar un
+     * listado grande sin traerlo completo
+     * Mientras el índice de orden no está conectado o no tiene ese orden preparado, la página se
+     * selecciona del listado del repositorio sin ordenarlo ni esperar al índice (ver
+     * {@link ListaOrdenada#seleccionar}); conviene preparar el índice en segundo plano con
+     * {@link #getIndiceOrden()} e {@link IndiceOrden#preparar}
+     * @param orden Campo de orden
+     * @param ascendente Sentido del orden
+     * @param desde Primera posición
+     * @param cantidad Tamaño de la página
+     * @return Página y total leídos del mismo estado del listado
+     */
+    public PaginaEstudiantes listarPagina(Consulta.Orden orden, boolean ascendente, int desde, int cantidad) {
+        long inicio = System.nanoTime();
+        int resultado = RESULTADO_LECTURA_EXCEPCION;
+        try {
+            IndiceOrden indice = indiceOrden;
+            PaginaEstudiantes pagina;
+            if (indice != null && indice.isPreparado(orden)) {
+                pagina = indice.leerPagina(orden, ascendente, desde, cantidad);
+            } else {
+                List<EstudianteInmutable> estudiantes = repository.listar();
+                pagina = new PaginaEstudiantes(ListaOrdenada.seleccionar(estudiantes, orden, ascendente,
+                        desde, cantidad), desde, estudiantes.size());
+            }
+            resultado = RESULTADO_LECTURA_OK;
+            return pagina;
+        } finally {
+            metricasListarPagina.registrar(System.nanoTime() - inicio, resultado);
+        }
+    }
+
+    /**
+     * Obtiene las métricas de la caché de lectura
+     * @return Estadísticas de la caché, o vacío si el servicio no usa caché
+     */
+    public Optional<EstadisticasCache> getEstadisticasCache() {
+        return cache == null ? Optional.empty() : Optional.of(cache.getEstadisticas());
     }
 }
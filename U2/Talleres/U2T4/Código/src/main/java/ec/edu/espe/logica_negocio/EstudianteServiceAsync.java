@@ -0,0 +1,179 @@
+package ec.edu.espe.logica_negocio;
+
+import ec.edu.espe.datos.model.EstudianteInmutable;
+import ec.edu.espe.logica_negocio.resultado.ResultadoOperacion;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EstudianteServiceAsync - Variante no bloqueante de la Capa de Lógica de Negocio
+ * Ejecuta cada operación de {@link EstudianteService} en un hilo virtual (o en el
+ * ejecutor indicado) y devuelve un CompletableFuture, de modo que un cliente puede
+ * lanzar muchas operaciones a la vez sin ocupar hilos de plataforma.
+ * Cancelar el future o superar el tiempo límite lo completa de inmediato, pero la tarea
+ * no se interrumpe: una interrupción durante una lectura o un fsync cerraría los canales
+ * de archivo del repositorio. Una tarea cancelada antes de empezar no llega a ejecutarse.
+ * Las operaciones en curso están acotadas (una tarea ocupa su cupo hasta terminar de verdad)
+ * y las que exceden el límite se rechazan de inmediato con RejectedExecutionException
+ */
+public class EstudianteServiceAsync implements AutoCloseable {
+    public static final int MAXIMO_EN_VUELO_POR_DEFECTO = 1_024;
+
+    private final EstudianteService service;
+    private final ExecutorService executor;
+    private final boolean ejecutorPropio;
+    private final int maximoEnVuelo;
+    private final Semaphore enVuelo;
+    private final Duration tiempoLimite;
+
+    /**
+     * Usa un hilo virtual por operación, el límite por defecto y sin tiempo límite
+     * @param service Servicio síncrono a envolver
+     */
+    public EstudianteServiceAsync(EstudianteService service) {
+        this(service, Executors.newVirtualThreadPerTaskExecutor(), true, MAXIMO_EN_VUELO_POR_DEFECTO, null);
+    }
+
+    /**
+     * @param service Servicio síncrono a envolver
+     * @param executor Ejecutor de las operaciones (no se cierra con este objeto)
+     * @param maximoEnVuelo Operaciones simultáneas permitidas
+     * @param tiempoLimite Tiempo máximo de cada operación, o null para esperar sin límite
+     */
+    public EstudianteServiceAsync(EstudianteService service, ExecutorService executor,
+                                  int maximoEnVuelo, Duration tiempoLimite) {
+        this(service, executor, false, maximoEnVuelo, tiempoLimite);
+    }
+
+    private EstudianteServiceAsync(EstudianteService service, ExecutorService executor, boolean ejecutorPropio,
+                                   int maximoEnVuelo, Duration tiempoLimite) {
+        if (maximoEnVuelo <= 0) {
+            throw new IllegalArgumentException("Debe permitirse al menos una operación en curso");
+        }
+        this.service = service;
+        this.executor = executor;
+        this.ejecutorPropio = ejecutorPropio;
+        this.maximoEnVuelo = maximoEnVuelo;
+        this.enVuelo = new Semaphore(maximoEnVuelo);
+        this.tiempoLimite = tiempoLimite;
+    }
+
+    /**
+     * Crea una copia que comparte servicio, ejecutor y límite de operaciones pero con otro tiempo límite
+     * @param tiempoLimite Tiempo máximo de cada operación, o null para esperar sin límite
+     * @return Vista del servicio asíncrono con el nuevo tiempo límite
+     */
+    public EstudianteServiceAsync conTiempoLimite(Duration tiempoLimite) {
+        return new EstudianteServiceAsync(this, tiempoLimite);
+    }
+
+    private EstudianteServiceAsync(EstudianteServiceAsync base, Duration tiempoLimite) {
+        this.service = base.service;
+        this.executor = base.executor;
+        this.ejecutorPropio = false;
+        this.maximoEnVuelo = base.maximoEnVuelo;
+        this.enVuelo = base.enVuelo;
+        this.tiempoLimite = tiempoLimite;
+    }
+
+    /**
+     * @see EstudianteService#agregar(EstudianteInmutable)
+     */
+    public CompletableFuture<ResultadoOperacion> agregar(EstudianteInmutable estudiante) {
+        return ejecutar(() -> service.agregar(estudiante));
+    }
+
+    /**
+     * @see EstudianteService#editar(EstudianteInmutable)
+     */
+    public CompletableFuture<ResultadoOperacion> editar(EstudianteInmutable estudiante) {
+        return ejecutar(() -> service.editar(estudiante));
+    }
+
+    /**
+     * @see EstudianteService#eliminar(String)
+     */
+    public CompletableFuture<ResultadoOperacion> eliminar(String id) {
+        return ejecutar(() -> service.eliminar(id));
+    }
+
+    /**
+     * @see EstudianteService#buscarEstudiantePorId(String)
+     */
+    public CompletableFuture<Optional<EstudianteInmutable>> buscar(String id) {
+        return ejecutar(() -> service.buscarEstudiantePorId(id));
+    }
+
+    /**
+     * @see EstudianteService#listarEstudiantes()
+     */
+    public CompletableFuture<List<EstudianteInmutable>> listar() {
+        return ejecutar(service::listarEstudiantes);
+    }
+
+    /**
+     * Lanza la operación reservando un cupo que la propia tarea libera al terminar, aunque
+     * el future ya se haya completado por cancelación o por tiempo límite
+     */
+    private <T> CompletableFuture<T> ejecutar(Callable<T> operacion) {
+        if (!enVuelo.tryAcquire()) {
+            return CompletableFuture.failedFuture(new RejectedExecutionException(
+                    "Se alcanzó el máximo de " + maximoEnVuelo + " operaciones en curso"));
+        }
+        CompletableFuture<T> resultado = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    if (!resultado.isDone()) { // Si no, se canceló o venció antes de empezar
+                        resultado.complete(operacion.call());
+                    }
+                } catch (Throwable e) {
+                    resultado.completeExceptionally(e);
+                } finally {
+                    enVuelo.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            enVuelo.release();
+            resultado.completeExceptionally(e);
+            return resultado;
+        }
+        if (tiempoLimite != null) {
+            resultado.orTimeout(tiempoLimite.toNanos(), TimeUnit.NANOSECONDS);
+        }
+        return resultado;
+    }
+
+    /**
+     * @return Operaciones en curso en este momento
+     */
+    public int getOperacionesEnCurso() {
+        return maximoEnVuelo - enVuelo.availablePermits();
+    }
+
+    public int getMaximoEnVuelo() {
+        return maximoEnVuelo;
+    }
+
+    public EstudianteService getService() {
+        return service;
+    }
+
+    /**
+     * Cierra el ejecutor de hilos virtuales propio; un ejecutor recibido lo cierra quien lo creó
+     */
+    @Override
+    public void close() {
+        if (ejecutorPropio) {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package ec.edu.espe.logica_negocio;
+
+import ec.edu.espe.datos.model.EstudianteInmutable;
+import ec.edu.espe.datos.repository.IEstudianteRepository;
+import ec.edu.espe.datos.repository.MutacionRepositorio;
+import ec.edu.espe.logica_negocio.resultado.CodigoResultado;
+import ec.edu.espe.logica_negocio.resultado.ResultadoOperacion;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ProgramadorEscrituras - Agrupa escrituras concurrentes en micro-lotes
+ * Cada solicitud se valida en el hilo que la hace y se encola; un único hilo despachador
+ * toma las solicitudes en cola hasta {@code tamanioMaximoLote}, hasta que la cola se vacía
+ * o hasta que pasa {@code latenciaMaxima} desde la primera, y aplica el lote con
+ * {@link IEstudianteRepository#aplicarLote}: una sección crítica, una escritura durable
+ * y una notificación por lote. No se espera a que lleguen más: mientras se aplica un lote,
+ * las solicitudes nuevas se acumulan y forman el siguiente, así que el tamaño del lote se
+ * adapta a la carga sin sumar latencia cuando hay pocos escritores.
+ * La cola está acotada; con la cola llena las solicitudes se rechazan de inmediato con
+ * RejectedExecutionException, igual que en {@link EstudianteServiceAsync}
+ */
+public class ProgramadorEscrituras implements AutoCloseable {
+    public static final int TAMANIO_LOTE_POR_DEFECTO = 256;
+    public static final Duration LATENCIA_POR_DEFECTO = Duration.ofMillis(1);
+    public static final int CAPACIDAD_COLA_POR_DEFECTO = 16_384;
+    private static final String MENSAJE_CERRADO = "El programador de escrituras está cerrado";
+
+    private final EstudianteService service;
+    private final IEstudianteRepository repository;
+    private final int tamanioMaximoLote;
+    private final long latenciaMaximaNanos;
+    private final BlockingQueue<Solicitud> cola;
+    private final Thread despachador;
+    private volatile boolean cerrado;
+
+    private final AtomicLong lotes = new AtomicLong();
+    private final AtomicLong solicitudes = new AtomicLong();
+
+    /**
+     * @param service Servicio cuyas validaciones y repositorio se usan
+     */
+    public ProgramadorEscrituras(EstudianteService service) {
+        this(service, TAMANIO_LOTE_POR_DEFECTO, LATENCIA_POR_DEFECTO);
+    }
+
+    /**
+     * @param service Servicio cuyas validaciones y repositorio se usan
+     * @param tamanioMaximoLote Solicitudes máximas por lote
+     * @param latenciaMaxima Tiempo máximo para juntar un lote desde su primera solicitud (0 = sin límite)
+     */
+    public ProgramadorEscrituras(EstudianteService service, int tamanioMaximoLote, Duration latenciaMaxima) {
+        this(service, tamanioMaximoLote, latenciaMaxima, CAPACIDAD_COLA_POR_DEFECTO);
+    }
+
+    /**
+     * @param service Servicio cuyas validaciones y repositorio se usan
+     * @param tamanioMaximoLote Solicitudes máximas por lote
+     * @param latenciaMaxima Tiempo máximo para juntar un lote desde su primera solicitud (0 = sin límite)
+     * @param capacidadCola Solicitudes en espera; con la cola llena se rechazan
+     */
+    public ProgramadorEscrituras(EstudianteService service, int tamanioMaximoLote, Duration latenciaMaxima,
+                                 int capacidadCola) {
+        if (tamanioMaximoLote <= 0 || latenciaMaxima.isNegative() || capacidadCola <= 0) {
+            throw new IllegalArgumentException("Configuración de lotes inválida");
+        }
+        this.service = service;
+        this.repository = service.getRepository();
+        this.tamanioMaximoLote = tamanioMaximoLote;
+        this.latenciaMaximaNanos = latenciaMaxima.toNanos();
+        this.cola = new LinkedBlockingQueue<>(capacidadCola);
+        this.despachador = new Thread(this::despachar, "programador-escrituras");
+        this.despachador.setDaemon(true);
+        this.despachador.start();
+    }
+
+    /**
+     * @see EstudianteService#agregar(EstudianteInmutable)
+     */
+    public CompletableFuture<ResultadoOperacion> agregar(EstudianteInmutable estudiante) {
+        ResultadoOperacion validacion = service.validarAlta(estudiante);
+        if (!validacion.esExitoso()) {
+            return CompletableFuture.completedFuture(validacion);
+        }
+        return encolar(MutacionRepositorio.agregar(estudiante));
+    }
+
+    /**
+     * @see EstudianteService#editar(EstudianteInmutable)
+     */
+    public CompletableFuture<ResultadoOperacion> editar(EstudianteInmutable estudiante) {
+        ResultadoOperacion validacion = service.validar(estudiante);
+        if (!validacion.esExitoso()) {
+            return CompletableFuture.completedFuture(validacion);
+        }
+        return encolar(MutacionRepositorio.editar(estudiante));
+    }
+
+    /**
+     * @see EstudianteService#eliminar(String)
+     */
+    public CompletableFuture<ResultadoOperacion> eliminar(String id) {
+        if (id == null || id.trim().isEmpty()) {
+            return CompletableFuture.completedFuture(ResultadoOperacion.de(CodigoResultado.ID_VACIO));
+        }
+        return encolar(MutacionRepositorio.eliminar(id));
+    }
+
+    private CompletableFuture<ResultadoOperacion> encolar(MutacionRepositorio mutacion) {
+        if (cerrado) {
+            return CompletableFuture.failedFuture(new IllegalStateException(MENSAJE_CERRADO));
+        }
+        Solicitud solicitud = new Solicitud(mutacion);
+        if (!cola.offer(solicitud)) {
+            return CompletableFuture.failedFuture(new RejectedExecutionException(
+                    "La cola de escrituras está llena"));
+        }
+        // Si close() terminó de vaciar la cola mientras se encolaba, nadie más la atenderá;
+        // si ya no está en la cola, la tomó el despachador o close() y será completada
+        if (cerrado && cola.remove(solicitud)) {
+            solicitud.resultado.completeExceptionally(new IllegalStateException(MENSAJE_CERRADO));
+        }
+        return solicitud.resultado;
+    }
+
+    private void despachar() {
+        List<Solicitud> lote = new ArrayList<>(tamanioMaximoLote);
+        try {
+            while (!cerrado || !cola.isEmpty()) {
+                Solicitud primera = cola.poll(100, TimeUnit.MILLISECONDS);
+                if (primera == null) {
+                    continue;
+                }
+                lote.add(primera);
+                // Con la cola vacía se aplica enseguida: esperar no junta más si todos los
+                // escritores ya están en el lote esperando su resultado
+                long limite = System.nanoTime() + latenciaMaximaNanos;
+                Solicitud siguiente;
+                while (lote.size() < tamanioMaximoLote && (siguiente = cola.poll()) != null) {
+                    lote.add(siguiente);
+                    if (latenciaMaximaNanos > 0 && System.nanoTime() - limite >= 0) {
+                        break;
+                    }
+                }
+                aplicar(lote);
+                lote.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            for (Solicitud solicitud : lote) {
+                solicitud.resultado.completeExceptionally(e);
+            }
+        }
+    }
+
+    private void aplicar(List<Solicitud> lote) {
+        List<MutacionRepositorio> mutaciones = new ArrayList<>(lote.size());
+        for (Solicitud solicitud : lote) {
+            mutaciones.add(solicitud.mutacion);
+        }
+        boolean[] aplicadas;
+        try {
+            aplicadas = repository.aplicarLote(mutaciones);
+        } catch (RuntimeException e) {
+            for (Solicitud solicitud : lote) {
+                solicitud.resultado.completeExceptionally(e);
+            }
+            return;
+        }
+        lotes.incrementAndGet();
+        solicitudes.addAndGet(lote.size());
+        for (int i = 0; i < lote.size(); i++) {
+            Solicitud solicitud = lote.get(i);
+            solicitud.resultado.complete(resultado(solicitud.mutacion, aplicadas[i]));
+        }
+    }
+
+    /**
+     * Traduce el resultado del repositorio a los mismos códigos que devuelve el servicio
+     */
+    private static ResultadoOperacion resultado(MutacionRepositorio mutacion, boolean aplicada) {
+        switch (mutacion.getTipo()) {
+            case AGREGAR:
+                return aplicada ? ResultadoOperacion.AGREGADO
+                        : ResultadoOperacion.de(CodigoResultado.ID_DUPLICADO, mutacion.getId());
+            case EDITAR:
+                return aplicada ? ResultadoOperacion.EDITADO
+                        : ResultadoOperacion.de(CodigoResultado.ID_INEXISTENTE, mutacion.getId());
+            default:
+                return aplicada ? ResultadoOperacion.ELIMINADO
+                        : ResultadoOperacion.de(CodigoResultado.ID_INEXISTENTE, mutacion.getId());
+        }
+    }
+
+    /**
+     * @return Lotes aplicados desde el arranque
+     */
+    public long getLotes() {
+        return lotes.get();
+    }
+
+    /**
+     * @return Promedio de solicitudes por lote
+     */
+    public double getTamanioPromedioLote() {
+        long aplicados = lotes.get();
+        return aplicados == 0 ? 0.0 : (double) solicitudes.get() / aplicados;
+    }
+
+    /**
+     * Deja de aceptar solicitudes, aplica las pendientes y detiene el despachador
+     */
+    @Override
+    public void close() {
+        cerrado = true;
+        try {
+            despachador.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Solicitudes que entraron mientras se cerraba
+        Solicitud solicitud;
+        while ((solicitud = cola.poll()) != null) {
+            solicitud.resultado.completeExceptionally(new IllegalStateException(MENSAJE_CERRADO));
+        }
+    }
+
+    private static final class Solicitud {
+        private final MutacionRepositorio mutacion;
+        private final CompletableFuture<ResultadoOperacion> resultado = new CompletableFuture<>();
+
+        Solicitud(MutacionRepositorio mutacion) {
+            this.mutacion = mutacion;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package ec.edu.espe.logica_negocio;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * VueloUnico - Agrupa solicitudes idénticas concurrentes (single-flight)
+ * El primer hilo que pide una clave ejecuta la operación; los que piden la misma clave
+ * mientras tanto esperan y reciben el mismo resultado (o la misma excepción), así una
+ * ráfaga de consultas iguales llega al almacenamiento una sola vez.
+ * Nada se guarda después de terminar: esto no es una caché
+ * @param <K> Tipo de la clave que identifica solicitudes iguales
+ * @param <V> Tipo del resultado
+ */
+public final class VueloUnico<K, V> {
+    private final ConcurrentHashMap<K, CompletableFuture<V>> enCurso = new ConcurrentHashMap<>();
+    private final LongAdder ejecuciones = new LongAdder();
+    private final LongAdder compartidas = new LongAdder();
+
+    /**
+     * Ejecuta la operación o se une a la que ya está en curso para la misma clave
+     * @param clave Identidad de la solicitud (debe implementar equals y hashCode)
+     * @param operacion Operación a ejecutar si no hay una en curso
+     * @return Resultado de la ejecución compartida
+     */
+    public V ejecutar(K clave, Supplier<V> operacion) {
+        CompletableFuture<V> propio = new CompletableFuture<>();
+        CompletableFuture<V> existente = enCurso.putIfAbsent(clave, propio);
+        if (existente != null) {
+            compartidas.increment();
+            return esperar(existente);
+        }
+        ejecuciones.increment();
+        try {
+            V resultado = operacion.get();
+            propio.complete(resultado);
+            return resultado;
+        } catch (RuntimeException | Error e) {
+            propio.completeExceptionally(e);
+            throw e;
+        } finally {
+            enCurso.remove(clave, propio);
+        }
+    }
+
+    /**
+     * Hace que las solicitudes siguientes no se unan a las que están en curso
+     * Se usa después de una escritura para que nadie reciba un resultado leído antes de ella
+     */
+    public void olvidarEnCurso() {
+        enCurso.clear();
+    }
+
+    /**
+     * @return Operaciones ejecutadas realmente
+     */
+    public long getEjecuciones() {
+        return ejecuciones.sum();
+    }
+
+    /**
+     * @return Solicitudes que recibieron el resultado de otra ejecución
+     */
+    public long getCompartidas() {
+        return compartidas.sum();
+    }
+
+    private static <V> V esperar(CompletableFuture<V> ejecucion) {
+        try {
+            return ejecucion.join();
+        } catch (CompletionException e) {
+            Throwable causa = e.getCause();
+            if (causa instanceof RuntimeException) {
+                throw (RuntimeException) causa;
+            }
+            if (causa instanceof Error) {
+                throw (Error) causa;
+            }
+            throw e;
+        }
+    }
+}
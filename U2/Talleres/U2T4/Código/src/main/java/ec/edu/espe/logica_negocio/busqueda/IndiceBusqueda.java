@@ -0,0 +1,266 @@
+package ec.edu.espe.logica_negocio.busqueda;
+
+import ec.edu.espe.datos.model.EstudianteInmutable;
+import ec.edu.espe.datos.repository.IEstudianteRepository;
+import ec.edu.espe.datos.repository.consulta.NormalizadorTexto;
+import ec.edu.espe.datos.repository.observer.CambioRepositorio;
+import ec.edu.espe.datos.repository.observer.RepositoryObserver;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * IndiceBusqueda - Índice de prefijos para la búsqueda mientras se escribe
+ * Observa el repositorio y mantiene dos árboles ordenados: palabras normalizadas de los
+ * nombres (minúsculas, sin tildes) e IDs normalizados. Un término es el prefijo de una
+ * palabra o del ID, así que sus coincidencias son un rango contiguo del árbol y no hace
+ * falta recorrer el listado. Con varios términos se recorre el rango del más largo (el más
+ * selectivo) y se comprueban los demás sobre cada candidato, hasta juntar el límite pedido.
+ * La búsqueda revisa periódicamente si su hilo fue interrumpido para poder cancelarse
+ */
+public class IndiceBusqueda implements RepositoryObserver {
+    /** Candidatos revisados entre dos comprobaciones de cancelación */
+    private static final int REVISION_CANCELACION = 1_024;
+
+    private final IEstudianteRepository repository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Map<String, Entrada>> porPalabra = new TreeMap<>();
+    /** Clave: ID normalizado seguido del ID original, para que "a1" y "A1" no se pisen */
+    private final TreeMap<String, Entrada> porId = new TreeMap<>();
+
+    /**
+     * Estudiante con su ID y sus palabras ya normalizados, para comprobar los términos
+     * de cada candidato sin volver a normalizar
+     */
+    private static final class Entrada {
+        final EstudianteInmutable estudiante;
+        final String id;
+        final String[] palabras;
+
+        Entrada(EstudianteInmutable estudiante) {
+            this.estudiante = estudiante;
+            this.id = NormalizadorTexto.normalizar(estudiante.id());
+            this.palabras = NormalizadorTexto.palabras(estudiante.nombres()).toArray(new String[0]);
+        }
+
+        boolean coincide(List<String> terminos) {
+            for (String termino : terminos) {
+                boolean encontrado = id.startsWith(termino);
+                for (int i = 0; !encontrado && i < palabras.length; i++) {
+                    encontrado = palabras[i].startsWith(termino);
+                }
+                if (!encontrado) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private IndiceBusqueda(IEstudianteRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Crea el índice, lo suscribe al repositorio y carga los datos existentes
+     * @param repository Repositorio a observar
+     * @return Índice conectado
+     */
+    public static IndiceBusqueda conectar(IEstudianteRepository repository) {
+        IndiceBusqueda indice = new IndiceBusqueda(repository);
+        indice.lock.writeLock().lock();
+        try {
+            // Mientras se carga, las notificaciones concurrentes esperan este bloqueo
+            for (EstudianteInmutable estudiante : repository.listarYObservar(indice)) {
+                indice.indexar(estudiante);
+            }
+        } finally {
+            indice.lock.writeLock().unlock();
+        }
+        return indice;
+    }
+
+    /**
+     * Deja de observar el repositorio
+     */
+    public void desconectar() {
+        repository.removeObserver(this);
+    }
+
+    /**
+     * Divide el texto buscado en términos normalizados
+     * @param texto Texto tal como se escribió
+     * @return Términos (vacío si no hay nada que buscar)
+     */
+    public static List<String> terminos(String texto) {
+        return NormalizadorTexto.palabras(texto);
+    }
+
+    /**
+     * Indica si un estudiante cumple la búsqueda: cada término es prefijo de alguna palabra
+     * de sus nombres o de su ID
+     * @param terminos Términos de {@link #terminos(String)}
+     * @param estudiante Estudiante a revisar
+     * @return true si cumple todos los términos
+     */
+    public static boolean coincide(List<String> terminos, EstudianteInmutable estudiante) {
+        if (estudiante == null) {
+            return false;
+        }
+        return new Entrada(estudiante).coincide(terminos);
+    }
+
+    /**
+     * Estudiantes que cumplen la búsqueda
+     * @param texto Texto buscado
+     * @param limite Número máximo de resultados
+     * @return Hasta {@code limite} estudiantes, o todos los estudiantes si el texto está vacío
+     * @throws CancellationException si el hilo fue interrumpido durante la búsqueda
+     */
+    public List<EstudianteInmutable> buscar(String texto, int limite) {
+        if (limite < 0) {
+            throw new IllegalArgumentException("El límite no puede ser negativo");
+        }
+        List<String> terminos = terminos(texto);
+        List<EstudianteInmutable> resultado = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            if (terminos.isEmpty()) {
+                for (Entrada entrada : porId.values()) {
+                    if (resultado.size() == limite) {
+                        break;
+                    }
+                    resultado.add(entrada.estudiante);
+                }
+                return resultado;
+            }
+            String guia = terminos.get(0);
+            for (String termino : terminos) {
+                if (termino.length() > guia.length()) {
+                    guia = termino;
+                }
+            }
+            Set<String> vistos = new HashSet<>();
+            int revisados = 0;
+            // Primero los IDs que empiezan con el término guía, luego los nombres
+            for (Entrada entrada : rango(porId, guia).values()) {
+                if (resultado.size() == limite) {
+                    return resultado;
+                }
+                revisarCancelacion(++revisados);
+                if (entrada.coincide(terminos) && vistos.add(entrada.estudiante.id())) {
+                    resultado.add(entrada.estudiante);
+                }
+            }
+            for (Map<String, Entrada> grupo : rango(porPalabra, guia).values()) {
+                for (Entrada entrada : grupo.values()) {
+                    if (resultado.size() == limite) {
+                        return resultado;
+                    }
+                    revisarCancelacion(++revisados);
+                    if (!vistos.contains(entrada.estudiante.id()) && entrada.coincide(terminos)) {
+                        vistos.add(entrada.estudiante.id());
+                        resultado.add(entrada.estudiante);
+                    }
+                }
+            }
+            return resultado;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return Estudiantes indexados
+     */
+    public int contar() {
+        lock.readLock().lock();
+        try {
+            return porId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Sin detalle del cambio se reconstruye el índice desde el repositorio
+     */
+    @Override
+    public void onDataChanged() {
+        List<EstudianteInmutable> estudiantes = repository.listar();
+        lock.writeLock().lock();
+        try {
+            porPalabra.clear();
+            porId.clear();
+            for (EstudianteInmutable estudiante : estudiantes) {
+                indexar(estudiante);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onDataChanged(CambioRepositorio cambio) {
+        lock.writeLock().lock();
+        try {
+            for (CambioRepositorio individual : cambio.getCambios()) {
+                if (individual.getAnterior() != null) {
+                    desindexar(individual.getAnterior());
+                }
+                if (individual.getActual() != null) {
+                    indexar(individual.getActual());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Entradas cuya clave empieza con el prefijo
+     */
+    private static <V> NavigableMap<String, V> rango(TreeMap<String, V> arbol, String prefijo) {
+        return arbol.subMap(prefijo, true, prefijo + Character.MAX_VALUE, false);
+    }
+
+    private static String claveId(String id) {
+        return NormalizadorTexto.normalizar(id) + '\0' + id;
+    }
+
+    private static void revisarCancelacion(int revisados) {
+        if (revisados % REVISION_CANCELACION == 0 && Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("Búsqueda cancelada");
+        }
+    }
+
+    // indexar y desindexar requieren el bloqueo de escritura
+
+    private void indexar(EstudianteInmutable estudiante) {
+        Entrada entrada = new Entrada(estudiante);
+        porId.put(claveId(estudiante.id()), entrada);
+        for (String palabra : entrada.palabras) {
+            porPalabra.computeIfAbsent(palabra, k -> new LinkedHashMap<>()).put(estudiante.id(), entrada);
+        }
+    }
+
+    private void desindexar(EstudianteInmutable estudiante) {
+        porId.remove(claveId(estudiante.id()));
+        for (String palabra : NormalizadorTexto.palabras(estudiante.nombres())) {
+            Map<String, Entrada> grupo = porPalabra.get(palabra);
+            if (grupo != null) {
+                grupo.remove(estudiante.id());
+                if (grupo.isEmpty()) {
+                    porPalabra.remove(palabra);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package ec.edu.espe.logica_negocio.busqueda;
+
+import ec.edu.espe.datos.model.EstudianteInmutable;
+import ec.edu.espe.datos.repository.IEstudianteRepository;
+import ec.edu.espe.datos.repository.consulta.Consulta;
+import ec.edu.espe.datos.repository.observer.CambioRepositorio;
+import ec.edu.espe.datos.repository.observer.RepositoryObserver;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * IndiceOrden - Listado ordenado por ID, nombres y edad, mantenido de forma incremental
+ * Observa el repositorio y conserva una {@link ListaOrdenada} por cada campo de
+ * {@link Consulta.Orden} que se haya pedido (cada una se ordena la primera vez que se lee);
+ * cada alta, edición o baja se inserta o se quita en su posición sin volver a ordenar y un
+ * lote grande se mezcla con cada lista en una sola pasada.
+ * Cambiar el orden de una tabla no cuesta más que leer la página visible.
+ * A su vez avisa a sus propios observadores después de aplicar cada cambio, para que quien
+ * lea páginas de este índice lo haga cuando ya refleja el cambio
+ */
+public class IndiceOrden implements RepositoryObserver {
+    /** Con más cambios juntos, mezclar en una pasada es más barato que desplazar por cada uno */
+    static final int UMBRAL_LOTE = 16;
+
+    private final IEstudianteRepository repository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Consulta.Orden, ListaOrdenada> listas = new EnumMap<>(Consulta.Orden.class);
+    /** Copia de las claves de {@link #listas} que se consulta sin esperar a quien está ordenando */
+    private volatile Set<Consulta.Orden> preparados = EnumSet.noneOf(Consulta.Orden.class);
+    private final Map<String, EstudianteInmutable> porId = new HashMap<>();
+    private final CopyOnWriteArrayList<RepositoryObserver> observers = new CopyOnWriteArrayList<>();
+
+    private IndiceOrden(IEstudianteRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Crea el índice, lo suscribe al repositorio y carga los datos existentes
+     * Todavía no ordena: cada orden se prepara la primera vez que se pide
+     * @param repository Repositorio a observar
+     * @return Índice conectado
+     */
+    public static IndiceOrden conectar(IEstudianteRepository repository) {
+        IndiceOrden indice = new IndiceOrden(repository);
+        indice.lock.writeLock().lock();
+        try {
+            // Mientras se carga, las notificaciones concurrentes esperan este bloqueo
+            indice.cargar(repository.listarYObservar(indice));
+        } finally {
+            indice.lock.writeLock().unlock();
+        }
+        return indice;
+    }
+
+    /**
+     * Deja de observar el repositorio
+     */
+    public void desconectar() {
+        repository.removeObserver(this);
+    }
+
+    /**
+     * @return Estudiantes indexados
+     */
+    public int contar() {
+        lock.readLock().lock();
+        try {
+            return porId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lee una página del listado ordenado
+     * @param orden Campo de orden
+     * @param ascendente Sentido del orden
+     * @param desde Primera posición
+     * @param cantidad Número máximo de estudiantes
+     * @return Estudiantes de la página, en orden
+     */
+    public List<EstudianteInmutable> pagina(Consulta.Orden orden, boolean ascendente, int desde, int cantidad) {
+        ListaOrdenada lista = leerLista(orden);
+        try {
+            return lista.pagina(desde, cantidad, ascendente);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lee una página junto con el total de estudiantes, ambos del mismo estado del índice
+     * @param orden Campo de orden
+     * @param ascendente Sentido del orden
+     * @param desde Primera posición
+     * @param cantidad Número máximo de estudiantes
+     * @return Página con el total
+     */
+    public PaginaEstudiantes leerPagina(Consulta.Orden orden, boolean ascendente, int desde, int cantidad) {
+        ListaOrdenada lista = leerLista(orden);
+        try {
+            return new PaginaEstudiantes(lista.pagina(desde, cantidad, ascendente), desde, lista.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ordena por el campo si todavía no estaba ordenado; conviene llamarlo fuera del hilo de
+     * la interfaz antes de leer páginas en ese orden desde él
+     * @param orden Campo de orden
+     */
+    public void preparar(Consulta.Orden orden) {
+        leerLista(orden);
+        lock.readLock().unlock();
+    }
+
+    /**
+     * No espera: mientras otro hilo prepara ese orden devuelve false
+     * @param orden Campo de orden
+     * @return true si leer en ese orden ya no requiere ordenar
+     */
+    public boolean isPreparado(Consulta.Orden orden) {
+        return preparados.contains(orden);
+    }
+
+    /**
+     * @param orden Campo de orden
+     * @param ascendente Sentido del orden
+     * @param id ID del estudiante
+     * @return Posición del estudiante en ese orden, o -1 si no existe
+     */
+    public int posicion(Consulta.Orden orden, boolean ascendente, String id) {
+        ListaOrdenada lista = leerLista(orden);
+        try {
+            EstudianteInmutable estudiante = porId.get(id);
+            if (estudiante == null) {
+                return -1;
+            }
+            return ListaOrdenada.enSentido(lista.posicion(estudiante), ascendente, lista.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Registra un observador que se avisa después de que el índice aplica cada cambio
+     * @param observer Observador a agregar
+     */
+    public void addObserver(RepositoryObserver observer) {
+        if (observer != null) {
+            observers.addIfAbsent(observer);
+        }
+    }
+
+    public void removeObserver(RepositoryObserver observer) {
+        observers.remove(observer);
+    }
+
+    /**
+     * Sin detalle del cambio se vuelve a ordenar desde el repositorio
+     */
+    @Override
+    public void onDataChanged() {
+        List<EstudianteInmutable> estudiantes = repository.listar();
+        lock.writeLock().lock();
+        try {
+            cargar(estudiantes);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        for (RepositoryObserver observer : observers) {
+            observer.onDataChanged();
+        }
+    }
+
+    @Override
+    public void onDataChanged(CambioRepositorio cambio) {
+        lock.writeLock().lock();
+        try {
+            if (cambio.getCambios().size() > UMBRAL_LOTE) {
+                aplicarLote(cambio.getCambios());
+            } else {
+                for (CambioRepositorio individual : cambio.getCambios()) {
+                    aplicar(individual);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        for (RepositoryObserver observer : observers) {
+            observer.onDataChanged(cambio);
+        }
+    }
+
+    /**
+     * Requiere el bloqueo de escritura
+     */
+    private void aplicar(CambioRepositorio individual) {
+        // Se quita el valor que tiene el índice, sea cual sea el anterior del evento
+        EstudianteInmutable anterior = porId.remove(individual.getId());
+        if (anterior != null) {
+            for (ListaOrdenada lista : listas.values()) {
+                lista.quitar(anterior);
+            }
+        }
+        if (individual.getActual() != null) {
+            porId.put(individual.getActual().id(), individual.getActual());
+            for (ListaOrdenada lista : listas.values()) {
+                lista.agregar(individual.getActual());
+            }
+        }
+    }
+
+    /**
+     * Reduce el lote al valor original y final de cada ID y lo mezcla en cada lista
+     * Requiere el bloqueo de escritura
+     */
+    private void aplicarLote(List<CambioRepositorio> cambios) {
+        Map<String, EstudianteInmutable> originales = new HashMap<>();
+        Map<String, EstudianteInmutable> finales = new LinkedHashMap<>();
+        for (CambioRepositorio individual : cambios) {
+            String id = individual.getId();
+            if (!finales.containsKey(id)) {
+                EstudianteInmutable original = porId.get(id);
+                if (original != null) {
+                    originales.put(id, original);
+                }
+            }
+            finales.put(id, individual.getActual());
+        }
+        List<EstudianteInmutable> altas = new ArrayList<>(finales.size());
+        for (Map.Entry<String, EstudianteInmutable> entrada : finales.entrySet()) {
+            if (entrada.getValue() == null) {
+                porId.remove(entrada.getKey());
+            } else {
+                porId.put(entrada.getKey(), entrada.getValue());
+                altas.add(entrada.getValue());
+            }
+        }
+        for (ListaOrdenada lista : listas.values()) {
+            lista.aplicarLote(originales.values(), altas);
+        }
+    }
+
+    /**
+     * Lista ordenada por el campo, que se ordena la primera vez que se pide
+     * Vuelve con el bloqueo de lectura tomado; quien llama debe liberarlo
+     */
+    private ListaOrdenada leerLista(Consulta.Orden orden) {
+        lock.readLock().lock();
+        ListaOrdenada lista = listas.get(orden);
+        if (lista != null) {
+            return lista;
+        }
+        lock.readLock().unlock();
+        lock.writeLock().lock();
+        try {
+            lista = listas.get(orden);
+            if (lista == null) {
+                lista = new ListaOrdenada(orden);
+                lista.cargar(porId.values());
+                listas.put(orden, lista);
+                preparados = EnumSet.copyOf(listas.keySet());
+            }
+            // Se toma la lectura antes de soltar la escritura para que nadie cambie la lista entre medio
+            lock.readLock().lock();
+            return lista;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Requiere el bloqueo de escritura
+     */
+    private void cargar(List<EstudianteInmutable> estudiantes) {
+        porId.clear();
+        for (EstudianteInmutable estudiante : estudiantes) {
+            porId.put(estudiante.id(), estudiante);
+        }
+        for (ListaOrdenada lista : listas.values()) {
+            lista.cargar(estudiantes);
+        }
+    }
+}
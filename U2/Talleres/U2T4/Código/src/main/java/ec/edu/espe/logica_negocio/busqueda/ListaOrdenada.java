@@ -0,0 +1,295 @@
+package ec.edu.espe.logica_negocio.busqueda;
+
+import ec.edu.espe.datos.model.EstudianteInmutable;
+import ec.edu.espe.datos.repository.consulta.Consulta;
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+
+/**
+ * ListaOrdenada - Estudiantes en un arreglo ordenado por un campo
+ * Las altas y bajas buscan su posición por búsqueda binaria y desplazan el arreglo con una
+ * sola copia de memoria, así que el orden se mantiene sin volver a ordenar. Cualquier fila se
+ * lee por posición en O(1), en orden ascendente o descendente, lo que permite pintar una página
+ * sin recorrer el resto. Los nombres se comparan con las reglas del español (ñ después de n,
+ * tildes como variantes de la misma letra) mediante claves de intercalación calculadas una sola
+ * vez por estudiante. El ID desempata, de modo que cada estudiante tiene una posición única.
+ * Un lote grande se aplica ordenando solo sus altas y mezclándolas con el arreglo en una pasada,
+ * reutilizando las claves ya calculadas.
+ * No es segura para uso concurrente
+ */
+public final class ListaOrdenada {
+    /** Reglas de intercalación usadas para ordenar nombres */
+    public static final Locale ESPANOL = Locale.forLanguageTag("es");
+
+    private static final EstudianteInmutable[] VACIO = new EstudianteInmutable[0];
+
+    private final Consulta.Orden orden;
+    private final Collator collator;
+    private final Comparator<Entrada> comparador;
+    private Entrada[] entradas = new Entrada[16];
+    private int tamano;
+
+    /**
+     * Estudiante con su clave de intercalación (solo al ordenar por nombres)
+     */
+    private static final class Entrada {
+        final EstudianteInmutable estudiante;
+        final CollationKey clave;
+
+        Entrada(EstudianteInmutable estudiante, CollationKey clave) {
+            this.estudiante = estudiante;
+            this.clave = clave;
+        }
+    }
+
+    /**
+     * @param orden Campo por el que se ordena
+     */
+    public ListaOrdenada(Consulta.Orden orden) {
+        this.orden = orden;
+        this.collator = orden == Consulta.Orden.NOMBRES ? Collator.getInstance(ESPANOL) : null;
+        this.comparador = comparador(orden);
+    }
+
+    public Consulta.Orden getOrden() {
+        return orden;
+    }
+
+    /**
+     * Reemplaza el contenido; es el único caso en que se ordena todo el arreglo
+     * @param estudiantes Estudiantes a ordenar
+     */
+    public void cargar(Collection<EstudianteInmutable> estudiantes) {
+        entradas = new Entrada[Math.max(16, estudiantes.size() + (estudiantes.size() >> 2))];
+        tamano = 0;
+        for (EstudianteInmutable estudiante : estudiantes) {
+            entradas[tamano++] = entrada(estudiante);
+        }
+        Arrays.parallelSort(entradas, 0, tamano, comparador);
+    }
+
+    /**
+     * Aplica muchas bajas y altas juntas en O(n + k log k): marca las bajas, ordena las altas
+     * y mezcla ambas secuencias en un arreglo nuevo
+     * @param quitar Estudiantes a quitar, tal como se insertaron
+     * @param agregar Estudiantes a insertar (sus IDs no deben seguir en la lista)
+     */
+    public void aplicarLote(Collection<EstudianteInmutable> quitar, Collection<EstudianteInmutable> agregar) {
+        BitSet bajas = new BitSet(tamano);
+        for (EstudianteInmutable estudiante : quitar) {
+            int posicion = posicion(estudiante);
+            if (posicion >= 0) {
+                bajas.set(posicion);
+            }
+        }
+        Entrada[] altas = new Entrada[agregar.size()];
+        int cantidadAltas = 0;
+        for (EstudianteInmutable estudiante : agregar) {
+            altas[cantidadAltas++] = entrada(estudiante);
+        }
+        Arrays.sort(altas, comparador);
+
+        int total = tamano - bajas.cardinality() + altas.length;
+        Entrada[] destino = new Entrada[Math.max(16, total + (total >> 2))];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < tamano || j < altas.length) {
+            if (i < tamano && bajas.get(i)) {
+                i++;
+            } else if (j == altas.length || (i < tamano && comparador.compare(entradas[i], altas[j]) <= 0)) {
+                destino[k++] = entradas[i++];
+            } else {
+                destino[k++] = altas[j++];
+            }
+        }
+        entradas = destino;
+        tamano = k;
+    }
+
+    /**
+     * Inserta en la posición que le corresponde
+     * @param estudiante Estudiante a insertar
+     * @return Posición ascendente en la que quedó
+     */
+    public int agregar(EstudianteInmutable estudiante) {
+        Entrada nueva = entrada(estudiante);
+        int posicion = Arrays.binarySearch(entradas, 0, tamano, nueva, comparador);
+        if (posicion >= 0) {
+            entradas[posicion] = nueva;
+            return posicion;
+        }
+        posicion = -posicion - 1;
+        if (tamano == entradas.length) {
+            entradas = Arrays.copyOf(entradas, entradas.length * 2);
+        }
+        System.arraycopy(entradas, posicion, entradas, posicion + 1, tamano - posicion);
+        entradas[posicion] = nueva;
+        tamano++;
+        return posicion;
+    }
+
+    /**
+     * Quita un estudiante con los mismos valores que el indicado
+     * @param estudiante Estudiante tal como se insertó
+     * @return Posición ascendente que ocupaba, o -1 si no estaba
+     */
+    public int quitar(EstudianteInmutable estudiante) {
+        int posicion = posicion(estudiante);
+        if (posicion >= 0) {
+            System.arraycopy(entradas, posicion + 1, entradas, posicion, tamano - posicion - 1);
+            entradas[--tamano] = null;
+        }
+        return posicion;
+    }
+
+    /**
+     * @param estudiante Estudiante tal como se insertó
+     * @return Posición ascendente, o -1 si no está
+     */
+    public int posicion(EstudianteInmutable estudiante) {
+        int posicion = Arrays.binarySearch(entradas, 0, tamano, entrada(estudiante), comparador);
+        return posicion >= 0 ? posicion : -1;
+    }
+
+    /**
+     * @param posicion Posición en el orden pedido
+     * @param ascendente Sentido del orden
+     * @return Estudiante en esa posición
+     */
+    public EstudianteInmutable get(int posicion, boolean ascendente) {
+        if (posicion < 0 || posicion >= tamano) {
+            throw new IndexOutOfBoundsException("Posición " + posicion + " fuera de 0.." + (tamano - 1));
+        }
+        return entradas[ascendente ? posicion : tamano - 1 - posicion].estudiante;
+    }
+
+    /**
+     * Copia una página en el orden pedido
+     * @param desde Primera posición (en el orden pedido)
+     * @param cantidad Número máximo de estudiantes
+     * @param ascendente Sentido del orden
+     * @return Estudiantes de la página (vacía si {@code desde} está fuera de la lista)
+     */
+    public List<EstudianteInmutable> pagina(int desde, int cantidad, boolean ascendente) {
+        if (desde < 0 || cantidad < 0) {
+            throw new IllegalArgumentException("La página no puede empezar ni medir menos de cero");
+        }
+        int hasta = (int) Math.min(tamano, (long) desde + cantidad);
+        EstudianteInmutable[] pagina = desde >= hasta ? VACIO : new EstudianteInmutable[hasta - desde];
+        for (int i = 0; i < pagina.length; i++) {
+            pagina[i] = get(desde + i, ascendente);
+        }
+        return Arrays.asList(pagina);
+    }
+
+    /**
+     * @return Todos los estudiantes en el orden pedido
+     */
+    public List<EstudianteInmutable> listar(boolean ascendente) {
+        return new ArrayList<>(pagina(0, tamano, ascendente));
+    }
+
+    public int size() {
+        return tamano;
+    }
+
+    /**
+     * Lee una página en el mismo orden que una lista cargada con la colección, pero sin
+     * ordenarla ni calcular claves de intercalación: un montículo conserva solo los
+     * {@code desde + cantidad} primeros, en O(n log k). Sirve para mostrar las primeras páginas
+     * mientras la lista completa todavía se prepara
+     * @param estudiantes Estudiantes sin ordenar
+     * @param orden Campo de orden
+     * @param ascendente Sentido del orden
+     * @param desde Primera posición
+     * @param cantidad Número máximo de estudiantes
+     * @return Estudiantes de la página, en orden
+     */
+    public static List<EstudianteInmutable> seleccionar(Collection<EstudianteInmutable> estudiantes,
+                                                        Consulta.Orden orden, boolean ascendente,
+                                                        int desde, int cantidad) {
+        if (desde < 0 || cantidad < 0) {
+            throw new IllegalArgumentException("La página no puede empezar ni medir menos de cero");
+        }
+        int hasta = (int) Math.min(estudiantes.size(), (long) desde + cantidad);
+        if (desde >= hasta) {
+            return Arrays.asList(VACIO);
+        }
+        Comparator<EstudianteInmutable> comparador = comparadorDirecto(orden);
+        if (!ascendente) {
+            comparador = comparador.reversed();
+        }
+        // Montículo con el último de los conservados en la cima
+        PriorityQueue<EstudianteInmutable> primeros = new PriorityQueue<>(hasta, comparador.reversed());
+        for (EstudianteInmutable estudiante : estudiantes) {
+            if (primeros.size() < hasta) {
+                primeros.add(estudiante);
+            } else if (comparador.compare(estudiante, primeros.peek()) < 0) {
+                primeros.poll();
+                primeros.add(estudiante);
+            }
+        }
+        EstudianteInmutable[] pagina = new EstudianteInmutable[hasta - desde];
+        for (int i = hasta - 1; i >= desde; i--) {
+            pagina[i - desde] = primeros.poll();
+        }
+        return Arrays.asList(pagina);
+    }
+
+    /**
+     * Convierte una posición ascendente al sentido pedido
+     * @param posicion Posición ascendente (de agregar, quitar o posicion)
+     * @param ascendente Sentido del orden
+     * @param tamano Tamaño de la lista en el momento en que la posición es válida
+     * @return Posición en el sentido pedido, o -1 si la posición era -1
+     */
+    public static int enSentido(int posicion, boolean ascendente, int tamano) {
+        return posicion < 0 || ascendente ? posicion : tamano - 1 - posicion;
+    }
+
+    private Entrada entrada(EstudianteInmutable estudiante) {
+        CollationKey clave = null;
+        if (collator != null) {
+            clave = collator.getCollationKey(estudiante.nombres() == null ? "" : estudiante.nombres());
+        }
+        return new Entrada(estudiante, clave);
+    }
+
+    /**
+     * Mismo orden que {@link #comparador}, comparando los nombres con el intercalador
+     */
+    private static Comparator<EstudianteInmutable> comparadorDirecto(Consulta.Orden orden) {
+        Comparator<EstudianteInmutable> porId = Comparator.comparing(EstudianteInmutable::id);
+        switch (orden) {
+            case NOMBRES:
+                Collator collator = Collator.getInstance(ESPANOL);
+                return Comparator.comparing((EstudianteInmutable e) -> e.nombres() == null ? "" : e.nombres(),
+                        collator).thenComparing(porId);
+            case EDAD:
+                return Comparator.comparingInt(EstudianteInmutable::edad).thenComparing(porId);
+            default:
+                return porId;
+        }
+    }
+
+    private static Comparator<Entrada> comparador(Consulta.Orden orden) {
+        Comparator<Entrada> porId = (a, b) -> a.estudiante.id().compareTo(b.estudiante.id());
+        switch (orden) {
+            case NOMBRES:
+                return ((Comparator<Entrada>) (a, b) -> a.clave.compareTo(b.clave)).thenComparing(porId);
+            case EDAD:
+                return Comparator.<Entrada>comparingInt(e -> e.estudiante.edad()).thenComparing(porId);
+            default:
+                return porId;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package ec.edu.espe.logica_negocio.busqueda;
+
+import ec.edu.espe.datos.model.EstudianteInmutable;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * PaginaEstudiantes - Tramo de un listado ordenado junto con el total del listado
+ * Ambos se leen en el mismo momento, así que el total corresponde a la página
+ */
+public final class PaginaEstudiantes {
+    private final List<EstudianteInmutable> estudiantes;
+    private final int desde;
+    private final int total;
+
+    /**
+     * @param estudiantes Estudiantes del tramo, en orden
+     * @param desde Posición del primero en el listado
+     * @param total Estudiantes del listado completo
+     */
+    public PaginaEstudiantes(List<EstudianteInmutable> estudiantes, int desde, int total) {
+        this.estudiantes = Collections.unmodifiableList(estudiantes);
+        this.desde = desde;
+        this.total = total;
+    }
+
+    public List<EstudianteInmutable> getEstudiantes() {
+        return estudiantes;
+    }
+
+    public int getDesde() {
+        return desde;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+}
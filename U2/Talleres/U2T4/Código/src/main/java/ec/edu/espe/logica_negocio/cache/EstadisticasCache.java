@@ -0,0 +1,63 @@
+package ec.edu.espe.logica_negocio.cache;
+
+/**
+ * EstadisticasCache - Fotografía de las métricas de la caché
+ * Permite ajustar el presupuesto de memoria observando aciertos, fallos y expulsiones
+ */
+public final class EstadisticasCache {
+    private final long aciertos;
+    private final long fallos;
+    private final long expulsiones;
+    private final int entradas;
+    private final long pesoBytes;
+    private final long presupuestoBytes;
+
+    EstadisticasCache(long aciertos, long fallos, long expulsiones, int entradas,
+                      long pesoBytes, long presupuestoBytes) {
+        this.aciertos = aciertos;
+        this.fallos = fallos;
+        this.expulsiones = expulsiones;
+        this.entradas = entradas;
+        this.pesoBytes = pesoBytes;
+        this.presupuestoBytes = presupuestoBytes;
+    }
+
+    public long getAciertos() {
+        return aciertos;
+    }
+
+    public long getFallos() {
+        return fallos;
+    }
+
+    public long getExpulsiones() {
+        return expulsiones;
+    }
+
+    public int getEntradas() {
+        return entradas;
+    }
+
+    public long getPesoBytes() {
+        return pesoBytes;
+    }
+
+    public long getPresupuestoBytes() {
+        return presupuestoBytes;
+    }
+
+    /**
+     * @return Proporción de búsquedas resueltas desde la caché (0..1)
+     */
+    public double getTasaAciertos() {
+        long total = aciertos + fallos;
+        return total == 0 ? 0.0 : (double) aciertos / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("EstadisticasCache{aciertos=%d, fallos=%d, tasa=%.2f%%, expulsiones=%d, "
+                        + "entradas=%d, peso=%d/%d bytes}",
+                aciertos, fallos, getTasaAciertos() * 100, expulsiones, entradas, pesoBytes, presupuestoBytes);
+    }
+}
@@ -0,0 +1,301 @@
+package ec.edu.espe.logica_negocio.cache;
+
+import ec.edu.espe.datos.model.EstudianteInmutable;
+import ec.edu.espe.datos.repository.observer.CambioRepositorio;
+import ec.edu.espe.datos.repository.observer.RepositoryObserver;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * EstudianteCache - Caché de lectura para la capa de negocio (W-TinyLFU)
+ * Guarda los estudiantes consultados por ID dentro de un presupuesto de memoria en bytes.
+ * Las entradas nuevas pasan por una pequeña ventana LRU; al salir de ella solo entran a la
+ * región principal (SLRU: período de prueba + protegida) si su frecuencia estimada supera
+ * a la de la víctima, de modo que un recorrido puntual no desaloja a los estudiantes populares.
+ * Se registra como observador del repositorio para invalidar las entradas que cambian
+ */
+public class EstudianteCache implements RepositoryObserver {
+    private static final double PORCENTAJE_VENTANA = 0.01;
+    private static final double PORCENTAJE_PROTEGIDO = 0.80;
+    /** Tamaño medio estimado de una entrada, usado para dimensionar el estimador de frecuencia */
+    private static final int PESO_MEDIO_ESTIMADO = 200;
+
+    private enum Segmento { VENTANA, PRUEBA, PROTEGIDO }
+
+    private static final class Entrada {
+        final String id;
+        final EstudianteInmutable valor;
+        final long peso;
+        Segmento segmento;
+
+        Entrada(String id, EstudianteInmutable valor, long peso) {
+            this.id = id;
+            this.valor = valor;
+            this.peso = peso;
+        }
+    }
+
+    private final long presupuestoBytes;
+    private final long presupuestoVentana;
+    private final long presupuestoPrincipal;
+    private final long presupuestoProtegido;
+
+    private final Map<String, Entrada> entradas = new HashMap<>();
+    // LinkedHashMap en orden de acceso: la primera entrada es la menos usada recientemente
+    private final LinkedHashMap<String, Entrada> ventana = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<String, Entrada> prueba = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<String, Entrada> protegido = new LinkedHashMap<>(16, 0.75f, true);
+    private final FrequencySketch sketch;
+
+    private long pesoVentana;
+    private long pesoPrueba;
+    private long pesoProtegido;
+    private long aciertos;
+    private long fallos;
+    private long expulsiones;
+    /** Se incrementa en cada invalidación para descartar cargas que empezaron antes */
+    private long version;
+
+    /**
+     * Constructor de la caché
+     * @param presupuestoBytes Memoria máxima estimada que pueden ocupar las entradas
+     */
+    public EstudianteCache(long presupuestoBytes) {
+        if (presupuestoBytes <= 0) {
+            throw new IllegalArgumentException("El presupuesto de la caché debe ser mayor a 0");
+        }
+        this.presupuestoBytes = presupuestoBytes;
+        this.presupuestoVentana = (long) (presupuestoBytes * PORCENTAJE_VENTANA);
+        this.presupuestoPrincipal = presupuestoBytes - presupuestoVentana;
+        this.presupuestoProtegido = (long) (presupuestoPrincipal * PORCENTAJE_PROTEGIDO);
+        this.sketch = new FrequencySketch((int) Math.min(Integer.MAX_VALUE / 2,
+                presupuestoBytes / PESO_MEDIO_ESTIMADO));
+    }
+
+    /**
+     * Obtiene un estudiante de la caché o lo carga desde el almacenamiento
+     * La carga se hace fuera del bloqueo para no serializar los accesos al repositorio
+     * @param id Identificador del estudiante
+     * @param cargador Función que consulta el almacenamiento en caso de fallo
+     * @return Optional con el estudiante si existe
+     */
+    public Optional<EstudianteInmutable> obtener(String id, Function<String, Optional<EstudianteInmutable>> cargador) {
+        long versionCarga;
+        synchronized (this) {
+            sketch.incrementar(id);
+            Entrada entrada = entradas.get(id);
+            if (entrada != null) {
+                aciertos++;
+                registrarAcceso(entrada);
+                return Optional.of(entrada.valor);
+            }
+            fallos++;
+            versionCarga = version;
+        }
+
+        Optional<EstudianteInmutable> cargado = cargador.apply(id);
+        if (cargado.isPresent()) {
+            synchronized (this) {
+                if (versionCarga == version && !entradas.containsKey(id)) {
+                    insertar(new Entrada(id, cargado.get(), estimarPeso(cargado.get())));
+                }
+            }
+        }
+        return cargado;
+    }
+
+    /**
+     * Elimina un estudiante de la caché
+     * @param id Identificador del estudiante
+     */
+    public synchronized void invalidar(String id) {
+        version++;
+        Entrada entrada = entradas.remove(id);
+        if (entrada != null) {
+            quitarDeSegmento(entrada);
+        }
+    }
+
+    /**
+     * Vacía la caché completamente
+     */
+    public synchronized void invalidarTodo() {
+        version++;
+        entradas.clear();
+        ventana.clear();
+        prueba.clear();
+        protegido.clear();
+        pesoVentana = 0;
+        pesoPrueba = 0;
+        pesoProtegido = 0;
+    }
+
+    /**
+     * Sin detalle del cambio no se sabe qué entradas quedaron obsoletas: se vacía la caché
+     */
+    @Override
+    public void onDataChanged() {
+        invalidarTodo();
+    }
+
+    /**
+     * Invalida solo los IDs afectados por el cambio
+     */
+    @Override
+    public void onDataChanged(CambioRepositorio cambio) {
+        for (CambioRepositorio individual : cambio.getCambios()) {
+            if (individual.getId() != null) {
+                invalidar(individual.getId());
+            } else {
+                invalidarTodo();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Obtiene las métricas acumuladas de la caché
+     * @return Fotografía de aciertos, fallos, expulsiones y ocupación
+     */
+    public synchronized EstadisticasCache getEstadisticas() {
+        return new EstadisticasCache(aciertos, fallos, expulsiones, entradas.size(),
+                pesoVentana + pesoPrueba + pesoProtegido, presupuestoBytes);
+    }
+
+    /**
+     * Estima el tamaño en memoria de una entrada: objeto Estudiante, sus dos cadenas
+     * (codificación compacta Latin-1) y los nodos de los mapas que la referencian
+     * @param estudiante Estudiante a medir
+     * @return Peso aproximado en bytes
+     */
+    static long estimarPeso(EstudianteInmutable estudiante) {
+        return 32 + pesoCadena(estudiante.id()) + pesoCadena(estudiante.nombres()) + 112;
+    }
+
+    private static long pesoCadena(String valor) {
+        if (valor == null) {
+            return 0;
+        }
+        // Cabecera de String (24) + arreglo de bytes (16 + longitud) alineado a 8
+        return 24 + ((16L + valor.length() + 7) & ~7L);
+    }
+
+    private void registrarAcceso(Entrada entrada) {
+        switch (entrada.segmento) {
+            case VENTANA:
+                ventana.get(entrada.id);
+                break;
+            case PRUEBA:
+                // Segundo acceso dentro de la región principal: se promueve a protegida
+                prueba.remove(entrada.id);
+                pesoPrueba -= entrada.peso;
+                agregarASegmento(entrada, Segmento.PROTEGIDO);
+                degradarProtegidosExcedentes();
+                break;
+            case PROTEGIDO:
+                protegido.get(entrada.id);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void insertar(Entrada entrada) {
+        if (entrada.peso > presupuestoPrincipal) {
+            return; // Nunca cabría en la caché
+        }
+        entradas.put(entrada.id, entrada);
+        agregarASegmento(entrada, Segmento.VENTANA);
+        while (pesoVentana > presupuestoVentana && !ventana.isEmpty()) {
+            Entrada candidata = primera(ventana);
+            ventana.remove(candidata.id);
+            pesoVentana -= candidata.peso;
+            admitirEnPrincipal(candidata);
+        }
+    }
+
+    /**
+     * Filtro de admisión TinyLFU: la candidata que sale de la ventana desplaza a las
+     * víctimas de la región principal solo si es más frecuente que ellas
+     */
+    private void admitirEnPrincipal(Entrada candidata) {
+        while (pesoPrueba + pesoProtegido + candidata.peso > presupuestoPrincipal) {
+            LinkedHashMap<String, Entrada> origen = prueba.isEmpty() ? protegido : prueba;
+            if (origen.isEmpty()) {
+                break;
+            }
+            Entrada victima = primera(origen);
+            if (sketch.frecuencia(candidata.id) > sketch.frecuencia(victima.id)) {
+                expulsar(victima);
+            } else {
+                entradas.remove(candidata.id);
+                expulsiones++;
+                return;
+            }
+        }
+        agregarASegmento(candidata, Segmento.PRUEBA);
+    }
+
+    private void degradarProtegidosExcedentes() {
+        while (pesoProtegido > presupuestoProtegido && !protegido.isEmpty()) {
+            Entrada degradada = primera(protegido);
+            protegido.remove(degradada.id);
+            pesoProtegido -= degradada.peso;
+            agregarASegmento(degradada, Segmento.PRUEBA);
+        }
+    }
+
+    private void expulsar(Entrada entrada) {
+        entradas.remove(entrada.id);
+        quitarDeSegmento(entrada);
+        expulsiones++;
+    }
+
+    private void agregarASegmento(Entrada entrada, Segmento segmento) {
+        entrada.segmento = segmento;
+        switch (segmento) {
+            case VENTANA:
+                ventana.put(entrada.id, entrada);
+                pesoVentana += entrada.peso;
+                break;
+            case PRUEBA:
+                prueba.put(entrada.id, entrada);
+                pesoPrueba += entrada.peso;
+                break;
+            case PROTEGIDO:
+                protegido.put(entrada.id, entrada);
+                pesoProtegido += entrada.peso;
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void quitarDeSegmento(Entrada entrada) {
+        switch (entrada.segmento) {
+            case VENTANA:
+                ventana.remove(entrada.id);
+                pesoVentana -= entrada.peso;
+                break;
+            case PRUEBA:
+                prueba.remove(entrada.id);
+                pesoPrueba -= entrada.peso;
+                break;
+            case PROTEGIDO:
+                protegido.remove(entrada.id);
+                pesoProtegido -= entrada.peso;
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static Entrada primera(LinkedHashMap<String, Entrada> segmento) {
+        Iterator<Entrada> iterador = segmento.values().iterator();
+        return iterador.next();
+    }
+}
@@ -0,0 +1,100 @@
+package ec.edu.espe.logica_negocio.cache;
+
+/**
+ * FrequencySketch - Estimador de frecuencia Count-Min de 4 bits (TinyLFU)
+ * Registra de forma aproximada cuántas veces se ha pedido cada clave usando
+ * cuatro contadores de 4 bits por clave empaquetados en un arreglo de long.
+ * Cada cierto número de accesos todos los contadores se dividen a la mitad
+ * para que la frecuencia refleje la popularidad reciente y no la histórica
+ */
+class FrequencySketch {
+    private static final long[] SEMILLAS = {
+            0x97cb3127L, 0xf0c4a16bL, 0x52a4c8c1L, 0xa1e7f4b5L
+    };
+    private static final long MASCARA_MITAD = 0x7777777777777777L;
+
+    private final long[] tabla;
+    private final int mascaraTabla;
+    private final int tamanioMuestra;
+    private int accesos;
+
+    /**
+     * @param capacidadEstimada Número aproximado de entradas que cabrán en la caché
+     */
+    FrequencySketch(int capacidadEstimada) {
+        int tamanio = Integer.highestOneBit(Math.max(16, capacidadEstimada) - 1) << 1;
+        this.tabla = new long[tamanio];
+        this.mascaraTabla = tamanio - 1;
+        this.tamanioMuestra = 10 * tamanio;
+    }
+
+    /**
+     * Estima la frecuencia de una clave (0..15)
+     */
+    int frecuencia(Object clave) {
+        int hash = dispersar(clave.hashCode());
+        int minimo = Integer.MAX_VALUE;
+        for (int i = 0; i < 4; i++) {
+            minimo = Math.min(minimo, contador(hash, i));
+        }
+        return minimo;
+    }
+
+    /**
+     * Registra un acceso a la clave
+     */
+    void incrementar(Object clave) {
+        int hash = dispersar(clave.hashCode());
+        boolean incrementado = false;
+        for (int i = 0; i < 4; i++) {
+            incrementado |= incrementarContador(hash, i);
+        }
+        if (incrementado && ++accesos >= tamanioMuestra) {
+            envejecer();
+        }
+    }
+
+    private int contador(int hash, int fila) {
+        int indice = indice(hash, fila);
+        int desplazamiento = desplazamiento(hash, fila);
+        return (int) ((tabla[indice] >>> desplazamiento) & 0xfL);
+    }
+
+    private boolean incrementarContador(int hash, int fila) {
+        int indice = indice(hash, fila);
+        int desplazamiento = desplazamiento(hash, fila);
+        long mascara = 0xfL << desplazamiento;
+        if ((tabla[indice] & mascara) != mascara) {
+            tabla[indice] += 1L << desplazamiento;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Divide todos los contadores a la mitad
+     */
+    private void envejecer() {
+        for (int i = 0; i < tabla.length; i++) {
+            tabla[i] = (tabla[i] >>> 1) & MASCARA_MITAD;
+        }
+        accesos /= 2;
+    }
+
+    private int indice(int hash, int fila) {
+        long h = (hash + SEMILLAS[fila]) * SEMILLAS[fila];
+        h += h >>> 32;
+        return (int) h & mascaraTabla;
+    }
+
+    private static int desplazamiento(int hash, int fila) {
+        // Cada long guarda 16 contadores; la fila elige un grupo de 4 y el hash uno dentro del grupo
+        return ((fila << 2) + ((hash >>> (fila << 3)) & 3)) << 2;
+    }
+
+    private static int dispersar(int x) {
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        return (x >>> 16) ^ x;
+    }
+}
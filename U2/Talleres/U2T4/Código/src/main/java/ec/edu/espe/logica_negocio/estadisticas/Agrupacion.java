@@ -0,0 +1,77 @@
+package ec.edu.espe.logica_negocio.estadisticas;
+
+import ec.edu.espe.datos.model.EstudianteInmutable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Agrupacion - Conteo por grupo mantenido de forma incremental
+ * Cada alta, edición o baja ajusta en O(1) el contador del grupo al que pertenece
+ * el estudiante según el clasificador (por ejemplo, rango de edad)
+ * Solo se modifica desde {@link EstadisticasEstudiantes}, que protege su acceso
+ * @param <K> Tipo de la clave de agrupación
+ */
+public final class Agrupacion<K> {
+    private final String nombre;
+    private final Function<EstudianteInmutable, K> clasificador;
+    private final Map<K, long[]> conteos = new HashMap<>();
+
+    /**
+     * @param nombre Nombre con el que se consulta la agrupación
+     * @param clasificador Función que obtiene la clave de grupo de un estudiante
+     */
+    public Agrupacion(String nombre, Function<EstudianteInmutable, K> clasificador) {
+        this.nombre = nombre;
+        this.clasificador = clasificador;
+    }
+
+    /**
+     * Agrupación por rangos de edad de ancho fijo; la clave es el límite inferior del rango
+     * @param ancho Número de años de cada rango (por ejemplo 10 para 0-9, 10-19, ...)
+     * @return Agrupación llamada "edad/ancho"
+     */
+    public static Agrupacion<Integer> porRangoEdad(int ancho) {
+        if (ancho <= 0) {
+            throw new IllegalArgumentException("El ancho del rango debe ser mayor a 0");
+        }
+        return new Agrupacion<>("edad/" + ancho, e -> Math.floorDiv(e.edad(), ancho) * ancho);
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    void sumar(EstudianteInmutable estudiante, int delta) {
+        K clave = clasificador.apply(estudiante);
+        long[] contador = conteos.get(clave);
+        if (contador == null) {
+            if (delta <= 0) {
+                return;
+            }
+            contador = new long[1];
+            conteos.put(clave, contador);
+        }
+        contador[0] += delta;
+        if (contador[0] <= 0) {
+            conteos.remove(clave);
+        }
+    }
+
+    void reiniciar() {
+        conteos.clear();
+    }
+
+    long conteo(Object clave) {
+        long[] contador = conteos.get(clave);
+        return contador == null ? 0 : contador[0];
+    }
+
+    Map<K, Long> copiarConteos() {
+        Map<K, Long> copia = new HashMap<>(conteos.size() * 2);
+        for (Map.Entry<K, long[]> entrada : conteos.entrySet()) {
+            copia.put(entrada.getKey(), entrada.getValue()[0]);
+        }
+        return copia;
+    }
+}
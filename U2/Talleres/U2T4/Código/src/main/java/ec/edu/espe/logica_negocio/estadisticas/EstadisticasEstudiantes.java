@@ -0,0 +1,288 @@
+package ec.edu.espe.logica_negocio.estadisticas;
+
+import ec.edu.espe.datos.model.EstudianteInmutable;
+import ec.edu.espe.datos.repository.IEstudianteRepository;
+import ec.edu.espe.datos.repository.observer.CambioRepositorio;
+import ec.edu.espe.datos.repository.observer.RepositoryObserver;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * EstadisticasEstudiantes - Agregados del listado mantenidos de forma incremental
+ * Observa el repositorio y ajusta cantidad, suma de edades, edad mínima y máxima,
+ * el histograma de edades y las agrupaciones registradas en cada alta, edición o baja,
+ * por lo que las consultas no necesitan recorrer {@code listarEstudiantes()}.
+ * Las lecturas del resumen usan lectura optimista (StampedLock) y siempre devuelven
+ * valores del mismo instante aunque haya escrituras concurrentes
+ */
+public class EstadisticasEstudiantes implements RepositoryObserver {
+    /** Edades de 0 a 127 se cuentan en un arreglo; las demás en un mapa ordenado */
+    private static final int LIMITE_HISTOGRAMA = 128;
+
+    private final IEstudianteRepository repository;
+    private final StampedLock lock = new StampedLock();
+    private final long[] histograma = new long[LIMITE_HISTOGRAMA];
+    private final TreeMap<Integer, long[]> fueraDeRango = new TreeMap<>();
+    private final List<Agrupacion<?>> agrupaciones;
+
+    private long cantidad;
+    private long sumaEdades;
+    private int edadMinima;
+    private int edadMaxima;
+
+    private EstadisticasEstudiantes(IEstudianteRepository repository, List<Agrupacion<?>> agrupaciones) {
+        this.repository = repository;
+        this.agrupaciones = agrupaciones;
+    }
+
+    /**
+     * Crea el componente, lo suscribe al repositorio y carga los datos existentes
+     * La carga inicial y la suscripción son atómicas: ningún cambio se pierde ni se cuenta dos veces
+     * @param repository Repositorio a observar
+     * @param agrupaciones Conteos por grupo que se deben mantener
+     * @return Componente de estadísticas conectado
+     */
+    public static EstadisticasEstudiantes conectar(IEstudianteRepository repository,
+                                                   Agrupacion<?>... agrupaciones) {
+        EstadisticasEstudiantes estadisticas = new EstadisticasEstudiantes(repository,
+                Collections.unmodifiableList(new ArrayList<>(Arrays.asList(agrupaciones))));
+        long stamp = estadisticas.lock.writeLock();
+        try {
+            // Mientras se carga, las notificaciones concurrentes esperan este bloqueo
+            for (EstudianteInmutable estudiante : repository.listarYObservar(estadisticas)) {
+                estadisticas.sumar(estudiante, 1);
+            }
+        } finally {
+            estadisticas.lock.unlockWrite(stamp);
+        }
+        return estadisticas;
+    }
+
+    /**
+     * Deja de observar el repositorio
+     */
+    public void desconectar() {
+        repository.removeObserver(this);
+    }
+
+    /**
+     * Sin detalle del cambio se recalculan los agregados desde el repositorio
+     */
+    @Override
+    public void onDataChanged() {
+        List<EstudianteInmutable> estudiantes = repository.listar();
+        long stamp = lock.writeLock();
+        try {
+            reiniciar();
+            for (EstudianteInmutable estudiante : estudiantes) {
+                sumar(estudiante, 1);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Aplica el cambio en O(1) por estudiante afectado
+     */
+    @Override
+    public void onDataChanged(CambioRepositorio cambio) {
+        long stamp = lock.writeLock();
+        try {
+            for (CambioRepositorio individual : cambio.getCambios()) {
+                if (individual.getAnterior() != null) {
+                    sumar(individual.getAnterior(), -1);
+                }
+                if (individual.getActual() != null) {
+                    sumar(individual.getActual(), 1);
+                }
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Obtiene cantidad, promedio, mínimo y máximo de edad en O(1)
+     * @return Resumen coherente de los agregados
+     */
+    public ResumenEstadisticas getResumen() {
+        long stamp = lock.tryOptimisticRead();
+        ResumenEstadisticas resumen = new ResumenEstadisticas(cantidad, sumaEdades, edadMinima, edadMaxima);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                resumen = new ResumenEstadisticas(cantidad, sumaEdades, edadMinima, edadMaxima);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return resumen;
+    }
+
+    /**
+     * Cantidad de estudiantes con una edad exacta
+     * @param edad Edad a consultar
+     * @return Número de estudiantes con esa edad
+     */
+    public long getConteoEdad(int edad) {
+        long stamp = lock.readLock();
+        try {
+            return conteoEdad(edad);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Histograma completo de edades (edad → cantidad), en orden ascendente
+     * @return Copia del histograma sin las edades con cantidad 0
+     */
+    public Map<Integer, Long> getHistogramaEdades() {
+        long stamp = lock.readLock();
+        try {
+            Map<Integer, Long> copia = new TreeMap<>();
+            for (int edad = 0; edad < LIMITE_HISTOGRAMA; edad++) {
+                if (histograma[edad] > 0) {
+                    copia.put(edad, histograma[edad]);
+                }
+            }
+            for (Map.Entry<Integer, long[]> entrada : fueraDeRango.entrySet()) {
+                copia.put(entrada.getKey(), entrada.getValue()[0]);
+            }
+            return copia;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Conteo de un grupo en O(1)
+     * @param agrupacion Nombre de la agrupación registrada
+     * @param clave Clave del grupo (por ejemplo 20 para el rango 20-29)
+     * @return Número de estudiantes en el grupo
+     */
+    public long getConteo(String agrupacion, Object clave) {
+        Agrupacion<?> encontrada = buscarAgrupacion(agrupacion);
+        long stamp = lock.readLock();
+        try {
+            return encontrada.conteo(clave);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Todos los conteos de una agrupación
+     * @param agrupacion Nombre de la agrupación registrada
+     * @return Copia de los conteos por clave de grupo
+     */
+    public Map<?, Long> getConteos(String agrupacion) {
+        Agrupacion<?> encontrada = buscarAgrupacion(agrupacion);
+        long stamp = lock.readLock();
+        try {
+            return encontrada.copiarConteos();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private Agrupacion<?> buscarAgrupacion(String nombre) {
+        for (Agrupacion<?> agrupacion : agrupaciones) {
+            if (agrupacion.getNombre().equals(nombre)) {
+                return agrupacion;
+            }
+        }
+        throw new IllegalArgumentException("No existe la agrupación: " + nombre);
+    }
+
+    /**
+     * Ajusta todos los agregados; debe llamarse con el bloqueo de escritura tomado
+     */
+    private void sumar(EstudianteInmutable estudiante, int delta) {
+        int edad = estudiante.edad();
+        cantidad += delta;
+        sumaEdades += (long) delta * edad;
+        if (edad >= 0 && edad < LIMITE_HISTOGRAMA) {
+            histograma[edad] += delta;
+        } else {
+            long[] contador = fueraDeRango.computeIfAbsent(edad, k -> new long[1]);
+            contador[0] += delta;
+            if (contador[0] <= 0) {
+                fueraDeRango.remove(edad);
+            }
+        }
+        for (Agrupacion<?> agrupacion : agrupaciones) {
+            agrupacion.sumar(estudiante, delta);
+        }
+        actualizarExtremos(edad, delta);
+    }
+
+    private void actualizarExtremos(int edad, int delta) {
+        if (cantidad == 0) {
+            edadMinima = 0;
+            edadMaxima = 0;
+        } else if (delta > 0) {
+            if (cantidad == delta) {
+                edadMinima = edad;
+                edadMaxima = edad;
+            } else {
+                edadMinima = Math.min(edadMinima, edad);
+                edadMaxima = Math.max(edadMaxima, edad);
+            }
+        } else if (conteoEdad(edad) == 0 && (edad == edadMinima || edad == edadMaxima)) {
+            // Se vació un extremo: se busca el siguiente en el histograma (tamaño acotado)
+            edadMinima = buscarMinima();
+            edadMaxima = buscarMaxima();
+        }
+    }
+
+    private int buscarMinima() {
+        if (!fueraDeRango.isEmpty() && fueraDeRango.firstKey() < 0) {
+            return fueraDeRango.firstKey();
+        }
+        for (int edad = 0; edad < LIMITE_HISTOGRAMA; edad++) {
+            if (histograma[edad] > 0) {
+                return edad;
+            }
+        }
+        return fueraDeRango.isEmpty() ? 0 : fueraDeRango.firstKey();
+    }
+
+    private int buscarMaxima() {
+        if (!fueraDeRango.isEmpty() && fueraDeRango.lastKey() >= LIMITE_HISTOGRAMA) {
+            return fueraDeRango.lastKey();
+        }
+        for (int edad = LIMITE_HISTOGRAMA - 1; edad >= 0; edad--) {
+            if (histograma[edad] > 0) {
+                return edad;
+            }
+        }
+        return fueraDeRango.isEmpty() ? 0 : fueraDeRango.lastKey();
+    }
+
+    private long conteoEdad(int edad) {
+        if (edad >= 0 && edad < LIMITE_HISTOGRAMA) {
+            return histograma[edad];
+        }
+        long[] contador = fueraDeRango.get(edad);
+        return contador == null ? 0 : contador[0];
+    }
+
+    private void reiniciar() {
+        Arrays.fill(histograma, 0);
+        fueraDeRango.clear();
+        cantidad = 0;
+        sumaEdades = 0;
+        edadMinima = 0;
+        edadMaxima = 0;
+        for (Agrupacion<?> agrupacion : agrupaciones) {
+            agrupacion.reiniciar();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package ec.edu.espe.logica_negocio.estadisticas;
+
+/**
+ * ResumenEstadisticas - Fotografía coherente de los agregados del listado
+ * Todos los valores corresponden al mismo instante
+ */
+public final class ResumenEstadisticas {
+    private final long cantidad;
+    private final long sumaEdades;
+    private final int edadMinima;
+    private final int edadMaxima;
+
+    ResumenEstadisticas(long cantidad, long sumaEdades, int edadMinima, int edadMaxima) {
+        this.cantidad = cantidad;
+        this.sumaEdades = sumaEdades;
+        this.edadMinima = edadMinima;
+        this.edadMaxima = edadMaxima;
+    }
+
+    public long getCantidad() {
+        return cantidad;
+    }
+
+    /**
+     * @return Edad promedio, o 0 si no hay estudiantes
+     */
+    public double getEdadPromedio() {
+        return cantidad == 0 ? 0.0 : (double) sumaEdades / cantidad;
+    }
+
+    /**
+     * @return Edad mínima, o 0 si no hay estudiantes
+     */
+    public int getEdadMinima() {
+        return edadMinima;
+    }
+
+    /**
+     * @return Edad máxima, o 0 si no hay estudiantes
+     */
+    public int getEdadMaxima() {
+        return edadMaxima;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ResumenEstadisticas{cantidad=%d, promedio=%.2f, minima=%d, maxima=%d}",
+                cantidad, getEdadPromedio(), edadMinima, edadMaxima);
+    }
+}
@@ -0,0 +1,42 @@
+package ec.edu.espe.logica_negocio.resultado;
+
+/**
+ * CodigoResultado - Código estable de cada resultado posible del servicio
+ * Cada código pertenece a un {@link Resultado} y tiene un mensaje por idioma en {@link Mensajes}
+ */
+public enum CodigoResultado {
+    VALIDO(Resultado.EXITO),
+    AGREGADO(Resultado.EXITO),
+    EDITADO(Resultado.EXITO),
+    ELIMINADO(Resultado.EXITO),
+
+    ESTUDIANTE_NULO(Resultado.INVALIDO),
+    ID_VACIO(Resultado.INVALIDO),
+    ID_CORTO(Resultado.INVALIDO),
+    NOMBRES_VACIOS(Resultado.INVALIDO),
+    NOMBRES_CORTOS(Resultado.INVALIDO),
+    NOMBRES_INVALIDOS(Resultado.INVALIDO),
+    EDAD_NO_POSITIVA(Resultado.INVALIDO),
+    EDAD_MINIMA(Resultado.INVALIDO),
+    EDAD_MAXIMA(Resultado.INVALIDO),
+    /** Regla externa que sólo entrega su mensaje ya formateado */
+    VALIDACION(Resultado.INVALIDO),
+
+    ID_DUPLICADO(Resultado.DUPLICADO),
+    PERSONA_DUPLICADA(Resultado.DUPLICADO),
+    ID_INEXISTENTE(Resultado.NO_ENCONTRADO),
+
+    AGREGAR_FALLIDO(Resultado.FALLIDO),
+    EDITAR_FALLIDO(Resultado.FALLIDO),
+    ELIMINAR_FALLIDO(Resultado.FALLIDO);
+
+    private final Resultado resultado;
+
+    CodigoResultado(Resultado resultado) {
+        this.resultado = resultado;
+    }
+
+    public Resultado getResultado() {
+        return resultado;
+    }
+}
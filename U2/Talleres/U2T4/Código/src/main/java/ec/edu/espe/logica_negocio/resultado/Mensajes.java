@@ -0,0 +1,35 @@
+package ec.edu.espe.logica_negocio.resultado;
+
+import java.util.ListResourceBundle;
+
+/**
+ * Mensajes - Textos de los resultados en el idioma base (español)
+ * Las claves son los nombres de {@link CodigoResultado}; los patrones siguen MessageFormat
+ */
+public class Mensajes extends ListResourceBundle {
+    @Override
+    protected Object[][] getContents() {
+        return new Object[][]{
+            {"VALIDO", "Validación exitosa"},
+            {"AGREGADO", "Estudiante agregado exitosamente"},
+            {"EDITADO", "Estudiante editado exitosamente"},
+            {"ELIMINADO", "Estudiante eliminado exitosamente"},
+            {"ESTUDIANTE_NULO", "Error: El estudiante no puede ser nulo"},
+            {"ID_VACIO", "Error: El ID no puede estar vacío"},
+            {"ID_CORTO", "Error: El ID debe tener al menos {0,number,#} caracteres"},
+            {"NOMBRES_VACIOS", "Error: Los nombres no pueden estar vacíos"},
+            {"NOMBRES_CORTOS", "Error: Los nombres deben tener al menos {0,number,#} caracteres"},
+            {"NOMBRES_INVALIDOS", "Error: Los nombres solo pueden contener letras y espacios"},
+            {"EDAD_NO_POSITIVA", "Error: La edad debe ser mayor a 0"},
+            {"EDAD_MINIMA", "Error: La edad mínima permitida es {0,number,#}"},
+            {"EDAD_MAXIMA", "Error: La edad no puede ser mayor a {0,number,#} años"},
+            {"VALIDACION", "{0}"},
+            {"ID_DUPLICADO", "Error: Ya existe un estudiante con el ID: {0}"},
+            {"PERSONA_DUPLICADA", "Error: Ya existe un estudiante llamado {0} con {1,number,#} años"},
+            {"ID_INEXISTENTE", "Error: No existe un estudiante con el ID: {0}"},
+            {"AGREGAR_FALLIDO", "Error al agregar el estudiante"},
+            {"EDITAR_FALLIDO", "Error al editar el estudiante"},
+            {"ELIMINAR_FALLIDO", "Error al eliminar el estudiante"},
+        };
+    }
+}
@@ -0,0 +1,34 @@
+package ec.edu.espe.logica_negocio.resultado;
+
+import java.util.ListResourceBundle;
+
+/**
+ * Mensajes_en - Textos de los resultados en inglés
+ */
+public class Mensajes_en extends ListResourceBundle {
+    @Override
+    protected Object[][] getContents() {
+        return new Object[][]{
+            {"VALIDO", "Validation passed"},
+            {"AGREGADO", "Student added successfully"},
+            {"EDITADO", "Student updated successfully"},
+            {"ELIMINADO", "Student deleted successfully"},
+            {"ESTUDIANTE_NULO", "Error: The student cannot be null"},
+            {"ID_VACIO", "Error: The ID cannot be empty"},
+            {"ID_CORTO", "Error: The ID must have at least {0,number,#} characters"},
+            {"NOMBRES_VACIOS", "Error: The names cannot be empty"},
+            {"NOMBRES_CORTOS", "Error: The names must have at least {0,number,#} characters"},
+            {"NOMBRES_INVALIDOS", "Error: The names may only contain letters and spaces"},
+            {"EDAD_NO_POSITIVA", "Error: The age must be greater than 0"},
+            {"EDAD_MINIMA", "Error: The minimum allowed age is {0,number,#}"},
+            {"EDAD_MAXIMA", "Error: The age cannot be greater than {0,number,#} years"},
+            {"VALIDACION", "{0}"},
+            {"ID_DUPLICADO", "Error: A student with ID {0} already exists"},
+            {"PERSONA_DUPLICADA", "Error: A student named {0} aged {1,number,#} already exists"},
+            {"ID_INEXISTENTE", "Error: There is no student with ID {0}"},
+            {"AGREGAR_FALLIDO", "Error adding the student"},
+            {"EDITAR_FALLIDO", "Error updating the student"},
+            {"ELIMINAR_FALLIDO", "Error deleting the student"},
+        };
+    }
+}
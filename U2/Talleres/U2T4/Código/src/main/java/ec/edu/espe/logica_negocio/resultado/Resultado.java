@@ -0,0 +1,16 @@
+package ec.edu.espe.logica_negocio.resultado;
+
+/**
+ * Resultado - Desenlace de una operación del servicio
+ */
+public enum Resultado {
+    EXITO,
+    /** Los datos no cumplen una regla de validación */
+    INVALIDO,
+    /** Ya existe un estudiante con el mismo ID */
+    DUPLICADO,
+    /** No existe un estudiante con el ID indicado */
+    NO_ENCONTRADO,
+    /** El repositorio rechazó la operación */
+    FALLIDO
+}
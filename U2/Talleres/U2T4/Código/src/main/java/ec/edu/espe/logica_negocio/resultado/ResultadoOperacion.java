@@ -0,0 +1,89 @@
+package ec.edu.espe.logica_negocio.resultado;
+
+import java.text.MessageFormat;
+import java.util.Locale;
+import java.util.ResourceBundle;
+
+/**
+ * ResultadoOperacion - Resultado estructurado de una operación del servicio
+ * Lleva el código y los argumentos del mensaje; el texto sólo se arma cuando alguien
+ * lo pide con {@link #getMensaje()}, así que los éxitos (instancias compartidas sin
+ * argumentos) no asignan memoria ni formatean texto
+ */
+public final class ResultadoOperacion {
+    public static final ResultadoOperacion VALIDO = new ResultadoOperacion(CodigoResultado.VALIDO);
+    public static final ResultadoOperacion AGREGADO = new ResultadoOperacion(CodigoResultado.AGREGADO);
+    public static final ResultadoOperacion EDITADO = new ResultadoOperacion(CodigoResultado.EDITADO);
+    public static final ResultadoOperacion ELIMINADO = new ResultadoOperacion(CodigoResultado.ELIMINADO);
+
+    private static final String MENSAJES = Mensajes.class.getName();
+    private static final Object[] SIN_ARGUMENTOS = new Object[0];
+
+    private final CodigoResultado codigo;
+    private final Object[] argumentos;
+
+    private ResultadoOperacion(CodigoResultado codigo, Object... argumentos) {
+        this.codigo = codigo;
+        this.argumentos = argumentos;
+    }
+
+    /**
+     * Crea un resultado con los argumentos que necesita su mensaje
+     * @param codigo Código del resultado
+     * @param argumentos Valores para el patrón del mensaje (por ejemplo el ID)
+     * @return Resultado; para códigos de éxito sin argumentos se reutiliza la instancia compartida
+     */
+    public static ResultadoOperacion de(CodigoResultado codigo, Object... argumentos) {
+        if (argumentos.length == 0) {
+            switch (codigo) {
+                case VALIDO:
+                    return VALIDO;
+                case AGREGADO:
+                    return AGREGADO;
+                case EDITADO:
+                    return EDITADO;
+                case ELIMINADO:
+                    return ELIMINADO;
+                default:
+                    return new ResultadoOperacion(codigo, SIN_ARGUMENTOS);
+            }
+        }
+        return new ResultadoOperacion(codigo, argumentos.clone());
+    }
+
+    public CodigoResultado getCodigo() {
+        return codigo;
+    }
+
+    public Resultado getResultado() {
+        return codigo.getResultado();
+    }
+
+    public boolean esExitoso() {
+        return codigo.getResultado() == Resultado.EXITO;
+    }
+
+    /**
+     * @return Mensaje en el idioma de la configuración regional por defecto
+     */
+    public String getMensaje() {
+        return getMensaje(Locale.getDefault());
+    }
+
+    /**
+     * Formatea el mensaje en el idioma pedido; si no hay traducción se usa el español
+     * @param locale Idioma deseado
+     * @return Mensaje formateado
+     */
+    public String getMensaje(Locale locale) {
+        ResourceBundle mensajes = ResourceBundle.getBundle(MENSAJES, locale,
+                ResourceBundle.Control.getNoFallbackControl(ResourceBundle.Control.FORMAT_CLASS));
+        String patron = mensajes.getString(codigo.name());
+        return argumentos.length == 0 ? patron : new MessageFormat(patron, locale).format(argumentos);
+    }
+
+    @Override
+    public String toString() {
+        return codigo + (esExitoso() ? "" : ": " + getMensaje(Locale.ROOT));
+    }
+}
@@ -0,0 +1,14 @@
+package ec.edu.espe.logica_negocio.validation;
+
+/**
+ * CampoValidacion - Campo del estudiante al que pertenece un error de validación
+ */
+public enum CampoValidacion {
+    /** El estudiante completo (por ejemplo, una fila nula) */
+    ESTUDIANTE,
+    ID,
+    NOMBRES,
+    EDAD,
+    /** Regla de una estrategia externa que no declara su campo */
+    OTRO
+}
@@ -1,6 +1,9 @@
 package ec.edu.espe.logica_negocio.validation;
 
-import ec.edu.espe.datos.model.Estudiante;
+import ec.edu.espe.datos.model.EstudianteInmutable;
+import ec.edu.espe.logica_negocio.resultado.CodigoResultado;
+import ec.edu.espe.logica_negocio.resultado.ResultadoOperacion;
+import java.util.Locale;
 
 /**
  * EdadValidationStrategy - Validación de la edad del estudiante
@@ -8,27 +11,74 @@ import ec.edu.espe.datos.model.Estudiante;
  */
 public class EdadValidationStrategy implements ValidationStrategy {
     
-    private static final int EDAD_MINIMA = 1;
-    private static final int EDAD_MAXIMA = 120;
+    static final int EDAD_MINIMA = 1;
+    static final int EDAD_MAXIMA = 120;
+
+    private final int edadMinima;
+    private final int edadMaxima;
+
+    public EdadValidationStrategy() {
+        this(EDAD_MINIMA, EDAD_MAXIMA);
+    }
+
+    /**
+     * @param edadMinima Edad mínima aceptada (positiva)
+     * @param edadMaxima Edad máxima aceptada
+     */
+    public EdadValidationStrategy(int edadMinima, int edadMaxima) {
+        if (edadMinima < 1 || edadMaxima < edadMinima) {
+            throw new IllegalArgumentException("Rango de edad inválido: " + edadMinima + ".." + edadMaxima);
+        }
+        this.edadMinima = edadMinima;
+        this.edadMaxima = edadMaxima;
+    }
+
+    public int getEdadMinima() {
+        return edadMinima;
+    }
+
+    public int getEdadMaxima() {
+        return edadMaxima;
+    }
     
     @Override
-    public String validate(Estudiante estudiante) {
+    public String validate(EstudianteInmutable estudiante) {
+        ResultadoOperacion resultado = validar(estudiante);
+        return resultado.esExitoso() ? null : resultado.getMensaje(Locale.ROOT);
+    }
+
+    @Override
+    public ResultadoOperacion validar(EstudianteInmutable estudiante) {
         if (estudiante == null) {
-            return "Error: El estudiante no puede ser nulo";
+            return ResultadoOperacion.de(CodigoResultado.ESTUDIANTE_NULO);
         }
-        
-        if (estudiante.getEdad() <= 0) {
-            return "Error: La edad debe ser mayor a 0";
+        return resultado(evaluar(estudiante.edad()));
+    }
+
+    /**
+     * Regla sin asignar memoria: no positiva, o fuera del rango mínimo..máximo
+     */
+    CodigoResultado evaluar(int edad) {
+        if (edad <= 0) {
+            return CodigoResultado.EDAD_NO_POSITIVA;
+        }
+        if (edad < edadMinima) {
+            return CodigoResultado.EDAD_MINIMA;
         }
-        
-        if (estudiante.getEdad() < EDAD_MINIMA) {
-            return "Error: La edad mínima permitida es " + EDAD_MINIMA;
+        if (edad > edadMaxima) {
+            return CodigoResultado.EDAD_MAXIMA;
         }
-        
-        if (estudiante.getEdad() > EDAD_MAXIMA) {
-            return "Error: La edad no puede ser mayor a " + EDAD_MAXIMA + " años";
+        return CodigoResultado.VALIDO;
+    }
+
+    ResultadoOperacion resultado(CodigoResultado codigo) {
+        switch (codigo) {
+            case EDAD_MINIMA:
+                return ResultadoOperacion.de(codigo, edadMinima);
+            case EDAD_MAXIMA:
+                return ResultadoOperacion.de(codigo, edadMaxima);
+            default:
+                return ResultadoOperacion.de(codigo);
         }
-        
-        return null; // Validación exitosa
     }
 }
@@ -0,0 +1,52 @@
+package ec.edu.espe.logica_negocio.validation;
+
+import ec.edu.espe.datos.model.EstudianteInmutable;
+import ec.edu.espe.datos.repository.IEstudianteRepository;
+import ec.edu.espe.logica_negocio.resultado.CodigoResultado;
+import ec.edu.espe.logica_negocio.resultado.ResultadoOperacion;
+import java.util.Locale;
+
+/**
+ * IdUnicoValidationStrategy - El ID no puede existir ya en el repositorio
+ * Usa {@code existePorId}, que cada repositorio resuelve con su clave primaria (mapa en
+ * memoria, índice de la tabla o filtro de Bloom y memtable). Solo aplica a las altas
+ */
+public class IdUnicoValidationStrategy implements ReglaUnicidad {
+    private final IEstudianteRepository repository;
+
+    /**
+     * @param repository Repositorio contra el que se comprueba el ID
+     */
+    public IdUnicoValidationStrategy(IEstudianteRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public String validate(EstudianteInmutable estudiante) {
+        ResultadoOperacion resultado = validar(estudiante);
+        return resultado.esExitoso() ? null : resultado.getMensaje(Locale.ROOT);
+    }
+
+    /**
+     * Un estudiante nulo o sin ID se deja a las reglas de campos
+     */
+    @Override
+    public ResultadoOperacion validar(EstudianteInmutable estudiante) {
+        if (estudiante == null || estudiante.id() == null) {
+            return ResultadoOperacion.VALIDO;
+        }
+        return repository.existePorId(estudiante.id())
+                ? ResultadoOperacion.de(CodigoResultado.ID_DUPLICADO, estudiante.id())
+                : ResultadoOperacion.VALIDO;
+    }
+
+    @Override
+    public Object claveUnicidad(EstudianteInmutable estudiante) {
+        return estudiante.id();
+    }
+
+    @Override
+    public ResultadoOperacion duplicadoEnLote(EstudianteInmutable estudiante) {
+        return ResultadoOperacion.de(CodigoResultado.ID_DUPLICADO, estudiante.id());
+    }
+}
@@ -1,6 +1,9 @@
 package ec.edu.espe.logica_negocio.validation;
 
-import ec.edu.espe.datos.model.Estudiante;
+import ec.edu.espe.datos.model.EstudianteInmutable;
+import ec.edu.espe.logica_negocio.resultado.CodigoResultado;
+import ec.edu.espe.logica_negocio.resultado.ResultadoOperacion;
+import java.util.Locale;
 
 /**
  * IdValidationStrategy - Validación del ID del estudiante
@@ -8,21 +11,58 @@ import ec.edu.espe.datos.model.Estudiante;
  */
 public class IdValidationStrategy implements ValidationStrategy {
     
+    static final int LONGITUD_MINIMA = 3;
+
+    private final int longitudMinima;
+
+    public IdValidationStrategy() {
+        this(LONGITUD_MINIMA);
+    }
+
+    /**
+     * @param longitudMinima Caracteres mínimos del ID (sin recortar espacios)
+     */
+    public IdValidationStrategy(int longitudMinima) {
+        if (longitudMinima < 1) {
+            throw new IllegalArgumentException("La longitud mínima del ID debe ser positiva: " + longitudMinima);
+        }
+        this.longitudMinima = longitudMinima;
+    }
+
+    public int getLongitudMinima() {
+        return longitudMinima;
+    }
+
+    @Override
+    public String validate(EstudianteInmutable estudiante) {
+        ResultadoOperacion resultado = validar(estudiante);
+        return resultado.esExitoso() ? null : resultado.getMensaje(Locale.ROOT);
+    }
+
     @Override
-    public String validate(Estudiante estudiante) {
+    public ResultadoOperacion validar(EstudianteInmutable estudiante) {
         if (estudiante == null) {
-            return "Error: El estudiante no puede ser nulo";
+            return ResultadoOperacion.de(CodigoResultado.ESTUDIANTE_NULO);
         }
-        
-        if (estudiante.getId() == null || estudiante.getId().trim().isEmpty()) {
-            return "Error: El ID no puede estar vacío";
+        return resultado(evaluar(estudiante.id()));
+    }
+
+    /**
+     * Regla sin asignar memoria: vacío (solo espacios) o más corto que la longitud mínima
+     */
+    CodigoResultado evaluar(String id) {
+        if (id == null || ValidadorCompilado.esBlanco(id)) {
+            return CodigoResultado.ID_VACIO;
         }
-        
-        // Validar formato de ID (opcional)
-        if (estudiante.getId().length() < 3) {
-            return "Error: El ID debe tener al menos 3 caracteres";
+        if (id.length() < longitudMinima) {
+            return CodigoResultado.ID_CORTO;
         }
-        
-        return null; // Validación exitosa
+        return CodigoResultado.VALIDO;
+    }
+
+    ResultadoOperacion resultado(CodigoResultado codigo) {
+        return codigo == CodigoResultado.ID_CORTO
+                ? ResultadoOperacion.de(codigo, longitudMinima)
+                : ResultadoOperacion.de(codigo);
     }
 }
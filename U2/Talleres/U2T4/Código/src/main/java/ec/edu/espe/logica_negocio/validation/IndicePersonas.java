@@ -0,0 +1,126 @@
+package ec.edu.espe.logica_negocio.validation;
+
+import ec.edu.espe.datos.model.EstudianteInmutable;
+import ec.edu.espe.datos.repository.IEstudianteRepository;
+import ec.edu.espe.datos.repository.consulta.NormalizadorTexto;
+import ec.edu.espe.datos.repository.observer.CambioRepositorio;
+import ec.edu.espe.datos.repository.observer.RepositoryObserver;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * IndicePersonas - Índice hash de personas por nombre normalizado y edad
+ * Observa el repositorio y mantiene cuántos estudiantes hay con cada combinación de
+ * nombres (minúsculas, sin tildes, espacios simples) y edad, para detectar posibles
+ * personas duplicadas en O(1) sin recorrer el listado
+ */
+public class IndicePersonas implements RepositoryObserver {
+    private final IEstudianteRepository repository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, int[]> conteos = new HashMap<>();
+
+    private IndicePersonas(IEstudianteRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Crea el índice, lo suscribe al repositorio y carga los datos existentes
+     * @param repository Repositorio a observar
+     * @return Índice conectado
+     */
+    public static IndicePersonas conectar(IEstudianteRepository repository) {
+        IndicePersonas indice = new IndicePersonas(repository);
+        indice.lock.writeLock().lock();
+        try {
+            // Mientras se carga, las notificaciones concurrentes esperan este bloqueo
+            for (EstudianteInmutable estudiante : repository.listarYObservar(indice)) {
+                indice.sumar(estudiante, 1);
+            }
+        } finally {
+            indice.lock.writeLock().unlock();
+        }
+        return indice;
+    }
+
+    /**
+     * Deja de observar el repositorio
+     */
+    public void desconectar() {
+        repository.removeObserver(this);
+    }
+
+    /**
+     * Clave de una persona: nombres normalizados y edad
+     * @param nombres Nombres tal como se escribieron
+     * @param edad Edad
+     * @return Clave comparable, o null si no hay nombres
+     */
+    public static String clave(String nombres, int edad) {
+        List<String> palabras = NormalizadorTexto.palabras(nombres);
+        return palabras.isEmpty() ? null : String.join(" ", palabras) + '|' + edad;
+    }
+
+    /**
+     * @return true si ya hay algún estudiante con esos nombres normalizados y esa edad
+     */
+    public boolean existe(String nombres, int edad) {
+        String clave = clave(nombres, edad);
+        if (clave == null) {
+            return false;
+        }
+        lock.readLock().lock();
+        try {
+            return conteos.containsKey(clave);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onDataChanged() {
+        List<EstudianteInmutable> estudiantes = repository.listar();
+        lock.writeLock().lock();
+        try {
+            conteos.clear();
+            for (EstudianteInmutable estudiante : estudiantes) {
+                sumar(estudiante, 1);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onDataChanged(CambioRepositorio cambio) {
+        lock.writeLock().lock();
+        try {
+            for (CambioRepositorio individual : cambio.getCambios()) {
+                if (individual.getAnterior() != null) {
+                    sumar(individual.getAnterior(), -1);
+                }
+                if (individual.getActual() != null) {
+                    sumar(individual.getActual(), 1);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Debe llamarse con el bloqueo de escritura tomado
+     */
+    private void sumar(EstudianteInmutable estudiante, int delta) {
+        String clave = clave(estudiante.nombres(), estudiante.edad());
+        if (clave == null) {
+            return;
+        }
+        int[] conteo = conteos.computeIfAbsent(clave, k -> new int[1]);
+        conteo[0] += delta;
+        if (conteo[0] <= 0) {
+            conteos.remove(clave);
+        }
+    }
+}
@@ -1,33 +1,185 @@
 package ec.edu.espe.logica_negocio.validation;
 
-import ec.edu.espe.datos.model.Estudiante;
+import ec.edu.espe.datos.model.EstudianteInmutable;
+import ec.edu.espe.logica_negocio.resultado.CodigoResultado;
+import ec.edu.espe.logica_negocio.resultado.ResultadoOperacion;
+import java.util.Arrays;
+import java.util.Locale;
 
 /**
  * NombresValidationStrategy - Validación de los nombres del estudiante
- * Implementación del patrón Strategy para validar nombres
+ * Implementación del patrón Strategy para validar nombres.
+ * Los caracteres permitidos se indican como el contenido de una clase de expresión
+ * regular (rangos {@code a-z}, caracteres sueltos y los escapes {@code \s \t \n \f \r \\ \- \]})
+ * y se compilan una sola vez en una tabla
  */
 public class NombresValidationStrategy implements ValidationStrategy {
     
+    static final int LONGITUD_MINIMA = 2;
+    static final String CARACTERES = "a-zA-ZáéíóúÁÉÍÓÚñÑ\\s";
+
+    private final int longitudMinima;
+    private final String caracteres;
+    private final boolean[] permitidos;
+
+    public NombresValidationStrategy() {
+        this(LONGITUD_MINIMA, CARACTERES);
+    }
+
+    /**
+     * @param longitudMinima Caracteres mínimos sin contar los espacios de los extremos
+     * @param caracteres Caracteres permitidos, con la sintaxis de una clase {@code [...]} sin corchetes
+     */
+    public NombresValidationStrategy(int longitudMinima, String caracteres) {
+        if (longitudMinima < 1) {
+            throw new IllegalArgumentException(
+                    "La longitud mínima de los nombres debe ser positiva: " + longitudMinima);
+        }
+        this.longitudMinima = longitudMinima;
+        this.caracteres = caracteres;
+        this.permitidos = compilarClase(caracteres);
+    }
+
+    public int getLongitudMinima() {
+        return longitudMinima;
+    }
+
+    public String getCaracteres() {
+        return caracteres;
+    }
+
+    /**
+     * @return Tabla de caracteres permitidos indexada por carácter (no debe modificarse)
+     */
+    boolean[] getPermitidos() {
+        return permitidos;
+    }
+
     @Override
-    public String validate(Estudiante estudiante) {
+    public String validate(EstudianteInmutable estudiante) {
+        ResultadoOperacion resultado = validar(estudiante);
+        return resultado.esExitoso() ? null : resultado.getMensaje(Locale.ROOT);
+    }
+
+    @Override
+    public ResultadoOperacion validar(EstudianteInmutable estudiante) {
         if (estudiante == null) {
-            return "Error: El estudiante no puede ser nulo";
+            return ResultadoOperacion.de(CodigoResultado.ESTUDIANTE_NULO);
         }
-        
-        if (estudiante.getNombres() == null || estudiante.getNombres().trim().isEmpty()) {
-            return "Error: Los nombres no pueden estar vacíos";
+        return resultado(evaluar(estudiante.nombres()));
+    }
+
+    /**
+     * Regla sin asignar memoria. Un solo recorrido calcula a la vez los límites de
+     * {@code trim()} y si todos los caracteres (incluidos los espacios de los extremos)
+     * están permitidos; luego se informa vacío, corto o inválido, en ese orden
+     */
+    CodigoResultado evaluar(String nombres) {
+        if (nombres == null) {
+            return CodigoResultado.NOMBRES_VACIOS;
+        }
+        boolean[] tabla = permitidos;
+        int primero = -1;
+        int ultimo = -1;
+        boolean validos = true;
+        for (int i = 0, n = nombres.length(); i < n; i++) {
+            char c = nombres.charAt(i);
+            if (c > ' ') {
+                if (primero < 0) {
+                    primero = i;
+                }
+                ultimo = i;
+            }
+            validos &= c < tabla.length && tabla[c];
+        }
+        if (primero < 0) {
+            return CodigoResultado.NOMBRES_VACIOS;
+        }
+        if (ultimo - primero + 1 < longitudMinima) {
+            return CodigoResultado.NOMBRES_CORTOS;
+        }
+        return validos ? CodigoResultado.VALIDO : CodigoResultado.NOMBRES_INVALIDOS;
+    }
+
+    ResultadoOperacion resultado(CodigoResultado codigo) {
+        return codigo == CodigoResultado.NOMBRES_CORTOS
+                ? ResultadoOperacion.de(codigo, longitudMinima)
+                : ResultadoOperacion.de(codigo);
+    }
+
+    /**
+     * Traduce la clase de caracteres a una tabla indexada por carácter
+     */
+    static boolean[] compilarClase(String clase) {
+        if (clase == null || clase.isEmpty()) {
+            throw new IllegalArgumentException("La clase de caracteres no puede estar vacía");
+        }
+        boolean[] tabla = new boolean[0];
+        int i = 0;
+        while (i < clase.length()) {
+            if (clase.startsWith("\\s", i)) {
+                for (char c : " \t\n\u000B\f\r".toCharArray()) {
+                    tabla = marcar(tabla, c, c);
+                }
+                i += 2;
+                continue;
+            }
+            int[] desde = leerCaracter(clase, i);
+            i = desde[1];
+            char hasta = (char) desde[0];
+            if (i + 1 < clase.length() && clase.charAt(i) == '-') {
+                int[] fin = leerCaracter(clase, i + 1);
+                if (fin[0] < desde[0]) {
+                    throw new IllegalArgumentException("Rango invertido en la clase de caracteres: " + clase);
+                }
+                hasta = (char) fin[0];
+                i = fin[1];
+            }
+            tabla = marcar(tabla, (char) desde[0], hasta);
+        }
+        return tabla;
+    }
+
+    /**
+     * @return {carácter, posición siguiente}
+     */
+    private static int[] leerCaracter(String clase, int i) {
+        char c = clase.charAt(i);
+        if (c != '\\') {
+            if (c == '[' || c == ']' || (c == '^' && i == 0)) {
+                throw new IllegalArgumentException("Carácter sin escapar en la clase de caracteres: " + c);
+            }
+            return new int[]{c, i + 1};
+        }
+        if (i + 1 >= clase.length()) {
+            throw new IllegalArgumentException("Escape incompleto al final de la clase de caracteres");
         }
-        
-        // Validar que tenga al menos dos caracteres
-        if (estudiante.getNombres().trim().length() < 2) {
-            return "Error: Los nombres deben tener al menos 2 caracteres";
+        char escapado = clase.charAt(i + 1);
+        switch (escapado) {
+            case 't':
+                return new int[]{'\t', i + 2};
+            case 'n':
+                return new int[]{'\n', i + 2};
+            case 'f':
+                return new int[]{'\f', i + 2};
+            case 'r':
+                return new int[]{'\r', i + 2};
+            case '\\':
+            case '-':
+            case '[':
+            case ']':
+            case '^':
+                return new int[]{escapado, i + 2};
+            default:
+                throw new IllegalArgumentException("Escape no soportado en la clase de caracteres: \\" + escapado);
         }
-        
-        // Validar que solo contenga letras y espacios
-        if (!estudiante.getNombres().matches("^[a-zA-ZáéíóúÁÉÍÓÚñÑ\\s]+$")) {
-            return "Error: Los nombres solo pueden contener letras y espacios";
+    }
+
+    private static boolean[] marcar(boolean[] tabla, char desde, char hasta) {
+        boolean[] resultado = tabla.length > hasta ? tabla : Arrays.copyOf(tabla, hasta + 1);
+        for (int c = desde; c <= hasta; c++) {
+            resultado[c] = true;
         }
-        
-        return null; // Validación exitosa
+        return resultado;
     }
 }
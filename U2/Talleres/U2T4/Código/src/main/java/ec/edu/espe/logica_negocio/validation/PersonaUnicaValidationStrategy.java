@@ -0,0 +1,49 @@
+package ec.edu.espe.logica_negocio.validation;
+
+import ec.edu.espe.datos.model.EstudianteInmutable;
+import ec.edu.espe.logica_negocio.resultado.CodigoResultado;
+import ec.edu.espe.logica_negocio.resultado.ResultadoOperacion;
+import java.util.Locale;
+
+/**
+ * PersonaUnicaValidationStrategy - Detecta una posible persona duplicada
+ * Rechaza el alta si ya existe un estudiante con los mismos nombres normalizados
+ * ("José  Pérez" = "jose perez") y la misma edad, consultando un {@link IndicePersonas}
+ */
+public class PersonaUnicaValidationStrategy implements ReglaUnicidad {
+    private final IndicePersonas indice;
+
+    /**
+     * @param indice Índice conectado al repositorio
+     */
+    public PersonaUnicaValidationStrategy(IndicePersonas indice) {
+        this.indice = indice;
+    }
+
+    @Override
+    public String validate(EstudianteInmutable estudiante) {
+        ResultadoOperacion resultado = validar(estudiante);
+        return resultado.esExitoso() ? null : resultado.getMensaje(Locale.ROOT);
+    }
+
+    /**
+     * Un estudiante nulo o sin nombres se deja a las reglas de campos
+     */
+    @Override
+    public ResultadoOperacion validar(EstudianteInmutable estudiante) {
+        if (estudiante == null || !indice.existe(estudiante.nombres(), estudiante.edad())) {
+            return ResultadoOperacion.VALIDO;
+        }
+        return duplicadoEnLote(estudiante);
+    }
+
+    @Override
+    public Object claveUnicidad(EstudianteInmutable estudiante) {
+        return IndicePersonas.clave(estudiante.nombres(), estudiante.edad());
+    }
+
+    @Override
+    public ResultadoOperacion duplicadoEnLote(EstudianteInmutable estudiante) {
+        return ResultadoOperacion.de(CodigoResultado.PERSONA_DUPLICADA, estudiante.nombres().trim(), estudiante.edad());
+    }
+}
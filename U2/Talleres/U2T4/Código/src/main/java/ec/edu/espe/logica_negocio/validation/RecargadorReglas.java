@@ -0,0 +1,137 @@
+package ec.edu.espe.logica_negocio.validation;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RecargadorReglas - Recarga en caliente de las reglas de validación
+ * Vigila el archivo de reglas y, cada vez que cambia, lo vuelve a compilar e instala
+ * las nuevas estrategias en el contexto sin reiniciar la aplicación. Si el archivo
+ * nuevo tiene errores se conservan las reglas vigentes y el error queda disponible en
+ * {@link #getUltimoError()}
+ */
+public final class RecargadorReglas implements AutoCloseable {
+    private final Path archivo;
+    private final ValidationContext contexto;
+    private final WatchService vigilante;
+    private final Thread hilo;
+    private final AtomicLong recargas = new AtomicLong();
+
+    private volatile ReglasValidacion reglas;
+    private volatile String ultimoError;
+
+    /**
+     * Carga las reglas, las instala y empieza a vigilar el archivo
+     * @param archivo Archivo de reglas (ver {@link ReglasValidacion})
+     * @param contexto Contexto donde se instalan las reglas
+     * @throws IllegalStateException si el archivo no se puede leer o vigilar
+     * @throws IllegalArgumentException si las reglas iniciales son inválidas
+     */
+    public RecargadorReglas(Path archivo, ValidationContext contexto) {
+        this.archivo = archivo.toAbsolutePath();
+        this.contexto = contexto;
+        try {
+            this.reglas = ReglasValidacion.cargar(this.archivo);
+            this.vigilante = abrirVigilante(this.archivo.getParent());
+        } catch (IOException e) {
+            throw new IllegalStateException("No se pudieron cargar las reglas: " + e.getMessage(), e);
+        }
+        reglas.aplicar(contexto);
+        this.hilo = new Thread(this::vigilar, "recargador-reglas");
+        hilo.setDaemon(true);
+        hilo.start();
+    }
+
+    /**
+     * Vuelve a leer el archivo ahora mismo
+     * @return true si las reglas nuevas se instalaron, false si el archivo tiene errores
+     */
+    public synchronized boolean recargar() {
+        try {
+            ReglasValidacion nuevas = ReglasValidacion.cargar(archivo);
+            nuevas.aplicar(contexto);
+            reglas = nuevas;
+            ultimoError = null;
+            recargas.incrementAndGet();
+            return true;
+        } catch (IOException | IllegalArgumentException e) {
+            ultimoError = e.getMessage();
+            return false;
+        }
+    }
+
+    /**
+     * Vigila el directorio; si no se puede registrar, el vigilante se cierra antes de propagar el error
+     */
+    private static WatchService abrirVigilante(Path directorio) throws IOException {
+        WatchService vigilante = FileSystems.getDefault().newWatchService();
+        try {
+            directorio.register(vigilante, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+            return vigilante;
+        } catch (IOException | RuntimeException e) {
+            try {
+                vigilante.close();
+            } catch (IOException cierre) {
+                e.addSuppressed(cierre);
+            }
+            throw e;
+        }
+    }
+
+    private void vigilar() {
+        try {
+            while (true) {
+                WatchKey clave = vigilante.take();
+                boolean cambio = false;
+                for (WatchEvent<?> evento : clave.pollEvents()) {
+                    if (archivo.getFileName().equals(evento.context())) {
+                        cambio = true;
+                    }
+                }
+                clave.reset();
+                if (cambio) {
+                    recargar();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // Se cerró el recargador
+        }
+    }
+
+    public ReglasValidacion getReglas() {
+        return reglas;
+    }
+
+    /**
+     * @return Veces que se instalaron reglas nuevas después de la carga inicial
+     */
+    public long getRecargas() {
+        return recargas.get();
+    }
+
+    /**
+     * @return Motivo del último intento fallido, o null si la última recarga funcionó
+     */
+    public String getUltimoError() {
+        return ultimoError;
+    }
+
+    /**
+     * Deja de vigilar el archivo; las reglas vigentes siguen instaladas
+     */
+    @Override
+    public void close() throws IOException {
+        vigilante.close();
+        hilo.interrupt();
+    }
+}
@@ -0,0 +1,27 @@
+package ec.edu.espe.logica_negocio.validation;
+
+import ec.edu.espe.datos.model.EstudianteInmutable;
+import ec.edu.espe.logica_negocio.resultado.ResultadoOperacion;
+
+/**
+ * ReglaUnicidad - Estrategia de validación que depende de los demás registros
+ * {@link #validar} consulta un índice (del repositorio o propio) en O(1) u O(log n), nunca
+ * un recorrido. Al validar un lote, además, la clave de cada fila se compara con las filas
+ * anteriores del mismo lote: la primera aparición se acepta y las siguientes se marcan
+ */
+public interface ReglaUnicidad extends ValidationStrategy {
+
+    /**
+     * Clave que no puede repetirse
+     * @param estudiante Fila validada (no nula)
+     * @return Clave con equals/hashCode, o null si la fila no participa en la regla
+     */
+    Object claveUnicidad(EstudianteInmutable estudiante);
+
+    /**
+     * Resultado para una fila cuya clave ya apareció antes en el mismo lote
+     * @param estudiante Fila repetida
+     * @return Resultado de error de la regla
+     */
+    ResultadoOperacion duplicadoEnLote(EstudianteInmutable estudiante);
+}
@@ -0,0 +1,146 @@
+package ec.edu.espe.logica_negocio.validation;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * ReglasValidacion - Reglas de validación leídas de un archivo de propiedades (UTF-8)
+ * Al cargarse se compilan en estrategias especializadas (límites fijos y tabla de caracteres),
+ * de modo que validar no interpreta nada. Claves aceptadas y valores por defecto:
+ * <pre>
+ *   reglas=id,nombres,edad
+ *   id.longitudMinima=3
+ *   nombres.longitudMinima=2
+ *   nombres.caracteres=a-zA-ZáéíóúÁÉÍÓÚñÑ\\s
+ *   edad.minima=1
+ *   edad.maxima=120
+ * </pre>
+ * {@code reglas} indica qué reglas se aplican y en qué orden
+ */
+public final class ReglasValidacion {
+    public static final ReglasValidacion POR_DEFECTO = desde(new Properties());
+
+    private final List<String> reglas;
+    private final int idLongitudMinima;
+    private final int nombresLongitudMinima;
+    private final String nombresCaracteres;
+    private final int edadMinima;
+    private final int edadMaxima;
+    private final List<ValidationStrategy> estrategias;
+
+    private ReglasValidacion(List<String> reglas, int idLongitudMinima, int nombresLongitudMinima,
+                             String nombresCaracteres, int edadMinima, int edadMaxima) {
+        this.reglas = reglas;
+        this.idLongitudMinima = idLongitudMinima;
+        this.nombresLongitudMinima = nombresLongitudMinima;
+        this.nombresCaracteres = nombresCaracteres;
+        this.edadMinima = edadMinima;
+        this.edadMaxima = edadMaxima;
+        this.estrategias = compilar();
+    }
+
+    /**
+     * Lee y compila las reglas de un archivo
+     * @param archivo Archivo de propiedades en UTF-8
+     * @return Reglas compiladas
+     * @throws IOException si no se puede leer el archivo
+     * @throws IllegalArgumentException si alguna regla es inválida
+     */
+    public static ReglasValidacion cargar(Path archivo) throws IOException {
+        Properties propiedades = new Properties();
+        try (Reader lector = Files.newBufferedReader(archivo, StandardCharsets.UTF_8)) {
+            propiedades.load(lector);
+        }
+        return desde(propiedades);
+    }
+
+    /**
+     * Compila las reglas; las claves ausentes toman el valor por defecto
+     * @param propiedades Reglas declaradas
+     * @return Reglas compiladas
+     * @throws IllegalArgumentException si alguna regla es inválida
+     */
+    public static ReglasValidacion desde(Properties propiedades) {
+        List<String> reglas = new ArrayList<>();
+        for (String regla : propiedades.getProperty("reglas", "id,nombres,edad").split(",")) {
+            String nombre = regla.trim().toLowerCase(Locale.ROOT);
+            if (nombre.isEmpty()) {
+                continue;
+            }
+            if (!nombre.equals("id") && !nombre.equals("nombres") && !nombre.equals("edad")) {
+                throw new IllegalArgumentException("Regla desconocida: " + regla.trim());
+            }
+            if (reglas.contains(nombre)) {
+                throw new IllegalArgumentException("Regla repetida: " + nombre);
+            }
+            reglas.add(nombre);
+        }
+        return new ReglasValidacion(Collections.unmodifiableList(reglas),
+                entero(propiedades, "id.longitudMinima", IdValidationStrategy.LONGITUD_MINIMA),
+                entero(propiedades, "nombres.longitudMinima", NombresValidationStrategy.LONGITUD_MINIMA),
+                propiedades.getProperty("nombres.caracteres", NombresValidationStrategy.CARACTERES),
+                entero(propiedades, "edad.minima", EdadValidationStrategy.EDAD_MINIMA),
+                entero(propiedades, "edad.maxima", EdadValidationStrategy.EDAD_MAXIMA));
+    }
+
+    private static int entero(Properties propiedades, String clave, int porDefecto) {
+        String valor = propiedades.getProperty(clave);
+        if (valor == null) {
+            return porDefecto;
+        }
+        try {
+            return Integer.parseInt(valor.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor no numérico para " + clave + ": " + valor, e);
+        }
+    }
+
+    private List<ValidationStrategy> compilar() {
+        List<ValidationStrategy> compiladas = new ArrayList<>(reglas.size());
+        for (String regla : reglas) {
+            switch (regla) {
+                case "id":
+                    compiladas.add(new IdValidationStrategy(idLongitudMinima));
+                    break;
+                case "nombres":
+                    compiladas.add(new NombresValidationStrategy(nombresLongitudMinima, nombresCaracteres));
+                    break;
+                default:
+                    compiladas.add(new EdadValidationStrategy(edadMinima, edadMaxima));
+                    break;
+            }
+        }
+        return Collections.unmodifiableList(compiladas);
+    }
+
+    /**
+     * @return Estrategias ya compiladas, en el orden declarado
+     */
+    public List<ValidationStrategy> getEstrategias() {
+        return estrategias;
+    }
+
+    /**
+     * Instala estas reglas en el contexto reemplazando las anteriores de una vez
+     * @param contexto Contexto de validación del servicio
+     */
+    public void aplicar(ValidationContext contexto) {
+        contexto.reemplazarEstrategias(estrategias);
+    }
+
+    @Override
+    public String toString() {
+        return "ReglasValidacion{reglas=" + reglas + ", id.longitudMinima=" + idLongitudMinima
+                + ", nombres.longitudMinima=" + nombresLongitudMinima
+                + ", nombres.caracteres=" + nombresCaracteres
+                + ", edad=" + edadMinima + ".." + edadMaxima + "}";
+    }
+}
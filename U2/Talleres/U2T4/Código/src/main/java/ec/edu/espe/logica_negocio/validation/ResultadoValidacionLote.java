@@ -0,0 +1,145 @@
+package ec.edu.espe.logica_negocio.validation;
+
+import ec.edu.espe.logica_negocio.resultado.CodigoResultado;
+import ec.edu.espe.logica_negocio.resultado.ResultadoOperacion;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ResultadoValidacionLote - Todos los errores de validación de un lote de filas
+ * Guarda un byte por fila y paso de validación (0 si el paso no falló, o el código del
+ * error), sin objetos por fila; los mensajes solo se arman cuando se piden.
+ * Una fila nula informa solo {@link CodigoResultado#ESTUDIANTE_NULO} en su primer paso
+ */
+public final class ResultadoValidacionLote {
+    private static final CodigoResultado[] CODIGOS = CodigoResultado.values();
+
+    private final ValidadorCompilado validador;
+    private final int filas;
+    private final CampoValidacion[] campos;
+    private final byte[] codigos;
+    private final int filasInvalidas;
+    private final Map<Integer, ResultadoOperacion> externos;
+
+    ResultadoValidacionLote(ValidadorCompilado validador, int filas, CampoValidacion[] campos, byte[] codigos,
+                            int filasInvalidas, Map<Integer, ResultadoOperacion> externos) {
+        this.validador = validador;
+        this.filas = filas;
+        this.campos = campos;
+        this.codigos = codigos;
+        this.filasInvalidas = filasInvalidas;
+        this.externos = externos;
+    }
+
+    /**
+     * Representación compacta de un código: su posición más uno, para dejar el 0 como "sin error"
+     */
+    static byte comprimir(CodigoResultado codigo) {
+        return codigo == CodigoResultado.VALIDO ? 0 : (byte) (codigo.ordinal() + 1);
+    }
+
+    public int getFilas() {
+        return filas;
+    }
+
+    public int getFilasInvalidas() {
+        return filasInvalidas;
+    }
+
+    /**
+     * @return Pasos de validación evaluados por fila (uno por estrategia configurada)
+     */
+    public int getPasos() {
+        return campos.length;
+    }
+
+    public boolean esValida(int fila) {
+        int base = fila * campos.length;
+        for (int paso = 0; paso < campos.length; paso++) {
+            if (codigos[base + paso] != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Busca la siguiente fila con errores
+     * @param desde Primera fila a revisar
+     * @return Índice de la fila, o -1 si no quedan filas inválidas
+     */
+    public int siguienteInvalida(int desde) {
+        for (int fila = Math.max(desde, 0); fila < filas; fila++) {
+            if (!esValida(fila)) {
+                return fila;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return Código del error del paso en la fila, o {@link CodigoResultado#VALIDO}
+     */
+    public CodigoResultado getCodigo(int fila, int paso) {
+        int codigo = codigos[indice(fila, paso)];
+        return codigo == 0 ? CodigoResultado.VALIDO : CODIGOS[codigo - 1];
+    }
+
+    /**
+     * @return Campo al que pertenece el error del paso en la fila
+     */
+    public CampoValidacion getCampo(int fila, int paso) {
+        return getCodigo(fila, paso) == CodigoResultado.ESTUDIANTE_NULO ? CampoValidacion.ESTUDIANTE : campos[paso];
+    }
+
+    /**
+     * @return Código del primer error de ese campo en la fila, o {@link CodigoResultado#VALIDO}
+     */
+    public CodigoResultado getCodigo(int fila, CampoValidacion campo) {
+        for (int paso = 0; paso < campos.length; paso++) {
+            CodigoResultado codigo = getCodigo(fila, paso);
+            if (codigo != CodigoResultado.VALIDO && getCampo(fila, paso) == campo) {
+                return codigo;
+            }
+        }
+        return CodigoResultado.VALIDO;
+    }
+
+    /**
+     * Resultado con mensaje del paso en la fila, igual al que daría la estrategia sola
+     */
+    public ResultadoOperacion getResultado(int fila, int paso) {
+        ResultadoOperacion externo = externos.get(indice(fila, paso));
+        return externo != null ? externo : validador.resultado(paso, getCodigo(fila, paso));
+    }
+
+    /**
+     * @return Todos los errores de la fila en el orden de las estrategias
+     */
+    public List<ResultadoOperacion> getErrores(int fila) {
+        if (esValida(fila)) {
+            return Collections.emptyList();
+        }
+        List<ResultadoOperacion> errores = new ArrayList<>(campos.length);
+        for (int paso = 0; paso < campos.length; paso++) {
+            if (getCodigo(fila, paso) != CodigoResultado.VALIDO) {
+                errores.add(getResultado(fila, paso));
+            }
+        }
+        return errores;
+    }
+
+    private int indice(int fila, int paso) {
+        if (fila < 0 || fila >= filas || paso < 0 || paso >= campos.length) {
+            throw new IndexOutOfBoundsException("Fila " + fila + ", paso " + paso);
+        }
+        return fila * campos.length + paso;
+    }
+
+    @Override
+    public String toString() {
+        return "ResultadoValidacionLote{filas=" + filas + ", invalidas=" + filasInvalidas + "}";
+    }
+}
@@ -0,0 +1,204 @@
+package ec.edu.espe.logica_negocio.validation;
+
+import ec.edu.espe.datos.model.EstudianteInmutable;
+import ec.edu.espe.logica_negocio.resultado.CodigoResultado;
+import ec.edu.espe.logica_negocio.resultado.ResultadoOperacion;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * ValidacionColumnar - Validación de rangos sobre lotes en forma de columnas
+ * Al armar las columnas se recorre el texto una sola vez por fila: el ID en blanco cuenta
+ * como longitud 0, los nombres se miden sin los espacios de los extremos y una columna
+ * indica si todos sus caracteres están permitidos. Luego un ciclo sin saltos (solo restas,
+ * OR y desplazamientos), que el compilador JIT convierte en instrucciones vectoriales, marca
+ * las filas que incumplen algún límite.
+ * Una fila marcada se valida con el contexto completo para obtener el mensaje. Si las reglas
+ * son solo las propias (ID, edad y a lo sumo una de nombres) las marcas son exactas y las filas
+ * no marcadas ya son válidas; con otras reglas también esas pasan por el validador compilado
+ */
+public final class ValidacionColumnar {
+    /** Filas cuyas columnas se arman y marcan juntas */
+    private static final int FILAS_POR_BLOQUE = 1_024;
+
+    private final ValidadorCompilado validador;
+    private final int idLongitudMinima;
+    private final int nombresLongitudMinima;
+    private final int edadMinima;
+    private final int edadMaxima;
+    /** Caracteres permitidos en los nombres, o null si no hay una única regla de nombres */
+    private final boolean[] permitidos;
+    /** true si las marcas deciden por sí solas qué filas son válidas */
+    private final boolean exacta;
+
+    private ValidacionColumnar(ValidadorCompilado validador) {
+        this.validador = validador;
+        int idMinima = 0;
+        int nombresMinima = 0;
+        int minima = 0;
+        int maxima = Integer.MAX_VALUE;
+        int reglasNombres = 0;
+        boolean[] tabla = null;
+        boolean soloPropias = true;
+        for (ValidationStrategy estrategia : validador.getEstrategias()) {
+            if (estrategia instanceof IdValidationStrategy) {
+                idMinima = Math.max(idMinima, ((IdValidationStrategy) estrategia).getLongitudMinima());
+            } else if (estrategia instanceof NombresValidationStrategy) {
+                NombresValidationStrategy nombres = (NombresValidationStrategy) estrategia;
+                nombresMinima = Math.max(nombresMinima, nombres.getLongitudMinima());
+                tabla = nombres.getPermitidos();
+                reglasNombres++;
+            } else if (estrategia instanceof EdadValidationStrategy) {
+                EdadValidationStrategy edad = (EdadValidationStrategy) estrategia;
+                minima = Math.max(minima, edad.getEdadMinima());
+                maxima = Math.min(maxima, edad.getEdadMaxima());
+            }
+            // Igual que el validador compilado: una subclase puede haber cambiado las reglas
+            Class<?> clase = estrategia == null ? null : estrategia.getClass();
+            soloPropias &= clase == IdValidationStrategy.class || clase == NombresValidationStrategy.class
+                    || clase == EdadValidationStrategy.class;
+        }
+        // Sin regla de edad los límites son amplios: marcar de más solo cuesta una revisión completa
+        this.idLongitudMinima = idMinima;
+        this.nombresLongitudMinima = nombresMinima;
+        this.edadMinima = minima;
+        this.edadMaxima = maxima;
+        this.permitidos = reglasNombres == 1 ? tabla : null;
+        this.exacta = soloPropias && reglasNombres <= 1;
+    }
+
+    /**
+     * Toma los límites de las estrategias vigentes del contexto
+     * @param contexto Contexto de validación (se usa el conjunto de reglas de este momento)
+     * @return Validación columnar con esos límites
+     */
+    public static ValidacionColumnar de(ValidationContext contexto) {
+        return new ValidacionColumnar(contexto.compilar());
+    }
+
+    /**
+     * Marca las filas que incumplen algún límite
+     * @param edades Edad de cada fila
+     * @param longitudesId Longitud del ID de cada fila (0 si es nulo o está en blanco)
+     * @param longitudesNombres Longitud de los nombres sin los espacios de los extremos (0 si son nulos)
+     * @param nombresPermitidos 1 si todos los caracteres de los nombres están permitidos, 0 si no
+     * @param marcas Destino: 1 si la fila está fuera de rango, 0 si no
+     * @return Número de filas marcadas
+     */
+    public int marcarFueraDeRango(int[] edades, int[] longitudesId, int[] longitudesNombres,
+                                  int[] nombresPermitidos, int[] marcas) {
+        int filas = edades.length;
+        if (longitudesId.length != filas || longitudesNombres.length != filas
+                || nombresPermitidos.length != filas || marcas.length < filas) {
+            throw new IllegalArgumentException("Las columnas deben tener la misma cantidad de filas");
+        }
+        int minima = edadMinima;
+        int maxima = edadMaxima;
+        int idMinima = idLongitudMinima;
+        int nombresMinima = nombresLongitudMinima;
+        int marcadas = 0;
+        for (int i = 0; i < filas; i++) {
+            int edad = edades[i];
+            // El bit de signo de cada diferencia indica que la fila quedó por debajo de un límite
+            int fuera = ((edad - minima) | (maxima - edad) | (longitudesId[i] - idMinima)
+                    | (longitudesNombres[i] - nombresMinima) | (nombresPermitidos[i] - 1)) >>> 31;
+            marcas[i] = fuera;
+            marcadas += fuera;
+        }
+        return marcadas;
+    }
+
+    /**
+     * Valida un lote por bloques de {@link #FILAS_POR_BLOQUE} filas: arma las columnas del bloque,
+     * las marca en forma columnar y revisa en detalle solo lo necesario. Las columnas se reutilizan
+     * entre bloques, así que caben en la caché y su memoria no depende del tamaño del lote
+     * @param estudiantes Filas a validar
+     * @return Primer error de cada fila inválida, por número de fila (vacío si todo es válido)
+     */
+    public Map<Integer, ResultadoOperacion> validar(List<EstudianteInmutable> estudiantes) {
+        int filas = estudiantes.size();
+        int tamano = Math.min(filas, FILAS_POR_BLOQUE);
+        int[] edades = new int[tamano];
+        int[] longitudesId = new int[tamano];
+        int[] longitudesNombres = new int[tamano];
+        int[] nombresPermitidos = new int[tamano];
+        int[] marcas = new int[tamano];
+        Map<Integer, ResultadoOperacion> errores = new TreeMap<>();
+        for (int desde = 0; desde < filas; desde += tamano) {
+            int bloque = Math.min(tamano, filas - desde);
+            if (bloque < tamano) {
+                edades = Arrays.copyOf(edades, bloque);
+                longitudesId = Arrays.copyOf(longitudesId, bloque);
+                longitudesNombres = Arrays.copyOf(longitudesNombres, bloque);
+                nombresPermitidos = Arrays.copyOf(nombresPermitidos, bloque);
+            }
+            for (int i = 0; i < bloque; i++) {
+                llenarColumnas(estudiantes.get(desde + i), i, edades, longitudesId, longitudesNombres,
+                        nombresPermitidos);
+            }
+            if (marcarFueraDeRango(edades, longitudesId, longitudesNombres, nombresPermitidos, marcas) == 0
+                    && exacta) {
+                continue;
+            }
+            for (int i = 0; i < bloque; i++) {
+                EstudianteInmutable estudiante = estudiantes.get(desde + i);
+                if (marcas[i] != 0 || estudiante == null
+                        || (!exacta && validador.validarCodigo(estudiante) != CodigoResultado.VALIDO)) {
+                    ResultadoOperacion resultado = validador.validar(estudiante);
+                    if (!resultado.esExitoso()) {
+                        errores.put(desde + i, resultado);
+                    }
+                }
+            }
+        }
+        return errores;
+    }
+
+    /**
+     * Escribe las columnas de una fila; una fila nula queda marcada para revisarse en detalle
+     */
+    private void llenarColumnas(EstudianteInmutable estudiante, int i, int[] edades, int[] longitudesId,
+                                int[] longitudesNombres, int[] nombresPermitidos) {
+        if (estudiante == null) {
+            edades[i] = 0;
+            longitudesId[i] = 0;
+            longitudesNombres[i] = 0;
+            nombresPermitidos[i] = 0;
+            return;
+        }
+        String id = estudiante.id();
+        String nombres = estudiante.nombres();
+        edades[i] = estudiante.edad();
+        longitudesId[i] = id == null || ValidadorCompilado.esBlanco(id) ? 0 : id.length();
+        boolean[] tabla = permitidos;
+        if (nombres == null) {
+            longitudesNombres[i] = 0;
+            nombresPermitidos[i] = tabla == null ? 1 : 0;
+            return;
+        }
+        // Un solo recorrido: límites de trim() y si cada carácter está en la tabla
+        int primero = -1;
+        int ultimo = -1;
+        boolean validos = true;
+        for (int j = 0, n = nombres.length(); j < n; j++) {
+            char c = nombres.charAt(j);
+            if (c > ' ') {
+                if (primero < 0) {
+                    primero = j;
+                }
+                ultimo = j;
+            }
+            validos &= tabla == null || (c < tabla.length && tabla[c]);
+        }
+        longitudesNombres[i] = primero < 0 ? 0 : ultimo - primero + 1;
+        nombresPermitidos[i] = validos ? 1 : 0;
+    }
+
+    @Override
+    public String toString() {
+        return "ValidacionColumnar{id>=" + idLongitudMinima + ", nombres>=" + nombresLongitudMinima
+                + ", edad=" + edadMinima + ".." + edadMaxima + ", exacta=" + exacta + "}";
+    }
+}
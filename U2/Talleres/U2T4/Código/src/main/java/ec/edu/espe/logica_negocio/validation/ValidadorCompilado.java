@@ -0,0 +1,307 @@
+package ec.edu.espe.logica_negocio.validation;
+
+import ec.edu.espe.datos.model.EstudianteInmutable;
+import ec.edu.espe.logica_negocio.resultado.CodigoResultado;
+import ec.edu.espe.logica_negocio.resultado.ResultadoOperacion;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * ValidadorCompilado - Estrategias de validación fusionadas en un solo recorrido
+ * Las estrategias propias (ID, nombres y edad) se traducen a pasos que revisan cada campo
+ * una sola vez con sus parámetros y tablas de caracteres ya compilados: sin {@code trim()},
+ * sin expresiones regulares y sin asignar memoria cuando el estudiante es válido. Los códigos
+ * y mensajes son exactamente los de las estrategias, en el mismo orden de evaluación.
+ * Las estrategias desconocidas o sus subclases se ejecutan tal cual en su posición;
+ * las {@link ReglaUnicidad} además se comprueban dentro de cada lote
+ */
+public final class ValidadorCompilado {
+    private static final byte PASO_ID = 0;
+    private static final byte PASO_NOMBRES = 1;
+    private static final byte PASO_EDAD = 2;
+    private static final byte PASO_DELEGADO = 3;
+
+    /** Filas que valida cada tarea sin dividirse más */
+    private static final int FILAS_POR_TAREA = 2_048;
+
+    private final byte[] pasos;
+    private final ValidationStrategy[] estrategias;
+
+    private ValidadorCompilado(byte[] pasos, ValidationStrategy[] estrategias) {
+        this.pasos = pasos;
+        this.estrategias = estrategias;
+    }
+
+    /**
+     * Compila las estrategias en el orden dado
+     * @param strategies Estrategias configuradas
+     * @return Validador equivalente a ejecutarlas una por una
+     */
+    public static ValidadorCompilado compilar(List<ValidationStrategy> strategies) {
+        byte[] pasos = new byte[strategies.size()];
+        ValidationStrategy[] estrategias = strategies.toArray(new ValidationStrategy[0]);
+        for (int i = 0; i < estrategias.length; i++) {
+            // Solo las clases exactas: una subclase puede haber cambiado las reglas
+            Class<?> clase = estrategias[i] == null ? null : estrategias[i].getClass();
+            if (clase == IdValidationStrategy.class) {
+                pasos[i] = PASO_ID;
+            } else if (clase == NombresValidationStrategy.class) {
+                pasos[i] = PASO_NOMBRES;
+            } else if (clase == EdadValidationStrategy.class) {
+                pasos[i] = PASO_EDAD;
+            } else {
+                pasos[i] = PASO_DELEGADO;
+            }
+        }
+        return new ValidadorCompilado(pasos, estrategias);
+    }
+
+    /**
+     * @return Estrategias compiladas, en orden de evaluación
+     */
+    public List<ValidationStrategy> getEstrategias() {
+        return Collections.unmodifiableList(Arrays.asList(estrategias));
+    }
+
+    /**
+     * Valida un estudiante
+     * @param estudiante Estudiante a validar
+     * @return {@link ResultadoOperacion#VALIDO}, o el resultado del primer fallo
+     */
+    public ResultadoOperacion validar(EstudianteInmutable estudiante) {
+        for (int i = 0; i < pasos.length; i++) {
+            if (pasos[i] == PASO_DELEGADO) {
+                ResultadoOperacion resultado = estrategias[i].validar(estudiante);
+                if (!resultado.esExitoso()) {
+                    return resultado;
+                }
+            } else {
+                CodigoResultado codigo = evaluar(i, estudiante);
+                if (codigo != CodigoResultado.VALIDO) {
+                    return resultado(i, codigo);
+                }
+            }
+        }
+        return ResultadoOperacion.VALIDO;
+    }
+
+    /**
+     * Valida un estudiante devolviendo solo el código, sin asignar memoria también en los
+     * fallos de las estrategias propias (útil para importaciones masivas)
+     * @param estudiante Estudiante a validar
+     * @return {@link CodigoResultado#VALIDO}, o el código del primer fallo
+     */
+    public CodigoResultado validarCodigo(EstudianteInmutable estudiante) {
+        for (int i = 0; i < pasos.length; i++) {
+            CodigoResultado codigo = pasos[i] == PASO_DELEGADO
+                    ? estrategias[i].validar(estudiante).getCodigo()
+                    : evaluar(i, estudiante);
+            if (codigo != CodigoResultado.VALIDO) {
+                return codigo;
+            }
+        }
+        return CodigoResultado.VALIDO;
+    }
+
+    /**
+     * Valida todas las filas en paralelo (fork-join en el pool común) y reúne cada error
+     * de cada fila, no solo el primero; cada estrategia se evalúa una vez por fila
+     * @param estudiantes Filas a validar (pueden incluir nulos)
+     * @return Errores por fila y paso, en forma compacta
+     */
+    public ResultadoValidacionLote validarLote(List<EstudianteInmutable> estudiantes) {
+        return validarLote(estudiantes, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param estudiantes Filas a validar (pueden incluir nulos)
+     * @param pool Pool donde se reparten las tareas
+     * @return Errores por fila y paso, en forma compacta
+     */
+    public ResultadoValidacionLote validarLote(List<EstudianteInmutable> estudiantes, ForkJoinPool pool) {
+        EstudianteInmutable[] filas = estudiantes.toArray(new EstudianteInmutable[0]);
+        byte[] codigos = new byte[filas.length * pasos.length];
+        Map<Integer, ResultadoOperacion> externos = new ConcurrentHashMap<>();
+        int invalidas = filas.length == 0 ? 0
+                : pool.invoke(new TareaLote(filas, codigos, externos, 0, filas.length));
+        invalidas += marcarRepetidosEnLote(filas, codigos, externos);
+        CampoValidacion[] campos = new CampoValidacion[pasos.length];
+        for (int i = 0; i < pasos.length; i++) {
+            campos[i] = pasos[i] == PASO_ID || estrategias[i] instanceof IdUnicoValidationStrategy
+                    ? CampoValidacion.ID
+                    : pasos[i] == PASO_NOMBRES ? CampoValidacion.NOMBRES
+                    : pasos[i] == PASO_EDAD ? CampoValidacion.EDAD
+                    : estrategias[i] instanceof PersonaUnicaValidationStrategy ? CampoValidacion.ESTUDIANTE
+                    : CampoValidacion.OTRO;
+        }
+        return new ResultadoValidacionLote(this, filas.length, campos, codigos, invalidas, externos);
+    }
+
+    /**
+     * Aplica cada {@link ReglaUnicidad} dentro del lote, en orden de filas y con un conjunto
+     * hash por regla: la primera aparición de una clave se acepta y las siguientes se marcan
+     * (salvo que ese paso ya hubiera fallado contra el repositorio)
+     * @return Filas que eran válidas y quedaron inválidas por una repetición
+     */
+    private int marcarRepetidosEnLote(EstudianteInmutable[] filas, byte[] codigos,
+                                      Map<Integer, ResultadoOperacion> externos) {
+        int nuevasInvalidas = 0;
+        for (int paso = 0; paso < pasos.length; paso++) {
+            if (!(estrategias[paso] instanceof ReglaUnicidad)) {
+                continue;
+            }
+            ReglaUnicidad regla = (ReglaUnicidad) estrategias[paso];
+            Set<Object> vistas = new HashSet<>();
+            for (int fila = 0; fila < filas.length; fila++) {
+                Object clave = filas[fila] == null ? null : regla.claveUnicidad(filas[fila]);
+                if (clave == null || vistas.add(clave)) {
+                    continue;
+                }
+                int base = fila * pasos.length;
+                if (codigos[base + paso] != 0) {
+                    continue;
+                }
+                boolean eraValida = true;
+                for (int i = 0; i < pasos.length; i++) {
+                    eraValida &= codigos[base + i] == 0;
+                }
+                ResultadoOperacion repetido = regla.duplicadoEnLote(filas[fila]);
+                codigos[base + paso] = ResultadoValidacionLote.comprimir(repetido.getCodigo());
+                externos.put(base + paso, repetido);
+                if (eraValida) {
+                    nuevasInvalidas++;
+                }
+            }
+        }
+        return nuevasInvalidas;
+    }
+
+    /**
+     * Evalúa todos los pasos de una fila y escribe sus códigos en {@code codigos}
+     * @return true si la fila tiene al menos un error
+     */
+    private boolean evaluarFila(EstudianteInmutable estudiante, int fila, byte[] codigos,
+                                Map<Integer, ResultadoOperacion> externos) {
+        int base = fila * pasos.length;
+        if (estudiante == null) {
+            if (pasos.length == 0) {
+                return false;
+            }
+            if (pasos[0] != PASO_DELEGADO) {
+                codigos[base] = ResultadoValidacionLote.comprimir(CodigoResultado.ESTUDIANTE_NULO);
+                return true;
+            }
+        }
+        boolean invalida = false;
+        for (int i = 0; i < pasos.length; i++) {
+            CodigoResultado codigo;
+            if (pasos[i] == PASO_DELEGADO) {
+                ResultadoOperacion resultado = estrategias[i].validar(estudiante);
+                codigo = resultado.getCodigo();
+                if (!resultado.esExitoso()) {
+                    // Solo las reglas externas guardan su resultado, que puede traer un mensaje propio
+                    externos.put(base + i, resultado);
+                }
+            } else {
+                codigo = evaluar(i, estudiante);
+            }
+            if (codigo != CodigoResultado.VALIDO) {
+                codigos[base + i] = ResultadoValidacionLote.comprimir(codigo);
+                invalida = true;
+            }
+        }
+        return invalida;
+    }
+
+    /**
+     * Divide el rango a la mitad hasta {@link #FILAS_POR_TAREA}; cada fila la escribe una sola tarea
+     */
+    private final class TareaLote extends RecursiveTask<Integer> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient EstudianteInmutable[] filas;
+        private final byte[] codigos;
+        private final transient Map<Integer, ResultadoOperacion> externos;
+        private final int desde;
+        private final int hasta;
+
+        TareaLote(EstudianteInmutable[] filas, byte[] codigos, Map<Integer, ResultadoOperacion> externos,
+                  int desde, int hasta) {
+            this.filas = filas;
+            this.codigos = codigos;
+            this.externos = externos;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (hasta - desde <= FILAS_POR_TAREA) {
+                int invalidas = 0;
+                for (int fila = desde; fila < hasta; fila++) {
+                    if (evaluarFila(filas[fila], fila, codigos, externos)) {
+                        invalidas++;
+                    }
+                }
+                return invalidas;
+            }
+            int medio = (desde + hasta) >>> 1;
+            TareaLote izquierda = new TareaLote(filas, codigos, externos, desde, medio);
+            izquierda.fork();
+            int derecha = new TareaLote(filas, codigos, externos, medio, hasta).compute();
+            return derecha + izquierda.join();
+        }
+    }
+
+    /**
+     * Resultado con los mismos argumentos que daría la estrategia del paso
+     */
+    ResultadoOperacion resultado(int paso, CodigoResultado codigo) {
+        if (codigo == CodigoResultado.VALIDO) {
+            return ResultadoOperacion.VALIDO;
+        }
+        switch (pasos[paso]) {
+            case PASO_ID:
+                return ((IdValidationStrategy) estrategias[paso]).resultado(codigo);
+            case PASO_NOMBRES:
+                return ((NombresValidationStrategy) estrategias[paso]).resultado(codigo);
+            case PASO_EDAD:
+                return ((EdadValidationStrategy) estrategias[paso]).resultado(codigo);
+            default:
+                return ResultadoOperacion.de(codigo);
+        }
+    }
+
+    private CodigoResultado evaluar(int paso, EstudianteInmutable estudiante) {
+        if (estudiante == null) {
+            return CodigoResultado.ESTUDIANTE_NULO;
+        }
+        switch (pasos[paso]) {
+            case PASO_ID:
+                return ((IdValidationStrategy) estrategias[paso]).evaluar(estudiante.id());
+            case PASO_NOMBRES:
+                return ((NombresValidationStrategy) estrategias[paso]).evaluar(estudiante.nombres());
+            default:
+                return ((EdadValidationStrategy) estrategias[paso]).evaluar(estudiante.edad());
+        }
+    }
+
+    /**
+     * Equivale a {@code texto.trim().isEmpty()} sin crear la cadena recortada
+     */
+    static boolean esBlanco(String texto) {
+        for (int i = 0, n = texto.length(); i < n; i++) {
+            if (texto.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -1,26 +1,55 @@
 package ec.edu.espe.logica_negocio.validation;
 
-import ec.edu.espe.datos.model.Estudiante;
+import ec.edu.espe.datos.model.EstudianteInmutable;
+import ec.edu.espe.logica_negocio.resultado.ResultadoOperacion;
+import ec.edu.espe.metricas.EventoValidacion;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
+import jdk.jfr.EventType;
 
 /**
  * ValidationContext - Contexto para ejecutar múltiples estrategias de validación
- * Permite combinar varias estrategias y validar un estudiante completamente
+ * Permite combinar varias estrategias y validar un estudiante completamente.
+ * Cada cambio de estrategias se compila en un {@link ValidadorCompilado} nuevo que se
+ * publica de una vez, así que una validación en curso usa el conjunto anterior o el nuevo
+ * completo, nunca una mezcla (lo que permite recargar reglas sin detener el servicio).
+ * Mientras JFR registre {@link EventoValidacion} las estrategias se ejecutan una por una
+ * para poder medir cada una
  */
 public class ValidationContext {
-    private List<ValidationStrategy> strategies;
+    private static final EventType EVENTO_VALIDACION = EventType.getEventType(EventoValidacion.class);
+
+    private volatile ValidadorCompilado compilado;
     
     public ValidationContext() {
-        this.strategies = new ArrayList<>();
+        this.compilado = ValidadorCompilado.compilar(Collections.emptyList());
     }
     
     /**
      * Agrega una estrategia de validación
      * @param strategy Estrategia a agregar
      */
-    public void addStrategy(ValidationStrategy strategy) {
+    public synchronized void addStrategy(ValidationStrategy strategy) {
+        List<ValidationStrategy> strategies = new ArrayList<>(compilado.getEstrategias());
         strategies.add(strategy);
+        compilado = ValidadorCompilado.compilar(strategies);
+    }
+
+    /**
+     * Reemplaza todas las estrategias de forma atómica
+     * @param strategies Nuevo conjunto de estrategias, en orden de evaluación
+     */
+    public synchronized void reemplazarEstrategias(List<ValidationStrategy> strategies) {
+        compilado = ValidadorCompilado.compilar(strategies);
+    }
+
+    /**
+     * @return Estrategias vigentes, en orden de evaluación
+     */
+    public List<ValidationStrategy> getEstrategias() {
+        return compilado.getEstrategias();
     }
     
     /**
@@ -28,20 +57,60 @@ public class ValidationContext {
      * @param estudiante Estudiante a validar
      * @return null si todas las validaciones pasan, mensaje de error del primer fallo
      */
-    public String validate(Estudiante estudiante) {
-        for (ValidationStrategy strategy : strategies) {
-            String resultado = strategy.validate(estudiante);
-            if (resultado != null) {
+    public String validate(EstudianteInmutable estudiante) {
+        ResultadoOperacion resultado = validar(estudiante);
+        return resultado.esExitoso() ? null : resultado.getMensaje(Locale.ROOT);
+    }
+
+    /**
+     * Valida un estudiante usando todas las estrategias configuradas
+     * Cada estrategia ejecutada se registra como {@link EventoValidacion} si JFR lo tiene activado
+     * @param estudiante Estudiante a validar
+     * @return {@link ResultadoOperacion#VALIDO}, o el resultado del primer fallo
+     */
+    public ResultadoOperacion validar(EstudianteInmutable estudiante) {
+        ValidadorCompilado actual = compilado;
+        if (!EVENTO_VALIDACION.isEnabled()) {
+            return actual.validar(estudiante);
+        }
+        for (ValidationStrategy strategy : actual.getEstrategias()) {
+            EventoValidacion evento = new EventoValidacion();
+            evento.begin();
+            ResultadoOperacion resultado = strategy.validar(estudiante);
+            if (evento.shouldCommit()) {
+                evento.estrategia = strategy.getClass().getSimpleName();
+                evento.codigo = resultado.getCodigo().name();
+                evento.valido = resultado.esExitoso();
+                evento.commit();
+            }
+            if (!resultado.esExitoso()) {
                 return resultado; // Retorna el primer error encontrado
             }
         }
-        return null; // Todas las validaciones pasaron
+        return ResultadoOperacion.VALIDO; // Todas las validaciones pasaron
     }
     
+    /**
+     * Valida un lote completo en paralelo reuniendo todos los errores de cada fila
+     * @param estudiantes Filas a validar
+     * @return Errores por fila, campo y regla
+     */
+    public ResultadoValidacionLote validarLote(List<EstudianteInmutable> estudiantes) {
+        return compilar().validarLote(estudiantes);
+    }
+
     /**
      * Limpia todas las estrategias
      */
-    public void clearStrategies() {
-        strategies.clear();
+    public synchronized void clearStrategies() {
+        compilado = ValidadorCompilado.compilar(Collections.emptyList());
+    }
+
+    /**
+     * Obtiene las estrategias actuales compiladas en un solo validador
+     * @return Validador fusionado vigente; no cambia aunque luego se reemplacen las estrategias
+     */
+    public ValidadorCompilado compilar() {
+        return compilado;
     }
 }
@@ -1,6 +1,8 @@
 package ec.edu.espe.logica_negocio.validation;
 
-import ec.edu.espe.datos.model.Estudiante;
+import ec.edu.espe.datos.model.EstudianteInmutable;
+import ec.edu.espe.logica_negocio.resultado.CodigoResultado;
+import ec.edu.espe.logica_negocio.resultado.ResultadoOperacion;
 
 /**
  * ValidationStrategy - Patrón Strategy para validaciones
@@ -12,5 +14,17 @@ public interface ValidationStrategy {
      * @param estudiante Estudiante a validar
      * @return null si la validación es exitosa, mensaje de error en caso contrario
      */
-    String validate(Estudiante estudiante);
+    String validate(EstudianteInmutable estudiante);
+
+    /**
+     * Valida un estudiante devolviendo un resultado estructurado
+     * Las estrategias propias lo sobrescriben para informar su código sin formatear texto;
+     * por defecto el mensaje de {@link #validate} se envuelve con el código VALIDACION
+     * @param estudiante Estudiante a validar
+     * @return {@link ResultadoOperacion#VALIDO} o el resultado del primer fallo
+     */
+    default ResultadoOperacion validar(EstudianteInmutable estudiante) {
+        String mensaje = validate(estudiante);
+        return mensaje == null ? ResultadoOperacion.VALIDO : ResultadoOperacion.de(CodigoResultado.VALIDACION, mensaje);
+    }
 }
@@ -0,0 +1,31 @@
+package ec.edu.espe.metricas;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * EventoNotificacion - Evento JFR del reparto de un cambio a los observadores
+ * Su duración es el tiempo total que la escritura esperó a los observadores (por
+ * ejemplo, el refresco de la interfaz). Se activa con {@code +ec.edu.espe.Notificacion#enabled=true}
+ */
+@Name("ec.edu.espe.Notificacion")
+@Label("Notificación a observadores")
+@Category({"Estudiantes", "Repositorio"})
+@Enabled(false)
+@StackTrace(false)
+public final class EventoNotificacion extends Event {
+    @Label("Tipo de cambio")
+    public String tipoCambio;
+
+    @Label("Cambios")
+    @Description("Cambios individuales incluidos (más de uno en los lotes)")
+    public int cambios;
+
+    @Label("Observadores")
+    public int observadores;
+}
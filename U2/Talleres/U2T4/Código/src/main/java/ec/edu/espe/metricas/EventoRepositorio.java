@@ -0,0 +1,71 @@
+package ec.edu.espe.metricas;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * EventoRepositorio - Evento JFR de una operación del repositorio
+ * Desactivado por defecto; cuando está desactivado, crear y cerrar el evento no cuesta
+ * más que una comprobación. Se activa desde la configuración de JFR, por ejemplo:
+ * {@code -XX:StartFlightRecording:+ec.edu.espe.Repositorio#enabled=true,filename=app.jfr}
+ */
+@Name("ec.edu.espe.Repositorio")
+@Label("Operación del repositorio")
+@Category({"Estudiantes", "Repositorio"})
+@Description("Alta, edición, baja, lote, búsqueda o listado sobre el almacenamiento")
+@Enabled(false)
+@StackTrace(false)
+public final class EventoRepositorio extends Event {
+    @Label("Repositorio")
+    String repositorio;
+
+    @Label("Operación")
+    String operacion;
+
+    @Label("ID")
+    String id;
+
+    @Label("Filas")
+    @Description("Estudiantes del lote o del listado")
+    int filas;
+
+    @Label("Aplicada")
+    @Description("false si el ID ya existía al agregar, no existía al editar, eliminar o buscar")
+    boolean aplicada;
+
+    /**
+     * Inicia el evento si está activado
+     * @param repositorio Clase del repositorio
+     * @param operacion Nombre de la operación
+     * @param id ID afectado, o null en lotes y listados
+     * @return Evento en curso (inerte si JFR no lo registra)
+     */
+    public static EventoRepositorio iniciar(Class<?> repositorio, String operacion, String id) {
+        EventoRepositorio evento = new EventoRepositorio();
+        if (evento.isEnabled()) {
+            evento.repositorio = repositorio.getSimpleName();
+            evento.operacion = operacion;
+            evento.id = id;
+            evento.begin();
+        }
+        return evento;
+    }
+
+    /**
+     * Cierra el evento y lo envía a la grabación si supera el umbral configurado
+     * @param aplicada Resultado de la operación
+     * @param filas Estudiantes procesados o devueltos
+     */
+    public void terminar(boolean aplicada, int filas) {
+        if (isEnabled()) {
+            this.aplicada = aplicada;
+            this.filas = filas;
+            commit();
+        }
+    }
+}
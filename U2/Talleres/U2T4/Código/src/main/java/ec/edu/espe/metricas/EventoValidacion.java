@@ -0,0 +1,30 @@
+package ec.edu.espe.metricas;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * EventoValidacion - Evento JFR de la ejecución de una estrategia de validación
+ * Desactivado por defecto; se activa con {@code +ec.edu.espe.Validacion#enabled=true}
+ */
+@Name("ec.edu.espe.Validacion")
+@Label("Estrategia de validación")
+@Category({"Estudiantes", "Validación"})
+@Enabled(false)
+@StackTrace(false)
+public final class EventoValidacion extends Event {
+    @Label("Estrategia")
+    public String estrategia;
+
+    @Label("Código")
+    @Description("Código del resultado (VALIDO o la regla que falló)")
+    public String codigo;
+
+    @Label("Válido")
+    public boolean valido;
+}
@@ -0,0 +1,108 @@
+package ec.edu.espe.metricas;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * HistogramaLatencia - Histograma de latencias sin bloqueos
+ * Usa cubetas log-lineales: cada potencia de 2 se divide en {@link #SUBCUBETAS} partes,
+ * por lo que el error relativo de un percentil es menor a 12,5 %. Registrar un valor es
+ * un cálculo de bits y un incremento atómico, sin asignar memoria
+ */
+public final class HistogramaLatencia {
+    private static final int BITS_SUBCUBETA = 3;
+    private static final int SUBCUBETAS = 1 << BITS_SUBCUBETA;
+    private static final int CUBETAS = 64 * SUBCUBETAS;
+
+    private final AtomicLongArray cubetas = new AtomicLongArray(CUBETAS);
+    private final LongAdder suma = new LongAdder();
+    private final LongAccumulator maximo = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Registra una latencia
+     * @param nanos Duración en nanosegundos (los negativos se cuentan como 0)
+     */
+    public void registrar(long nanos) {
+        long valor = Math.max(0, nanos);
+        cubetas.incrementAndGet(indice(valor));
+        suma.add(valor);
+        maximo.accumulate(valor);
+    }
+
+    static int indice(long valor) {
+        if (valor < SUBCUBETAS) {
+            return (int) valor;
+        }
+        int exponente = 63 - Long.numberOfLeadingZeros(valor);
+        int mantisa = (int) (valor >>> (exponente - BITS_SUBCUBETA)) & (SUBCUBETAS - 1);
+        return (exponente - BITS_SUBCUBETA + 1) * SUBCUBETAS + mantisa;
+    }
+
+    static long limiteInferior(int indice) {
+        if (indice < SUBCUBETAS) {
+            return indice;
+        }
+        int exponente = indice / SUBCUBETAS + BITS_SUBCUBETA - 1;
+        long mantisa = SUBCUBETAS + indice % SUBCUBETAS;
+        return mantisa << (exponente - BITS_SUBCUBETA);
+    }
+
+    /**
+     * Percentil aproximado (límite superior de la cubeta, acotado por el máximo observado)
+     * @param cuantil Valor entre 0 y 1, por ejemplo 0.99
+     * @return Latencia en nanosegundos, o 0 si no hay registros
+     */
+    public long percentil(double cuantil) {
+        long[] copia = new long[CUBETAS];
+        long total = 0;
+        for (int i = 0; i < CUBETAS; i++) {
+            copia[i] = cubetas.get(i);
+            total += copia[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long posicion = Math.max(1, (long) Math.ceil(cuantil * total));
+        long acumulado = 0;
+        for (int i = 0; i < CUBETAS; i++) {
+            acumulado += copia[i];
+            if (acumulado >= posicion) {
+                long superior = i + 1 < CUBETAS ? limiteInferior(i + 1) - 1 : Long.MAX_VALUE;
+                return Math.min(superior, getMaximo());
+            }
+        }
+        return getMaximo();
+    }
+
+    public long getConteo() {
+        long total = 0;
+        for (int i = 0; i < CUBETAS; i++) {
+            total += cubetas.get(i);
+        }
+        return total;
+    }
+
+    public long getMaximo() {
+        return maximo.get();
+    }
+
+    /**
+     * @return Latencia promedio en nanosegundos
+     */
+    public double getPromedio() {
+        long conteo = getConteo();
+        return conteo == 0 ? 0.0 : (double) suma.sum() / conteo;
+    }
+
+    /**
+     * Vacía el histograma; los registros concurrentes con el reinicio pueden perderse
+     */
+    public void reiniciar() {
+        for (int i = 0; i < CUBETAS; i++) {
+            cubetas.set(i, 0);
+        }
+        suma.reset();
+        maximo.reset();
+    }
+}
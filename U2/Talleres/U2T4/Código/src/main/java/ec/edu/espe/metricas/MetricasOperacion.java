@@ -0,0 +1,117 @@
+package ec.edu.espe.metricas;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * MetricasOperacion - Latencias y contadores por resultado de una operación
+ * Los resultados posibles se fijan al crearla, así registrar uno es un acceso por
+ * índice a un LongAdder, sin búsquedas en mapas ni bloqueos
+ */
+public final class MetricasOperacion implements MetricasOperacionMXBean {
+    private final String operacion;
+    private final String[] nombresResultados;
+    private final LongAdder[] resultados;
+    private final HistogramaLatencia latencias = new HistogramaLatencia();
+    private volatile long inicioVentana = System.nanoTime();
+
+    /**
+     * @param operacion Nombre de la operación
+     * @param nombresResultados Resultados posibles; el índice de cada uno es el que se pasa a registrar
+     */
+    public MetricasOperacion(String operacion, String... nombresResultados) {
+        this.operacion = operacion;
+        this.nombresResultados = nombresResultados.clone();
+        this.resultados = new LongAdder[nombresResultados.length];
+        for (int i = 0; i < resultados.length; i++) {
+            resultados[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Registra una ejecución
+     * @param nanos Duración en nanosegundos
+     * @param resultado Índice del resultado en la lista dada al constructor
+     */
+    public void registrar(long nanos, int resultado) {
+        latencias.registrar(nanos);
+        resultados[resultado].increment();
+    }
+
+    /**
+     * Cuenta un resultado sin latencia (por ejemplo, un fallo de una regla dentro de la operación)
+     * @param resultado Índice del resultado
+     */
+    public void contar(int resultado) {
+        resultados[resultado].increment();
+    }
+
+    @Override
+    public String getOperacion() {
+        return operacion;
+    }
+
+    @Override
+    public long getConteo() {
+        return latencias.getConteo();
+    }
+
+    @Override
+    public double getOperacionesPorSegundo() {
+        double segundos = (System.nanoTime() - inicioVentana) / 1e9;
+        return segundos <= 0 ? 0.0 : getConteo() / segundos;
+    }
+
+    @Override
+    public double getPromedioNanos() {
+        return latencias.getPromedio();
+    }
+
+    @Override
+    public long getP50Nanos() {
+        return latencias.percentil(0.50);
+    }
+
+    @Override
+    public long getP99Nanos() {
+        return latencias.percentil(0.99);
+    }
+
+    @Override
+    public long getP999Nanos() {
+        return latencias.percentil(0.999);
+    }
+
+    @Override
+    public long getMaximoNanos() {
+        return latencias.getMaximo();
+    }
+
+    @Override
+    public Map<String, Long> getResultados() {
+        Map<String, Long> conteos = new LinkedHashMap<>();
+        for (int i = 0; i < resultados.length; i++) {
+            long conteo = resultados[i].sum();
+            if (conteo > 0) {
+                conteos.put(nombresResultados[i], conteo);
+            }
+        }
+        return conteos;
+    }
+
+    @Override
+    public void reiniciar() {
+        latencias.reiniciar();
+        for (LongAdder resultado : resultados) {
+            resultado.reset();
+        }
+        inicioVentana = System.nanoTime();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: n=%d p50=%dns p99=%dns p999=%dns max=%dns %s", operacion, getConteo(),
+                getP50Nanos(), getP99Nanos(), getP999Nanos(), getMaximoNanos(), getResultados());
+    }
+}
@@ -0,0 +1,36 @@
+package ec.edu.espe.metricas;
+
+import java.util.Map;
+
+/**
+ * MetricasOperacionMXBean - Vista JMX de las métricas de una operación
+ * Las latencias se expresan en nanosegundos
+ */
+public interface MetricasOperacionMXBean {
+
+    String getOperacion();
+
+    long getConteo();
+
+    double getOperacionesPorSegundo();
+
+    double getPromedioNanos();
+
+    long getP50Nanos();
+
+    long getP99Nanos();
+
+    long getP999Nanos();
+
+    long getMaximoNanos();
+
+    /**
+     * @return Cantidad de ejecuciones por resultado (sólo los resultados observados)
+     */
+    Map<String, Long> getResultados();
+
+    /**
+     * Reinicia latencias, contadores y la ventana de rendimiento
+     */
+    void reiniciar();
+}
@@ -0,0 +1,98 @@
+package ec.edu.espe.metricas;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * RegistroMetricas - Métricas de las operaciones de un componente
+ * Cada operación se publica como MXBean con el nombre
+ * {@code ec.edu.espe:type=<componente>,name=<operación>}, visible en JConsole o VisualVM
+ */
+public final class RegistroMetricas {
+    public static final String DOMINIO = "ec.edu.espe";
+
+    private final String componente;
+    private final List<MetricasOperacion> operaciones = new CopyOnWriteArrayList<>();
+
+    /**
+     * @param componente Nombre del componente (tipo en el ObjectName)
+     */
+    public RegistroMetricas(String componente) {
+        this.componente = componente;
+    }
+
+    /**
+     * Crea las métricas de una operación
+     * @param operacion Nombre de la operación
+     * @param resultados Resultados posibles de la operación
+     * @return Métricas listas para registrar ejecuciones
+     */
+    public MetricasOperacion crear(String operacion, String... resultados) {
+        MetricasOperacion metricas = new MetricasOperacion(operacion, resultados);
+        operaciones.add(metricas);
+        return metricas;
+    }
+
+    public List<MetricasOperacion> getOperaciones() {
+        return Collections.unmodifiableList(new ArrayList<>(operaciones));
+    }
+
+    /**
+     * Publica las métricas en el servidor de MBeans de la plataforma
+     * Si ya había MBeans con los mismos nombres (otra instancia del componente) se reemplazan
+     */
+    public void publicar() {
+        MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+        for (MetricasOperacion metricas : operaciones) {
+            try {
+                ObjectName nombre = nombre(metricas);
+                try {
+                    servidor.registerMBean(metricas, nombre);
+                } catch (InstanceAlreadyExistsException e) {
+                    servidor.unregisterMBean(nombre);
+                    servidor.registerMBean(metricas, nombre);
+                }
+            } catch (JMException e) {
+                throw new IllegalStateException("No se pudo publicar la métrica " + metricas.getOperacion(), e);
+            }
+        }
+    }
+
+    /**
+     * Retira las métricas del servidor de MBeans
+     */
+    public void retirar() {
+        MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+        for (MetricasOperacion metricas : operaciones) {
+            try {
+                ObjectName nombre = nombre(metricas);
+                if (servidor.isRegistered(nombre)) {
+                    servidor.unregisterMBean(nombre);
+                }
+            } catch (JMException e) {
+                // Ya no estaba publicada
+            }
+        }
+    }
+
+    private ObjectName nombre(MetricasOperacion metricas) throws JMException {
+        return new ObjectName(DOMINIO + ":type=" + ObjectName.quote(componente)
+                + ",name=" + ObjectName.quote(metricas.getOperacion()));
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder texto = new StringBuilder(componente);
+        for (MetricasOperacion metricas : operaciones) {
+            texto.append(System.lineSeparator()).append("  ").append(metricas);
+        }
+        return texto.toString();
+    }
+}
@@ -0,0 +1,338 @@
+package ec.edu.espe.presentacion;
+
+import ec.edu.espe.datos.model.EstudianteInmutable;
+import ec.edu.espe.datos.repository.consulta.Consulta;
+import ec.edu.espe.logica_negocio.busqueda.PaginaEstudiantes;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import javax.swing.table.AbstractTableModel;
+
+/**
+ * EstudiantePaginadoTableModel - Modelo de tabla que trae el listado ordenado por páginas
+ * Solo conserva las {@link #MAX_PAGINAS} páginas usadas más recientemente, así que la memoria
+ * no depende del tamaño del listado y la primera página se pinta sin esperar al resto.
+ * Cuando la tabla pide una fila de una página que no tiene, el modelo la solicita al
+ * {@link CargadorPaginas} (que la lee del servicio en segundo plano) y la fila se muestra como
+ * "Cargando…" hasta que llega; al pasar a otra página pide también las vecinas, para que el
+ * desplazamiento no tenga que esperar. Las solicitudes se atienden de a una, primero las de
+ * filas visibles, y las que esperan demasiado se descartan.
+ * Cuando el listado cambia, {@link #invalidar()} marca las páginas como viejas: se siguen
+ * pintando mientras llegan las nuevas, y toda respuesta pedida antes del cambio se ignora.
+ * Debe usarse únicamente desde el hilo de eventos de Swing
+ */
+public class EstudiantePaginadoTableModel extends AbstractTableModel implements FilasEstudiantes {
+    private static final long serialVersionUID = 1L;
+
+    /** Filas por página */
+    static final int TAMANO_PAGINA = 100;
+    /** Páginas que se conservan; se descartan las usadas menos recientemente */
+    static final int MAX_PAGINAS = 24;
+    /** Páginas siguientes que se piden por adelantado */
+    static final int PAGINAS_ADELANTE = 2;
+    /** Solicitudes en espera; con más se descartan las de menor prioridad */
+    static final int MAX_PENDIENTES = 8;
+
+    private static final String CARGANDO = "Cargando…";
+
+    /**
+     * Lee una página fuera del hilo de eventos y la entrega, ya en ese hilo, con
+     * {@link #recibirPagina} o {@link #descartar}
+     */
+    public interface CargadorPaginas {
+        void cargar(Solicitud solicitud);
+    }
+
+    /**
+     * Página pedida al cargador, con el orden y la generación en que se pidió
+     */
+    public static final class Solicitud {
+        private final int numero;
+        private final int generacion;
+        private final Consulta.Orden orden;
+        private final boolean ascendente;
+
+        private Solicitud(int numero, int generacion, Consulta.Orden orden, boolean ascendente) {
+            this.numero = numero;
+            this.generacion = generacion;
+            this.orden = orden;
+            this.ascendente = ascendente;
+        }
+
+        public int getDesde() {
+            return numero * TAMANO_PAGINA;
+        }
+
+        public int getCantidad() {
+            return TAMANO_PAGINA;
+        }
+
+        public Consulta.Orden getOrden() {
+            return orden;
+        }
+
+        public boolean isAscendente() {
+            return ascendente;
+        }
+    }
+
+    /**
+     * Página recibida y la generación del listado a la que corresponde
+     */
+    private static final class Pagina {
+        final List<EstudianteInmutable> estudiantes;
+        final int desde;
+        final int generacion;
+
+        Pagina(List<EstudianteInmutable> estudiantes, int desde, int generacion) {
+            this.estudiantes = estudiantes;
+            this.desde = desde;
+            this.generacion = generacion;
+        }
+
+        EstudianteInmutable get(int fila) {
+            int posicion = fila - desde;
+            return posicion < estudiantes.size() ? estudiantes.get(posicion) : null;
+        }
+    }
+
+    private final transient CargadorPaginas cargador;
+    private Consulta.Orden orden = Consulta.Orden.ID;
+    private boolean ascendente = true;
+    private int total;
+    /** Aumenta con cada cambio del listado o del orden; las páginas de otra generación son viejas */
+    private int generacion;
+
+    // LinkedHashMap en orden de acceso: la primera entrada es la menos usada recientemente
+    private final transient LinkedHashMap<Integer, Pagina> paginas = new LinkedHashMap<>(16, 0.75f, true);
+    /** Números de página por pedir, los más urgentes primero */
+    private final transient ArrayDeque<Integer> pendientes = new ArrayDeque<>();
+    private transient Solicitud enCurso;
+    private int ultimaPagina = -1;
+
+    /**
+     * @param cargador Lee las páginas en segundo plano
+     */
+    public EstudiantePaginadoTableModel(CargadorPaginas cargador) {
+        this.cargador = cargador;
+    }
+
+    /**
+     * Cambia el orden del listado; las páginas cargadas dejan de servir
+     * @param orden Campo de orden
+     * @param ascendente Sentido del orden
+     */
+    public void ordenar(Consulta.Orden orden, boolean ascendente) {
+        this.orden = orden;
+        this.ascendente = ascendente;
+        generacion++;
+        paginas.clear();
+        pendientes.clear();
+        ultimaPagina = -1;
+        fireTableDataChanged();
+        if (total == 0) {
+            // Sin filas nadie pinta: la primera página trae el total
+            pedir(0, true);
+        }
+    }
+
+    /**
+     * Marca las páginas como viejas después de un cambio en el listado; las visibles se
+     * vuelven a pedir al pintarse
+     */
+    public void invalidar() {
+        generacion++;
+        if (total == 0) {
+            pedir(0, true);
+        } else {
+            fireTableRowsUpdated(0, total - 1);
+        }
+    }
+
+    /**
+     * Entrega una página leída por el cargador
+     * @param solicitud Solicitud atendida
+     * @param pagina Página leída, con el total del listado
+     */
+    public void recibirPagina(Solicitud solicitud, PaginaEstudiantes pagina) {
+        terminar(solicitud);
+        if (solicitud.generacion == generacion) {
+            guardar(solicitud.numero, new Pagina(pagina.getEstudiantes(), pagina.getDesde(), generacion));
+            if (pagina.getTotal() != total) {
+                total = pagina.getTotal();
+                fireTableDataChanged();
+            } else if (pagina.getDesde() < total) {
+                fireTableRowsUpdated(pagina.getDesde(), Math.min(total, pagina.getDesde() + TAMANO_PAGINA) - 1);
+            }
+        }
+        despachar();
+    }
+
+    /**
+     * Da por atendida una solicitud que no se pudo leer; la página queda vacía hasta el
+     * próximo cambio del listado, en lugar de pedirse otra vez en cada repintado
+     * @param solicitud Solicitud fallida
+     */
+    public void descartar(Solicitud solicitud) {
+        terminar(solicitud);
+        if (solicitud.generacion == generacion) {
+            guardar(solicitud.numero, new Pagina(List.of(), solicitud.getDesde(), generacion));
+        }
+        despachar();
+    }
+
+    public Consulta.Orden getOrden() {
+        return orden;
+    }
+
+    public boolean isAscendente() {
+        return ascendente;
+    }
+
+    /**
+     * @param fila Fila del modelo
+     * @return Estudiante de esa fila, o null si su página todavía no llegó
+     */
+    @Override
+    public EstudianteInmutable getEstudiante(int fila) {
+        Pagina pagina = pagina(fila / TAMANO_PAGINA);
+        return pagina == null ? null : pagina.get(fila);
+    }
+
+    /**
+     * Busca solo en las páginas cargadas, primero en las vigentes
+     * @param id ID del estudiante
+     * @return Fila del modelo con ese ID, o -1 si no está en ninguna página cargada
+     */
+    @Override
+    public int buscarFila(String id) {
+        int vieja = -1;
+        for (Pagina pagina : paginas.values()) {
+            for (int i = 0; i < pagina.estudiantes.size(); i++) {
+                int fila = pagina.desde + i;
+                if (fila < total && pagina.estudiantes.get(i).id().equals(id)) {
+                    if (pagina.generacion == generacion) {
+                        return fila;
+                    }
+                    vieja = fila;
+                }
+            }
+        }
+        return vieja;
+    }
+
+    @Override
+    public int getRowCount() {
+        return total;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return EstudianteTableModel.COLUMNAS.length;
+    }
+
+    @Override
+    public String getColumnName(int columna) {
+        return EstudianteTableModel.COLUMNAS[columna];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int columna) {
+        return columna == EstudianteTableModel.COLUMNA_EDAD ? Integer.class : String.class;
+    }
+
+    @Override
+    public boolean isCellEditable(int fila, int columna) {
+        return false; // La tabla no es editable
+    }
+
+    @Override
+    public Object getValueAt(int fila, int columna) {
+        Pagina pagina = pagina(fila / TAMANO_PAGINA);
+        EstudianteInmutable estudiante = pagina == null ? null : pagina.get(fila);
+        if (estudiante == null) {
+            return pagina == null && columna == EstudianteTableModel.COLUMNA_NOMBRES ? CARGANDO : null;
+        }
+        switch (columna) {
+            case EstudianteTableModel.COLUMNA_ID:
+                return estudiante.id();
+            case EstudianteTableModel.COLUMNA_NOMBRES:
+                return estudiante.nombres();
+            default:
+                return estudiante.edad();
+        }
+    }
+
+    /**
+     * Página cargada (vigente o vieja), pidiéndola si falta o es vieja
+     * Al entrar a otra página se piden también las vecinas
+     */
+    private Pagina pagina(int numero) {
+        Pagina pagina = paginas.get(numero);
+        if (pagina == null || pagina.generacion != generacion) {
+            pedir(numero, true);
+        }
+        if (numero != ultimaPagina) {
+            ultimaPagina = numero;
+            for (int i = 1; i <= PAGINAS_ADELANTE; i++) {
+                pedir(numero + i, false);
+            }
+            pedir(numero - 1, false);
+        }
+        return pagina;
+    }
+
+    /**
+     * Encola una página si no está vigente ni pedida; las urgentes se atienden primero
+     */
+    private void pedir(int numero, boolean urgente) {
+        if (numero < 0 || (numero > 0 && (long) numero * TAMANO_PAGINA >= total)) {
+            return;
+        }
+        Pagina pagina = paginas.get(numero);
+        if (pagina != null && pagina.generacion == generacion) {
+            return;
+        }
+        if (enCurso != null && enCurso.numero == numero && enCurso.generacion == generacion) {
+            return;
+        }
+        if (pendientes.contains(numero)) {
+            if (!urgente) {
+                return;
+            }
+            pendientes.remove(numero);
+        }
+        if (urgente) {
+            pendientes.addFirst(numero);
+        } else {
+            pendientes.addLast(numero);
+        }
+        while (pendientes.size() > MAX_PENDIENTES) {
+            pendientes.removeLast();
+        }
+        despachar();
+    }
+
+    private void despachar() {
+        if (enCurso == null && !pendientes.isEmpty()) {
+            enCurso = new Solicitud(pendientes.pollFirst(), generacion, orden, ascendente);
+            cargador.cargar(enCurso);
+        }
+    }
+
+    private void terminar(Solicitud solicitud) {
+        if (enCurso == solicitud) {
+            enCurso = null;
+        }
+    }
+
+    private void guardar(int numero, Pagina pagina) {
+        paginas.put(numero, pagina);
+        Iterator<Integer> menosUsadas = paginas.keySet().iterator();
+        while (paginas.size() > MAX_PAGINAS) {
+            menosUsadas.next();
+            menosUsadas.remove();
+        }
+    }
+}
@@ -0,0 +1,406 @@
+package ec.edu.espe.presentacion;
+
+import ec.edu.espe.datos.model.EstudianteInmutable;
+import ec.edu.espe.datos.repository.consulta.Consulta;
+import ec.edu.espe.datos.repository.observer.CambioRepositorio;
+import ec.edu.espe.logica_negocio.busqueda.IndiceOrden;
+import ec.edu.espe.logica_negocio.busqueda.ListaOrdenada;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.swing.table.AbstractTableModel;
+
+/**
+ * EstudianteTableModel - Modelo de tabla sobre una instantánea del repositorio
+ * No copia los estudiantes a filas {@code Object[]}: guarda las referencias inmutables y lee
+ * cada celda por índice cuando la tabla la pide. JTable solo consulta las filas visibles,
+ * así que el costo de pintar no depende del tamaño del listado.
+ * Después de la carga inicial se mantiene al día con los {@link CambioRepositorio}: una edición
+ * actualiza una sola fila, las altas se agregan al final y las bajas quitan su fila, cada una
+ * con su evento {@code fireTableRows*} para que la tabla conserve selección y desplazamiento.
+ * Cada fila lleva un número de secuencia creciente, de modo que la fila de un ID se encuentra
+ * por búsqueda binaria aunque las bajas desplacen las posteriores. Las secuencias de una carga
+ * completa se calculan fuera del hilo de eventos en una {@link Instantanea}.
+ * La vista puede ordenarse por ID, nombres o edad de dos maneras: sobre el {@link IndiceOrden}
+ * del servicio, que ya está ordenado, leyendo solo la ventana de filas visible (para el listado
+ * completo), o con una {@link ListaOrdenada} propia (para los resultados de una búsqueda); en ambos
+ * casos las altas y bajas se insertan en su posición sin volver a ordenar.
+ * Debe usarse únicamente desde el hilo de eventos de Swing
+ */
+public class EstudianteTableModel extends AbstractTableModel implements FilasEstudiantes {
+    private static final long serialVersionUID = 1L;
+
+    static final int COLUMNA_ID = 0;
+    static final int COLUMNA_NOMBRES = 1;
+    static final int COLUMNA_EDAD = 2;
+
+    /** Con más cambios juntos conviene un solo aviso de recarga que uno por fila */
+    static final int UMBRAL_RECARGA = 512;
+    /** Filas que se leen juntas del índice de orden */
+    static final int TAMANO_VENTANA = 256;
+
+    static final String[] COLUMNAS = {"ID", "Nombres", "Edad"};
+
+    private ArrayList<EstudianteInmutable> filas = new ArrayList<>();
+    /** Secuencia de cada fila, en orden creciente */
+    private long[] secuencias = new long[16];
+    private transient Map<String, Long> secuenciaPorId = new HashMap<>();
+    private long siguienteSecuencia;
+
+    /** Primera fila agregada al final aún no anunciada, o -1 */
+    private int primeraAltaPendiente = -1;
+
+    // Orden de la vista; sin orden se muestran las filas en el orden del repositorio
+    private Consulta.Orden orden;
+    private boolean ascendente = true;
+    /** Filas propias ordenadas, o null */
+    private transient ListaOrdenada ordenLocal;
+    /** Índice ordenado del que se leen las filas, o null */
+    private transient IndiceOrden indice;
+    private int filasIndice;
+    private transient List<EstudianteInmutable> ventana = Collections.emptyList();
+    private int ventanaDesde;
+
+    /**
+     * Filas de una carga completa con sus secuencias y el mapa de ID a secuencia, armados
+     * fuera del hilo de eventos: en ese hilo solo queda reemplazar las referencias
+     */
+    public static final class Instantanea {
+        private final ArrayList<EstudianteInmutable> filas;
+        private final long[] secuencias;
+        private final Map<String, Long> secuenciaPorId;
+
+        /**
+         * @param estudiantes Estudiantes a mostrar, en el orden del repositorio (null = ninguno)
+         */
+        public Instantanea(List<EstudianteInmutable> estudiantes) {
+            int cantidad = estudiantes == null ? 0 : estudiantes.size();
+            filas = new ArrayList<>(cantidad);
+            secuencias = new long[Math.max(16, cantidad + (cantidad >> 1))];
+            secuenciaPorId = new HashMap<>(Math.max(16, (int) (cantidad / 0.75f) + 1));
+            if (estudiantes != null) {
+                for (EstudianteInmutable estudiante : estudiantes) {
+                    secuencias[filas.size()] = filas.size();
+                    secuenciaPorId.put(estudiante.id(), (long) filas.size());
+                    filas.add(estudiante);
+                }
+            }
+        }
+
+        public int size() {
+            return filas.size();
+        }
+    }
+
+    /**
+     * Reemplaza todo el contenido; arma la instantánea en el hilo que llama, así que conviene
+     * solo para pocas filas
+     * @param estudiantes Estudiantes a mostrar, en el orden del repositorio
+     */
+    public void setEstudiantes(List<EstudianteInmutable> estudiantes) {
+        setEstudiantes(new Instantanea(estudiantes));
+    }
+
+    /**
+     * Reemplaza todo el contenido por una instantánea ya armada
+     * La instantánea pasa a ser del modelo y no debe volver a usarse
+     * @param instantanea Filas preparadas en segundo plano
+     */
+    public void setEstudiantes(Instantanea instantanea) {
+        filas = instantanea.filas;
+        secuencias = instantanea.secuencias;
+        secuenciaPorId = instantanea.secuenciaPorId;
+        siguienteSecuencia = filas.size();
+        primeraAltaPendiente = -1;
+        if (ordenLocal != null) {
+            ordenLocal.cargar(filas);
+        }
+        fireTableDataChanged();
+    }
+
+    /**
+     * Ordena las filas propias (o vuelve al orden del repositorio si {@code orden} es null)
+     * Cuesta ordenar una vez las filas cargadas; conviene para pocas filas, como una búsqueda
+     * @param orden Campo de orden, o null
+     * @param ascendente Sentido del orden
+     */
+    public void ordenar(Consulta.Orden orden, boolean ascendente) {
+        this.indice = null;
+        this.ventana = Collections.emptyList();
+        this.orden = orden;
+        this.ascendente = ascendente;
+        if (orden == null) {
+            ordenLocal = null;
+        } else {
+            ordenLocal = new ListaOrdenada(orden);
+            ordenLocal.cargar(filas);
+        }
+        fireTableDataChanged();
+    }
+
+    /**
+     * Muestra el listado completo en el orden de un índice ya ordenado
+     * Solo se leen del índice las filas que se pintan, así que no cuesta más que una página
+     * Las filas propias se siguen manteniendo para volver a ellas sin recargar
+     * @param indice Índice de orden del servicio
+     * @param orden Campo de orden
+     * @param ascendente Sentido del orden
+     */
+    public void ordenarConIndice(IndiceOrden indice, Consulta.Orden orden, boolean ascendente) {
+        this.ordenLocal = null;
+        this.indice = indice;
+        this.orden = orden;
+        this.ascendente = ascendente;
+        refrescarIndice();
+    }
+
+    /**
+     * Vuelve a leer el tamaño del índice y descarta la ventana leída; debe llamarse después de
+     * que el índice aplica un cambio
+     */
+    public void refrescarIndice() {
+        if (indice != null) {
+            filasIndice = indice.contar();
+            ventana = Collections.emptyList();
+            fireTableDataChanged();
+        }
+    }
+
+    /**
+     * @return Campo de orden de la vista, o null si sigue el orden del repositorio
+     */
+    public Consulta.Orden getOrden() {
+        return orden;
+    }
+
+    public boolean isAscendente() {
+        return ascendente;
+    }
+
+    /**
+     * @return true si las filas se leen del índice de orden
+     */
+    public boolean isOrdenadoConIndice() {
+        return indice != null;
+    }
+
+    /**
+     * Aplica cambios del repositorio en orden
+     * Son idempotentes respecto de la instantánea: un alta de un ID ya presente se trata como
+     * edición y una baja o edición de un ID ausente no rompe el modelo, así que da igual si la
+     * instantánea se tomó antes o después de alguno de ellos
+     * @param cambios Cambios individuales (sin lotes anidados)
+     */
+    public void aplicarCambios(List<CambioRepositorio> cambios) {
+        if (indice != null) {
+            // La vista la actualiza refrescarIndice cuando el índice aplicó los mismos cambios
+            for (CambioRepositorio cambio : cambios) {
+                aplicar(cambio, false);
+            }
+            return;
+        }
+        if (ordenLocal != null) {
+            boolean avisar = cambios.size() <= UMBRAL_RECARGA;
+            for (CambioRepositorio cambio : cambios) {
+                aplicarOrdenado(cambio, avisar);
+            }
+            if (!avisar) {
+                fireTableDataChanged();
+            }
+            return;
+        }
+        if (cambios.size() > UMBRAL_RECARGA) {
+            for (CambioRepositorio cambio : cambios) {
+                aplicar(cambio, false);
+            }
+            fireTableDataChanged();
+            return;
+        }
+        for (CambioRepositorio cambio : cambios) {
+            aplicar(cambio, true);
+        }
+        anunciarAltas();
+    }
+
+    /**
+     * @param fila Fila del modelo
+     * @return Estudiante de esa fila, o null si el índice de orden ya no la tiene
+     */
+    @Override
+    public EstudianteInmutable getEstudiante(int fila) {
+        if (indice != null) {
+            return leerIndice(fila);
+        }
+        return ordenLocal != null ? ordenLocal.get(fila, ascendente) : filas.get(fila);
+    }
+
+    /**
+     * @param id ID del estudiante
+     * @return Fila del modelo con ese ID, o -1 si no está
+     */
+    @Override
+    public int buscarFila(String id) {
+        if (indice != null) {
+            int fila = indice.posicion(orden, ascendente, id);
+            return fila < filasIndice ? fila : -1;
+        }
+        int fila = buscarFilaPropia(id);
+        if (ordenLocal == null || fila < 0) {
+            return fila;
+        }
+        return ListaOrdenada.enSentido(ordenLocal.posicion(filas.get(fila)), ascendente, ordenLocal.size());
+    }
+
+    @Override
+    public int getRowCount() {
+        return indice != null ? filasIndice : filas.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNAS.length;
+    }
+
+    @Override
+    public String getColumnName(int columna) {
+        return COLUMNAS[columna];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int columna) {
+        return columna == COLUMNA_EDAD ? Integer.class : String.class;
+    }
+
+    @Override
+    public boolean isCellEditable(int fila, int columna) {
+        return false; // La tabla no es editable
+    }
+
+    @Override
+    public Object getValueAt(int fila, int columna) {
+        EstudianteInmutable estudiante = getEstudiante(fila);
+        if (estudiante == null) {
+            return null;
+        }
+        switch (columna) {
+            case COLUMNA_ID:
+                return estudiante.id();
+            case COLUMNA_NOMBRES:
+                return estudiante.nombres();
+            default:
+                return estudiante.edad();
+        }
+    }
+
+    /**
+     * Posición en las filas propias, en el orden del repositorio
+     */
+    private int buscarFilaPropia(String id) {
+        Long secuencia = secuenciaPorId.get(id);
+        return secuencia == null ? -1 : Arrays.binarySearch(secuencias, 0, filas.size(), secuencia);
+    }
+
+    /**
+     * Lee la fila de la ventana cargada del índice, o carga la ventana que la contiene
+     */
+    private EstudianteInmutable leerIndice(int fila) {
+        int posicion = fila - ventanaDesde;
+        if (posicion < 0 || posicion >= ventana.size()) {
+            // Algo de margen hacia arriba para desplazarse en ambos sentidos sin releer
+            ventanaDesde = Math.max(0, fila - TAMANO_VENTANA / 4);
+            ventana = indice.pagina(orden, ascendente, ventanaDesde, TAMANO_VENTANA);
+            posicion = fila - ventanaDesde;
+            if (posicion >= ventana.size()) {
+                return null;
+            }
+        }
+        return ventana.get(posicion);
+    }
+
+    /**
+     * Aplica un cambio a las filas propias y a su vista ordenada, avisando la fila que
+     * cambió en la vista (o la que salió y la que entró si el cambio la movió de lugar)
+     */
+    private void aplicarOrdenado(CambioRepositorio cambio, boolean avisar) {
+        int filaPropia = buscarFilaPropia(cambio.getId());
+        EstudianteInmutable previo = filaPropia >= 0 ? filas.get(filaPropia) : null;
+        aplicar(cambio, false);
+        EstudianteInmutable nuevo = cambio.getTipo() == CambioRepositorio.Tipo.ELIMINADO ? null : cambio.getActual();
+        int antes = -1;
+        if (previo != null) {
+            antes = ListaOrdenada.enSentido(ordenLocal.quitar(previo), ascendente, ordenLocal.size() + 1);
+        }
+        int despues = -1;
+        if (nuevo != null) {
+            despues = ListaOrdenada.enSentido(ordenLocal.agregar(nuevo), ascendente, ordenLocal.size());
+        }
+        if (!avisar) {
+            return;
+        }
+        if (antes >= 0 && antes == despues) {
+            fireTableRowsUpdated(antes, antes);
+            return;
+        }
+        if (antes >= 0) {
+            fireTableRowsDeleted(antes, antes);
+        }
+        if (despues >= 0) {
+            fireTableRowsInserted(despues, despues);
+        }
+    }
+
+    private void aplicar(CambioRepositorio cambio, boolean avisar) {
+        if (cambio.getTipo() == CambioRepositorio.Tipo.ELIMINADO) {
+            int fila = buscarFilaPropia(cambio.getId());
+            if (fila < 0) {
+                return;
+            }
+            if (avisar) {
+                anunciarAltas();
+            }
+            filas.remove(fila);
+            System.arraycopy(secuencias, fila + 1, secuencias, fila, filas.size() - fila);
+            secuenciaPorId.remove(cambio.getId());
+            if (avisar) {
+                fireTableRowsDeleted(fila, fila);
+            }
+            return;
+        }
+        EstudianteInmutable actual = cambio.getActual();
+        int fila = buscarFilaPropia(actual.id());
+        if (fila >= 0) {
+            filas.set(fila, actual);
+            if (avisar && (primeraAltaPendiente < 0 || fila < primeraAltaPendiente)) {
+                fireTableRowsUpdated(fila, fila);
+            }
+            return;
+        }
+        // Alta, o edición de un ID que la instantánea aún no tenía
+        if (filas.size() == secuencias.length) {
+            secuencias = Arrays.copyOf(secuencias, secuencias.length * 2);
+        }
+        if (primeraAltaPendiente < 0) {
+            primeraAltaPendiente = filas.size();
+        }
+        secuencias[filas.size()] = siguienteSecuencia;
+        secuenciaPorId.put(actual.id(), siguienteSecuencia++);
+        filas.add(actual);
+        if (!avisar) {
+            primeraAltaPendiente = -1;
+        }
+    }
+
+    /**
+     * Anuncia en un solo evento las filas agregadas al final desde el último aviso
+     */
+    private void anunciarAltas() {
+        if (primeraAltaPendiente >= 0) {
+            int primera = primeraAltaPendiente;
+            primeraAltaPendiente = -1;
+            fireTableRowsInserted(primera, filas.size() - 1);
+        }
+    }
+}
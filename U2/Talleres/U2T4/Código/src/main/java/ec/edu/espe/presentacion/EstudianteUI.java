@@ -1,21 +1,61 @@
 package ec.edu.espe.presentacion;
 
-import ec.edu.espe.datos.model.Estudiante;
-import ec.edu.espe.datos.repository.EstudianteRepository;
+import ec.edu.espe.datos.model.EstudianteInmutable;
+import ec.edu.espe.datos.repository.consulta.Consulta;
+import ec.edu.espe.datos.repository.observer.CambioRepositorio;
 import ec.edu.espe.datos.repository.observer.RepositoryObserver;
 import ec.edu.espe.logica_negocio.EstudianteService;
+import ec.edu.espe.logica_negocio.busqueda.IndiceBusqueda;
+import ec.edu.espe.logica_negocio.busqueda.IndiceOrden;
+import ec.edu.espe.logica_negocio.busqueda.PaginaEstudiantes;
+import ec.edu.espe.logica_negocio.resultado.ResultadoOperacion;
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.table.TableColumn;
+import javax.swing.table.TableModel;
 import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 /**
  * EstudianteUI - Capa de Presentación (Vista y Controlador)
  * Interfaz gráfica para la gestión de estudiantes
  * Implementa el patrón Observer para actualizaciones automáticas
+ * Los cambios del repositorio se encolan y se aplican fila por fila en el hilo de eventos;
+ * una ráfaga de cambios se procesa en una sola pasada, con un solo repintado
+ * Las llamadas al servicio nunca se hacen en el hilo de eventos: cada una corre en un
+ * SwingWorker sobre un único hilo de fondo, en orden de llegada, y su resultado vuelve
+ * al hilo de eventos; mientras tanto la barra de estado muestra la operación en curso
+ * El campo de búsqueda filtra la tabla con el índice de prefijos del servicio: espera una
+ * pausa breve en la escritura y cancela la búsqueda anterior si llega otra tecla
+ * Un clic en el encabezado ordena por esa columna (ascendente, descendente, sin orden): el
+ * listado completo se lee del índice de orden del servicio y una búsqueda se ordena en el modelo
+ * En modo paginado la tabla no recibe nunca el listado completo: pide al servicio solo las
+ * páginas que se ven (y las siguientes) y conserva unas pocas, para listados muy grandes
  */
 public class EstudianteUI extends JFrame implements RepositoryObserver {
-    private EstudianteService service;
+    private static final long serialVersionUID = 1L;
+
+    /** Pausa en la escritura tras la cual se lanza la búsqueda */
+    static final int ESPERA_BUSQUEDA_MS = 150;
+    /** Resultados máximos de una búsqueda */
+    static final int LIMITE_BUSQUEDA = 1_000;
+    
+    private transient EstudianteService service;
+    /** Si la tabla lee el listado por páginas en lugar de una instantánea completa */
+    private final boolean paginada;
     
     // Componentes del formulario
     private JTextField txtId;
@@ -28,31 +68,159 @@ public class EstudianteUI extends JFrame implements RepositoryObserver {
     private JButton btnEliminar;
     private JButton btnNuevo;
     
+    // Barra de estado de las operaciones en segundo plano
+    private JLabel lblEstado;
+    private JProgressBar barraProgreso;
+    
+    // Búsqueda mientras se escribe
+    private JTextField txtBuscar;
+    private JLabel lblResultados;
+    private Timer temporizadorBusqueda;
+    private transient SwingWorker<EstudianteTableModel.Instantanea, Void> busquedaEnCurso;
+    /** Términos del filtro que muestra la tabla, o null si muestra a todos */
+    private transient List<String> filtro;
+    private final transient ExecutorService ejecutorBusqueda = Executors.newSingleThreadExecutor(tarea -> {
+        Thread hilo = new Thread(tarea, "ui-busqueda");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+    
+    // Orden elegido con el encabezado de la tabla
+    private static final Consulta.Orden[] ORDEN_POR_COLUMNA = {
+        Consulta.Orden.ID, Consulta.Orden.NOMBRES, Consulta.Orden.EDAD
+    };
+    private Consulta.Orden ordenTabla;
+    private boolean ascendenteTabla = true;
+    /** Índice de orden del servicio, una vez conectado */
+    private transient IndiceOrden indiceOrden;
+    private boolean preparandoOrden;
+    private final AtomicBoolean refrescoIndiceProgramado = new AtomicBoolean();
+    
     // Tabla para mostrar estudiantes
     private JTable tableEstudiantes;
-    private DefaultTableModel tableModel;
+    private EstudianteTableModel tableModel;
+    /** Modelo por páginas del listado completo, o null si la tabla no es paginada */
+    private EstudiantePaginadoTableModel modeloPaginado;
+    private final transient ExecutorService ejecutorPaginas = Executors.newSingleThreadExecutor(tarea -> {
+        Thread hilo = new Thread(tarea, "ui-paginas");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+    /** ID del estudiante cargado en el formulario, o null */
+    private String idCargado;
+    
+    // Cambios recibidos del repositorio pendientes de aplicar en el hilo de eventos
+    private final ConcurrentLinkedQueue<CambioRepositorio> cambiosPendientes = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean aplicacionProgramada = new AtomicBoolean();
+    private volatile boolean recargaPendiente;
+    
+    // Un solo hilo para el servicio: las operaciones que se afectan entre sí no se cruzan
+    private final transient ExecutorService ejecutor = Executors.newSingleThreadExecutor(tarea -> {
+        Thread hilo = new Thread(tarea, "ui-servicio");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+    private int operacionesEnCurso;
+    private String operacionActual;
+    private int cargasEnCurso;
+    /** Cambios aplicados mientras se lee una instantánea, para repetirlos sobre ella; null sin cargas */
+    private transient List<CambioRepositorio> cambiosDuranteCarga;
     
     /**
-     * Constructor que inicializa la interfaz
+     * Constructor que inicializa la interfaz con el repositorio en memoria
      */
     public EstudianteUI() {
-        this.service = new EstudianteService();
-        
-        // Registrar esta UI como observador del repositorio
-        EstudianteRepository.getInstance().addObserver(this);
+        this(new EstudianteService());
+    }
+    
+    /**
+     * Constructor que inicializa la interfaz con un servicio ya configurado
+     * @param service Servicio de estudiantes a utilizar
+     */
+    public EstudianteUI(EstudianteService service) {
+        this(service, false);
+    }
+    
+    /**
+     * Constructor que permite elegir la tabla paginada para listados muy grandes
+     * @param service Servicio de estudiantes a utilizar
+     * @param paginada true para leer el listado por páginas a medida que se desplaza la tabla
+     */
+    public EstudianteUI(EstudianteService service, boolean paginada) {
+        this.service = service;
+        this.paginada = paginada;
         
         initComponents();
-        actualizarTabla();
+        
+        if (paginada) {
+            // Sin instantánea: las páginas se leen del índice de orden, que avisa sus cambios;
+            // la UI observa el repositorio solo para mantener al día los resultados de una búsqueda
+            service.getRepository().addObserver(this);
+            aplicarModoOrden();
+        } else {
+            // Registrar esta UI como observador del repositorio junto con la carga inicial,
+            // sin que ningún cambio quede entre ambas
+            cargarTabla(() -> service.getRepository().listarYObservar(this), null);
+        }
     }
     
     /**
      * Implementación del patrón Observer
-     * Este método es llamado automáticamente cuando cambian los datos en el repositorio
+     * Sin detalle del cambio se recarga la tabla completa
      */
     @Override
     public void onDataChanged() {
-        // Actualizar la tabla automáticamente cuando hay cambios
-        SwingUtilities.invokeLater(() -> actualizarTabla());
+        recargaPendiente = true;
+        programarAplicacion();
+    }
+    
+    /**
+     * Encola el cambio; se aplica en el hilo de eventos junto con los que lleguen antes
+     * de que ese hilo lo atienda
+     * @param cambio Detalle del cambio
+     */
+    @Override
+    public void onDataChanged(CambioRepositorio cambio) {
+        cambiosPendientes.add(cambio);
+        programarAplicacion();
+    }
+    
+    private void programarAplicacion() {
+        if (aplicacionProgramada.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(this::aplicarCambiosPendientes);
+        }
+    }
+    
+    /**
+     * Aplica en el modelo todos los cambios encolados
+     * Con pocos cambios el modelo avisa fila por fila y la tabla ajusta la selección sola;
+     * con muchos avisa una recarga y la selección se restablece por ID
+     */
+    private void aplicarCambiosPendientes() {
+        aplicacionProgramada.set(false);
+        List<CambioRepositorio> cambios = new ArrayList<>();
+        CambioRepositorio cambio;
+        while ((cambio = cambiosPendientes.poll()) != null) {
+            cambios.addAll(cambio.getCambios());
+        }
+        if (!cambios.isEmpty()) {
+            if (cambiosDuranteCarga != null) {
+                cambiosDuranteCarga.addAll(cambios);
+            }
+            // Paginada y sin búsqueda, la tabla se relee del índice de orden cuando este avisa
+            if (!paginada || filtro != null) {
+                String idSeleccionado = getIdSeleccionado();
+                tableModel.aplicarCambios(filtrar(cambios));
+                restaurarSeleccion(idSeleccionado);
+            } else if (indiceOrden == null) {
+                // El índice todavía no existe para avisar: las páginas se leyeron del repositorio
+                modeloPaginado.invalidar();
+            }
+        }
+        if (recargaPendiente) {
+            recargaPendiente = false;
+            actualizarTabla();
+        }
     }
     
     /**
@@ -73,9 +241,11 @@ public class EstudianteUI extends JFrame implements RepositoryObserver {
         JPanel panelTabla = crearPanelTabla();
         add(panelTabla, BorderLayout.CENTER);
         
-        // Panel inferior con los botones
-        JPanel panelBotones = crearPanelBotones();
-        add(panelBotones, BorderLayout.SOUTH);
+        // Panel inferior con los botones y el estado
+        JPanel panelInferior = new JPanel(new BorderLayout());
+        panelInferior.add(crearPanelBotones(), BorderLayout.CENTER);
+        panelInferior.add(crearPanelEstado(), BorderLayout.SOUTH);
+        add(panelInferior, BorderLayout.SOUTH);
     }
     
     /**
@@ -126,19 +296,29 @@ public class EstudianteUI extends JFrame implements RepositoryObserver {
         JPanel panel = new JPanel(new BorderLayout());
         panel.setBorder(BorderFactory.createTitledBorder("Lista de Estudiantes"));
         
-        // Crear modelo de tabla
-        String[] columnas = {"ID", "Nombres", "Edad"};
-        tableModel = new DefaultTableModel(columnas, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false; // Hacer la tabla no editable
-            }
-        };
+        // Crear modelo de tabla: lee las celdas de la instantánea del repositorio bajo demanda
+        tableModel = new EstudianteTableModel();
+        
+        // Paginada, el listado completo se pide por páginas y tableModel queda para las búsquedas
+        if (paginada) {
+            modeloPaginado = new EstudiantePaginadoTableModel(this::cargarPagina);
+        }
         
         // Crear tabla
-        tableEstudiantes = new JTable(tableModel);
+        tableEstudiantes = new JTable(paginada ? modeloPaginado : tableModel);
         tableEstudiantes.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
         
+        // Ordenar al hacer clic en el encabezado
+        tableEstudiantes.getTableHeader().addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int columna = tableEstudiantes.columnAtPoint(e.getPoint());
+                if (columna >= 0) {
+                    alternarOrden(ORDEN_POR_COLUMNA[tableEstudiantes.convertColumnIndexToModel(columna)]);
+                }
+            }
+        });
+        
         // Agregar listener para selección de filas
         tableEstudiantes.getSelectionModel().addListSelectionListener(e -> {
             if (!e.getValueIsAdjusting()) {
@@ -148,6 +328,44 @@ public class EstudianteUI extends JFrame implements RepositoryObserver {
         
         JScrollPane scrollPane = new JScrollPane(tableEstudiantes);
         panel.add(scrollPane, BorderLayout.CENTER);
+        panel.add(crearPanelBusqueda(), BorderLayout.NORTH);
+        
+        return panel;
+    }
+    
+    /**
+     * Crea el campo de búsqueda sobre la tabla
+     */
+    private JPanel crearPanelBusqueda() {
+        JPanel panel = new JPanel(new FlowLayout(FlowLayout.LEFT, 5, 5));
+        panel.add(new JLabel("Buscar:"));
+        
+        txtBuscar = new JTextField(25);
+        txtBuscar.setToolTipText("Inicio del ID o de cualquier palabra de los nombres");
+        panel.add(txtBuscar);
+        
+        lblResultados = new JLabel();
+        panel.add(lblResultados);
+        
+        // Cada tecla cancela la búsqueda en curso y reinicia la espera
+        temporizadorBusqueda = new Timer(ESPERA_BUSQUEDA_MS, e -> buscar());
+        temporizadorBusqueda.setRepeats(false);
+        txtBuscar.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                programarBusqueda();
+            }
+            
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                programarBusqueda();
+            }
+            
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                programarBusqueda();
+            }
+        });
         
         return panel;
     }
@@ -181,6 +399,24 @@ public class EstudianteUI extends JFrame implements RepositoryObserver {
         return panel;
     }
     
+    /**
+     * Crea la barra de estado con la operación en curso
+     */
+    private JPanel crearPanelEstado() {
+        JPanel panel = new JPanel(new BorderLayout(10, 0));
+        panel.setBorder(BorderFactory.createEmptyBorder(0, 10, 5, 10));
+        
+        lblEstado = new JLabel("Listo");
+        panel.add(lblEstado, BorderLayout.CENTER);
+        
+        barraProgreso = new JProgressBar();
+        barraProgreso.setIndeterminate(true);
+        barraProgreso.setVisible(false);
+        panel.add(barraProgreso, BorderLayout.EAST);
+        
+        return panel;
+    }
+    
     /**
      * Guarda un nuevo estudiante
      */
@@ -192,19 +428,10 @@ public class EstudianteUI extends JFrame implements RepositoryObserver {
             int edad = Integer.parseInt(txtEdad.getText().trim());
             
             // Crear estudiante
-            Estudiante estudiante = new Estudiante(id, nombres, edad);
-            
-            // Llamar al servicio
-            String resultado = service.agregarEstudiante(estudiante);
+            EstudianteInmutable estudiante = new EstudianteInmutable(id, nombres, edad);
             
-            // Mostrar resultado
-            if (resultado.contains("exitosamente")) {
-                JOptionPane.showMessageDialog(this, resultado, "Éxito", JOptionPane.INFORMATION_MESSAGE);
-                limpiarFormulario();
-                // La tabla se actualiza automáticamente vía Observer
-            } else {
-                JOptionPane.showMessageDialog(this, resultado, "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            // Llamar al servicio en segundo plano y mostrar el resultado
+            ejecutar("Guardando estudiante " + id, () -> service.agregar(estudiante), this::mostrarResultado);
         } catch (NumberFormatException ex) {
             JOptionPane.showMessageDialog(this, "Error: La edad debe ser un número válido", "Error", JOptionPane.ERROR_MESSAGE);
         }
@@ -221,19 +448,10 @@ public class EstudianteUI extends JFrame implements RepositoryObserver {
             int edad = Integer.parseInt(txtEdad.getText().trim());
             
             // Crear estudiante
-            Estudiante estudiante = new Estudiante(id, nombres, edad);
-            
-            // Llamar al servicio
-            String resultado = service.editarEstudiante(estudiante);
+            EstudianteInmutable estudiante = new EstudianteInmutable(id, nombres, edad);
             
-            // Mostrar resultado
-            if (resultado.contains("exitosamente")) {
-                JOptionPane.showMessageDialog(this, resultado, "Éxito", JOptionPane.INFORMATION_MESSAGE);
-                limpiarFormulario();
-                // La tabla se actualiza automáticamente vía Observer
-            } else {
-                JOptionPane.showMessageDialog(this, resultado, "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            // Llamar al servicio en segundo plano y mostrar el resultado
+            ejecutar("Editando estudiante " + id, () -> service.editar(estudiante), this::mostrarResultado);
         } catch (NumberFormatException ex) {
             JOptionPane.showMessageDialog(this, "Error: La edad debe ser un número válido", "Error", JOptionPane.ERROR_MESSAGE);
         }
@@ -257,36 +475,438 @@ public class EstudianteUI extends JFrame implements RepositoryObserver {
                 JOptionPane.YES_NO_OPTION);
         
         if (confirmacion == JOptionPane.YES_OPTION) {
-            String resultado = service.eliminarEstudiante(id);
+            ejecutar("Eliminando estudiante " + id, () -> service.eliminar(id), this::mostrarResultado);
+        }
+    }
+    
+    /**
+     * Muestra el resultado de una operación del formulario
+     */
+    private void mostrarResultado(ResultadoOperacion resultado) {
+        if (resultado.esExitoso()) {
+            // Mismo idioma que los mensajes de texto del servicio, sin depender del Locale del sistema
+            JOptionPane.showMessageDialog(this, resultado.getMensaje(Locale.ROOT), "Éxito",
+                    JOptionPane.INFORMATION_MESSAGE);
+            limpiarFormulario();
+            // La tabla se actualiza automáticamente vía Observer
+        } else {
+            JOptionPane.showMessageDialog(this, resultado.getMensaje(Locale.ROOT), "Error", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+    
+    private void mostrarError(Throwable error) {
+        JOptionPane.showMessageDialog(this, "Error: " + error.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+    }
+    
+    /**
+     * Ejecuta una llamada al servicio fuera del hilo de eventos
+     * @param descripcion Texto de la barra de estado mientras corre
+     * @param operacion Llamada al servicio (hilo de fondo)
+     * @param alTerminar Recibe el resultado en el hilo de eventos
+     */
+    private <T> void ejecutar(String descripcion, Callable<T> operacion, Consumer<T> alTerminar) {
+        ejecutar(descripcion, operacion, alTerminar, this::mostrarError);
+    }
+    
+    private <T> void ejecutar(String descripcion, Callable<T> operacion, Consumer<T> alTerminar,
+                              Consumer<Throwable> alFallar) {
+        iniciarOperacion(descripcion);
+        // SwingWorker es un RunnableFuture: se entrega al hilo propio en lugar de usar execute()
+        ejecutor.execute(new SwingWorker<T, String>() {
+            @Override
+            protected T doInBackground() throws Exception {
+                publish(descripcion);
+                return operacion.call();
+            }
+            
+            @Override
+            protected void process(List<String> descripciones) {
+                // La operación dejó la cola y empezó a correr
+                operacionActual = descripciones.get(descripciones.size() - 1);
+                actualizarEstado();
+            }
             
-            if (resultado.contains("exitosamente")) {
-                JOptionPane.showMessageDialog(this, resultado, "Éxito", JOptionPane.INFORMATION_MESSAGE);
-                limpiarFormulario();
-                // La tabla se actualiza automáticamente vía Observer
-            } else {
-                JOptionPane.showMessageDialog(this, resultado, "Error", JOptionPane.ERROR_MESSAGE);
+            @Override
+            protected void done() {
+                terminarOperacion();
+                try {
+                    alTerminar.accept(get());
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException ex) {
+                    alFallar.accept(ex.getCause());
+                }
             }
+        });
+    }
+    
+    private void iniciarOperacion(String descripcion) {
+        if (operacionesEnCurso++ == 0) {
+            operacionActual = descripcion;
         }
+        actualizarEstado();
+    }
+    
+    private void terminarOperacion() {
+        operacionesEnCurso--;
+        actualizarEstado();
+    }
+    
+    /**
+     * Refleja en la barra de estado, el cursor y los botones si hay operaciones pendientes
+     */
+    private void actualizarEstado() {
+        boolean ocupado = operacionesEnCurso > 0;
+        if (ocupado) {
+            String enCola = operacionesEnCurso > 1 ? " (" + (operacionesEnCurso - 1) + " en cola)" : "";
+            lblEstado.setText(operacionActual + "…" + enCola);
+        } else {
+            lblEstado.setText("Listo");
+        }
+        barraProgreso.setVisible(ocupado);
+        setCursor(Cursor.getPredefinedCursor(ocupado ? Cursor.WAIT_CURSOR : Cursor.DEFAULT_CURSOR));
+        // Evita enviar dos veces el mismo formulario mientras el anterior no termina
+        btnGuardar.setEnabled(!ocupado);
+        btnEditar.setEnabled(!ocupado);
+        btnEliminar.setEnabled(!ocupado);
     }
     
     /**
      * Actualiza la tabla con los datos del servicio
+     * El modelo guarda las referencias; las celdas se leen solo al pintarse
      */
     private void actualizarTabla() {
-        // Limpiar tabla
-        tableModel.setRowCount(0);
-        
-        // Obtener estudiantes del servicio
-        List<Estudiante> estudiantes = service.listarEstudiantes();
-        
-        // Agregar estudiantes a la tabla
-        for (Estudiante estudiante : estudiantes) {
-            Object[] fila = {
-                estudiante.getId(),
-                estudiante.getNombres(),
-                estudiante.getEdad()
-            };
-            tableModel.addRow(fila);
+        if (filtro != null) {
+            buscar();
+        } else if (paginada) {
+            modeloPaginado.invalidar();
+        } else {
+            cargarTabla(service::listarEstudiantes, null);
+        }
+    }
+    
+    /**
+     * Lee y arma una instantánea en segundo plano y la muestra
+     * Los cambios que lleguen mientras tanto se aplican de inmediato y se repiten sobre la
+     * instantánea al recibirla (aplicarlos es idempotente), así no se pierde ninguno
+     * @param filtroNuevo Términos de búsqueda que cumple la instantánea, o null si es completa
+     */
+    private void cargarTabla(Callable<List<EstudianteInmutable>> lectura, List<String> filtroNuevo) {
+        iniciarCarga();
+        // El mapa de IDs de la instantánea se arma también en segundo plano, no en el hilo de eventos
+        Callable<EstudianteTableModel.Instantanea> carga = () -> new EstudianteTableModel.Instantanea(lectura.call());
+        ejecutar("Cargando estudiantes", carga, estudiantes -> {
+            mostrarInstantanea(estudiantes, filtroNuevo);
+            terminarCarga();
+        }, error -> {
+            terminarCarga();
+            mostrarError(error);
+        });
+    }
+    
+    private void mostrarInstantanea(EstudianteTableModel.Instantanea estudiantes, List<String> filtroNuevo) {
+        String idSeleccionado = getIdSeleccionado();
+        filtro = filtroNuevo;
+        usarModelo(tableModel);
+        tableModel.setEstudiantes(estudiantes);
+        aplicarModoOrden();
+        tableModel.aplicarCambios(filtrar(cambiosDuranteCarga));
+        restaurarSeleccion(idSeleccionado);
+        if (filtro == null) {
+            lblResultados.setText("");
+        } else if (estudiantes.size() >= LIMITE_BUSQUEDA) {
+            lblResultados.setText("Primeros " + LIMITE_BUSQUEDA + " resultados");
+        } else {
+            lblResultados.setText(estudiantes.size() + " resultado(s)");
+        }
+    }
+    
+    /**
+     * Con una búsqueda activa, convierte los cambios a lo que la tabla filtrada debe mostrar:
+     * quien deja de cumplir el filtro sale de la tabla y quien empieza a cumplirlo entra
+     */
+    private List<CambioRepositorio> filtrar(List<CambioRepositorio> cambios) {
+        if (filtro == null) {
+            return cambios;
+        }
+        List<CambioRepositorio> visibles = new ArrayList<>(cambios.size());
+        for (CambioRepositorio cambio : cambios) {
+            if (IndiceBusqueda.coincide(filtro, cambio.getActual())) {
+                visibles.add(cambio);
+            } else if (cambio.getAnterior() != null) {
+                visibles.add(CambioRepositorio.eliminado(cambio.getAnterior()));
+            }
+        }
+        return visibles;
+    }
+    
+    /**
+     * Ciclo de cada columna: ascendente, descendente, sin orden
+     */
+    private void alternarOrden(Consulta.Orden orden) {
+        if (orden != ordenTabla) {
+            ordenTabla = orden;
+            ascendenteTabla = true;
+        } else if (ascendenteTabla) {
+            ascendenteTabla = false;
+        } else {
+            ordenTabla = null;
+            ascendenteTabla = true;
+        }
+        actualizarEncabezados();
+        String idSeleccionado = getIdSeleccionado();
+        aplicarModoOrden();
+        restaurarSeleccion(idSeleccionado);
+    }
+    
+    /**
+     * Elige de dónde sale el orden: el listado completo se lee del índice del servicio
+     * (preparando cada orden en segundo plano la primera vez) y los resultados de una búsqueda
+     * se ordenan en el modelo. Paginada y sin orden elegido, la tabla sigue el orden por ID.
+     * La primera vez la tabla paginada no espera al índice: el servicio selecciona las páginas
+     * del repositorio mientras se prepara. Después, un orden nuevo se muestra cuando está listo,
+     * como en la tabla completa, porque seleccionar cada página por nombres sin índice cuesta
+     * casi lo mismo que prepararlo
+     */
+    private void aplicarModoOrden() {
+        if (filtro != null || (ordenTabla == null && !paginada)) {
+            if (tableModel.isOrdenadoConIndice() || tableModel.getOrden() != ordenTabla
+                    || tableModel.isAscendente() != ascendenteTabla) {
+                tableModel.ordenar(ordenTabla, ascendenteTabla);
+            }
+            return;
+        }
+        Consulta.Orden orden = ordenTabla != null ? ordenTabla : Consulta.Orden.ID;
+        boolean preparado = indiceOrden != null && indiceOrden.isPreparado(orden);
+        if (!preparado) {
+            prepararOrden(orden);
+        }
+        if (paginada && (preparado || indiceOrden == null)) {
+            if (tableEstudiantes.getModel() != modeloPaginado) {
+                usarModelo(modeloPaginado);
+                // Los resultados de la búsqueda ya no se muestran
+                tableModel.setEstudiantes(Collections.emptyList());
+            }
+            if (modeloPaginado.getOrden() != orden || modeloPaginado.isAscendente() != ascendenteTabla
+                    || modeloPaginado.getRowCount() == 0) {
+                modeloPaginado.ordenar(orden, ascendenteTabla);
+            }
+        } else if (preparado) {
+            tableModel.ordenarConIndice(indiceOrden, orden, ascendenteTabla);
+        }
+    }
+    
+    /**
+     * Conecta el índice de orden y ordena por el campo en segundo plano; al terminar vuelve a
+     * elegir el modo de la tabla, que entretanto sigue mostrando lo anterior
+     */
+    private void prepararOrden(Consulta.Orden orden) {
+        if (preparandoOrden) {
+            return;
+        }
+        preparandoOrden = true;
+        String descripcion = indiceOrden == null && paginada ? "Preparando el listado" : "Preparando el orden";
+        ejecutar(descripcion, () -> {
+            IndiceOrden indice = service.getIndiceOrden();
+            indice.preparar(orden);
+            return indice;
+        }, indice -> {
+            preparandoOrden = false;
+            if (indiceOrden == null) {
+                indiceOrden = indice;
+                // El índice avisa después de aplicar cada cambio: recién entonces se relee la vista
+                indice.addObserver(this::programarRefrescoIndice);
+            }
+            if (modeloPaginado != null) {
+                // Las páginas servidas mientras se preparaba pueden no tener los últimos cambios
+                modeloPaginado.invalidar();
+            }
+            String idSeleccionado = getIdSeleccionado();
+            aplicarModoOrden();
+            restaurarSeleccion(idSeleccionado);
+        }, error -> {
+            preparandoOrden = false;
+            mostrarError(error);
+        });
+    }
+    
+    /**
+     * Lee una página para el modelo paginado en su propio hilo y sin ocupar la barra de estado:
+     * se piden al desplazarse la tabla y no deben esperar detrás de las escrituras
+     */
+    private void cargarPagina(EstudiantePaginadoTableModel.Solicitud solicitud) {
+        ejecutorPaginas.execute(new SwingWorker<PaginaEstudiantes, Void>() {
+            @Override
+            protected PaginaEstudiantes doInBackground() {
+                return service.listarPagina(solicitud.getOrden(), solicitud.isAscendente(),
+                        solicitud.getDesde(), solicitud.getCantidad());
+            }
+            
+            @Override
+            protected void done() {
+                String idSeleccionado = getIdSeleccionado();
+                try {
+                    modeloPaginado.recibirPagina(solicitud, get());
+                } catch (InterruptedException ex) {
+                    modeloPaginado.descartar(solicitud);
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException ex) {
+                    modeloPaginado.descartar(solicitud);
+                    mostrarError(ex.getCause());
+                }
+                restaurarSeleccion(idSeleccionado);
+            }
+        });
+    }
+    
+    /**
+     * Cambia el modelo que muestra la tabla (paginado o instantánea de una búsqueda)
+     */
+    private void usarModelo(TableModel modelo) {
+        if (tableEstudiantes.getModel() != modelo) {
+            tableEstudiantes.setModel(modelo);
+            // setModel vuelve a crear las columnas con los títulos sin marca de orden
+            actualizarEncabezados();
+        }
+    }
+    
+    private void programarRefrescoIndice() {
+        if (refrescoIndiceProgramado.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(() -> {
+                refrescoIndiceProgramado.set(false);
+                String idSeleccionado = getIdSeleccionado();
+                tableModel.refrescarIndice();
+                if (modeloPaginado != null) {
+                    modeloPaginado.invalidar();
+                }
+                restaurarSeleccion(idSeleccionado);
+            });
+        }
+    }
+    
+    /**
+     * Marca en el encabezado la columna y el sentido del orden
+     */
+    private void actualizarEncabezados() {
+        for (int i = 0; i < ORDEN_POR_COLUMNA.length; i++) {
+            int vista = tableEstudiantes.convertColumnIndexToView(i);
+            TableColumn columna = tableEstudiantes.getColumnModel().getColumn(vista);
+            String marca = ORDEN_POR_COLUMNA[i] != ordenTabla ? "" : ascendenteTabla ? " ▲" : " ▼";
+            columna.setHeaderValue(tableModel.getColumnName(i) + marca);
+        }
+        tableEstudiantes.getTableHeader().repaint();
+    }
+    
+    private void programarBusqueda() {
+        cancelarBusqueda();
+        temporizadorBusqueda.restart();
+    }
+    
+    private void cancelarBusqueda() {
+        if (busquedaEnCurso != null) {
+            // Sin interrumpir: la primera búsqueda conecta el índice recorriendo el repositorio, y
+            // cortar esa lectura la dejaría a medias; done() ya ignora el resultado de una cancelada
+            busquedaEnCurso.cancel(false);
+            busquedaEnCurso = null;
+        }
+    }
+    
+    /**
+     * Filtra la tabla con el texto del campo de búsqueda, consultando el índice en segundo plano
+     * Sin texto vuelve a mostrar a todos los estudiantes
+     */
+    private void buscar() {
+        cancelarBusqueda();
+        String texto = txtBuscar.getText();
+        List<String> terminos = IndiceBusqueda.terminos(texto);
+        if (terminos.isEmpty()) {
+            if (filtro != null && paginada) {
+                mostrarListadoPaginado();
+            } else if (filtro != null) {
+                cargarTabla(service::listarEstudiantes, null);
+            }
+            return;
+        }
+        iniciarCarga();
+        SwingWorker<EstudianteTableModel.Instantanea, Void> busqueda
+                = new SwingWorker<EstudianteTableModel.Instantanea, Void>() {
+            @Override
+            protected EstudianteTableModel.Instantanea doInBackground() {
+                return new EstudianteTableModel.Instantanea(service.buscarTexto(texto, LIMITE_BUSQUEDA));
+            }
+            
+            @Override
+            protected void done() {
+                try {
+                    // Una búsqueda cancelada ya fue reemplazada por otra: su resultado no se muestra
+                    if (!isCancelled()) {
+                        mostrarInstantanea(get(), terminos);
+                    }
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException ex) {
+                    mostrarError(ex.getCause());
+                } finally {
+                    terminarCarga();
+                }
+            }
+        };
+        busquedaEnCurso = busqueda;
+        ejecutorBusqueda.execute(busqueda);
+    }
+    
+    /**
+     * Vuelve de los resultados de una búsqueda al listado por páginas
+     */
+    private void mostrarListadoPaginado() {
+        String idSeleccionado = getIdSeleccionado();
+        filtro = null;
+        lblResultados.setText("");
+        aplicarModoOrden();
+        restaurarSeleccion(idSeleccionado);
+    }
+    
+    private void iniciarCarga() {
+        if (cargasEnCurso++ == 0) {
+            cambiosDuranteCarga = new ArrayList<>();
+        }
+    }
+    
+    private void terminarCarga() {
+        if (--cargasEnCurso == 0) {
+            cambiosDuranteCarga = null;
+        }
+    }
+    
+    /**
+     * Modelo que muestra la tabla en este momento
+     */
+    private FilasEstudiantes getFilas() {
+        return (FilasEstudiantes) tableEstudiantes.getModel();
+    }
+    
+    private String getIdSeleccionado() {
+        int fila = tableEstudiantes.getSelectedRow();
+        EstudianteInmutable estudiante = fila < 0 ? null
+                : getFilas().getEstudiante(tableEstudiantes.convertRowIndexToModel(fila));
+        return estudiante == null ? null : estudiante.id();
+    }
+    
+    /**
+     * Vuelve a seleccionar el estudiante si una recarga quitó la selección
+     * En el modelo paginado, si no está en las páginas cargadas se quita la selección para que
+     * no quede sobre otro estudiante que ocupó su fila
+     */
+    private void restaurarSeleccion(String id) {
+        if (id == null || id.equals(getIdSeleccionado())) {
+            return;
+        }
+        int fila = getFilas().buscarFila(id);
+        if (fila >= 0) {
+            int vista = tableEstudiantes.convertRowIndexToView(fila);
+            tableEstudiantes.setRowSelectionInterval(vista, vista);
+        } else if (tableEstudiantes.getModel() == modeloPaginado) {
+            tableEstudiantes.clearSelection();
         }
     }
     
@@ -297,9 +917,16 @@ public class EstudianteUI extends JFrame implements RepositoryObserver {
         int filaSeleccionada = tableEstudiantes.getSelectedRow();
         
         if (filaSeleccionada >= 0) {
-            txtId.setText(tableModel.getValueAt(filaSeleccionada, 0).toString());
-            txtNombres.setText(tableModel.getValueAt(filaSeleccionada, 1).toString());
-            txtEdad.setText(tableModel.getValueAt(filaSeleccionada, 2).toString());
+            EstudianteInmutable estudiante = getFilas().getEstudiante(
+                    tableEstudiantes.convertRowIndexToModel(filaSeleccionada));
+            if (estudiante == null || estudiante.id().equals(idCargado)) {
+                // La selección solo se desplazó por cambios en otras filas: no pisar lo que se está editando
+                return;
+            }
+            idCargado = estudiante.id();
+            txtId.setText(estudiante.id());
+            txtNombres.setText(estudiante.nombres());
+            txtEdad.setText(String.valueOf(estudiante.edad()));
             
             // Deshabilitar el campo ID al cargar un estudiante
             txtId.setEnabled(false);
@@ -314,6 +941,7 @@ public class EstudianteUI extends JFrame implements RepositoryObserver {
         txtNombres.setText("");
         txtEdad.setText("");
         txtId.setEnabled(true);
+        idCargado = null;
         tableEstudiantes.clearSelection();
     }
 }
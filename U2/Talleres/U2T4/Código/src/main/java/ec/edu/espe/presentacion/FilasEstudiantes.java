@@ -0,0 +1,21 @@
+package ec.edu.espe.presentacion;
+
+import ec.edu.espe.datos.model.EstudianteInmutable;
+
+/**
+ * FilasEstudiantes - Acceso por fila común a los modelos de la tabla de estudiantes
+ * Permite a la interfaz leer y conservar la selección sin saber qué modelo está mostrando
+ */
+interface FilasEstudiantes {
+    /**
+     * @param fila Fila del modelo
+     * @return Estudiante de esa fila, o null si todavía no está disponible
+     */
+    EstudianteInmutable getEstudiante(int fila);
+
+    /**
+     * @param id ID del estudiante
+     * @return Fila del modelo con ese ID, o -1 si no está (o no se conoce)
+     */
+    int buscarFila(String id);
+}
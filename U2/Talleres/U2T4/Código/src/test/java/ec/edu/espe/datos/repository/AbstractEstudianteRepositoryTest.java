@@ -0,0 +1,95 @@
+package ec.edu.espe.datos.repository;
+
+import ec.edu.espe.datos.model.EstudianteInmutable;
+import ec.edu.espe.datos.repository.observer.CambioRepositorio;
+import ec.edu.espe.datos.repository.observer.RepositoryObserver;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AbstractEstudianteRepositoryTest - Un observador cuya carga inicial falla no queda suscrito
+ * Uso: java ec.edu.espe.datos.repository.AbstractEstudianteRepositoryTest
+ */
+public final class AbstractEstudianteRepositoryTest {
+
+    private AbstractEstudianteRepositoryTest() {
+    }
+
+    public static void main(String[] args) {
+        RepositorioQueFallaAlListar repository = new RepositorioQueFallaAlListar();
+        AtomicInteger notificaciones = new AtomicInteger();
+        RepositoryObserver observador = notificaciones::incrementAndGet;
+        try {
+            repository.listarYObservar(observador);
+            throw new AssertionError("la carga inicial debía fallar");
+        } catch (UncheckedIOException e) {
+            // Esperado
+        }
+        repository.agregar(new EstudianteInmutable("L00001", "Ana", 20));
+        comprobar(notificaciones.get() == 0, "el observador quedó suscrito tras fallar la carga");
+
+        repository.fallar = false;
+        comprobar(repository.listarYObservar(observador).size() == 1, "carga inicial");
+        repository.agregar(new EstudianteInmutable("L00002", "Luis", 21));
+        comprobar(notificaciones.get() == 1, "el observador debía recibir el cambio");
+        System.out.println("AbstractEstudianteRepositoryTest: OK");
+    }
+
+    private static void comprobar(boolean condicion, String mensaje) {
+        if (!condicion) {
+            throw new AssertionError(mensaje);
+        }
+    }
+
+    /**
+     * Repositorio mínimo cuyo listado falla como una lectura interrumpida del almacenamiento
+     */
+    private static final class RepositorioQueFallaAlListar extends AbstractEstudianteRepository {
+        private final List<EstudianteInmutable> estudiantes = new ArrayList<>();
+        private volatile boolean fallar = true;
+
+        @Override
+        public boolean agregar(EstudianteInmutable estudiante) {
+            lock.writeLock().lock();
+            try {
+                estudiantes.add(estudiante);
+                notifyObservers(CambioRepositorio.agregado(estudiante));
+                return true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        @Override
+        public boolean editar(EstudianteInmutable estudiante) {
+            return false;
+        }
+
+        @Override
+        public boolean eliminar(String id) {
+            return false;
+        }
+
+        @Override
+        public List<EstudianteInmutable> listar() {
+            if (fallar) {
+                throw new UncheckedIOException(new IOException("Lectura interrumpida"));
+            }
+            return new ArrayList<>(estudiantes);
+        }
+
+        @Override
+        public Optional<EstudianteInmutable> buscarPorId(String id) {
+            return Optional.empty();
+        }
+
+        @Override
+        public boolean existePorId(String id) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package ec.edu.espe.datos.repository;
+
+import ec.edu.espe.datos.model.EstudianteInmutable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * EstudianteRepositoryTest - La compactación termina aunque las escrituras no se detengan y no
+ * pierde ni resucita estudiantes modificados mientras copiaba
+ * Uso: java ec.edu.espe.datos.repository.EstudianteRepositoryTest
+ */
+public final class EstudianteRepositoryTest {
+
+    private static final int ESTUDIANTES_INICIALES = 20_000;
+    private static final int COMPACTACIONES = 20;
+
+    private EstudianteRepositoryTest() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        compactarConEscriturasConcurrentes();
+        System.out.println("EstudianteRepositoryTest: OK");
+    }
+
+    private static void compactarConEscriturasConcurrentes() throws InterruptedException {
+        EstudianteRepository repository = EstudianteRepository.getInstance();
+        // Solo el hilo escritor modifica la referencia hasta que termina
+        Map<String, EstudianteInmutable> esperado = new LinkedHashMap<>();
+        List<EstudianteInmutable> iniciales = new ArrayList<>();
+        for (int i = 0; i < ESTUDIANTES_INICIALES; i++) {
+            EstudianteInmutable estudiante = estudiante(i, 20);
+            iniciales.add(estudiante);
+            esperado.put(estudiante.id(), estudiante);
+        }
+        repository.agregarLote(iniciales);
+
+        AtomicBoolean detener = new AtomicBoolean();
+        AtomicReference<Throwable> fallo = new AtomicReference<>();
+        Thread escritor = new Thread(() -> {
+            Random azar = new Random(42);
+            int siguiente = ESTUDIANTES_INICIALES;
+            try {
+                while (!detener.get()) {
+                    String id = id(azar.nextInt(siguiente));
+                    int operacion = azar.nextInt(3);
+                    if (operacion == 0) {
+                        EstudianteInmutable nuevo = estudiante(siguiente++, 18);
+                        comprobar(repository.agregar(nuevo), "no se agregó " + nuevo.id());
+                        esperado.put(nuevo.id(), nuevo);
+                    } else if (operacion == 1) {
+                        EstudianteInmutable editado = estudiante(Integer.parseInt(id.substring(1)), 30);
+                        boolean existe = esperado.containsKey(id);
+                        comprobar(repository.editar(editado) == existe, "editar " + id);
+                        if (existe) {
+                            esperado.put(id, editado);
+                        }
+                    } else {
+                        boolean existe = esperado.remove(id) != null;
+                        comprobar(repository.eliminar(id) == existe, "eliminar " + id);
+                    }
+                }
+            } catch (Throwable e) {
+                fallo.set(e);
+            }
+        }, "escritor-prueba");
+        escritor.start();
+
+        int reemplazos = 0;
+        long limite = System.nanoTime() + 10_000_000_000L;
+        while (reemplazos < COMPACTACIONES && System.nanoTime() < limite) {
+            if (repository.getLapidas() == 0) {
+                // El escritor todavía no dejó lápidas que quitar
+                Thread.sleep(1);
+            } else if (repository.compactar()) {
+                reemplazos++;
+            }
+        }
+        detener.set(true);
+        escritor.join();
+        if (fallo.get() != null) {
+            throw new AssertionError("falló el escritor", fallo.get());
+        }
+        repository.compactar();
+
+        comprobar(reemplazos == COMPACTACIONES,
+                "con escrituras concurrentes solo terminaron " + reemplazos + " compactaciones");
+        comprobar(repository.listar().equals(new ArrayList<>(esperado.values())),
+                "el listado no coincide con las escrituras aplicadas");
+        comprobar(repository.contar() == esperado.size(), "contar: " + repository.contar());
+        comprobar(repository.getRanuras() - repository.getLapidas() == esperado.size(),
+                "ranuras " + repository.getRanuras() + " con " + repository.getLapidas() + " lápidas");
+        for (EstudianteInmutable estudiante : esperado.values()) {
+            comprobar(repository.buscarPorId(estudiante.id()).orElse(null) == estudiante,
+                    "no se encuentra " + estudiante.id());
+        }
+        for (int i = 0; i < ESTUDIANTES_INICIALES; i++) {
+            String id = id(i);
+            comprobar(repository.existePorId(id) == esperado.containsKey(id), "resucitó " + id);
+        }
+    }
+
+    private static EstudianteInmutable estudiante(int numero, int edad) {
+        return new EstudianteInmutable(id(numero), "Estudiante " + numero, edad);
+    }
+
+    private static String id(int numero) {
+        return String.format("E%06d", numero);
+    }
+
+    private static void comprobar(boolean condicion, String mensaje) {
+        if (!condicion) {
+            throw new AssertionError(mensaje);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package ec.edu.espe.datos.repository.bloom;
+
+import ec.edu.espe.datos.model.EstudianteInmutable;
+import ec.edu.espe.datos.repository.IEstudianteRepository;
+import ec.edu.espe.datos.repository.MutacionRepositorio;
+import ec.edu.espe.datos.repository.observer.RepositoryObserver;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * BloomEstudianteRepositoryTest - El filtro no pierde IDs guardados cuando una escritura falla
+ * a mitad de camino: lo que el almacenamiento tiene debe seguir siendo encontrable
+ * Uso: java ec.edu.espe.datos.repository.bloom.BloomEstudianteRepositoryTest
+ */
+public final class BloomEstudianteRepositoryTest {
+
+    private BloomEstudianteRepositoryTest() {
+    }
+
+    public static void main(String[] args) {
+        loteQueFallaAMitad();
+        loteDeAltasQueFallaAMitad();
+        nulosNoReconstruyen();
+        duplicadosNoReconstruyen();
+        cierraElAlmacenamiento();
+        System.out.println("BloomEstudianteRepositoryTest: OK");
+    }
+
+    private static void loteQueFallaAMitad() {
+        RepositorioQueFalla almacenamiento = new RepositorioQueFalla(3);
+        BloomEstudianteRepository repository = new BloomEstudianteRepository(almacenamiento);
+        List<MutacionRepositorio> mutaciones = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            mutaciones.add(MutacionRepositorio.agregar(estudiante(i)));
+        }
+        try {
+            repository.aplicarLote(mutaciones);
+            throw new AssertionError("el lote debía fallar");
+        } catch (IllegalStateException e) {
+            // Esperado: se guardaron los tres primeros
+        }
+        comprobarEncontrables(repository, almacenamiento);
+    }
+
+    private static void loteDeAltasQueFallaAMitad() {
+        RepositorioQueFalla almacenamiento = new RepositorioQueFalla(2);
+        BloomEstudianteRepository repository = new BloomEstudianteRepository(almacenamiento);
+        List<EstudianteInmutable> estudiantes = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            estudiantes.add(estudiante(i));
+        }
+        try {
+            repository.agregarLote(estudiantes);
+            throw new AssertionError("el lote debía fallar");
+        } catch (IllegalStateException e) {
+            // Esperado: se guardaron los dos primeros
+        }
+        comprobarEncontrables(repository, almacenamiento);
+    }
+
+    private static void nulosNoReconstruyen() {
+        BloomEstudianteRepository repository = new BloomEstudianteRepository(new RepositorioQueFalla(100));
+        long antes = repository.getReconstrucciones();
+        List<EstudianteInmutable> estudiantes = new ArrayList<>();
+        estudiantes.add(estudiante(1));
+        estudiantes.add(null);
+        estudiantes.add(estudiante(2));
+        comprobar(repository.agregarLote(estudiantes) == 2, "altas aplicadas");
+        comprobar(repository.getReconstrucciones() == antes, "un nulo no debe forzar una reconstrucción");
+    }
+
+    /**
+     * Los repetidos (ya guardados o dentro del lote) no recorren el almacenamiento y no dejan
+     * cuentas de más: tras borrar todo, el filtro descarta los IDs sin consultar
+     */
+    private static void duplicadosNoReconstruyen() {
+        BloomEstudianteRepository repository = new BloomEstudianteRepository(new RepositorioQueFalla(100));
+        long antes = repository.getReconstrucciones();
+        comprobar(repository.agregar(estudiante(1)), "alta inicial");
+        List<EstudianteInmutable> estudiantes = List.of(estudiante(1), estudiante(2), estudiante(3), estudiante(2));
+        comprobar(repository.agregarLote(estudiantes) == 2, "altas aplicadas");
+        comprobar(repository.getReconstrucciones() == antes, "un duplicado no debe forzar una reconstrucción");
+        for (int i = 1; i <= 3; i++) {
+            comprobar(repository.eliminar(estudiante(i).id()), "baja de " + i);
+        }
+        long descartes = repository.getDescartesRapidos();
+        for (int i = 1; i <= 3; i++) {
+            comprobar(!repository.existePorId(estudiante(i).id()), "sigue existiendo " + i);
+        }
+        comprobar(repository.getDescartesRapidos() - descartes == 3, "el filtro quedó con cuentas de más");
+    }
+
+    private static void cierraElAlmacenamiento() {
+        RepositorioQueFalla almacenamiento = new RepositorioQueFalla(100);
+        new BloomEstudianteRepository(almacenamiento).close();
+        comprobar(almacenamiento.cerrado, "el decorador no cerró el almacenamiento");
+    }
+
+    private static void comprobarEncontrables(BloomEstudianteRepository repository,
+                                              RepositorioQueFalla almacenamiento) {
+        comprobar(!almacenamiento.listar().isEmpty(), "la prueba necesita altas guardadas antes del error");
+        for (EstudianteInmutable guardado : almacenamiento.listar()) {
+            comprobar(repository.existePorId(guardado.id()), "el filtro perdió " + guardado.id());
+        }
+    }
+
+    private static EstudianteInmutable estudiante(int numero) {
+        return new EstudianteInmutable(String.format("E%03d", numero), "Estudiante " + numero, 20);
+    }
+
+    private static void comprobar(boolean condicion, String mensaje) {
+        if (!condicion) {
+            throw new AssertionError(mensaje);
+        }
+    }
+
+    /**
+     * Almacenamiento en memoria que lanza una excepción después de cierta cantidad de altas,
+     * dejando guardadas las anteriores
+     */
+    private static final class RepositorioQueFalla implements IEstudianteRepository, AutoCloseable {
+        private final Map<String, EstudianteInmutable> estudiantes = new LinkedHashMap<>();
+        private final int altasAntesDelError;
+        private boolean cerrado;
+
+        RepositorioQueFalla(int altasAntesDelError) {
+            this.altasAntesDelError = altasAntesDelError;
+        }
+
+        @Override
+        public boolean agregar(EstudianteInmutable estudiante) {
+            if (estudiante == null) {
+                return false;
+            }
+            if (estudiantes.size() >= altasAntesDelError) {
+                throw new IllegalStateException("Fallo simulado del almacenamiento");
+            }
+            return estudiantes.putIfAbsent(estudiante.id(), estudiante) == null;
+        }
+
+        @Override
+        public boolean editar(EstudianteInmutable estudiante) {
+            return estudiantes.replace(estudiante.id(), estudiante) != null;
+        }
+
+        @Override
+        public boolean eliminar(String id) {
+            return estudiantes.remove(id) != null;
+        }
+
+        @Override
+        public List<EstudianteInmutable> listar() {
+            return new ArrayList<>(estudiantes.values());
+        }
+
+        @Override
+        public Optional<EstudianteInmutable> buscarPorId(String id) {
+            return Optional.ofNullable(estudiantes.get(id));
+        }
+
+        @Override
+        public boolean existePorId(String id) {
+            return estudiantes.containsKey(id);
+        }
+
+        @Override
+        public void addObserver(RepositoryObserver observer) {
+        }
+
+        @Override
+        public void removeObserver(RepositoryObserver observer) {
+        }
+
+        @Override
+        public void close() {
+            cerrado = true;
+        }
+    }
+}
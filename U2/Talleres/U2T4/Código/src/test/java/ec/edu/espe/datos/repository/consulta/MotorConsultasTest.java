@@ -0,0 +1,283 @@
+package ec.edu.espe.datos.repository.consulta;
+
+import ec.edu.espe.datos.model.EstudianteInmutable;
+import ec.edu.espe.datos.repository.EstudianteRepository;
+import ec.edu.espe.datos.repository.IEstudianteRepository;
+import ec.edu.espe.datos.repository.observer.RepositoryObserver;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * MotorConsultasTest - El planificador elige la ruta de acceso esperada y explain() la describe
+ * tal cual; con predicados, órdenes y límites al azar el resultado coincide con filtrar un
+ * recorrido secuencial, con índices secundarios y sin ellos
+ * Uso: java ec.edu.espe.datos.repository.consulta.MotorConsultasTest
+ */
+public final class MotorConsultasTest {
+
+    /** Suficientes filas para que el recorrido completo sea paralelo */
+    private static final int ESTUDIANTES = MotorConsultas.UMBRAL_PARALELO + 2_000;
+    private static final int CONSULTAS_AL_AZAR = 400;
+    private static final int EDAD_MINIMA = 18;
+    private static final int EDAD_MAXIMA = 30;
+    private static final String[] NOMBRES = {"Ana", "María", "José", "Núñez", "Luis", "Pérez", "Sofía", "Carlos"};
+    /** Palabras buscadas: con y sin tildes ni mayúsculas, y una que no aparece */
+    private static final String[] PALABRAS = {"ana", "MARIA", "José", "nunez", "Luis", "perez", "sofia", "Pedro"};
+
+    private MotorConsultasTest() {
+    }
+
+    public static void main(String[] args) {
+        EstudianteRepository repository = EstudianteRepository.getInstance();
+        Random azar = new Random(13);
+        List<EstudianteInmutable> estudiantes = new ArrayList<>();
+        for (int i = 0; i < ESTUDIANTES; i++) {
+            estudiantes.add(estudiante(i, azar));
+        }
+        repository.agregarLote(estudiantes);
+
+        planesIndexados(repository);
+        planesSinIndices(new RepositorioSinIndices(repository));
+        coincideConElRecorrido(repository, new MotorConsultas(repository), azar);
+        coincideConElRecorrido(repository, new MotorConsultas(new RepositorioSinIndices(repository)), azar);
+        System.out.println("MotorConsultasTest: OK");
+    }
+
+    private static void planesIndexados(EstudianteRepository repository) {
+        MotorConsultas motor = new MotorConsultas(repository);
+        long total = repository.contar();
+        long edad20 = contar(repository, Predicado.edadIgual(20));
+        long ana = contar(repository, Predicado.nombresContiene("ana"));
+
+        comprobarPlan(motor, Consulta.donde(Predicado.idIgual("E00001")),
+                "FiltrarResidual(id = 'E00001')\n"
+                + "  ClavePrimaria[id = 'E00001'] filas estimadas=1\n");
+        comprobarPlan(motor, Consulta.donde(Predicado.edadIgual(20)),
+                "FiltrarResidual(edad = 20)\n"
+                + "  IndiceEdad[20..20] filas estimadas=" + edad20 + "\n");
+        Consulta ordenada = Consulta.donde(Predicado.nombresContiene("ANA"))
+                .ordenarPor(Consulta.Orden.EDAD, false).limite(5);
+        comprobarPlan(motor, ordenada,
+                "Limite(5) filas estimadas=5\n"
+                + "  Ordenar(EDAD DESC)\n"
+                + "    FiltrarResidual(nombres contiene 'ana')\n"
+                + "      IndiceNombre['ana'] filas estimadas=" + ana + "\n");
+
+        // La conjunción recorre solo el índice más selectivo
+        Predicado conjuncion = Predicado.y(Predicado.edadIgual(20), Predicado.nombresContiene("ana"));
+        comprobarPlan(motor, Consulta.donde(conjuncion),
+                "FiltrarResidual(" + conjuncion + ")\n"
+                + (edad20 < ana
+                        ? "  IndiceEdad[20..20] filas estimadas=" + edad20 + "\n"
+                        : "  IndiceNombre['ana'] filas estimadas=" + ana + "\n"));
+
+        Predicado disyuncion = Predicado.o(Predicado.idIgual("E00002"), Predicado.nombresContiene("ana"));
+        comprobarPlan(motor, Consulta.donde(disyuncion),
+                "FiltrarResidual(" + disyuncion + ")\n"
+                + "  Union filas estimadas=" + (1 + ana) + "\n"
+                + "    ClavePrimaria[id = 'E00002'] filas estimadas=1\n"
+                + "    IndiceNombre['ana'] filas estimadas=" + ana + "\n");
+
+        // Un índice que devuelve todas las filas no es mejor que recorrerlas
+        comprobarPlan(motor, Consulta.donde(Predicado.edadEntre(EDAD_MINIMA, EDAD_MAXIMA)),
+                "Filtrar(edad entre " + EDAD_MINIMA + " y " + EDAD_MAXIMA + ")\n"
+                + "  RecorridoParalelo filas estimadas=" + total + "\n");
+        comprobarPlan(motor, Consulta.todos().limite(3),
+                "Limite(3) filas estimadas=3\n"
+                + "  RecorridoParalelo filas estimadas=" + total + "\n");
+    }
+
+    private static void planesSinIndices(IEstudianteRepository repository) {
+        MotorConsultas motor = new MotorConsultas(repository);
+        long total = repository.contar();
+        comprobarPlan(motor, Consulta.donde(Predicado.idIgual("E00001")),
+                "FiltrarResidual(id = 'E00001')\n"
+                + "  ClavePrimaria[id = 'E00001'] filas estimadas=1\n");
+        comprobarPlan(motor, Consulta.donde(Predicado.edadIgual(20)),
+                "Filtrar(edad = 20)\n"
+                + "  RecorridoParalelo filas estimadas=" + total + "\n");
+        // Basta un hijo sin índice para que la disyunción recorra todo
+        Predicado disyuncion = Predicado.o(Predicado.idIgual("E00002"), Predicado.nombresContiene("ana"));
+        comprobarPlan(motor, Consulta.donde(disyuncion),
+                "Filtrar(" + disyuncion + ")\n"
+                + "  RecorridoParalelo filas estimadas=" + total + "\n");
+    }
+
+    /**
+     * Con límite pueden elegirse filas distintas entre empates del orden: se comparan las
+     * claves de orden y se exige que cada fila devuelta cumpla el filtro
+     */
+    private static void coincideConElRecorrido(IEstudianteRepository repository, MotorConsultas motor,
+                                               Random azar) {
+        for (int i = 0; i < CONSULTAS_AL_AZAR; i++) {
+            Consulta consulta = azar.nextInt(10) == 0 ? Consulta.todos() : Consulta.donde(predicado(azar, 2));
+            if (azar.nextBoolean()) {
+                Consulta.Orden[] ordenes = Consulta.Orden.values();
+                consulta.ordenarPor(ordenes[azar.nextInt(ordenes.length)], azar.nextBoolean());
+            }
+            if (azar.nextInt(3) == 0) {
+                consulta.limite(azar.nextInt(20));
+            }
+
+            List<EstudianteInmutable> esperado = recorridoSecuencial(repository, consulta);
+            PlanConsulta plan = motor.planificar(consulta);
+            List<EstudianteInmutable> obtenido = motor.ejecutar(plan);
+            String caso = consulta + "\n" + plan.explain();
+            if (consulta.getLimite() < 0) {
+                comprobar(ids(obtenido).equals(ids(esperado)), "filas distintas en " + caso);
+                comprobar(obtenido.size() == esperado.size(), "filas repetidas en " + caso);
+            } else {
+                int filas = Math.min(consulta.getLimite(), esperado.size());
+                comprobar(obtenido.size() == filas, obtenido.size() + " filas en vez de " + filas + " en " + caso);
+                Predicado predicado = consulta.getPredicado();
+                for (EstudianteInmutable estudiante : obtenido) {
+                    comprobar(predicado == null || predicado.evaluar(estudiante), "fila de más en " + caso);
+                }
+                esperado = esperado.subList(0, filas);
+            }
+            if (consulta.getOrden() != null) {
+                comprobar(claves(obtenido, consulta).equals(claves(esperado, consulta)), "orden distinto en " + caso);
+            }
+        }
+    }
+
+    private static List<EstudianteInmutable> recorridoSecuencial(IEstudianteRepository repository,
+                                                                 Consulta consulta) {
+        List<EstudianteInmutable> filas = new ArrayList<>();
+        for (EstudianteInmutable estudiante : repository.listar()) {
+            if (consulta.getPredicado() == null || consulta.getPredicado().evaluar(estudiante)) {
+                filas.add(estudiante);
+            }
+        }
+        if (consulta.getOrden() != null) {
+            filas.sort(consulta.getOrden().comparador(consulta.isAscendente()));
+        }
+        return filas;
+    }
+
+    private static Predicado predicado(Random azar, int profundidad) {
+        if (profundidad > 0 && azar.nextInt(3) == 0) {
+            Predicado[] hijos = new Predicado[2 + azar.nextInt(2)];
+            for (int i = 0; i < hijos.length; i++) {
+                hijos[i] = predicado(azar, profundidad - 1);
+            }
+            return azar.nextBoolean() ? Predicado.y(hijos) : Predicado.o(hijos);
+        }
+        switch (azar.nextInt(3)) {
+            case 0:
+                // A veces un ID que no existe
+                return Predicado.idIgual(id(azar.nextInt(ESTUDIANTES + ESTUDIANTES / 10)));
+            case 1:
+                int desde = EDAD_MINIMA - 1 + azar.nextInt(EDAD_MAXIMA - EDAD_MINIMA + 2);
+                return Predicado.edadEntre(desde, desde + azar.nextInt(4));
+            default:
+                return Predicado.nombresContiene(PALABRAS[azar.nextInt(PALABRAS.length)]);
+        }
+    }
+
+    private static long contar(IEstudianteRepository repository, Predicado predicado) {
+        return repository.listar().stream().filter(predicado::evaluar).count();
+    }
+
+    private static Set<String> ids(List<EstudianteInmutable> estudiantes) {
+        return estudiantes.stream().map(EstudianteInmutable::id).collect(Collectors.toCollection(HashSet::new));
+    }
+
+    /**
+     * Valor del campo de orden de cada fila, que no depende de cómo se rompen los empates
+     */
+    private static List<Object> claves(List<EstudianteInmutable> estudiantes, Consulta consulta) {
+        List<Object> claves = new ArrayList<>();
+        for (EstudianteInmutable estudiante : estudiantes) {
+            switch (consulta.getOrden()) {
+                case ID:
+                    claves.add(estudiante.id());
+                    break;
+                case NOMBRES:
+                    claves.add(estudiante.nombres());
+                    break;
+                default:
+                    claves.add(estudiante.edad());
+                    break;
+            }
+        }
+        return claves;
+    }
+
+    private static void comprobarPlan(MotorConsultas motor, Consulta consulta, String esperado) {
+        String plan = motor.explain(consulta);
+        comprobar(plan.equals(esperado), consulta + ": plan\n" + plan + "en vez de\n" + esperado);
+    }
+
+    private static EstudianteInmutable estudiante(int numero, Random azar) {
+        String nombres = NOMBRES[azar.nextInt(NOMBRES.length)] + " " + NOMBRES[azar.nextInt(NOMBRES.length)];
+        int edad = EDAD_MINIMA + azar.nextInt(EDAD_MAXIMA - EDAD_MINIMA + 1);
+        return new EstudianteInmutable(id(numero), nombres, edad);
+    }
+
+    private static String id(int numero) {
+        return String.format("E%05d", numero);
+    }
+
+    private static void comprobar(boolean condicion, String mensaje) {
+        if (!condicion) {
+            throw new AssertionError(mensaje);
+        }
+    }
+
+    /**
+     * Vista del repositorio sin índices secundarios: el planificador solo puede usar la clave primaria
+     */
+    private static final class RepositorioSinIndices implements IEstudianteRepository {
+        private final IEstudianteRepository delegate;
+
+        RepositorioSinIndices(IEstudianteRepository delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public boolean agregar(EstudianteInmutable estudiante) {
+            return delegate.agregar(estudiante);
+        }
+
+        @Override
+        public boolean editar(EstudianteInmutable estudiante) {
+            return delegate.editar(estudiante);
+        }
+
+        @Override
+        public boolean eliminar(String id) {
+            return delegate.eliminar(id);
+        }
+
+        @Override
+        public List<EstudianteInmutable> listar() {
+            return delegate.listar();
+        }
+
+        @Override
+        public Optional<EstudianteInmutable> buscarPorId(String id) {
+            return delegate.buscarPorId(id);
+        }
+
+        @Override
+        public boolean existePorId(String id) {
+            return delegate.existePorId(id);
+        }
+
+        @Override
+        public void addObserver(RepositoryObserver observer) {
+            delegate.addObserver(observer);
+        }
+
+        @Override
+        public void removeObserver(RepositoryObserver observer) {
+            delegate.removeObserver(observer);
+        }
+    }
+}
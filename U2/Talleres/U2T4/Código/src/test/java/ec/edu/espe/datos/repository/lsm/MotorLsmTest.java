@@ -0,0 +1,195 @@
+package ec.edu.espe.datos.repository.lsm;
+
+import ec.edu.espe.datos.model.EstudianteInmutable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+/**
+ * MotorLsmTest - Recuperación del motor LSM tras un cierre abrupto y compactación por niveles
+ * Un motor "abandonado" simula la caída: se vuelve a abrir la carpeta sin haberlo cerrado.
+ * Uso: java ec.edu.espe.datos.repository.lsm.MotorLsmTest
+ */
+public final class MotorLsmTest {
+
+    private static final int RONDAS_CIERRE = 30;
+
+    private MotorLsmTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        // Una excepción en el hilo de compactación no llega al main: se guarda y hace fallar la prueba
+        AtomicReference<Throwable> fallo = new AtomicReference<>();
+        Thread.setDefaultUncaughtExceptionHandler((hilo, e) -> {
+            fallo.compareAndSet(null, e);
+            System.err.print("Exception in thread \"" + hilo.getName() + "\" ");
+            e.printStackTrace();
+        });
+        recuperaElWalSinVolcar();
+        recuperaDespuesDeVolcados();
+        descartaHuerfanosYTemporales();
+        compactaPorNivelesSinPerderBajas();
+        cierraMientrasCompacta();
+        if (fallo.get() != null) {
+            throw new AssertionError("excepción sin capturar en otro hilo", fallo.get());
+        }
+        System.out.println("MotorLsmTest: OK");
+    }
+
+    /** Escrituras que sólo están en el WAL */
+    private static void recuperaElWalSinVolcar() throws IOException {
+        Path directorio = Files.createTempDirectory("lsm-test");
+        try {
+            Map<String, EstudianteInmutable> esperado = new TreeMap<>();
+            MotorLsm abandonado = new MotorLsm(directorio, 1_000, 4, true);
+            escribir(abandonado, esperado, 0, 50);
+            abandonado.borrar("E00010");
+            esperado.remove("E00010");
+            try (MotorLsm motor = new MotorLsm(directorio, 1_000, 4, true)) {
+                comprobarContenido(motor, esperado);
+            }
+        } finally {
+            borrar(directorio);
+        }
+    }
+
+    /** Varios volcados antes de la caída, con el resto en el WAL (sin compactación en segundo plano) */
+    private static void recuperaDespuesDeVolcados() throws IOException {
+        Path directorio = Files.createTempDirectory("lsm-test");
+        try {
+            Map<String, EstudianteInmutable> esperado = new TreeMap<>();
+            MotorLsm abandonado = new MotorLsm(directorio, 10, 1_000, true);
+            escribir(abandonado, esperado, 0, 95);
+            for (int i = 0; i < 95; i += 7) {
+                abandonado.borrar(id(i));
+                esperado.remove(id(i));
+            }
+            comprobar(abandonado.getCantidadSegmentos() > 0, "debía haber volcados");
+            try (MotorLsm motor = new MotorLsm(directorio, 10, 1_000, true)) {
+                comprobarContenido(motor, esperado);
+            }
+        } finally {
+            borrar(directorio);
+        }
+    }
+
+    /** Un segmento fuera del manifiesto o un manifiesto temporal no cambian el contenido */
+    private static void descartaHuerfanosYTemporales() throws IOException {
+        Path directorio = Files.createTempDirectory("lsm-test");
+        try {
+            Map<String, EstudianteInmutable> esperado = new TreeMap<>();
+            try (MotorLsm motor = new MotorLsm(directorio, 10, 100, false)) {
+                escribir(motor, esperado, 0, 35);
+            }
+            Path huerfano = directorio.resolve("segmento-99999999.sst");
+            Segmento.escribir(huerfano, new TreeMap<>(Map.of("Z99999",
+                    new EstudianteInmutable("Z99999", "Huérfano", 30))).entrySet().iterator());
+            Files.writeString(directorio.resolve("MANIFIESTO.tmp"), "segmento-99999999.sst\n");
+            try (MotorLsm motor = new MotorLsm(directorio, 10, 100, false)) {
+                comprobarContenido(motor, esperado);
+            }
+            comprobar(!Files.exists(huerfano), "el segmento huérfano debía borrarse");
+            comprobar(!Files.exists(directorio.resolve("MANIFIESTO.tmp")), "el temporal debía borrarse");
+        } finally {
+            borrar(directorio);
+        }
+    }
+
+    /**
+     * Las bajas de IDs que viven en segmentos antiguos deben sobrevivir a las fusiones de los
+     * segmentos nuevos, y la cantidad de segmentos debe crecer sólo de forma logarítmica
+     */
+    private static void compactaPorNivelesSinPerderBajas() throws IOException {
+        Path directorio = Files.createTempDirectory("lsm-test");
+        try {
+            Map<String, EstudianteInmutable> esperado = new TreeMap<>();
+            try (MotorLsm motor = new MotorLsm(directorio, 10, 4, false)) {
+                escribir(motor, esperado, 0, 1_000);
+                for (int i = 0; i < 1_000; i += 3) {
+                    motor.borrar(id(i));
+                    esperado.remove(id(i));
+                }
+                escribir(motor, esperado, 2_000, 2_400);
+            }
+            try (MotorLsm motor = new MotorLsm(directorio, 10, 4, false)) {
+                comprobarContenido(motor, esperado);
+                comprobar(motor.getCantidadSegmentos() <= 12,
+                        "demasiados segmentos: " + motor.getCantidadSegmentos());
+                for (int i = 1; i < 1_000; i += 3) {
+                    motor.borrar(id(i));
+                    esperado.remove(id(i));
+                }
+            }
+            try (MotorLsm motor = new MotorLsm(directorio, 10, 4, false)) {
+                comprobarContenido(motor, esperado);
+            }
+        } finally {
+            borrar(directorio);
+        }
+    }
+
+    /**
+     * Cerrar con compactaciones en curso no debe rechazar la siguiente compactación en el hilo
+     * del compactador ni en el de la escritura que termina un volcado
+     */
+    private static void cierraMientrasCompacta() throws IOException {
+        for (int ronda = 0; ronda < RONDAS_CIERRE; ronda++) {
+            Path directorio = Files.createTempDirectory("lsm-test");
+            try {
+                Map<String, EstudianteInmutable> esperado = new TreeMap<>();
+                try (MotorLsm motor = new MotorLsm(directorio, 10, 2, false)) {
+                    escribir(motor, esperado, 0, 300);
+                }
+                try (MotorLsm motor = new MotorLsm(directorio, 1_000, 1_000, false)) {
+                    comprobarContenido(motor, esperado);
+                }
+            } finally {
+                borrar(directorio);
+            }
+        }
+    }
+
+    private static void escribir(MotorLsm motor, Map<String, EstudianteInmutable> esperado, int desde, int hasta)
+            throws IOException {
+        for (int i = desde; i < hasta; i++) {
+            EstudianteInmutable estudiante = new EstudianteInmutable(id(i), "Estudiante " + i, 18 + i % 40);
+            motor.poner(estudiante);
+            esperado.put(estudiante.id(), estudiante);
+        }
+    }
+
+    private static void comprobarContenido(MotorLsm motor, Map<String, EstudianteInmutable> esperado)
+            throws IOException {
+        List<EstudianteInmutable> todos = motor.escanear();
+        comprobar(todos.equals(List.copyOf(esperado.values())),
+                "escaneo distinto: " + todos.size() + " de " + esperado.size());
+        for (int i = 0; i < 2_400; i++) {
+            comprobar(Objects.equals(motor.buscar(id(i)), esperado.get(id(i))), "búsqueda de " + id(i));
+        }
+    }
+
+    private static String id(int numero) {
+        return String.format("E%05d", numero);
+    }
+
+    private static void comprobar(boolean condicion, String mensaje) {
+        if (!condicion) {
+            throw new AssertionError(mensaje);
+        }
+    }
+
+    private static void borrar(Path directorio) throws IOException {
+        try (Stream<Path> archivos = Files.walk(directorio)) {
+            for (Path archivo : (Iterable<Path>) archivos.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(archivo);
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package ec.edu.espe.logica_negocio;
+
+import ec.edu.espe.datos.repository.EstudianteRepository;
+import java.lang.ref.WeakReference;
+
+/**
+ * EstudianteServiceTest - Un servicio desconectado no queda retenido por el repositorio
+ * singleton a través de sus observadores
+ * Uso: java ec.edu.espe.logica_negocio.EstudianteServiceTest
+ */
+public final class EstudianteServiceTest {
+
+    private EstudianteServiceTest() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        WeakReference<EstudianteService> conectado = crear(false);
+        WeakReference<EstudianteService> desconectado = crear(true);
+        for (int i = 0; i < 10 && desconectado.get() != null; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        comprobar(desconectado.get() == null, "el repositorio retiene al servicio desconectado");
+        comprobar(conectado.get() != null, "el servicio conectado debía seguir suscrito");
+        System.out.println("EstudianteServiceTest: OK");
+    }
+
+    private static WeakReference<EstudianteService> crear(boolean desconectar) {
+        EstudianteService service = new EstudianteService(EstudianteRepository.getInstance());
+        service.getEstadisticas();
+        service.getIndiceBusqueda();
+        service.getIndiceOrden();
+        if (desconectar) {
+            service.desconectar();
+        }
+        return new WeakReference<>(service);
+    }
+
+    private static void comprobar(boolean condicion, String mensaje) {
+        if (!condicion) {
+            throw new AssertionError(mensaje);
+        }
+    }
+}
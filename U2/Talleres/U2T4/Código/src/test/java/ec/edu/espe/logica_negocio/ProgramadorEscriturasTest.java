@@ -0,0 +1,109 @@
+package ec.edu.espe.logica_negocio;
+
+import ec.edu.espe.datos.model.EstudianteInmutable;
+import ec.edu.espe.datos.repository.lsm.LsmEstudianteRepository;
+import ec.edu.espe.datos.repository.lsm.MotorLsm;
+import ec.edu.espe.logica_negocio.resultado.ResultadoOperacion;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
+
+/**
+ * ProgramadorEscriturasTest - Cierre del programador con escritores concurrentes
+ * Toda solicitud debe completarse (aplicada o rechazada por el cierre): ninguna queda
+ * olvidada en la cola, y las aplicadas coinciden con lo que quedó en el repositorio.
+ * Uso: java ec.edu.espe.logica_negocio.ProgramadorEscriturasTest
+ */
+public final class ProgramadorEscriturasTest {
+    private static final int RONDAS = 50;
+    private static final int HILOS = 4;
+
+    private ProgramadorEscriturasTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        for (int ronda = 0; ronda < RONDAS; ronda++) {
+            cerrarConEscritoresConcurrentes(ronda);
+        }
+        System.out.println("ProgramadorEscriturasTest: OK");
+    }
+
+    private static void cerrarConEscritoresConcurrentes(int ronda) throws Exception {
+        Path directorio = Files.createTempDirectory("programador-test");
+        try (LsmEstudianteRepository repository = new LsmEstudianteRepository(new MotorLsm(directorio))) {
+            ProgramadorEscrituras programador = new ProgramadorEscrituras(
+                    new EstudianteService(repository), 16, Duration.ofMillis(1));
+            List<List<CompletableFuture<ResultadoOperacion>>> pedidos = new ArrayList<>();
+            List<Thread> escritores = new ArrayList<>();
+            for (int h = 0; h < HILOS; h++) {
+                List<CompletableFuture<ResultadoOperacion>> propios = new ArrayList<>();
+                pedidos.add(propios);
+                int hilo = h;
+                Thread escritor = new Thread(() -> {
+                    for (int i = 0; i < 2_000; i++) {
+                        propios.add(programador.agregar(new EstudianteInmutable(
+                                String.format("E%d-%05d", hilo, i), "Estudiante de prueba", 20)));
+                    }
+                });
+                escritor.start();
+                escritores.add(escritor);
+            }
+            Thread.sleep(ronda % 5);
+            programador.close();
+            int aplicadas = 0;
+            for (Thread escritor : escritores) {
+                escritor.join();
+            }
+            for (List<CompletableFuture<ResultadoOperacion>> propios : pedidos) {
+                for (CompletableFuture<ResultadoOperacion> pedido : propios) {
+                    if (aplicada(pedido)) {
+                        aplicadas++;
+                    }
+                }
+            }
+            comprobar(aplicadas == repository.contar(),
+                    "aplicadas " + aplicadas + " y en el repositorio " + repository.contar());
+        } finally {
+            borrar(directorio);
+        }
+    }
+
+    /**
+     * @return true si la solicitud se aplicó, false si se rechazó por el cierre
+     */
+    private static boolean aplicada(CompletableFuture<ResultadoOperacion> pedido) throws InterruptedException {
+        try {
+            ResultadoOperacion resultado = pedido.get(5, TimeUnit.SECONDS);
+            comprobar(resultado.esExitoso(), "alta fallida: " + resultado.getMensaje());
+            return true;
+        } catch (TimeoutException e) {
+            throw new AssertionError("una solicitud quedó sin completar tras el cierre", e);
+        } catch (ExecutionException e) {
+            comprobar(e.getCause() instanceof IllegalStateException, "error inesperado: " + e.getCause());
+            return false;
+        }
+    }
+
+    private static void comprobar(boolean condicion, String mensaje) {
+        if (!condicion) {
+            throw new AssertionError(mensaje);
+        }
+    }
+
+    private static void borrar(Path directorio) throws IOException {
+        try (Stream<Path> archivos = Files.walk(directorio)) {
+            for (Path archivo : (Iterable<Path>) archivos.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(archivo);
+            }
+        }
+    }
+}
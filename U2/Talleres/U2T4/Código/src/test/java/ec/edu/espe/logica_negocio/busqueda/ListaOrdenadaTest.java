@@ -0,0 +1,49 @@
+package ec.edu.espe.logica_negocio.busqueda;
+
+import ec.edu.espe.datos.model.EstudianteInmutable;
+import ec.edu.espe.datos.repository.consulta.Consulta;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * ListaOrdenadaTest - La selección de páginas sin ordenar coincide con la lista ordenada
+ * {@link ListaOrdenada#seleccionar} sirve las páginas mientras se prepara el índice, así que
+ * cada página debe ser exactamente la que luego leerá la lista ya cargada
+ * Uso: java ec.edu.espe.logica_negocio.busqueda.ListaOrdenadaTest
+ */
+public final class ListaOrdenadaTest {
+    private static final String[] NOMBRES = {
+        "Ana", "ana", "Ángel", "Andrés", "Nuñez", "Núñez", "Nunez", "Ñandú", "Ñu", "Zoe", "Óscar", "Oscar", ""
+    };
+
+    private ListaOrdenadaTest() {
+    }
+
+    public static void main(String[] args) {
+        Random azar = new Random(42);
+        List<EstudianteInmutable> estudiantes = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            estudiantes.add(new EstudianteInmutable(String.format("E%05d", azar.nextInt(100_000)) + "-" + i,
+                    NOMBRES[azar.nextInt(NOMBRES.length)], 18 + azar.nextInt(10)));
+        }
+        for (Consulta.Orden orden : Consulta.Orden.values()) {
+            ListaOrdenada lista = new ListaOrdenada(orden);
+            lista.cargar(estudiantes);
+            for (boolean ascendente : new boolean[] {true, false}) {
+                for (int desde : new int[] {0, 1, 99, 100, 1_950, 1_999, 2_000, 2_500}) {
+                    for (int cantidad : new int[] {0, 1, 100}) {
+                        List<EstudianteInmutable> esperada = lista.pagina(desde, cantidad, ascendente);
+                        List<EstudianteInmutable> seleccionada = ListaOrdenada.seleccionar(
+                                estudiantes, orden, ascendente, desde, cantidad);
+                        if (!esperada.equals(seleccionada)) {
+                            throw new AssertionError(orden + (ascendente ? " asc " : " desc ")
+                                    + desde + "+" + cantidad + ": " + seleccionada + " en vez de " + esperada);
+                        }
+                    }
+                }
+            }
+        }
+        System.out.println("ListaOrdenadaTest: OK");
+    }
+}
@@ -0,0 +1,206 @@
+package ec.edu.espe.logica_negocio.cache;
+
+import ec.edu.espe.datos.model.EstudianteInmutable;
+import ec.edu.espe.datos.repository.observer.CambioRepositorio;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * EstudianteCacheTest - La caché cuenta bien aciertos y fallos, nunca pasa de su presupuesto
+ * en bytes, conserva a los estudiantes populares frente a un recorrido y no devuelve valores
+ * obsoletos después de una invalidación por CambioRepositorio; el estimador de frecuencia no
+ * subestima antes de envejecer y envejece a la mitad
+ * Uso: java ec.edu.espe.logica_negocio.cache.EstudianteCacheTest
+ */
+public final class EstudianteCacheTest {
+
+    private static final int ACCESOS_AL_AZAR = 50_000;
+    /** Más estudiantes populares de los que caben en la región protegida (80 % de la principal) */
+    private static final int POPULARES = 45;
+
+    private EstudianteCacheTest() {
+    }
+
+    public static void main(String[] args) {
+        aciertosYFallos();
+        respetaElPresupuesto();
+        resisteUnRecorrido();
+        invalidaPorCambios();
+        descartaCargasObsoletas();
+        estimadorDeFrecuencia();
+        System.out.println("EstudianteCacheTest: OK");
+    }
+
+    private static void aciertosYFallos() {
+        Almacenamiento almacenamiento = new Almacenamiento(10);
+        EstudianteCache cache = new EstudianteCache(1_000_000);
+        comprobar(cache.obtener("E001", almacenamiento::cargar).isPresent(), "primera lectura");
+        comprobar(cache.obtener("E001", almacenamiento::cargar).isPresent(), "segunda lectura");
+        comprobar(cache.obtener("X999", almacenamiento::cargar).isEmpty(), "ID inexistente");
+        comprobar(cache.obtener("X999", almacenamiento::cargar).isEmpty(), "ID inexistente otra vez");
+
+        EstadisticasCache estadisticas = cache.getEstadisticas();
+        comprobar(estadisticas.getAciertos() == 1, "aciertos: " + estadisticas);
+        comprobar(estadisticas.getFallos() == 3, "fallos: " + estadisticas);
+        comprobar(estadisticas.getEntradas() == 1, "los inexistentes no se guardan: " + estadisticas);
+        comprobar(almacenamiento.cargas.get() == 3, "cargas: " + almacenamiento.cargas.get());
+        comprobar(estadisticas.getPesoBytes() == EstudianteCache.estimarPeso(almacenamiento.datos.get("E001")),
+                "peso de la única entrada: " + estadisticas);
+    }
+
+    /**
+     * Accesos al azar con distribución sesgada sobre muchos más estudiantes de los que caben
+     */
+    private static void respetaElPresupuesto() {
+        Almacenamiento almacenamiento = new Almacenamiento(5_000);
+        long presupuesto = 40 * EstudianteCache.estimarPeso(almacenamiento.datos.get("E001"));
+        EstudianteCache cache = new EstudianteCache(presupuesto);
+        Random azar = new Random(3);
+        for (int i = 0; i < ACCESOS_AL_AZAR; i++) {
+            int numero = (int) Math.abs(azar.nextGaussian() * 300) % 5_000;
+            EstudianteInmutable leido = cache.obtener(Almacenamiento.id(numero), almacenamiento::cargar).orElse(null);
+            comprobar(leido != null && leido.id().equals(Almacenamiento.id(numero)), "lectura de " + numero);
+            EstadisticasCache estadisticas = cache.getEstadisticas();
+            comprobar(estadisticas.getPesoBytes() <= presupuesto, "presupuesto excedido: " + estadisticas);
+        }
+        EstadisticasCache estadisticas = cache.getEstadisticas();
+        comprobar(estadisticas.getAciertos() + estadisticas.getFallos() == ACCESOS_AL_AZAR,
+                "accesos contados: " + estadisticas);
+        comprobar(estadisticas.getFallos() == almacenamiento.cargas.get(), "un fallo por carga: " + estadisticas);
+        comprobar(estadisticas.getExpulsiones() > 0 && estadisticas.getAciertos() > 0,
+                "sin actividad: " + estadisticas);
+    }
+
+    /**
+     * Un recorrido de estudiantes leídos una sola vez no desaloja a los que se leen a menudo;
+     * el recorrido es más corto que la muestra del estimador para que no envejezca en medio
+     */
+    private static void resisteUnRecorrido() {
+        Almacenamiento almacenamiento = new Almacenamiento(400);
+        EstudianteCache cache = new EstudianteCache(50 * EstudianteCache.estimarPeso(
+                almacenamiento.datos.get("E001")));
+        for (int vuelta = 0; vuelta < 5; vuelta++) {
+            for (int i = 0; i < POPULARES; i++) {
+                cache.obtener(Almacenamiento.id(i), almacenamiento::cargar);
+            }
+        }
+        for (int i = 100; i < 400; i++) {
+            cache.obtener(Almacenamiento.id(i), almacenamiento::cargar);
+        }
+        int cargas = almacenamiento.cargas.get();
+        for (int i = 0; i < POPULARES; i++) {
+            cache.obtener(Almacenamiento.id(i), almacenamiento::cargar);
+        }
+        comprobar(almacenamiento.cargas.get() == cargas,
+                "el recorrido desalojó " + (almacenamiento.cargas.get() - cargas) + " estudiantes populares");
+    }
+
+    private static void invalidaPorCambios() {
+        Almacenamiento almacenamiento = new Almacenamiento(10);
+        EstudianteCache cache = new EstudianteCache(1_000_000);
+        for (int i = 0; i < 10; i++) {
+            cache.obtener(Almacenamiento.id(i), almacenamiento::cargar);
+        }
+
+        EstudianteInmutable anterior = almacenamiento.datos.get("E001");
+        EstudianteInmutable editado = new EstudianteInmutable("E001", "Editado", 30);
+        almacenamiento.datos.put("E001", editado);
+        cache.onDataChanged(CambioRepositorio.editado(anterior, editado));
+        comprobar(cache.obtener("E001", almacenamiento::cargar).orElseThrow().equals(editado),
+                "lectura obsoleta tras editar");
+
+        List<CambioRepositorio> cambios = new ArrayList<>();
+        for (String id : List.of("E002", "E003")) {
+            cambios.add(CambioRepositorio.eliminado(almacenamiento.datos.remove(id)));
+        }
+        cache.onDataChanged(CambioRepositorio.lote(cambios));
+        comprobar(cache.obtener("E002", almacenamiento::cargar).isEmpty(), "lectura obsoleta tras el lote");
+        comprobar(cache.obtener("E003", almacenamiento::cargar).isEmpty(), "lectura obsoleta tras el lote");
+
+        int cargas = almacenamiento.cargas.get();
+        comprobar(cache.obtener("E004", almacenamiento::cargar).isPresent(), "E004 no cambió");
+        comprobar(almacenamiento.cargas.get() == cargas, "se invalidó un ID que no cambió");
+
+        cache.onDataChanged();
+        comprobar(cache.getEstadisticas().getEntradas() == 0 && cache.getEstadisticas().getPesoBytes() == 0,
+                "un cambio sin detalle debe vaciar la caché: " + cache.getEstadisticas());
+    }
+
+    /**
+     * Un cambio que llega mientras se carga un estudiante impide guardar el valor ya leído
+     */
+    private static void descartaCargasObsoletas() {
+        Almacenamiento almacenamiento = new Almacenamiento(10);
+        EstudianteCache cache = new EstudianteCache(1_000_000);
+        EstudianteInmutable editado = new EstudianteInmutable("E005", "Editado", 30);
+        cache.obtener("E005", id -> {
+            Optional<EstudianteInmutable> leido = almacenamiento.cargar(id);
+            EstudianteInmutable anterior = almacenamiento.datos.put(id, editado);
+            cache.onDataChanged(CambioRepositorio.editado(anterior, editado));
+            return leido;
+        });
+        comprobar(cache.obtener("E005", almacenamiento::cargar).orElseThrow().equals(editado),
+                "se guardó un valor leído antes del cambio");
+    }
+
+    private static void estimadorDeFrecuencia() {
+        FrequencySketch sketch = new FrequencySketch(1_024);
+        Map<String, Integer> esperadas = new HashMap<>();
+        Random azar = new Random(5);
+        // Menos accesos que la muestra (10 por contador) para que todavía no envejezca
+        for (int i = 0; i < 5_000; i++) {
+            String clave = "k" + azar.nextInt(500);
+            sketch.incrementar(clave);
+            esperadas.merge(clave, 1, Integer::sum);
+        }
+        for (Map.Entry<String, Integer> esperada : esperadas.entrySet()) {
+            int frecuencia = sketch.frecuencia(esperada.getKey());
+            comprobar(frecuencia >= Math.min(15, esperada.getValue()) && frecuencia <= 15,
+                    esperada.getKey() + ": " + frecuencia + " para " + esperada.getValue() + " accesos");
+        }
+
+        FrequencySketch envejece = new FrequencySketch(16);
+        for (int i = 0; i < 20; i++) {
+            envejece.incrementar("popular");
+        }
+        comprobar(envejece.frecuencia("popular") == 15, "el contador debe saturarse en 15");
+        for (int i = 0; i < 200; i++) {
+            envejece.incrementar("otra" + i);
+        }
+        comprobar(envejece.frecuencia("popular") < 15, "la frecuencia no envejeció");
+    }
+
+    private static void comprobar(boolean condicion, String mensaje) {
+        if (!condicion) {
+            throw new AssertionError(mensaje);
+        }
+    }
+
+    /**
+     * Almacenamiento en memoria que cuenta cuántas veces la caché tuvo que consultarlo
+     */
+    private static final class Almacenamiento {
+        private final Map<String, EstudianteInmutable> datos = new HashMap<>();
+        private final AtomicInteger cargas = new AtomicInteger();
+
+        Almacenamiento(int cantidad) {
+            for (int i = 0; i < cantidad; i++) {
+                datos.put(id(i), new EstudianteInmutable(id(i), "Estudiante " + i, 20));
+            }
+        }
+
+        static String id(int numero) {
+            return String.format("E%03d", numero);
+        }
+
+        Optional<EstudianteInmutable> cargar(String id) {
+            cargas.incrementAndGet();
+            return Optional.ofNullable(datos.get(id));
+        }
+    }
+}
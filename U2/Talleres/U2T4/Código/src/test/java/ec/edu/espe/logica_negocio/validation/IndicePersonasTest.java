@@ -0,0 +1,124 @@
+package ec.edu.espe.logica_negocio.validation;
+
+import ec.edu.espe.datos.model.EstudianteInmutable;
+import ec.edu.espe.datos.repository.EstudianteRepository;
+import ec.edu.espe.datos.repository.MutacionRepositorio;
+import ec.edu.espe.logica_negocio.EstudianteService;
+import ec.edu.espe.logica_negocio.resultado.CodigoResultado;
+import java.util.List;
+
+/**
+ * IndicePersonasTest - El índice cuenta las personas repetidas: una edición o una baja solo
+ * quita la persona cuando no queda ningún estudiante con esos nombres normalizados y esa edad.
+ * Al validar un lote de altas, la segunda aparición de una persona dentro del lote se marca
+ * aunque todavía no exista en el repositorio
+ * Uso: java ec.edu.espe.logica_negocio.validation.IndicePersonasTest
+ */
+public final class IndicePersonasTest {
+
+    private IndicePersonasTest() {
+    }
+
+    public static void main(String[] args) {
+        EstudianteRepository repository = EstudianteRepository.getInstance();
+        repository.agregar(new EstudianteInmutable("P00001", "Carla Ruiz", 22));
+        IndicePersonas indice = IndicePersonas.conectar(repository);
+        comprobar(indice.existe("  CARLA   ruiz ", 22), "la carga inicial no incluyó a Carla Ruiz");
+
+        cuentaEdicionesYBajas(repository, indice);
+        cuentaLotes(repository, indice);
+        recargaSinDetalle(repository, indice);
+        indice.desconectar();
+        repository.agregar(new EstudianteInmutable("P00090", "Tomás Vega", 40));
+        comprobar(!indice.existe("Tomás Vega", 40), "el índice desconectado siguió recibiendo cambios");
+
+        repetidosEnLote(repository);
+        System.out.println("IndicePersonasTest: OK");
+    }
+
+    private static void cuentaEdicionesYBajas(EstudianteRepository repository, IndicePersonas indice) {
+        repository.agregar(new EstudianteInmutable("P00002", "José  Pérez", 20));
+        repository.agregar(new EstudianteInmutable("P00003", "jose perez", 20));
+        comprobar(indice.existe("JOSÉ PÉREZ", 20), "alta de José Pérez");
+
+        repository.eliminar("P00002");
+        comprobar(indice.existe("José Pérez", 20), "queda otro José Pérez de 20 años");
+        repository.editar(new EstudianteInmutable("P00003", "jose perez", 21));
+        comprobar(!indice.existe("José Pérez", 20), "la edición no quitó la edad anterior");
+        comprobar(indice.existe("José Pérez", 21), "la edición no agregó la edad nueva");
+        repository.editar(new EstudianteInmutable("P00003", "José Pérez Mora", 21));
+        comprobar(!indice.existe("José Pérez", 21), "la edición no quitó los nombres anteriores");
+        comprobar(indice.existe("jose perez mora", 21), "la edición no agregó los nombres nuevos");
+        repository.eliminar("P00003");
+        comprobar(!indice.existe("José Pérez Mora", 21), "la baja no quitó a la persona");
+        comprobar(indice.existe("Carla Ruiz", 22), "se perdió una persona que no cambió");
+    }
+
+    private static void cuentaLotes(EstudianteRepository repository, IndicePersonas indice) {
+        repository.aplicarLote(List.of(
+                MutacionRepositorio.agregar(new EstudianteInmutable("P00004", "Ana María", 19)),
+                MutacionRepositorio.agregar(new EstudianteInmutable("P00005", "ana maria", 19)),
+                MutacionRepositorio.eliminar("P00004"),
+                MutacionRepositorio.editar(new EstudianteInmutable("P00001", "Carla Ruiz", 23))));
+        comprobar(indice.existe("Ana María", 19), "queda una Ana María tras el lote");
+        comprobar(!indice.existe("Carla Ruiz", 22) && indice.existe("Carla Ruiz", 23), "edición dentro del lote");
+
+        repository.agregarLote(List.of(new EstudianteInmutable("P00006", "Ana María", 19),
+                new EstudianteInmutable("P00007", "Luis Andrade", 30)));
+        repository.eliminar("P00005");
+        comprobar(indice.existe("Ana María", 19), "queda la Ana María agregada en el segundo lote");
+        repository.eliminar("P00006");
+        comprobar(!indice.existe("Ana María", 19), "ya no queda ninguna Ana María");
+        comprobar(indice.existe("Luis Andrade", 30), "alta por lote de Luis Andrade");
+    }
+
+    /**
+     * Un cambio sin detalle vuelve a contar desde el listado del repositorio
+     */
+    private static void recargaSinDetalle(EstudianteRepository repository, IndicePersonas indice) {
+        indice.onDataChanged();
+        comprobar(indice.existe("Carla Ruiz", 23) && indice.existe("Luis Andrade", 30), "recarga completa");
+        comprobar(!indice.existe("Ana María", 19) && !indice.existe("José Pérez", 20),
+                "la recarga devolvió personas eliminadas");
+        repository.eliminar("P00007");
+        comprobar(!indice.existe("Luis Andrade", 30), "baja después de la recarga");
+    }
+
+    private static void repetidosEnLote(EstudianteRepository repository) {
+        EstudianteService service = new EstudianteService(repository);
+        IndicePersonas indice = IndicePersonas.conectar(repository);
+        service.agregarReglaAlta(new PersonaUnicaValidationStrategy(indice));
+        List<EstudianteInmutable> lote = List.of(
+                new EstudianteInmutable("P00010", "Carla  Ruiz", 23),
+                new EstudianteInmutable("P00011", "Marta Salas", 25),
+                new EstudianteInmutable("P00012", "MARTA SALAS", 25),
+                new EstudianteInmutable("P00013", "Marta Salas", 26),
+                new EstudianteInmutable("P00011", "Pablo Ríos", 31),
+                new EstudianteInmutable("P00014", "Martá  salas", 25));
+
+        ResultadoValidacionLote resultado = service.validarLoteAltas(lote);
+        comprobar(resultado.getCodigo(0, CampoValidacion.ESTUDIANTE) == CodigoResultado.PERSONA_DUPLICADA,
+                "Carla Ruiz ya existe en el repositorio");
+        comprobar(resultado.esValida(1), "la primera Marta Salas del lote es válida: " + resultado.getErrores(1));
+        comprobar(resultado.getCodigo(2, CampoValidacion.ESTUDIANTE) == CodigoResultado.PERSONA_DUPLICADA,
+                "la segunda Marta Salas del lote debía marcarse");
+        comprobar(resultado.esValida(3), "otra edad es otra persona: " + resultado.getErrores(3));
+        comprobar(resultado.getCodigo(4, CampoValidacion.ID) == CodigoResultado.ID_DUPLICADO
+                && resultado.getCodigo(4, CampoValidacion.ESTUDIANTE) == CodigoResultado.VALIDO,
+                "ID repetido dentro del lote: " + resultado.getErrores(4));
+        comprobar(resultado.getCodigo(5, CampoValidacion.ESTUDIANTE) == CodigoResultado.PERSONA_DUPLICADA,
+                "la tercera Marta Salas del lote debía marcarse");
+        comprobar(resultado.getFilasInvalidas() == 4, "filas inválidas: " + resultado.getFilasInvalidas());
+
+        // Validar el lote no lo agrega: el índice solo cambia con las escrituras del repositorio
+        comprobar(!indice.existe("Marta Salas", 25), "validar el lote agregó personas al índice");
+        indice.desconectar();
+        service.desconectar();
+    }
+
+    private static void comprobar(boolean condicion, String mensaje) {
+        if (!condicion) {
+            throw new AssertionError(mensaje);
+        }
+    }
+}
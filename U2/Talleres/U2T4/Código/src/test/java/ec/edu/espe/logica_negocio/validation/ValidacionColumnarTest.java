@@ -0,0 +1,100 @@
+package ec.edu.espe.logica_negocio.validation;
+
+import ec.edu.espe.datos.model.EstudianteInmutable;
+import ec.edu.espe.logica_negocio.resultado.ResultadoOperacion;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * ValidacionColumnarTest - La validación columnar informa las mismas filas y los mismos
+ * mensajes que validar fila por fila, con marcas exactas o sin ellas
+ * Uso: java ec.edu.espe.logica_negocio.validation.ValidacionColumnarTest
+ */
+public final class ValidacionColumnarTest {
+
+    private static final String[] IDS = {"L00123", "ab", "  ", "   x", null, "", "\u000B\u000Bz", "L1"};
+    private static final String[] NOMBRES = {
+        "Ana María", " Jo ", "R2-D2", "  ", null, "", "x", "\u000BÑu\u000B", "Luis\t", "Ana 😀",
+        "José Núñez", "a b"
+    };
+    private static final int[] EDADES = {20, 0, -3, 1, 120, 121, 17, Integer.MIN_VALUE, Integer.MAX_VALUE};
+
+    private ValidacionColumnarTest() {
+    }
+
+    public static void main(String[] args) {
+        List<EstudianteInmutable> filas = filas();
+
+        ValidationContext propias = new ValidationContext();
+        propias.addStrategy(new IdValidationStrategy());
+        propias.addStrategy(new NombresValidationStrategy());
+        propias.addStrategy(new EdadValidationStrategy(18, 60));
+        comprobarIgual(propias, filas, true);
+
+        ValidationContext dosNombres = new ValidationContext();
+        dosNombres.addStrategy(new NombresValidationStrategy(3, "a-z\\s"));
+        dosNombres.addStrategy(new IdValidationStrategy(4));
+        dosNombres.addStrategy(new NombresValidationStrategy());
+        comprobarIgual(dosNombres, filas, false);
+
+        ValidationContext conExterna = new ValidationContext();
+        conExterna.addStrategy(new EdadValidationStrategy());
+        conExterna.addStrategy(estudiante -> estudiante != null && "L00123".equals(estudiante.id())
+                ? "ID reservado" : null);
+        comprobarIgual(conExterna, filas, false);
+
+        comprobarIgual(new ValidationContext(), filas, true);
+        System.out.println("ValidacionColumnarTest: OK");
+    }
+
+    private static List<EstudianteInmutable> filas() {
+        List<EstudianteInmutable> filas = new ArrayList<>();
+        for (String id : IDS) {
+            for (String nombres : NOMBRES) {
+                for (int edad : EDADES) {
+                    filas.add(new EstudianteInmutable(id, nombres, edad));
+                }
+            }
+        }
+        filas.add(null);
+        // Más de un bloque, con filas válidas y nulas repartidas al azar
+        Random azar = new Random(7);
+        for (int i = 0; i < 5_000; i++) {
+            filas.add(azar.nextInt(50) == 0 ? null : filas.get(azar.nextInt(filas.size())));
+        }
+        return filas;
+    }
+
+    private static void comprobarIgual(ValidationContext contexto, List<EstudianteInmutable> filas,
+                                       boolean exacta) {
+        ValidacionColumnar columnar = ValidacionColumnar.de(contexto);
+        comprobar(columnar.toString().endsWith("exacta=" + exacta + "}"), "exacta: " + columnar);
+        ValidadorCompilado validador = contexto.compilar();
+        Map<Integer, ResultadoOperacion> esperado = new TreeMap<>();
+        for (int i = 0; i < filas.size(); i++) {
+            ResultadoOperacion resultado = validador.validar(filas.get(i));
+            if (!resultado.esExitoso()) {
+                esperado.put(i, resultado);
+            }
+        }
+        Map<Integer, ResultadoOperacion> obtenido = columnar.validar(filas);
+        comprobar(obtenido.keySet().equals(esperado.keySet()),
+                columnar + ": filas inválidas distintas, " + obtenido.size() + " en vez de " + esperado.size());
+        for (Map.Entry<Integer, ResultadoOperacion> error : esperado.entrySet()) {
+            ResultadoOperacion otro = obtenido.get(error.getKey());
+            comprobar(otro.getCodigo() == error.getValue().getCodigo()
+                    && otro.getMensaje(Locale.ROOT).equals(error.getValue().getMensaje(Locale.ROOT)),
+                    "fila " + error.getKey() + ": " + otro + " en vez de " + error.getValue());
+        }
+    }
+
+    private static void comprobar(boolean condicion, String mensaje) {
+        if (!condicion) {
+            throw new AssertionError(mensaje);
+        }
+    }
+}
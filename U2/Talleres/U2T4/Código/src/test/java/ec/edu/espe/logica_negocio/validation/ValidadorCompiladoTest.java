@@ -0,0 +1,154 @@
+package ec.edu.espe.logica_negocio.validation;
+
+import ec.edu.espe.datos.model.EstudianteInmutable;
+import ec.edu.espe.logica_negocio.resultado.ResultadoOperacion;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * ValidadorCompiladoTest - El validador compilado y las estrategias sin trim() ni expresiones
+ * regulares dan exactamente los mensajes de las estrategias originales, también en los bordes:
+ * caracteres de control que trim() quita, U+000B (espacio para {@code \s} y también para
+ * los límites de trim()), espacios Unicode que trim() conserva y caracteres fuera del BMP
+ * Uso: java ec.edu.espe.logica_negocio.validation.ValidadorCompiladoTest
+ */
+public final class ValidadorCompiladoTest {
+
+    /** Trozos con los que se arman los textos de prueba */
+    private static final String[] TROZOS = {
+        "a", "Z", "ñ", "É", "ü", "-", "2", " ", "\t", "\n", "\r", "\f", "\u000B", "\u0000", "\u001F",
+        "\u00A0", "\u2003", "\u007F", "😀", "𝐀", "\uD800", "\\"
+    };
+    private static final int[] EDADES = {Integer.MIN_VALUE, -1, 0, 1, 2, 17, 119, 120, 121, Integer.MAX_VALUE};
+    private static final int TEXTOS_AL_AZAR = 50_000;
+
+    private ValidadorCompiladoTest() {
+    }
+
+    public static void main(String[] args) {
+        IdValidationStrategy id = new IdValidationStrategy();
+        NombresValidationStrategy nombres = new NombresValidationStrategy();
+        EdadValidationStrategy edad = new EdadValidationStrategy();
+        ValidationContext contexto = new ValidationContext();
+        contexto.addStrategy(id);
+        contexto.addStrategy(nombres);
+        contexto.addStrategy(edad);
+        ValidadorCompilado validador = contexto.compilar();
+
+        comprobarIgual("estudiante nulo", validarComoAntes(null), validador.validar(null));
+        for (ValidationStrategy estrategia : contexto.getEstrategias()) {
+            comprobarIgual("estudiante nulo", validarComoAntes(null), estrategia.validate(null));
+        }
+        for (String texto : textos()) {
+            comprobarIgual("ID " + visible(texto), idComoAntes(texto), id.resultado(id.evaluar(texto)));
+            comprobarIgual("nombres " + visible(texto), nombresComoAntes(texto),
+                    nombres.resultado(nombres.evaluar(texto)));
+            EstudianteInmutable estudiante = new EstudianteInmutable(texto, texto, 20);
+            comprobarIgual("estudiante " + visible(texto), validarComoAntes(estudiante),
+                    validador.validar(estudiante));
+            comprobarIgual("nombres " + visible(texto), nombresComoAntes(texto), nombres.validate(estudiante));
+        }
+        for (int valor : EDADES) {
+            EstudianteInmutable estudiante = new EstudianteInmutable("L00123", "Ana", valor);
+            comprobarIgual("edad " + valor, edadComoAntes(valor), edad.validate(estudiante));
+            comprobarIgual("edad " + valor, validarComoAntes(estudiante), validador.validar(estudiante));
+        }
+        System.out.println("ValidadorCompiladoTest: OK");
+    }
+
+    /**
+     * Textos de casos de borde más combinaciones al azar de los trozos
+     */
+    private static List<String> textos() {
+        List<String> textos = new ArrayList<>(List.of(
+                "", " ", "  ", "\u000B", "\u000B\u000B", " a ", "\u000Ba\u000B", "\u000Bab\u000B",
+                "\u0000ab\u0000", "ab", "a b", " ab ", "\u00A0ab", "ab\u00A0", "\u00A0", "😀", "a😀", "😀😀",
+                " 😀 ", "Ana María", "José\tNúñez\n", "\u001Fab\u001F", "L1", "L12", " L1", "\u000BL1"));
+        textos.add(null);
+        Random azar = new Random(11);
+        for (int i = 0; i < TEXTOS_AL_AZAR; i++) {
+            StringBuilder texto = new StringBuilder();
+            for (int j = azar.nextInt(7); j > 0; j--) {
+                texto.append(TROZOS[azar.nextInt(TROZOS.length)]);
+            }
+            textos.add(texto.toString());
+        }
+        return textos;
+    }
+
+    // Estrategias originales, con trim() y String.matches, como referencia
+
+    private static String validarComoAntes(EstudianteInmutable estudiante) {
+        if (estudiante == null) {
+            return "Error: El estudiante no puede ser nulo";
+        }
+        String error = idComoAntes(estudiante.id());
+        if (error == null) {
+            error = nombresComoAntes(estudiante.nombres());
+        }
+        return error == null ? edadComoAntes(estudiante.edad()) : error;
+    }
+
+    private static String idComoAntes(String id) {
+        if (id == null || id.trim().isEmpty()) {
+            return "Error: El ID no puede estar vacío";
+        }
+        if (id.length() < 3) {
+            return "Error: El ID debe tener al menos 3 caracteres";
+        }
+        return null;
+    }
+
+    private static String nombresComoAntes(String nombres) {
+        if (nombres == null || nombres.trim().isEmpty()) {
+            return "Error: Los nombres no pueden estar vacíos";
+        }
+        if (nombres.trim().length() < 2) {
+            return "Error: Los nombres deben tener al menos 2 caracteres";
+        }
+        if (!nombres.matches("^[a-zA-ZáéíóúÁÉÍÓÚñÑ\\s]+$")) {
+            return "Error: Los nombres solo pueden contener letras y espacios";
+        }
+        return null;
+    }
+
+    private static String edadComoAntes(int edad) {
+        if (edad <= 0) {
+            return "Error: La edad debe ser mayor a 0";
+        }
+        if (edad < 1) {
+            return "Error: La edad mínima permitida es 1";
+        }
+        if (edad > 120) {
+            return "Error: La edad no puede ser mayor a 120 años";
+        }
+        return null;
+    }
+
+    private static void comprobarIgual(String caso, String esperado, ResultadoOperacion resultado) {
+        comprobarIgual(caso, esperado, resultado.esExitoso() ? null : resultado.getMensaje(Locale.ROOT));
+    }
+
+    private static void comprobarIgual(String caso, String esperado, String obtenido) {
+        if (!Objects.equals(esperado, obtenido)) {
+            throw new AssertionError(caso + ": \"" + obtenido + "\" en vez de \"" + esperado + "\"");
+        }
+    }
+
+    /**
+     * Texto con los caracteres de control y fuera de ASCII escritos como escapes
+     */
+    private static String visible(String texto) {
+        if (texto == null) {
+            return "null";
+        }
+        StringBuilder visible = new StringBuilder("\"");
+        for (char c : texto.toCharArray()) {
+            visible.append(c >= ' ' && c < 0x7F ? String.valueOf(c) : String.format("\\u%04X", (int) c));
+        }
+        return visible.append('"').toString();
+    }
+}